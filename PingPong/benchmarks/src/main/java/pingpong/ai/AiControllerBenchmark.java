@@ -0,0 +1,62 @@
+package pingpong.ai;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pingpong.engine.MatchState;
+import pingpong.model.Direction;
+
+/**
+ * Kosten des Computergegners: Auftreffpunkt berechnen und eine Entscheidung pro Tick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AiControllerBenchmark {
+
+    @Param({"HARD", "PERFECT"})
+    public AiDifficulty difficulty;
+
+    private MatchState state;
+    private AiController bot, opponent;
+    private final double dt = 1.0 / 240;
+
+    @Setup
+    public void setup() {
+        state = new MatchState(42);
+        state.startMatch(42);
+        bot = new AiController(difficulty, 7);
+        opponent = new AiController(difficulty, 8);
+    }
+
+    @Benchmark
+    public double interceptY() {
+        return TrajectorySolver.interceptY(state.getBallX(), state.getBallY(), state.getBallVx(),
+                state.getBallVy(), state.getBallRadius(), state.getPaddleX(MatchState.LEFT), state.getHeight());
+    }
+
+    @Benchmark
+    public Direction decide() {
+        return bot.decide(state, MatchState.LEFT, dt);
+    }
+
+    @Benchmark
+    public MatchState stepWithTwoBots() {
+        state.setPaddleDirection(MatchState.LEFT, bot.decide(state, MatchState.LEFT, dt));
+        state.setPaddleDirection(MatchState.RIGHT, opponent.decide(state, MatchState.RIGHT, dt));
+        state.step(dt);
+        return state;
+    }
+}
@@ -0,0 +1,47 @@
+package pingpong.batch;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Durchsatz des Batch-Simulators, Ergebnis in Ball-Ticks pro Mikrosekunde.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchSimulatorBenchmark {
+
+    private static final int MATCHES = 10_000;
+    private static final int TICKS   = 100;
+
+    @Param({"240"})
+    public int tickRate;
+
+    private BatchSimulator sim;
+
+    @Setup
+    public void setup() {
+        sim = new BatchSimulator(MATCHES, 42L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MATCHES * TICKS)
+    public BatchSimulator run() {
+        sim.run(TICKS, 1.0 / tickRate);
+        return sim;
+    }
+}
@@ -0,0 +1,163 @@
+package pingpong.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import javafx.scene.control.Label;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import pingpong.ai.AiController;
+import pingpong.ai.AiDifficulty;
+import pingpong.config.GameConfig;
+import pingpong.engine.EngineFrames;
+import pingpong.engine.FixedTimestep;
+import pingpong.engine.GameEngine;
+import pingpong.engine.MatchState;
+import pingpong.engine.RewindBuffer;
+import pingpong.model.Direction;
+
+/**
+ * Prüft, dass ein Tick im eingeschwungenen Zustand keine Objekte erzeugt.
+ * Gemessen wird mit ThreadMXBean.getThreadAllocatedBytes für den eigenen Thread.
+ * Die Prüfung der GameEngine braucht ein JavaFX-Toolkit und damit ein Display;
+ * auf einem Server ohne Display mit xvfb-run starten (oder Monocle im
+ * Klassenpfad). Startet kein Toolkit, schlägt die Prüfung fehl. In der GameEngine
+ * spielen zwei Computergegner echte Ballwechsel; im Messfenster muss mindestens
+ * ein Punkt fallen, damit Treffer, Sounds und neue Punktestände mitgemessen werden.
+ *
+ * Aufruf: mvn -f benchmarks/pom.xml verify -Pallocation-check
+ * Beendet sich mit Exit-Code 1, wenn pro Tick etwas allokiert wird oder kein Toolkit startet.
+ */
+public final class AllocationCheck {
+    private static final int WARMUP_TICKS  = 200_000;
+    private static final int MEASURE_TICKS = 100_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationCheck() { }
+
+    public static void main(String[] args) throws Exception {
+        boolean ok = check("MatchState.step", matchStateTicks());
+        ok &= check("MatchState.step mit 1000 Bällen und Power-ups", multiBallTicks());
+        ok &= check("RewindBuffer.capture/restore", rewindTicks());
+        GameEngine engine = gameEngine();
+        if (engine != null) {
+            MatchState s = engine.getState();
+            ok &= check("GameEngine.update mit Ballwechseln und Punkten",
+                    () -> EngineFrames.update(engine, 1.0 / GameConfig.TICK_RATE),
+                    () -> s.getScore(MatchState.LEFT) + s.getScore(MatchState.RIGHT));
+        } else {
+            System.out.println("GameEngine.update: kein JavaFX-Toolkit (ohne Display mit xvfb-run starten) → FEHLER");
+            ok = false;
+        }
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // Headless: feste Schritte wie in der Spielschleife, Paddles in Bewegung
+    private static Runnable matchStateTicks() {
+        MatchState state = new MatchState(new Random(42));
+        state.centerPositions();
+        state.serve();
+        state.setPaddleDirection(MatchState.LEFT, Direction.UP);
+        state.setPaddleDirection(MatchState.RIGHT, Direction.DOWN);
+        FixedTimestep timestep = new FixedTimestep(GameConfig.TICK_RATE, GameConfig.MAX_CATCH_UP_STEPS);
+        return () -> {
+            int steps = timestep.advance(1.0 / GameConfig.TICK_RATE);
+            for (int i = 0; i < steps; i++) {
+                state.step(timestep.getStepSeconds());
+            }
+        };
+    }
+
+    // Chaos-Modus und Power-ups: Gitter und Stöße werden jeden Tick neu aufgebaut,
+    // Power-ups kommen und gehen über den EntityPool, beides ohne Objekte
+    private static Runnable multiBallTicks() {
+        MatchState state = new MatchState(42);
+        state.startMatch(42);
+        state.setExtraBalls(1000);
+        state.setPowerUps(60, 600);
+        double dt = 1.0 / GameConfig.TICK_RATE;
+        return () -> state.step(dt);
+    }
+
+    // Sofort-Wiederholung: jeden Tick ein Snapshot, jeden Tick einer in einen Anzeige-Zustand zurück
+    private static Runnable rewindTicks() {
+        MatchState state = new MatchState(42);
+        state.startMatch(42);
+        state.setExtraBalls(100);
+        state.setPowerUps(60, 600);
+        RewindBuffer rewind = new RewindBuffer(10 * GameConfig.TICK_RATE, 1, GameConfig.ENTITY_POOL_SIZE, 100);
+        MatchState view = new MatchState(0);
+        double dt = 1.0 / GameConfig.TICK_RATE;
+        return () -> {
+            state.step(dt);
+            rewind.capture(state);
+            rewind.restore(rewind.size() / 2, view);
+        };
+    }
+
+    // Mit JavaFX-Knoten: GameEngine mit zwei Computergegnern (null, wenn kein Toolkit startet).
+    // Fester Seed: die Frames enthalten Paddle- und Wandtreffer, Sounds, Punkte und neue Label-Texte.
+    private static GameEngine gameEngine() {
+        try {
+            FxToolkit.start();
+        } catch (Throwable noToolkit) {
+            return null;
+        }
+        AnchorPane pane = new AnchorPane();
+        pane.resize(GameConfig.BASE_WIDTH, GameConfig.BASE_HEIGHT);
+        Rectangle left  = new Rectangle(GameConfig.PADDLE_WIDTH, GameConfig.PADDLE_HEIGHT);
+        Rectangle right = new Rectangle(GameConfig.PADDLE_WIDTH, GameConfig.PADDLE_HEIGHT);
+        right.setLayoutX(GameConfig.BASE_WIDTH - GameConfig.PADDLE_OFFSET - GameConfig.PADDLE_WIDTH);
+        left.setLayoutX(GameConfig.PADDLE_OFFSET);
+        Circle ball = new Circle(GameConfig.BALL_RADIUS);
+        Label scoreLeft = new Label("0"), scoreRight = new Label("0");
+        pane.getChildren().addAll(left, right, ball, scoreLeft, scoreRight);
+        GameEngine engine = new GameEngine(left, right, ball, scoreLeft, scoreRight, null);   // ohne Historie
+        engine.getState().startMatch(6);
+        engine.setController(MatchState.LEFT, new AiController(AiDifficulty.MEDIUM, 1));
+        engine.setController(MatchState.RIGHT, new AiController(AiDifficulty.HARD, 2));
+        return engine;
+    }
+
+    private static boolean check(String name, Runnable tick) {
+        return check(name, tick, null);
+    }
+
+    /**
+     * @param points Zähler, der im Messfenster steigen muss (z.B. Punkte), null = egal
+     */
+    private static boolean check(String name, Runnable tick, IntSupplier points) {
+        run(tick, WARMUP_TICKS);
+        int pointsBefore = points != null ? points.getAsInt() : 0;
+        long id = Thread.currentThread().getId();
+        // Eigenen Messaufwand abziehen
+        long first = THREADS.getThreadAllocatedBytes(id);
+        long overhead = THREADS.getThreadAllocatedBytes(id) - first;
+        long before = THREADS.getThreadAllocatedBytes(id);
+        run(tick, MEASURE_TICKS);
+        long bytes = THREADS.getThreadAllocatedBytes(id) - before - overhead;
+        double perTick = (double) bytes / MEASURE_TICKS;
+        boolean ok = bytes <= 0;
+        System.out.printf("%s: %d Bytes in %d Ticks (%.3f B/Tick) → %s%n",
+                name, bytes, MEASURE_TICKS, perTick, ok ? "OK" : "FEHLER");
+        if (points != null) {
+            int scored = points.getAsInt() - pointsBefore;
+            System.out.printf("  %d Punkte im Messfenster%s%n", scored,
+                    scored > 0 ? "" : " → FEHLER (sonst ist der Punkt-Pfad nicht gemessen)");
+            ok &= scored > 0;
+        }
+        return ok;
+    }
+
+    // Aufwärmen und Messen über dieselbe, beim Messen schon kompilierte Schleife
+    private static void run(Runnable tick, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick.run();
+        }
+    }
+}
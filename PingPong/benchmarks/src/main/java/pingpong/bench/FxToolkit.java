@@ -0,0 +1,30 @@
+package pingpong.bench;
+
+import java.util.concurrent.CountDownLatch;
+import javafx.application.Platform;
+
+/**
+ * Startet das JavaFX-Toolkit einmal pro Benchmark-JVM, damit Controls und
+ * AudioClips erzeugt werden können. Die Knoten hängen an keiner Scene,
+ * deshalb dürfen die Benchmarks sie vom eigenen Thread aus verändern.
+ */
+public final class FxToolkit {
+    private static boolean started;
+
+    private FxToolkit() { }
+
+    public static synchronized void start() throws InterruptedException {
+        if (started) {
+            return;
+        }
+        CountDownLatch ready = new CountDownLatch(1);
+        try {
+            Platform.startup(ready::countDown);
+        } catch (IllegalStateException alreadyRunning) {
+            ready.countDown();
+        }
+        ready.await();
+        Platform.setImplicitExit(false);
+        started = true;
+    }
+}
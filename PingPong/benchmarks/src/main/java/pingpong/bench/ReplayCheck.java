@@ -0,0 +1,136 @@
+package pingpong.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import pingpong.ai.AiController;
+import pingpong.ai.AiDifficulty;
+import pingpong.ai.PaddleController;
+import pingpong.config.GameConfig;
+import pingpong.engine.EntityPool;
+import pingpong.engine.MatchState;
+import pingpong.engine.MultiBall;
+import pingpong.model.Direction;
+import pingpong.replay.ReplayPlayer;
+import pingpong.replay.ReplayWriter;
+
+/**
+ * Prüft, dass ein Match im Chaos-Modus mit Power-ups und sein Replay gleich enden.
+ * Zwei Computergegner spielen wie in der GameEngine (Richtungswechsel gehen
+ * ins Replay, dann MatchState.step()); danach spielt der ReplayPlayer die
+ * Datei bis zum Ende ab und alle Bälle, Power-ups, Paddles und Punkte werden verglichen.
+ *
+ * Aufruf: mvn -f benchmarks/pom.xml verify -Preplay-check
+ * Beendet sich mit Exit-Code 1, wenn das Replay abweicht.
+ */
+public final class ReplayCheck {
+    private static final int EXTRA_BALLS = 50;
+    private static final int MATCH_TICKS = 30 * GameConfig.TICK_RATE;
+    // Alle 2 s ein Power-up, das 5 s liegen bleibt
+    private static final int POWER_UP_INTERVAL = 2 * GameConfig.TICK_RATE;
+    private static final int POWER_UP_LIFETIME = 5 * GameConfig.TICK_RATE;
+
+    private ReplayCheck() { }
+
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("replay-check", ".ppr");
+        try {
+            MatchState live = play(file);
+            ReplayPlayer player = new ReplayPlayer(file);
+            player.seekEnd();
+            boolean ok = compare(live, player.getState());
+            System.out.printf("Chaos-Match (%d Bälle, Power-ups, %d Ticks) gegen Replay → %s%n",
+                    EXTRA_BALLS, MATCH_TICKS, ok ? "OK" : "FEHLER");
+            if (!ok) {
+                System.exit(1);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Spielt ein Match wie die GameEngine und nimmt es auf
+    private static MatchState play(Path file) throws Exception {
+        MatchState state = new MatchState(7);
+        state.setServeDelayTicks((int) Math.round(GameConfig.SERVE_DELAY_SECONDS * GameConfig.TICK_RATE));
+        state.startMatch(7);
+        state.setExtraBalls(EXTRA_BALLS);
+        state.setPowerUps(POWER_UP_INTERVAL, POWER_UP_LIFETIME);
+        // Wie die GameEngine mit eingeschaltetem Profiler: gemessen wird im selben step()
+        state.setStepTimer((paddleNanos, ballNanos) -> { });
+        PaddleController[] bots = {
+            new AiController(AiDifficulty.MEDIUM, 1),
+            new AiController(AiDifficulty.HARD, 2)
+        };
+        Direction[] dirs = {Direction.NONE, Direction.NONE};
+        double dt = 1.0 / GameConfig.TICK_RATE;
+        try (ReplayWriter replay = new ReplayWriter(file, state, GameConfig.TICK_RATE)) {
+            double[] startX = new double[EXTRA_BALLS];
+            for (int i = 0; i < EXTRA_BALLS; i++) {
+                startX[i] = state.getExtraBalls().getX(i);
+            }
+            for (int t = 0; t < MATCH_TICKS; t++) {
+                for (int side = 0; side < 2; side++) {
+                    Direction dir = bots[side].decide(state, side, dt);
+                    if (dir != dirs[side]) {
+                        dirs[side] = dir;
+                        state.setPaddleDirection(side, dir);
+                        replay.recordInput(state.getTick(), side, dir);
+                    }
+                }
+                state.step(dt);
+            }
+            replay.close(state.getTick());
+            // Ohne bewegte Chaos-Bälle wäre der Vergleich wertlos
+            int moved = 0;
+            for (int i = 0; i < EXTRA_BALLS; i++) {
+                if (state.getExtraBalls().getX(i) != startX[i]) moved++;
+            }
+            if (moved == 0) {
+                throw new IllegalStateException("Chaos-Bälle haben sich nicht bewegt");
+            }
+            // Abgelaufene oder eingesammelte Power-ups zeigen, dass advanceEntities() lief
+            EntityPool entities = state.getEntities();
+            if (entities.getSpawned() == entities.getLiveCount()) {
+                throw new IllegalStateException("Power-ups sind weder abgelaufen noch eingesammelt worden");
+            }
+        }
+        return state;
+    }
+
+    private static boolean compare(MatchState a, MatchState b) {
+        boolean ok = same("Tick", a.getTick(), b.getTick());
+        ok &= same("Punkte links", a.getScore(MatchState.LEFT), b.getScore(MatchState.LEFT));
+        ok &= same("Punkte rechts", a.getScore(MatchState.RIGHT), b.getScore(MatchState.RIGHT));
+        ok &= same("Ball x", a.getBallX(), b.getBallX());
+        ok &= same("Ball y", a.getBallY(), b.getBallY());
+        // Power-ups ändern die Geschwindigkeit des Balls
+        ok &= same("Ball vx", a.getBallVx(), b.getBallVx());
+        ok &= same("Ball vy", a.getBallVy(), b.getBallVy());
+        for (int side = 0; side < 2; side++) {
+            ok &= same("Paddle " + side, a.getPaddleY(side), b.getPaddleY(side));
+        }
+        MultiBall ba = a.getExtraBalls(), bb = b.getExtraBalls();
+        ok &= same("Chaos-Bälle", ba.getCount(), bb.getCount());
+        for (int i = 0; i < Math.min(ba.getCount(), bb.getCount()); i++) {
+            ok &= same("Chaos-Ball " + i + " x", ba.getX(i), bb.getX(i));
+            ok &= same("Chaos-Ball " + i + " y", ba.getY(i), bb.getY(i));
+        }
+        EntityPool ea = a.getEntities(), eb = b.getEntities();
+        ok &= same("Power-ups", ea.getLiveCount(), eb.getLiveCount());
+        for (int k = 0; k < Math.min(ea.getLiveCount(), eb.getLiveCount()); k++) {
+            int sa = ea.getLiveSlot(k), sb = eb.getLiveSlot(k);
+            ok &= same("Power-up " + k + " Art", ea.getType(sa), eb.getType(sb));
+            ok &= same("Power-up " + k + " x", ea.getX(sa), eb.getX(sb));
+            ok &= same("Power-up " + k + " y", ea.getY(sa), eb.getY(sb));
+        }
+        return ok;
+    }
+
+    private static boolean same(String what, double live, double replayed) {
+        if (Double.compare(live, replayed) == 0) {
+            return true;
+        }
+        System.out.printf("  %s: Match %s, Replay %s%n", what, live, replayed);
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package pingpong.engine;
+
+/**
+ * Zugang zum paketsichtbaren GameEngine.update() für Werkzeuge außerhalb des Pakets.
+ */
+public final class EngineFrames {
+
+    private EngineFrames() { }
+
+    public static void update(GameEngine engine, double dt) {
+        engine.update(dt);
+    }
+}
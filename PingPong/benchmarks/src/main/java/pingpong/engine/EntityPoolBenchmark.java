@@ -0,0 +1,52 @@
+package pingpong.engine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * EntityPool: Anlegen und Entfernen eines Objekts sowie ein Schritt
+ * mit halb gefülltem Pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityPoolBenchmark {
+
+    @Param({"32", "1024"})
+    public int capacity;
+
+    private EntityPool pool;
+    private long tick;
+
+    @Setup
+    public void setup() {
+        pool = new EntityPool(capacity);
+        for (int i = 0; i < capacity / 2; i++) {
+            pool.spawn(EntityPool.POWER_FAST, 100 + i % 600, 50 + i % 500, 0, 40, 12, Long.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    public boolean spawnDespawn() {
+        return pool.despawn(pool.spawn(EntityPool.POWER_SLOW, 400, 300, 0, 0, 12, Long.MAX_VALUE));
+    }
+
+    @Benchmark
+    public EntityPool step() {
+        pool.step(1.0 / 240, 800, 600, ++tick);
+        return pool;
+    }
+}
@@ -0,0 +1,90 @@
+package pingpong.engine;
+
+import java.util.concurrent.TimeUnit;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Label;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pingpong.bench.FxToolkit;
+import pingpong.config.GameConfig;
+import pingpong.model.Direction;
+import pingpong.render.CanvasRenderer;
+import pingpong.render.ViewTransform;
+
+/**
+ * Ein kompletter Frame der GameEngine auf echten JavaFX-Knoten
+ * (Computergegner und Eingaben anwenden, feste Physik-Schritte mit
+ * MatchState.step(), interpoliert zeichnen: Knoten-Properties schreiben
+ * bzw. auf das Canvas zeichnen). Gemessen wird nur der Pulse-Handler; das
+ * eigentliche Rendern passiert danach im Render-Thread (dafür
+ * -Djavafx.pulseLogger=true im Spiel, siehe README).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameEngineBenchmark {
+
+    // Szenengraph-Knoten oder Canvas
+    @Param({"nodes", "canvas"})
+    public String renderer;
+
+    private GameEngine engine;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        FxToolkit.start();
+        AnchorPane pane = new AnchorPane();
+        pane.resize(GameConfig.BASE_WIDTH, GameConfig.BASE_HEIGHT);
+        Rectangle left  = new Rectangle(GameConfig.PADDLE_WIDTH, GameConfig.PADDLE_HEIGHT);
+        Rectangle right = new Rectangle(GameConfig.PADDLE_WIDTH, GameConfig.PADDLE_HEIGHT);
+        left.setLayoutX(GameConfig.PADDLE_OFFSET);
+        right.setLayoutX(GameConfig.BASE_WIDTH - GameConfig.PADDLE_OFFSET - GameConfig.PADDLE_WIDTH);
+        Circle ball = new Circle(GameConfig.BALL_RADIUS);
+        Label scoreLeft = new Label("0"), scoreRight = new Label("0");
+        pane.getChildren().addAll(left, right, ball, scoreLeft, scoreRight);
+
+        // Ohne Historie: der Benchmark soll ~/.pingpong/history.ppj nicht füllen
+        engine = new GameEngine(left, right, ball, scoreLeft, scoreRight, null);
+        if (renderer.equals("canvas")) {
+            Canvas canvas = new Canvas(GameConfig.BASE_WIDTH, GameConfig.BASE_HEIGHT);
+            pane.getChildren().add(0, canvas);
+            ViewTransform view = new ViewTransform();
+            view.update(GameConfig.BASE_WIDTH, GameConfig.BASE_HEIGHT);
+            engine.setRenderer(new CanvasRenderer(canvas, view));
+        }
+        engine.centerAll();
+        engine.getState().serve();
+        engine.setLeftPaddleDirection(Direction.UP);
+        engine.setRightPaddleDirection(Direction.DOWN);
+    }
+
+    /** Ein 60-Hz-Frame (bei 240 Hz Tick-Rate also 4 Physik-Schritte). */
+    @Benchmark
+    public GameEngine update60Hz() {
+        engine.update(1.0 / 60);
+        return engine;
+    }
+
+    /** Ein 144-Hz-Frame, meist 1–2 Physik-Schritte plus Interpolation. */
+    @Benchmark
+    public GameEngine update144Hz() {
+        engine.update(1.0 / 144);
+        return engine;
+    }
+}
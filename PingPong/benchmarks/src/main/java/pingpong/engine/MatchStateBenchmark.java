@@ -0,0 +1,81 @@
+package pingpong.engine;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pingpong.model.Direction;
+
+/**
+ * Headless-Physik: ein Tick, die einzelnen Phasen und der Kreis/Rechteck-Test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchStateBenchmark {
+
+    // Ballgeschwindigkeit, hohe Werte erzeugen mehrere Kontakte pro Tick
+    @Param({"300", "3000"})
+    public double ballSpeed;
+
+    @Param({"240"})
+    public int tickRate;
+
+    private MatchState state;
+    private double dt;
+
+    @Setup
+    public void setup() {
+        state = new MatchState(new Random(42));
+        state.setBallSpeed(ballSpeed);
+        state.centerPositions();
+        state.serve();
+        state.setPaddleDirection(MatchState.LEFT, Direction.UP);
+        state.setPaddleDirection(MatchState.RIGHT, Direction.DOWN);
+        dt = 1.0 / tickRate;
+    }
+
+    @Benchmark
+    public MatchState step() {
+        state.step(dt);
+        return state;
+    }
+
+    @Benchmark
+    public MatchState advanceBall() {
+        state.advanceBall(dt);
+        return state;
+    }
+
+    @Benchmark
+    public MatchState movePaddles() {
+        state.movePaddle(MatchState.LEFT, dt);
+        state.movePaddle(MatchState.RIGHT, dt);
+        return state;
+    }
+
+    @Benchmark
+    public MatchState serve() {
+        state.serve();
+        return state;
+    }
+
+    @Benchmark
+    public boolean isCircleRectCollision() {
+        return Collisions.isCircleRectCollision(state.getBallX(), state.getBallY(), state.getBallRadius(),
+                state.getPaddleX(MatchState.LEFT), state.getPaddleY(MatchState.LEFT),
+                state.getPaddleWidth(), state.getPaddleHeight());
+    }
+}
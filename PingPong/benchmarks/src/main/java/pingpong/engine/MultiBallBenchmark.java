@@ -0,0 +1,65 @@
+package pingpong.engine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pingpong.model.Direction;
+
+/**
+ * Chaos-Modus: Dauer eines Ticks mit 1 bis 10000 zusätzlichen Bällen.
+ * Mit dem Gitter sollte die Zeit pro Ball ungefähr gleich bleiben; bei
+ * 10000 Bällen mit Radius 4 ist das Feld allerdings dicht gepackt und
+ * fast jeder Ball stößt in jedem Tick mit Nachbarn zusammen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiBallBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int balls;
+
+    @Param({"240"})
+    public int tickRate;
+
+    private MatchState state;
+    private double dt;
+
+    @Setup
+    public void setup() {
+        state = new MatchState(42);
+        state.startMatch(42);
+        state.setExtraBalls(balls);
+        state.setPaddleDirection(MatchState.LEFT, Direction.UP);
+        state.setPaddleDirection(MatchState.RIGHT, Direction.DOWN);
+        dt = 1.0 / tickRate;
+        // Einschwingen: Bälle verteilen sich vom Mittelstreifen über das Feld
+        for (int i = 0; i < 2 * tickRate; i++) {
+            state.step(dt);
+        }
+    }
+
+    @Benchmark
+    public MatchState step() {
+        state.step(dt);
+        return state;
+    }
+
+    @Benchmark
+    public MatchState extraBallsOnly() {
+        state.advanceExtraBalls(dt);
+        return state;
+    }
+}
@@ -0,0 +1,64 @@
+package pingpong.engine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Timer-Rad: Planen, Entfernen und ein Tick bei vielen wartenden Aufträgen.
+ * Die Kosten sollen nicht von der Anzahl wartender Aufträge abhängen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimerWheelBenchmark {
+
+    // Aufträge, die im Hintergrund warten (über mehrere Umdrehungen verteilt)
+    @Param({"0", "1000", "100000"})
+    public int pending;
+
+    private TimerWheel wheel;
+    private long tick;
+    private long fired;
+    private final TimerWheel.Task task = t -> fired++;
+    // Ein Auftrag, der sich jeden Tick neu plant (wie die Sekunden der Spieluhr)
+    private final TimerWheel.Task repeating = new TimerWheel.Task() {
+        @Override
+        public void run(long t) {
+            fired++;
+            wheel.schedule(t + 1, this);
+        }
+    };
+
+    @Setup
+    public void setup() {
+        wheel = new TimerWheel(256);
+        for (int i = 0; i < pending; i++) {
+            wheel.schedule(1_000_000_000L + i * 7L, task);
+        }
+        wheel.schedule(1, repeating);
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        return wheel.cancel(wheel.schedule(tick + 100, task));
+    }
+
+    @Benchmark
+    public long advanceOneTick() {
+        wheel.advance(++tick);
+        return fired;
+    }
+}
@@ -0,0 +1,67 @@
+package pingpong.model;
+
+import java.util.concurrent.TimeUnit;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pingpong.config.GameConfig;
+import pingpong.engine.MatchState;
+
+/**
+ * Ball und Paddle als Moveable: Bewegung im MatchState plus Schreiben der Knoten-Properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveableBenchmark {
+
+    private static final double DT = 1.0 / 240;
+
+    private Ball ball;
+    private Paddle paddle;
+
+    @Setup
+    public void setup() {
+        MatchState state = new MatchState();
+        AnchorPane pane = new AnchorPane();
+        Circle ballView = new Circle(GameConfig.BALL_RADIUS);
+        Rectangle paddleView = new Rectangle(GameConfig.PADDLE_WIDTH, GameConfig.PADDLE_HEIGHT);
+        pane.getChildren().addAll(ballView, paddleView);
+        ball   = new Ball(ballView, state);
+        paddle = new Paddle(paddleView, state, MatchState.LEFT);
+        ball.reset(GameConfig.BASE_WIDTH / 2, GameConfig.BASE_HEIGHT / 2);
+        paddle.reset(0, GameConfig.BASE_HEIGHT / 2);
+        paddle.setDirection(Direction.DOWN);
+    }
+
+    @Benchmark
+    public Ball ballUpdate() {
+        ball.update(DT);
+        return ball;
+    }
+
+    @Benchmark
+    public Ball ballReset() {
+        ball.reset(GameConfig.BASE_WIDTH / 2, GameConfig.BASE_HEIGHT / 2);
+        return ball;
+    }
+
+    @Benchmark
+    public Paddle paddleUpdate() {
+        paddle.update(DT);
+        return paddle;
+    }
+}
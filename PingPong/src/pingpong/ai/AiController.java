@@ -0,0 +1,114 @@
+package pingpong.ai;
+
+import pingpong.engine.MatchState;
+import pingpong.model.Direction;
+
+/**
+ * Computergegner, der den Auftreffpunkt des Balls vorausberechnet (TrajectorySolver, O(1)).
+ *
+ * Ablauf: Ändert sich die horizontale Geschwindigkeit des Balls (Aufschlag oder
+ * Paddle-Treffer), wartet der Bot die Reaktionszeit ab und plant dann neu:
+ * kommt der Ball auf ihn zu, zielt er auf den berechneten Auftreffpunkt plus
+ * einen zufälligen Fehler, sonst fährt er zurück zur Mitte. Bis dahin verfolgt
+ * er das alte Ziel. Wandabpraller ändern den Auftreffpunkt nicht und lösen
+ * daher kein neues Planen aus.
+ *
+ * decide() kostet ein paar Rechenoperationen und erzeugt keine Objekte;
+ * der Zufall (SplitMix64) hängt nur vom Seed ab.
+ */
+public class AiController implements PaddleController {
+    private final double reactionSeconds;
+    private final double error;
+    private final long seed;
+    private long rng;
+
+    private double lastVx = Double.NaN;
+    private double waitSeconds;
+    private boolean planned;
+    // Ziel für die Paddle-Mitte (NaN = noch keins → Mitte)
+    private double targetY = Double.NaN;
+
+    /**
+     * @param difficulty Schwierigkeitsstufe
+     * @param seed Startwert für den Zielfehler
+     */
+    public AiController(AiDifficulty difficulty, long seed) {
+        this(difficulty.getReactionSeconds(), difficulty.getError(), seed);
+    }
+
+    /**
+     * @param reactionSeconds Reaktionszeit nach Richtungswechsel des Balls
+     * @param error Standardabweichung des Zielfehlers als Anteil der Paddle-Höhe
+     * @param seed Startwert für den Zielfehler
+     */
+    public AiController(double reactionSeconds, double error, long seed) {
+        this.reactionSeconds = reactionSeconds;
+        this.error           = error;
+        this.seed            = seed;
+        this.rng             = seed;
+    }
+
+    @Override
+    public void reset() {
+        rng         = seed;
+        lastVx      = Double.NaN;
+        waitSeconds = 0;
+        planned     = false;
+        targetY     = Double.NaN;
+    }
+
+    @Override
+    public Direction decide(MatchState s, int side, double dt) {
+        double vx = s.getBallVx();
+        if (vx != lastVx) {
+            lastVx      = vx;
+            waitSeconds = reactionSeconds;
+            planned     = false;
+        }
+        if (!planned) {
+            waitSeconds -= dt;
+            if (waitSeconds <= 0) {
+                plan(s, side);
+            }
+        }
+        double target = targetY != targetY ? s.getHeight() / 2 : targetY;   // NaN → Mitte
+        double dy = target - (s.getPaddleY(side) + s.getPaddleHeight() / 2);
+        // Innerhalb eines Schritts stehen bleiben, sonst zittert das Paddle um das Ziel
+        double tolerance = Math.max(s.getPaddleSpeed() * dt, 1e-9);
+        if (dy > tolerance)  return Direction.DOWN;
+        if (dy < -tolerance) return Direction.UP;
+        return Direction.NONE;
+    }
+
+    // Neues Ziel aus der aktuellen Ballbahn
+    private void plan(MatchState s, int side) {
+        planned = true;
+        double r = s.getBallRadius();
+        double contactX = side == MatchState.LEFT
+                ? s.getPaddleX(side) + s.getPaddleWidth() + r
+                : s.getPaddleX(side) - r;
+        double y = TrajectorySolver.interceptY(s.getBallX(), s.getBallY(), s.getBallVx(), s.getBallVy(),
+                r, contactX, s.getHeight());
+        if (y != y) {
+            targetY = s.getHeight() / 2;        // Ball fliegt weg: zurück zur Mitte
+        } else {
+            targetY = y + gaussian() * error * s.getPaddleHeight();
+        }
+    }
+
+    // Normalverteilte Zufallszahl (Box-Muller) aus SplitMix64
+    private double gaussian() {
+        double u1 = (nextLong() >>> 11) * 0x1.0p-53;
+        double u2 = (nextLong() >>> 11) * 0x1.0p-53;
+        return Math.sqrt(-2 * Math.log(u1 + 1e-300)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private long nextLong() {
+        long z = (rng += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public double getTargetY() { return targetY; }
+}
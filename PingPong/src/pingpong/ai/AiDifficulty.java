@@ -0,0 +1,23 @@
+package pingpong.ai;
+
+/**
+ * Schwierigkeitsstufen des Computergegners: Reaktionszeit nach einem
+ * Richtungswechsel des Balls und Streuung des Zielpunkts (Anteil der Paddle-Höhe).
+ */
+public enum AiDifficulty {
+    EASY(0.45, 0.9),
+    MEDIUM(0.25, 0.45),
+    HARD(0.12, 0.2),
+    PERFECT(0, 0);
+
+    private final double reactionSeconds;
+    private final double error;
+
+    AiDifficulty(double reactionSeconds, double error) {
+        this.reactionSeconds = reactionSeconds;
+        this.error           = error;
+    }
+
+    public double getReactionSeconds() { return reactionSeconds; }
+    public double getError()           { return error; }
+}
@@ -0,0 +1,63 @@
+package pingpong.ai;
+
+import pingpong.config.GameConfig;
+import pingpong.engine.MatchState;
+
+/**
+ * BotArena lässt viele Matches Bot gegen Bot ohne Grafik auf einem Thread laufen
+ * (Dauertest für Physik und AiController) und misst, wie viele Bots pro Kern
+ * in Echtzeit mitlaufen könnten.
+ *
+ * Aufruf: java -cp PingPong.jar pingpong.ai.BotArena [matches] [sekunden Spielzeit] [links] [rechts]
+ *   z.B.  ... BotArena 2000 60 HARD EASY
+ */
+public final class BotArena {
+    private BotArena() { }
+
+    public static void main(String[] args) {
+        int matches  = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        double secs  = args.length > 1 ? Double.parseDouble(args[1]) : 30;
+        AiDifficulty left  = args.length > 2 ? AiDifficulty.valueOf(args[2]) : AiDifficulty.HARD;
+        AiDifficulty right = args.length > 3 ? AiDifficulty.valueOf(args[3]) : AiDifficulty.MEDIUM;
+        int tickRate = GameConfig.TICK_RATE;
+        double dt = 1.0 / tickRate;
+        long ticks = (long) (secs * tickRate);
+
+        MatchState[] states = new MatchState[matches];
+        PaddleController[][] bots = new PaddleController[matches][2];
+        for (int i = 0; i < matches; i++) {
+            states[i] = new MatchState(i);
+            states[i].setBallSpeed(GameConfig.BALL_SPEED);
+            states[i].setPaddleSpeed(GameConfig.PADDLE_SPEED);
+            states[i].startMatch(i);
+            bots[i][MatchState.LEFT]  = new AiController(left, 2L * i);
+            bots[i][MatchState.RIGHT] = new AiController(right, 2L * i + 1);
+        }
+
+        long t0 = System.nanoTime();
+        for (long t = 0; t < ticks; t++) {
+            for (int i = 0; i < matches; i++) {
+                MatchState s = states[i];
+                s.setPaddleDirection(MatchState.LEFT, bots[i][MatchState.LEFT].decide(s, MatchState.LEFT, dt));
+                s.setPaddleDirection(MatchState.RIGHT, bots[i][MatchState.RIGHT].decide(s, MatchState.RIGHT, dt));
+                s.step(dt);
+            }
+        }
+        double elapsed = (System.nanoTime() - t0) / 1e9;
+
+        long pointsLeft = 0, pointsRight = 0;
+        for (MatchState s : states) {
+            pointsLeft  += s.getScore(MatchState.LEFT);
+            pointsRight += s.getScore(MatchState.RIGHT);
+        }
+        double matchTicks = (double) matches * ticks;
+        System.out.printf("%d Matches x %.0f s Spielzeit (%s gegen %s) in %.2f s%n",
+                matches, secs, left, right, elapsed);
+        System.out.printf("%.2f Mio. Match-Ticks/s, %.0f ns pro Tick inkl. 2 Bots%n",
+                matchTicks / elapsed / 1e6, elapsed * 1e9 / matchTicks);
+        System.out.printf("Echtzeit bei %d Hz: ca. %.0f Bots pro Kern%n",
+                tickRate, 2 * matchTicks / elapsed / tickRate);
+        System.out.printf("Punkte links %d, rechts %d (%.1f Punkte pro Match-Minute)%n",
+                pointsLeft, pointsRight, (pointsLeft + pointsRight) / (matches * secs / 60));
+    }
+}
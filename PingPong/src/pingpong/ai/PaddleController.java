@@ -0,0 +1,27 @@
+package pingpong.ai;
+
+import pingpong.engine.MatchState;
+import pingpong.model.Direction;
+
+/**
+ * Steuert ein Paddle anstelle der Tastatur. Wird einmal pro Physik-Tick vor
+ * dem Schritt gefragt; die Antwort wird wie ein Tastendruck behandelt.
+ * Implementierungen sollen in decide() keine Objekte erzeugen.
+ */
+public interface PaddleController {
+
+    /**
+     * Entscheidet die Richtung für den nächsten Tick.
+     * @param state aktueller Spielzustand (nur lesen)
+     * @param side MatchState.LEFT oder MatchState.RIGHT
+     * @param dt Länge eines Ticks in Sekunden
+     * @return gewünschte Richtung
+     */
+    Direction decide(MatchState state, int side, double dt);
+
+    /**
+     * Wird bei Spielbeginn aufgerufen (z.B. um Zustände zu löschen).
+     */
+    default void reset() {
+    }
+}
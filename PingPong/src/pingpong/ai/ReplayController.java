@@ -0,0 +1,57 @@
+package pingpong.ai;
+
+import pingpong.engine.MatchState;
+import pingpong.model.Direction;
+import pingpong.replay.ReplayPlayer;
+
+/**
+ * Bot, der die aufgezeichneten Eingaben einer Seite aus einem Replay abspielt
+ * (z.B. einen menschlichen Spieler), ohne auf den Ball zu achten. Ist das
+ * Match länger als die Aufnahme, beginnt sie von vorn; eine andere Tick-Rate
+ * wird über die Spielzeit umgerechnet.
+ *
+ * Die Richtungen pro Tick liest readDirections() einmal aus dem Replay; das
+ * Array wird von allen Controllern geteilt und nicht verändert.
+ */
+public class ReplayController implements PaddleController {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final byte[] directions;
+    private final int recordedTickRate;
+
+    /**
+     * @param directions Direction.ordinal() pro Tick der Aufnahme (siehe readDirections())
+     * @param recordedTickRate Tick-Rate der Aufnahme
+     */
+    public ReplayController(byte[] directions, int recordedTickRate) {
+        if (directions.length == 0) {
+            throw new IllegalArgumentException("Aufnahme ohne Ticks");
+        }
+        this.directions       = directions;
+        this.recordedTickRate = recordedTickRate;
+    }
+
+    @Override
+    public Direction decide(MatchState s, int side, double dt) {
+        long t = Math.round(s.getTick() * dt * recordedTickRate);
+        return DIRECTIONS[directions[(int) (t % directions.length)]];
+    }
+
+    /**
+     * Rechnet ein Replay bis zum Ende nach und merkt sich pro Tick die Richtung
+     * einer Seite. Wechsel mitten im Tick zählen ab dem nächsten Tick.
+     * @param player frisch geöffnetes Replay (wird dabei bis zum Ende gespult)
+     * @param side MatchState.LEFT oder MatchState.RIGHT
+     */
+    public static byte[] readDirections(ReplayPlayer player, int side) {
+        player.rewind();
+        byte[] dirs = new byte[(int) player.getEndTick() + 1];
+        MatchState s = player.getState();
+        for (int t = 0; t < dirs.length; t++) {
+            player.seek(t);
+            double vy = s.getPaddleVy(side);
+            dirs[t] = (byte) (vy < 0 ? Direction.UP : vy > 0 ? Direction.DOWN : Direction.NONE).ordinal();
+        }
+        return dirs;
+    }
+}
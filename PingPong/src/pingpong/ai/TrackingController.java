@@ -0,0 +1,23 @@
+package pingpong.ai;
+
+import pingpong.engine.MatchState;
+import pingpong.model.Direction;
+
+/**
+ * Einfacher Bot mit festem Ablauf ohne Vorausberechnung: die Paddle-Mitte
+ * folgt der aktuellen Ballhöhe, innerhalb einer toten Zone (Viertel der
+ * Paddle-Höhe) bleibt das Paddle stehen. Kommt der Ball nicht auf ihn zu,
+ * fährt er zurück zur Mitte. Kein Zufall, keine Reaktionszeit.
+ */
+public class TrackingController implements PaddleController {
+
+    @Override
+    public Direction decide(MatchState s, int side, double dt) {
+        boolean incoming = side == MatchState.LEFT ? s.getBallVx() < 0 : s.getBallVx() > 0;
+        double target = incoming ? s.getBallY() : s.getHeight() / 2;
+        double center = s.getPaddleY(side) + s.getPaddleHeight() / 2;
+        double dead   = s.getPaddleHeight() / 4;
+        double dy     = target - center;
+        return dy > dead ? Direction.DOWN : dy < -dead ? Direction.UP : Direction.NONE;
+    }
+}
@@ -0,0 +1,57 @@
+package pingpong.ai;
+
+/**
+ * Berechnet, wo der Ball eine senkrechte Linie x = targetX erreicht, in O(1):
+ * statt Schritt für Schritt zu simulieren, wird die Bahn "aufgefaltet".
+ * Ohne Wände läge der Ball bei y = y0 + vy * t; jede Reflexion an Decke oder
+ * Boden spiegelt diesen Wert, also ergibt der Rest modulo 2L (L = nutzbare Höhe)
+ * mit anschließender Spiegelung direkt die echte Position.
+ */
+public final class TrajectorySolver {
+    private TrajectorySolver() { }
+
+    /**
+     * Zeit bis der Ballmittelpunkt x = targetX erreicht.
+     * @return Sekunden, oder Double.POSITIVE_INFINITY, wenn der Ball sich entfernt
+     */
+    public static double timeTo(double ballX, double vx, double targetX) {
+        double t = (targetX - ballX) / vx;
+        return t >= 0 && vx != 0 ? t : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * y-Position des Ballmittelpunkts nach t Sekunden, mit allen Abprallern
+     * an oberer und unterer Wand.
+     * @param y Ballmittelpunkt jetzt
+     * @param vy vertikale Geschwindigkeit
+     * @param t Zeit in Sekunden
+     * @param radius Ballradius
+     * @param height Spielfeldhöhe
+     */
+    public static double foldY(double y, double vy, double t, double radius, double height) {
+        double span = height - 2 * radius;
+        if (span <= 0) {
+            return height / 2;
+        }
+        double u = (y - radius) + vy * t;
+        double period = 2 * span;
+        double m = u % period;
+        if (m < 0) {
+            m += period;
+        }
+        return radius + (m <= span ? m : period - m);
+    }
+
+    /**
+     * Wo trifft der Ball die Linie x = targetX?
+     * @return y des Ballmittelpunkts, oder Double.NaN, wenn er sich entfernt
+     */
+    public static double interceptY(double ballX, double ballY, double vx, double vy,
+                                    double radius, double targetX, double height) {
+        double t = timeTo(ballX, vx, targetX);
+        if (t == Double.POSITIVE_INFINITY) {
+            return Double.NaN;
+        }
+        return foldY(ballY, vy, t, radius, height);
+    }
+}
@@ -0,0 +1,337 @@
+package pingpong.analytics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import pingpong.ai.PaddleController;
+import pingpong.config.GameConfig;
+import pingpong.engine.MatchListener;
+import pingpong.engine.MatchState;
+import pingpong.engine.SweptCollider;
+import pingpong.tournament.Contestant;
+
+/**
+ * ParameterSweep rechnet ein Raster aus Ball-Geschwindigkeit, Paddle-Geschwindigkeit,
+ * Paddle-Höhe und Ballradius durch: pro Rasterpunkt spielen zwei Bots viele
+ * Matches mit fester Spielzeit ohne Grafik. Ausgegeben werden pro Punkt die
+ * Verteilung der Ballwechsel (Treffer und Sekunden), Punkte pro Minute,
+ * die Fehlerquote (verfehlte Bälle / Bälle am Paddle) und Tunnel-Fälle
+ * (Ball durch ein Paddle geflogen; mit SweptCollider sollte das nie passieren).
+ *
+ * Gerechnet wird mit parallelen Streams auf dem gemeinsamen ForkJoinPool:
+ * die Rasterpunkte parallel und darin die Matches parallel, sodass auch ein
+ * kleines Raster alle Kerne nutzt. Match m hat an jedem Rasterpunkt denselben
+ * Seed (gleiche Aufschläge, gleiche Bot-Fehler), dadurch sind Unterschiede
+ * zwischen Punkten Folge der Parameter und nicht des Zufalls.
+ *
+ * Fertige Punkte landen in einem SweepCache und werden beim nächsten Lauf
+ * mit denselben Einstellungen nicht neu gerechnet.
+ *
+ * Aufruf: java -cp PingPong.jar pingpong.analytics.ParameterSweep
+ *             [ballSpeeds] [paddleSpeeds] [paddleHeights] [ballRadii]
+ *             [matches] [sekunden] [bots] [ergebnis.csv] [seed]
+ *   Achsen als Liste "250,300,350" oder Bereich "200:1000:100" (von:bis:schritt),
+ *   Bots wie im Turnier, z.B. "medium,hard". Cache-Datei über
+ *   -Dpingpong.sweepCache (Standard ~/.pingpong/sweep-cache.csv, leer = aus).
+ */
+public class ParameterSweep {
+    private final Contestant left, right;
+    private int matches = 16;
+    private double seconds = 60;
+    private int tickRate = GameConfig.TICK_RATE;
+    private long seed = 1;
+    private SweepCache cache;
+
+    // Messwerte des letzten run()
+    private int computedPoints, cachedPoints;
+    private final AtomicLong simulatedTicks = new AtomicLong();
+    private long lastRunNanos;
+
+    /**
+     * @param left Bot links (bei ungeraden Matches rechts)
+     * @param right Bot rechts (bei ungeraden Matches links)
+     */
+    public ParameterSweep(Contestant left, Contestant right) {
+        this.left  = left;
+        this.right = right;
+        this.cache = new SweepCache();
+    }
+
+    public void setMatches(int matches)       { this.matches = Math.max(1, matches); }
+    public void setSeconds(double seconds)    { this.seconds = seconds; }
+    public void setTickRate(int tickRate)     { this.tickRate = tickRate; }
+    public void setSeed(long seed)            { this.seed = seed; }
+    public void setCache(SweepCache cache)    { this.cache = cache; }
+
+    /**
+     * Alle Einstellungen, von denen ein Ergebnis außer dem Rasterpunkt abhängt
+     * (Schlüssel im Cache).
+     */
+    public String getSettings() {
+        return String.format(Locale.ROOT, "%s|%s|%d|%s|%d|%d",
+                left.getName(), right.getName(), matches, SweepResult.format(seconds), tickRate, seed)
+                .replace(',', ';');
+    }
+
+    /**
+     * Kreuzprodukt der Achsen, Ballgeschwindigkeit außen.
+     */
+    public static List<SweepPoint> grid(double[] ballSpeeds, double[] paddleSpeeds,
+                                        double[] paddleHeights, double[] ballRadii) {
+        List<SweepPoint> points = new ArrayList<>();
+        for (double b : ballSpeeds)
+            for (double p : paddleSpeeds)
+                for (double h : paddleHeights)
+                    for (double r : ballRadii)
+                        points.add(new SweepPoint(b, p, h, r));
+        return points;
+    }
+
+    /**
+     * Wertet alle Punkte aus, aus dem Cache oder neu gerechnet.
+     * @return Ergebnisse in der Reihenfolge von points
+     */
+    public List<SweepResult> run(List<SweepPoint> points) {
+        String settings = getSettings();
+        Set<SweepPoint> missing = new LinkedHashSet<>();
+        for (SweepPoint p : points) {
+            if (cache.get(settings, p) == null) {
+                missing.add(p);
+            }
+        }
+        List<SweepPoint> todo = new ArrayList<>(missing);
+        computedPoints = todo.size();
+        cachedPoints   = points.size() - todo.size();
+        simulatedTicks.set(0);
+
+        AtomicInteger done = new AtomicInteger();
+        long t0 = System.nanoTime();
+        todo.parallelStream().forEach(p -> {
+            SweepResult r = simulate(p);
+            try {
+                cache.put(settings, r);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            progress(done.incrementAndGet(), todo.size(), t0);
+        });
+        lastRunNanos = System.nanoTime() - t0;
+        return points.stream().map(p -> cache.get(settings, p)).collect(Collectors.toList());
+    }
+
+    // Fortschritt in 10-%-Schritten
+    private static void progress(int done, int total, long t0) {
+        if (done * 10L / total != (done - 1) * 10L / total) {
+            double elapsed = (System.nanoTime() - t0) / 1e9;
+            System.out.printf("  %3d%%  %d/%d Punkte, %.0f s, noch etwa %.0f s%n",
+                    done * 100 / total, done, total, elapsed, elapsed * (total - done) / done);
+        }
+    }
+
+    /**
+     * Simuliert einen Rasterpunkt (ohne Cache); die Matches laufen parallel.
+     */
+    public SweepResult simulate(SweepPoint point) {
+        SweepStats stats = IntStream.range(0, matches).parallel()
+                .mapToObj(m -> play(point, m))
+                .collect(SweepStats::new, SweepStats::merge, SweepStats::merge);
+        return stats.toResult(point);
+    }
+
+    // Ein Match mit fester Spielzeit an einem Rasterpunkt
+    private SweepStats play(SweepPoint point, int m) {
+        long matchSeed = mix(seed + (m + 1) * 0x9E3779B97F4A7C15L);
+        SweepStats stats = new SweepStats();
+        MatchState s = new MatchState(matchSeed);
+        point.apply(s);
+        s.setServeDelayTicks((int) Math.round(GameConfig.SERVE_DELAY_SECONDS * tickRate));
+        s.setListener(new MatchListener() {
+            @Override
+            public void onScore(int side) {
+                stats.addRally(s.getLastRallyHits(), (double) s.getLastRallyTicks() / tickRate);
+            }
+        });
+        s.startMatch(matchSeed);
+
+        // Seiten wechseln, damit ungleiche Bots nicht immer links stehen
+        PaddleController a = (m % 2 == 0 ? left : right).create(mix(matchSeed ^ 1));
+        PaddleController b = (m % 2 == 0 ? right : left).create(mix(matchSeed ^ 2));
+        a.reset();
+        b.reset();
+        double dt = 1.0 / tickRate;
+        long ticks = (long) (seconds * tickRate);
+        double r = s.getBallRadius();
+        double faceLeft  = s.getPaddleX(MatchState.LEFT) + s.getPaddleWidth() + r;
+        double faceRight = s.getPaddleX(MatchState.RIGHT) - r;
+        for (long t = 0; t < ticks; t++) {
+            double x0 = s.getBallX(), y0 = s.getBallY();
+            s.setPaddleDirection(MatchState.LEFT, a.decide(s, MatchState.LEFT, dt));
+            s.setPaddleDirection(MatchState.RIGHT, b.decide(s, MatchState.RIGHT, dt));
+            s.step(dt);
+            if (tunneled(s, x0, y0, faceLeft, faceRight)) {
+                stats.addTunnel();
+            }
+        }
+        stats.addMatch(s.getScore(MatchState.LEFT) + s.getScore(MatchState.RIGHT), seconds / 60);
+        simulatedTicks.addAndGet(ticks);
+        return stats;
+    }
+
+    /**
+     * Prüft unabhängig vom SweptCollider, ob der Ball im letzten Schritt die
+     * Vorderkante eines Paddles innerhalb der Paddle-Höhe überquert hat, ohne
+     * es zu treffen. Der Weg des Balls geht vom Start über die Kontaktpunkte
+     * (Wand, Tor) zur Endposition; bei einem Paddle-Kontakt ist nichts zu prüfen.
+     * faceLeft und faceRight sind die X-Werte der Ballmitte, bei denen der Ball
+     * die Vorderkante des linken bzw. rechten Paddles berührt.
+     */
+    static boolean tunneled(MatchState s, double x0, double y0, double faceLeft, double faceRight) {
+        SweptCollider c = s.getLastContacts();
+        int n = c.getContactCount();
+        for (int i = 0; i < n; i++) {
+            if (c.getContactType(i) == SweptCollider.CONTACT_PADDLE) return false;
+        }
+        double h = s.getPaddleHeight();
+        for (int i = 0; i <= n; i++) {
+            boolean goal = i < n && c.getContactType(i) == SweptCollider.CONTACT_GOAL;
+            double x1 = i < n ? c.getContactX(i) : s.getBallX();
+            double y1 = i < n ? c.getContactY(i) : s.getBallY();
+            if (x0 > faceLeft && x1 < faceLeft
+                    && inside(y0 + (y1 - y0) * (faceLeft - x0) / (x1 - x0), s.getPaddleY(MatchState.LEFT), h)) {
+                return true;
+            }
+            if (x0 < faceRight && x1 > faceRight
+                    && inside(y0 + (y1 - y0) * (faceRight - x0) / (x1 - x0), s.getPaddleY(MatchState.RIGHT), h)) {
+                return true;
+            }
+            if (goal) break;        // danach steht der Ball schon zum Aufschlag bereit
+            x0 = x1;
+            y0 = y1;
+        }
+        return false;
+    }
+
+    private static boolean inside(double y, double top, double height) {
+        return y >= top && y <= top + height;
+    }
+
+    // SplitMix64-Mischfunktion für unabhängige Seeds
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Liest eine Achse: "300", "250,300,350" oder "200:1000:100" (von:bis:schritt).
+     */
+    public static double[] parseAxis(String spec) {
+        String[] range = spec.split(":");
+        if (range.length == 3) {
+            double from = Double.parseDouble(range[0]);
+            double to   = Double.parseDouble(range[1]);
+            double step = Double.parseDouble(range[2]);
+            if (step <= 0 || to < from) {
+                throw new IllegalArgumentException("Ungültiger Bereich: " + spec);
+            }
+            int n = (int) Math.floor((to - from) / step + 1e-9) + 1;
+            double[] values = new double[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = from + i * step;
+            }
+            return values;
+        }
+        String[] list = spec.split(",");
+        double[] values = new double[list.length];
+        for (int i = 0; i < list.length; i++) {
+            values[i] = Double.parseDouble(list[i].trim());
+        }
+        return values;
+    }
+
+    /**
+     * Schreibt die Ergebnisse als CSV (eine Zeile pro Rasterpunkt).
+     */
+    public static void writeCsv(Path file, List<SweepResult> results) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println(SweepResult.csvHeader());
+            for (SweepResult r : results) {
+                out.println(r.toCsv());
+            }
+        }
+    }
+
+    public int getComputedPoints()  { return computedPoints; }
+    public int getCachedPoints()    { return cachedPoints; }
+    public long getSimulatedTicks() { return simulatedTicks.get(); }
+    public long getLastRunNanos()   { return lastRunNanos; }
+
+    /**
+     * Kommandozeile, siehe Klassenbeschreibung.
+     */
+    public static void main(String[] args) throws Exception {
+        double[] ballSpeeds    = parseAxis(args.length > 0 ? args[0] : "200:1000:100");
+        double[] paddleSpeeds  = parseAxis(args.length > 1 ? args[1] : "150:350:50");
+        double[] paddleHeights = parseAxis(args.length > 2 ? args[2] : "50:110:20");
+        double[] ballRadii     = parseAxis(args.length > 3 ? args[3] : "6:14:4");
+        int matches    = args.length > 4 ? Integer.parseInt(args[4]) : 16;
+        double seconds = args.length > 5 ? Double.parseDouble(args[5]) : 60;
+        String[] bots  = (args.length > 6 ? args[6] : "medium,medium").split(",");
+        Path csv       = Paths.get(args.length > 7 ? args[7] : "sweep.csv");
+        long seed      = args.length > 8 ? Long.parseLong(args[8]) : 1;
+        String cacheFile = System.getProperty("pingpong.sweepCache",
+                Paths.get(System.getProperty("user.home"), ".pingpong", "sweep-cache.csv").toString());
+
+        ParameterSweep sweep = new ParameterSweep(Contestant.parse(bots[0]),
+                Contestant.parse(bots.length > 1 ? bots[1] : bots[0]));
+        sweep.setMatches(matches);
+        sweep.setSeconds(seconds);
+        sweep.setSeed(seed);
+        List<SweepPoint> points = grid(ballSpeeds, paddleSpeeds, paddleHeights, ballRadii);
+
+        try (SweepCache cache = new SweepCache(cacheFile.isEmpty() ? null : Paths.get(cacheFile))) {
+            sweep.setCache(cache);
+            System.out.printf("Raster: %d x %d x %d x %d = %d Punkte, je %d Matches à %.0f s (%s)%n",
+                    ballSpeeds.length, paddleSpeeds.length, paddleHeights.length, ballRadii.length,
+                    points.size(), matches, seconds, sweep.getSettings());
+            System.out.printf("Cache: %s (%d Einträge), %d Threads%n",
+                    cache.getFile() != null ? cache.getFile() : "aus", cache.getLoaded(),
+                    ForkJoinPool.commonPool().getParallelism());
+
+            List<SweepResult> results = sweep.run(points);
+            writeCsv(csv, results);
+
+            double wall = sweep.getLastRunNanos() / 1e9;
+            System.out.printf("%d Punkte gerechnet, %d aus dem Cache, in %.1f s (%.1f Mio. Ticks/s)%n",
+                    sweep.getComputedPoints(), sweep.getCachedPoints(), wall,
+                    wall > 0 ? sweep.getSimulatedTicks() / wall / 1e6 : 0);
+            long tunnels = 0;
+            SweepResult longest = results.get(0), mostPoints = results.get(0);
+            for (SweepResult r : results) {
+                tunnels += r.getTunnels();
+                if (r.getRallyHitsMedian() > longest.getRallyHitsMedian()) longest = r;
+                if (r.getPointsPerMinute() > mostPoints.getPointsPerMinute()) mostPoints = r;
+            }
+            System.out.printf("Längste Ballwechsel (Median %.0f Treffer): %s%n",
+                    longest.getRallyHitsMedian(), longest.getPoint());
+            System.out.printf("Meiste Punkte (%.1f pro Minute, Fehlerquote %.0f%%): %s%n",
+                    mostPoints.getPointsPerMinute(), 100 * mostPoints.getMissRate(), mostPoints.getPoint());
+            System.out.printf("Tunnel-Fälle: %d%n", tunnels);
+            System.out.println("Ergebnis geschrieben: " + csv);
+        }
+    }
+}
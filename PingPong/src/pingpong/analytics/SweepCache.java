@@ -0,0 +1,128 @@
+package pingpong.analytics;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache für bereits gerechnete Rasterpunkte, damit ein neuer Sweep nur die
+ * fehlenden Punkte simuliert und ein abgebrochener Sweep weiterlaufen kann.
+ *
+ * Die Datei ist eine CSV-Datei: Einstellungen des Sweeps (Bots, Matches,
+ * Spielzeit, Tick-Rate, Seed) als erste Spalte, danach die Zeile aus
+ * SweepResult.toCsv(). Jeder neue Punkt wird sofort angehängt. Passt die
+ * Kopfzeile nicht (andere Spalten), wird die Datei verworfen und neu begonnen.
+ * Nach Änderungen an der Spielphysik die Datei löschen.
+ */
+public final class SweepCache implements Closeable {
+    private static final String HEADER = "settings," + SweepResult.csvHeader();
+
+    private final Path file;
+    private final Map<String, SweepResult> results = new ConcurrentHashMap<>();
+    private PrintWriter out;
+    private int loaded;
+
+    /**
+     * Cache nur im Speicher.
+     */
+    public SweepCache() {
+        this.file = null;
+    }
+
+    /**
+     * @param file Cache-Datei, null = nur im Speicher
+     * @throws IOException wenn eine vorhandene Datei nicht gelesen werden kann
+     */
+    public SweepCache(Path file) throws IOException {
+        this.file = file;
+        if (file != null && Files.exists(file)) {
+            load();
+        }
+    }
+
+    private void load() throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(in.readLine())) {
+                return;             // anderes Format → beim ersten put() neu anlegen
+            }
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] cells = line.split(",");
+                try {
+                    SweepResult r = SweepResult.parse(cells, 1);
+                    results.put(key(cells[0], r.getPoint()), r);
+                } catch (NumberFormatException e) {
+                    // abgeschnittene letzte Zeile nach einem Abbruch: ignorieren
+                }
+            }
+            loaded = results.size();
+        }
+        boolean broken = !endsWithNewline();
+        out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND));
+        if (broken) {
+            out.println();          // abgeschnittene Zeile abschließen
+        }
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        try (SeekableByteChannel ch = Files.newByteChannel(file)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            ch.position(ch.size() - 1).read(last);
+            return last.get(0) == '\n';
+        }
+    }
+
+    /**
+     * Gespeichertes Ergebnis oder null.
+     * @param settings Einstellungen des Sweeps (ohne Komma)
+     */
+    public SweepResult get(String settings, SweepPoint point) {
+        return results.get(key(settings, point));
+    }
+
+    /**
+     * Speichert ein Ergebnis und hängt es an die Datei an (threadsicher).
+     */
+    public synchronized void put(String settings, SweepResult result) throws IOException {
+        results.put(key(settings, result.getPoint()), result);
+        if (file == null) {
+            return;
+        }
+        if (out == null) {
+            Path dir = file.toAbsolutePath().getParent();
+            if (dir != null) Files.createDirectories(dir);
+            out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+            out.println(HEADER);
+        }
+        out.println(settings + "," + result.toCsv());
+        out.flush();
+        if (out.checkError()) {
+            throw new IOException("Cache konnte nicht geschrieben werden: " + file);
+        }
+    }
+
+    private static String key(String settings, SweepPoint point) {
+        return settings + "," + point;
+    }
+
+    public Path getFile()  { return file; }
+    public int getLoaded() { return loaded; }
+    public int size()      { return results.size(); }
+
+    @Override
+    public synchronized void close() {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+}
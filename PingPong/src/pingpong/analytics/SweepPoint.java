@@ -0,0 +1,63 @@
+package pingpong.analytics;
+
+import java.util.Locale;
+import pingpong.engine.MatchState;
+
+/**
+ * Ein Punkt im Parameter-Raster (unveränderlich): Ball- und Paddle-Geschwindigkeit,
+ * Paddle-Höhe und Ballradius, jeweils in Einheiten des Grundfelds
+ * (GameConfig.BASE_WIDTH x BASE_HEIGHT). Die Ballgeschwindigkeit entspricht
+ * dem Wert aus dem Startdialog.
+ */
+public final class SweepPoint {
+    private final double ballSpeed;
+    private final double paddleSpeed;
+    private final double paddleHeight;
+    private final double ballRadius;
+
+    public SweepPoint(double ballSpeed, double paddleSpeed, double paddleHeight, double ballRadius) {
+        this.ballSpeed    = ballSpeed;
+        this.paddleSpeed  = paddleSpeed;
+        this.paddleHeight = paddleHeight;
+        this.ballRadius   = ballRadius;
+    }
+
+    /**
+     * Überträgt die Parameter auf ein Match im Grundfeld (vor startMatch() aufrufen).
+     */
+    public void apply(MatchState s) {
+        s.setBallSpeed(ballSpeed);
+        s.setPaddleSpeed(paddleSpeed);
+        s.setBallRadius(ballRadius);
+        s.setPaddleGeometry(s.getPaddleX(MatchState.LEFT), s.getPaddleX(MatchState.RIGHT),
+                            s.getPaddleWidth(), paddleHeight);
+    }
+
+    public double getBallSpeed()    { return ballSpeed; }
+    public double getPaddleSpeed()  { return paddleSpeed; }
+    public double getPaddleHeight() { return paddleHeight; }
+    public double getBallRadius()   { return ballRadius; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SweepPoint)) return false;
+        SweepPoint p = (SweepPoint) o;
+        return ballSpeed == p.ballSpeed && paddleSpeed == p.paddleSpeed
+                && paddleHeight == p.paddleHeight && ballRadius == p.ballRadius;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Double.hashCode(ballSpeed);
+        h = 31 * h + Double.hashCode(paddleSpeed);
+        h = 31 * h + Double.hashCode(paddleHeight);
+        return 31 * h + Double.hashCode(ballRadius);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "ball=%s paddle=%s height=%s radius=%s",
+                SweepResult.format(ballSpeed), SweepResult.format(paddleSpeed),
+                SweepResult.format(paddleHeight), SweepResult.format(ballRadius));
+    }
+}
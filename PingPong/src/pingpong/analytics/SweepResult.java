@@ -0,0 +1,114 @@
+package pingpong.analytics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Auswertung eines Rasterpunkts (unveränderlich): Verteilungen von
+ * Ballwechsel-Länge (Treffer und Sekunden) und Punkten pro Minute,
+ * Fehlerquote und Tunnel-Fälle. Die Werte liegen in der Reihenfolge von
+ * COLUMNS vor, so wie sie in CSV und Cache stehen.
+ */
+public final class SweepResult {
+    /** Spalten der Rasterparameter, danach folgen die Werte aus COLUMNS. */
+    public static final List<String> POINT_COLUMNS = Arrays.asList(
+            "ball_speed", "paddle_speed", "paddle_height", "ball_radius");
+    public static final List<String> COLUMNS = Arrays.asList(
+            "matches", "rallies",
+            "rally_hits_mean", "rally_hits_p10", "rally_hits_p50", "rally_hits_p90", "rally_hits_p99",
+            "rally_seconds_mean", "rally_seconds_p10", "rally_seconds_p50", "rally_seconds_p90", "rally_seconds_p99",
+            "points_per_minute_mean", "points_per_minute_p10", "points_per_minute_p50", "points_per_minute_p90",
+            "miss_rate", "tunnels", "tunnel_rate");
+
+    private static final int RALLY_HITS_P50    = COLUMNS.indexOf("rally_hits_p50");
+    private static final int RALLY_SECONDS_P50 = COLUMNS.indexOf("rally_seconds_p50");
+    private static final int POINTS_PER_MINUTE = COLUMNS.indexOf("points_per_minute_mean");
+    private static final int MISS_RATE         = COLUMNS.indexOf("miss_rate");
+    private static final int TUNNELS           = COLUMNS.indexOf("tunnels");
+
+    private final SweepPoint point;
+    private final double[] values;
+
+    /**
+     * @param values Werte in der Reihenfolge von COLUMNS
+     */
+    SweepResult(SweepPoint point, double[] values) {
+        if (values.length != COLUMNS.size()) {
+            throw new IllegalArgumentException("Erwartet " + COLUMNS.size() + " Werte, erhalten " + values.length);
+        }
+        this.point  = point;
+        this.values = new double[values.length];
+        // Auf die Stellen der CSV runden, damit Werte aus dem Cache genau gleich sind
+        for (int i = 0; i < values.length; i++) {
+            this.values[i] = Math.rint(values[i] * 1e4) / 1e4;
+        }
+    }
+
+    public SweepPoint getPoint() { return point; }
+
+    /**
+     * Wert einer Spalte aus COLUMNS.
+     */
+    public double get(String column) {
+        int i = COLUMNS.indexOf(column);
+        if (i < 0) throw new IllegalArgumentException("Unbekannte Spalte: " + column);
+        return values[i];
+    }
+
+    public double getRallyHitsMedian()    { return values[RALLY_HITS_P50]; }
+    public double getRallySecondsMedian() { return values[RALLY_SECONDS_P50]; }
+    public double getPointsPerMinute()    { return values[POINTS_PER_MINUTE]; }
+    public double getMissRate()           { return values[MISS_RATE]; }
+    public long getTunnels()              { return (long) values[TUNNELS]; }
+
+    /**
+     * CSV-Kopfzeile: Rasterparameter und alle Werte.
+     */
+    public static String csvHeader() {
+        return String.join(",", POINT_COLUMNS) + "," + String.join(",", COLUMNS);
+    }
+
+    /**
+     * Eine CSV-Zeile passend zu csvHeader().
+     */
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder(200);
+        sb.append(format(point.getBallSpeed())).append(',')
+          .append(format(point.getPaddleSpeed())).append(',')
+          .append(format(point.getPaddleHeight())).append(',')
+          .append(format(point.getBallRadius()));
+        for (double v : values) {
+            sb.append(',').append(format(v));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Liest eine Zeile aus toCsv() zurück.
+     * @param cells Zellen der Zeile
+     * @param from erste Zelle (ball_speed)
+     * @throws NumberFormatException bei kaputten Zahlen
+     */
+    static SweepResult parse(String[] cells, int from) {
+        int n = POINT_COLUMNS.size();
+        if (cells.length - from != n + COLUMNS.size()) {
+            throw new NumberFormatException("Falsche Spaltenzahl: " + cells.length);
+        }
+        SweepPoint p = new SweepPoint(Double.parseDouble(cells[from]), Double.parseDouble(cells[from + 1]),
+                Double.parseDouble(cells[from + 2]), Double.parseDouble(cells[from + 3]));
+        double[] values = new double[COLUMNS.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Double.parseDouble(cells[from + n + i]);
+        }
+        return new SweepResult(p, values);
+    }
+
+    // Ganze Zahlen ohne Nachkommastellen, sonst 4 Stellen; Punkt als Dezimaltrenner
+    static String format(double v) {
+        if (v == Math.rint(v) && Math.abs(v) < 1e15) {
+            return Long.toString((long) v);
+        }
+        return String.format(Locale.ROOT, "%.4f", v);
+    }
+}
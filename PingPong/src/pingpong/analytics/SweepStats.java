@@ -0,0 +1,108 @@
+package pingpong.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Sammelt die Messwerte eines Rasterpunkts: ein Objekt pro Match, die dann
+ * paarweise zusammengeführt werden (Akkumulator für Stream.collect()).
+ * Ballwechsel landen in Histogrammen fester Größe, die Punkte pro Minute
+ * als ein Wert pro Match.
+ */
+final class SweepStats {
+    // Treffer pro Ballwechsel: ein Fach pro Trefferzahl, das letzte sammelt alles darüber
+    static final int HIT_BINS = 200;
+    // Dauer eines Ballwechsels in Zehntelsekunden bis 60 s, das letzte Fach sammelt den Rest
+    static final int SECOND_BINS = 600;
+    static final double SECOND_BIN_WIDTH = 0.1;
+
+    private final int[] rallyHits    = new int[HIT_BINS + 1];
+    private final int[] rallySeconds = new int[SECOND_BINS + 1];
+    private double[] pointsPerMinute = new double[1];
+    private int matches;
+    private long rallies, hits, tunnels;
+    private double seconds;
+
+    // Ein beendeter Ballwechsel (Punkt)
+    void addRally(int hitCount, double duration) {
+        rallies++;
+        hits    += hitCount;
+        seconds += duration;
+        rallyHits[Math.min(hitCount, HIT_BINS)]++;
+        rallySeconds[(int) Math.min(duration / SECOND_BIN_WIDTH, SECOND_BINS)]++;
+    }
+
+    // Ball ist durch ein Paddle geflogen, ohne es zu treffen
+    void addTunnel() {
+        tunnels++;
+    }
+
+    // Ein fertiges Match mit points Punkten in minutes Minuten Spielzeit
+    void addMatch(int points, double minutes) {
+        ensureMatches(matches + 1);
+        pointsPerMinute[matches++] = points / minutes;
+    }
+
+    private void ensureMatches(int n) {
+        if (n > pointsPerMinute.length) {
+            pointsPerMinute = Arrays.copyOf(pointsPerMinute, Math.max(n, 2 * pointsPerMinute.length));
+        }
+    }
+
+    // Zusammenführen (Combiner für Stream.collect())
+    void merge(SweepStats o) {
+        for (int i = 0; i < rallyHits.length; i++) rallyHits[i] += o.rallyHits[i];
+        for (int i = 0; i < rallySeconds.length; i++) rallySeconds[i] += o.rallySeconds[i];
+        ensureMatches(matches + o.matches);
+        System.arraycopy(o.pointsPerMinute, 0, pointsPerMinute, matches, o.matches);
+        matches += o.matches;
+        rallies += o.rallies;
+        hits    += o.hits;
+        tunnels += o.tunnels;
+        seconds += o.seconds;
+    }
+
+    /**
+     * Fasst die Messwerte zusammen (Spalten wie SweepResult.COLUMNS).
+     */
+    SweepResult toResult(SweepPoint point) {
+        double[] ppm = Arrays.copyOf(pointsPerMinute, matches);
+        Arrays.sort(ppm);
+        double ppmMean = 0;
+        for (double v : ppm) ppmMean += v;
+        double s = SECOND_BIN_WIDTH;
+        return new SweepResult(point, new double[] {
+            matches, rallies,
+            rallies == 0 ? 0 : (double) hits / rallies,
+            percentile(rallyHits, 0.10, 1, 0), percentile(rallyHits, 0.50, 1, 0),
+            percentile(rallyHits, 0.90, 1, 0), percentile(rallyHits, 0.99, 1, 0),
+            rallies == 0 ? 0 : seconds / rallies,
+            percentile(rallySeconds, 0.10, s, s / 2), percentile(rallySeconds, 0.50, s, s / 2),
+            percentile(rallySeconds, 0.90, s, s / 2), percentile(rallySeconds, 0.99, s, s / 2),
+            matches == 0 ? 0 : ppmMean / matches,
+            percentile(ppm, 0.10), percentile(ppm, 0.50), percentile(ppm, 0.90),
+            // jeder Punkt ist ein verfehlter Ball, jeder Treffer ein gehaltener
+            rallies == 0 ? 0 : (double) rallies / (rallies + hits),
+            tunnels,
+            rallies == 0 ? 0 : (double) tunnels / rallies
+        });
+    }
+
+    // Quantil q aus einem Histogramm: Fach i steht für den Wert i * width + offset
+    private double percentile(int[] histogram, double q, double width, double offset) {
+        if (rallies == 0) return 0;
+        long rank = (long) Math.ceil(q * rallies);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) return i * width + offset;
+        }
+        return (histogram.length - 1) * width + offset;
+    }
+
+    // Quantil q aus sortierten Werten (nächster Rang)
+    private static double percentile(double[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(q * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
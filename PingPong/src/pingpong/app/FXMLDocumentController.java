@@ -1,11 +1,14 @@
 // Datei: src/pingpong/app/FXMLDocumentController.java
 package pingpong.app;
 
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
-import javafx.beans.value.ChangeListener;
+import javafx.beans.InvalidationListener;
 import javafx.fxml.FXML;
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextInputDialog;
@@ -14,11 +17,26 @@ import javafx.scene.layout.AnchorPane;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Line;
 import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Scale;
 import javafx.util.Duration;
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.util.Optional;
+import pingpong.ai.AiController;
+import pingpong.ai.AiDifficulty;
 import pingpong.config.GameConfig;
 import pingpong.engine.GameEngine;
+import pingpong.engine.MatchClock;
+import pingpong.engine.MatchState;
 import pingpong.model.Direction;
+import pingpong.model.EntityNodes;
+import pingpong.net.NetClient;
+import pingpong.net.NetConditions;
+import pingpong.net.NetServer;
+import pingpong.net.SpectatorClient;
+import pingpong.net.SpectatorServer;
+import pingpong.render.CanvasRenderer;
+import pingpong.render.ViewTransform;
 
 public class FXMLDocumentController {
 
@@ -33,15 +51,24 @@ public class FXMLDocumentController {
 
     // Engine steuert Spiel-Loop, Bewegungen und Kollisionen
     private GameEngine engine;
+    // Overlay mit Frame-Zeiten (F3)
+    private StatsHud statsHud;
 
-    // Basisgrößen aus der Konfiguration für Skalierung
+    // Abbildung logisches Spielfeld → Fenster und die Gruppe, die sie anwendet
+    private final ViewTransform view = new ViewTransform();
+    private final Group world = new Group();
+    // Ebene für Power-ups (unter Ball und Paddles)
+    private final Group entityLayer = new Group();
+    private final Scale worldScale = new Scale(1, 1, 0, 0);
+    // Layout steht für den nächsten Pulse aus (mehrere Resize-Events → ein Layout)
+    private boolean layoutPending;
+    private AnimationTimer layoutPass;
+
+    // Basisgrößen aus der Konfiguration (logisches Spielfeld)
     private static final double BASE_W = GameConfig.BASE_WIDTH;
     private static final double BASE_H = GameConfig.BASE_HEIGHT;
     private double baseBallSpeed = GameConfig.BALL_SPEED;  // Startgeschwindigkeit des Balls
 
-    // Für den 3-Minuten-Countdown
-    private Timeline countdown;
-    private int remainingSeconds = 180;  // Gesamtzeit in Sekunden
     private boolean firstStart = true;   // um einmalig die Geschwindigkeit abzufragen
 
     /**
@@ -50,34 +77,58 @@ public class FXMLDocumentController {
      */
     @FXML
     public void initialize() {
-        // Größe der Formen an die Fenstergröße binden
-        // Der Ball-Radius wächst bzw. schrumpft mit der Höhe des Fensters
-        ballView.radiusProperty().bind(
-            rootPane.heightProperty().multiply(GameConfig.BALL_RADIUS / BASE_H)
-        );
-        // Die Breite und Höhe der Paddles passen sich an die Fenstergröße an
-        leftPaddle.widthProperty().bind(
-            rootPane.widthProperty().multiply(GameConfig.PADDLE_WIDTH / BASE_W)
-        );
-        leftPaddle.heightProperty().bind(
-            rootPane.heightProperty().multiply(GameConfig.PADDLE_HEIGHT / BASE_H)
-        );
-        // Rechtes Paddle spiegelt einfach linkes Paddle in Größe
-        rightPaddle.widthProperty().bind(leftPaddle.widthProperty());
-        rightPaddle.heightProperty().bind(leftPaddle.heightProperty());
+        // Spielfiguren in eine Gruppe im logischen Spielfeld (BASE_W x BASE_H) verschieben;
+        // nur die Gruppe wird aufs Fenster skaliert, die Figuren selbst ändern sich beim Resize nicht
+        midLine.setStartX(BASE_W / 2);
+        midLine.setStartY(0);
+        midLine.setEndX(BASE_W / 2);
+        midLine.setEndY(BASE_H);
+        rootPane.getChildren().removeAll(midLine, ballView, leftPaddle, rightPaddle);
+        world.getChildren().addAll(midLine, entityLayer, ballView, leftPaddle, rightPaddle);
+        world.getTransforms().add(worldScale);
+        world.setManaged(false);
+        rootPane.getChildren().add(0, world);
 
         // GameEngine erstellen und mit Referenzen versorgen
         engine = new GameEngine(
-            rootPane,
             leftPaddle, rightPaddle,
             ballView,
             scoreLeftLabel, scoreRightLabel
         );
 
-        // Listener für Fenstergrößenänderung: aktualisiert Geschwindigkeiten und Positionen
-        ChangeListener<Number> resizeListener = (obs, oldV, newV) -> {
-            updateSpeeds();  // Ball- und Paddle-Geschwindigkeit anpassen
-            positionAll();   // Alle Elemente neu platzieren
+        // Power-ups: Knoten für alle Pool-Plätze gleich anlegen, im Match werden sie nur ein-/ausgeblendet
+        EntityNodes entityNodes = new EntityNodes(entityLayer, engine.getState().getEntities());
+        entityNodes.prefill();
+        engine.setEntityNodes(entityNodes);
+
+        // -Dpingpong.renderer=canvas: alles auf ein Canvas zeichnen statt Knoten zu verschieben.
+        // Der Chaos-Modus (-Dpingpong.balls=N) braucht das Canvas immer.
+        if ("canvas".equalsIgnoreCase(System.getProperty("pingpong.renderer")) || engine.getExtraBalls() > 0) {
+            setupCanvas();
+        }
+
+        // Einzelspieler: -Dpingpong.ai=right[:hard] bzw. left[:easy] lässt eine Seite vom Computer spielen
+        setupAi(System.getProperty("pingpong.ai"));
+
+        // Messwert-Overlay, wird mit F3 ein- und ausgeblendet
+        statsHud = new StatsHud(rootPane, engine);
+
+        // Fenstergrößenänderung: Breite und Höhe melden sich einzeln und beim Ziehen
+        // viele Male pro Frame; neu berechnet wird nur einmal im nächsten Pulse.
+        // Ball, Paddles und Geschwindigkeiten bleiben dabei unverändert.
+        layoutPass = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                layoutPending = false;
+                applyView();
+            }
+        };
+        InvalidationListener resizeListener = obs -> {
+            if (!layoutPending) {
+                layoutPending = true;
+                layoutPass.start();
+            }
         };
         rootPane.widthProperty().addListener(resizeListener);
         rootPane.heightProperty().addListener(resizeListener);
@@ -85,23 +136,28 @@ public class FXMLDocumentController {
         // Nach dem ersten Layout ausgeführt, damit Breiten/Höhen bekannt sind
         Platform.runLater(() -> {
             updateSpeeds();
-            positionAll();
+            applyView();
         });
 
-        // Countdown einstellen: verringert jede Sekunde remainingSeconds
-        timeLabel.setText(formatTime(remainingSeconds));  // Startanzeige
-        countdown = new Timeline(
-            new KeyFrame(Duration.seconds(1), e -> {
-                remainingSeconds--;               // Sekunde runter
+        // Countdown: die Spieluhr der Engine läuft mit den Simulationsschritten
+        // und meldet jede Sekunde sowie das Ende (dann ist die Engine schon gestoppt)
+        timeLabel.setText(formatTime(GameConfig.MATCH_SECONDS));  // Startanzeige
+        engine.setClockListener(new MatchClock.Listener() {
+            @Override
+            public void onSecond(int remainingSeconds) {
                 timeLabel.setText(formatTime(remainingSeconds)); // Anzeige aktualisieren
-                if (remainingSeconds <= 0) {      // Zeit um?
-                    countdown.stop();             // Stopp die Uhr
-                    engine.stop();               // Spiel beenden
-                    startButton.setText("Start");
-                }
-            })
-        );
-        countdown.setCycleCount(Timeline.INDEFINITE); // unendlich oft
+            }
+
+            @Override
+            public void onMatchEnd() {
+                startButton.setText("Start");
+            }
+        });
+
+        // Die Sounds werden im Hintergrund dekodiert; gestartet werden kann erst danach
+        startButton.setDisable(true);
+        // Auch wenn das Laden scheitert: spielen geht dann eben ohne Sound
+        engine.getAudio().whenLoaded().whenComplete((v, e) -> Platform.runLater(this::assetsReady));
 
         // Start-Stop-Button: togglet zwischen Spielen und Pausieren
         startButton.setOnAction(e -> {
@@ -125,37 +181,165 @@ public class FXMLDocumentController {
                     firstStart = false; // Dialog nur ein Mal zeigen
                 }
                 // Spiel (neu) starten: Zeit zurücksetzen, Engine starten, Button-Text wechseln
-                remainingSeconds = 180;
-                timeLabel.setText(formatTime(remainingSeconds));
+                timeLabel.setText(formatTime(GameConfig.MATCH_SECONDS));
                 updateSpeeds();
-                engine.start();
-                countdown.playFromStart();
+                if (!startRemote() && !startSpectator()) {
+                    engine.start();
+                }
                 startButton.setText("Stop");
                 rootPane.requestFocus();  // Fokus für Key-Events
             } else {
                 // Aktives Spiel stoppen
                 engine.stop();
-                countdown.stop();
                 startButton.setText("Start");
             }
         });
 
-        //  Tastatur-Controls: W/S für links, Pfeil hoch/runter für rechts
+        //  Tastatur-Controls: W/S für links, Pfeil hoch/runter für rechts.
+        //  Die Engine bekommt jede Eingabe mit Zeitstempel und wendet sie im passenden Tick an.
         rootPane.setOnKeyPressed(e -> {
-            if (e.getCode() == KeyCode.W)    engine.setLeftPaddleDirection(Direction.UP);
-            if (e.getCode() == KeyCode.S)    engine.setLeftPaddleDirection(Direction.DOWN);
-            if (e.getCode() == KeyCode.UP)   engine.setRightPaddleDirection(Direction.UP);
-            if (e.getCode() == KeyCode.DOWN) engine.setRightPaddleDirection(Direction.DOWN);
+            long now = System.nanoTime();
+            if (e.getCode() == KeyCode.W)    engine.queueInput(MatchState.LEFT, Direction.UP, now);
+            if (e.getCode() == KeyCode.S)    engine.queueInput(MatchState.LEFT, Direction.DOWN, now);
+            if (e.getCode() == KeyCode.UP)   engine.queueInput(MatchState.RIGHT, Direction.UP, now);
+            if (e.getCode() == KeyCode.DOWN) engine.queueInput(MatchState.RIGHT, Direction.DOWN, now);
+            if (e.getCode() == KeyCode.F3)   statsHud.toggle();
+            // Sofort-Wiederholung: R hält an bzw. spielt weiter, Pfeil links/rechts spult,
+            // Z wechselt zwischen Standbild und Zeitlupe
+            if (e.getCode() == KeyCode.R) {
+                if (engine.isRewinding()) engine.exitRewind();
+                else engine.enterRewind();
+            }
+            if (engine.isRewinding()) {
+                if (e.getCode() == KeyCode.LEFT)  engine.scrubRewind(-0.1);
+                if (e.getCode() == KeyCode.RIGHT) engine.scrubRewind(0.1);
+                if (e.getCode() == KeyCode.Z)
+                    engine.setRewindSpeed(engine.getRewindSpeed() > 0 ? 0 : GameConfig.REWIND_SLOW_MOTION);
+            }
         });
         rootPane.setOnKeyReleased(e -> {
             // Bei Loslassen auf NONE setzen, damit Paddle stoppt
+            long now = System.nanoTime();
             if (e.getCode()==KeyCode.W || e.getCode()==KeyCode.S)
-                engine.setLeftPaddleDirection(Direction.NONE);
+                engine.queueInput(MatchState.LEFT, Direction.NONE, now);
             if (e.getCode()==KeyCode.UP || e.getCode()==KeyCode.DOWN)
-                engine.setRightPaddleDirection(Direction.NONE);
+                engine.queueInput(MatchState.RIGHT, Direction.NONE, now);
         });
     }
 
+    // Legt das Canvas hinter Buttons und Labels und blendet die Spielfiguren-Knoten aus.
+    // Es zeichnet mit derselben ViewTransform wie die Knoten-Gruppe.
+    private void setupCanvas() {
+        Canvas canvas = new Canvas();
+        canvas.widthProperty().bind(rootPane.widthProperty());
+        canvas.heightProperty().bind(rootPane.heightProperty());
+        canvas.setMouseTransparent(true);
+        rootPane.getChildren().add(0, canvas);
+        world.setVisible(false);
+        scoreLeftLabel.setVisible(false);
+        scoreRightLabel.setVisible(false);
+        engine.setRenderer(new CanvasRenderer(canvas, view));
+    }
+
+    // Alle Sounds geladen: Start freigeben bzw. den Trainingslauf beginnen
+    private void assetsReady() {
+        startButton.setDisable(false);
+        int trainSeconds = Integer.getInteger("pingpong.trainSeconds", 0);
+        if (trainSeconds > 0) {
+            startTraining(trainSeconds);
+        }
+    }
+
+    /**
+     * Trainingslauf für das AppCDS-Archiv (-Dpingpong.trainSeconds=N): Computer
+     * gegen Computer mit eingeblendetem HUD, damit alle Klassen des Spiels
+     * geladen werden, nach N Sekunden beendet sich das Programm.
+     */
+    /**
+     * Gibt beim Beenden des Programms Dateien und Sperren der Engine frei.
+     */
+    public void shutdown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    private void startTraining(int seconds) {
+        engine.setController(MatchState.LEFT, new AiController(AiDifficulty.HARD, 1));
+        engine.setController(MatchState.RIGHT, new AiController(AiDifficulty.HARD, 2));
+        firstStart = false;
+        statsHud.toggle();
+        startButton.fire();
+        new Timeline(new KeyFrame(Duration.seconds(seconds), e -> {
+            engine.stop();
+            Platform.exit();
+        })).play();
+    }
+
+    // Liest "seite[:stufe]", z.B. "right:hard"
+    private void setupAi(String spec) {
+        if (spec == null || spec.isEmpty()) {
+            return;
+        }
+        String[] parts = spec.split(":");
+        int side = parts[0].equalsIgnoreCase("left") ? MatchState.LEFT : MatchState.RIGHT;
+        AiDifficulty level = AiDifficulty.MEDIUM;
+        if (parts.length > 1) {
+            try {
+                level = AiDifficulty.valueOf(parts[1].toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                // Unbekannte Stufe → MEDIUM
+            }
+        }
+        engine.setController(side, new AiController(level, System.nanoTime()));
+    }
+
+    /**
+     * Netzwerkmodus: mit -Dpingpong.connect=host[:port] verbindet sich das Spiel
+     * mit einem NetServer statt selbst zu rechnen.
+     * return true, wenn der Client-Modus gestartet wurde
+     */
+    private boolean startRemote() {
+        String target = System.getProperty("pingpong.connect");
+        if (target == null) {
+            return false;
+        }
+        try {
+            engine.startRemote(new NetClient(parseAddress(target, NetServer.DEFAULT_PORT), NetConditions.NONE));
+            return true;
+        } catch (IOException ex) {
+            System.err.println("Keine Verbindung zu " + target + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Zuschauermodus: mit -Dpingpong.watch=host[:port] zeigt das Spiel ein Match,
+     * das ein anderes Spiel mit -Dpingpong.spectatorPort überträgt.
+     * return true, wenn der Zuschauermodus gestartet wurde
+     */
+    private boolean startSpectator() {
+        String target = System.getProperty("pingpong.watch");
+        if (target == null) {
+            return false;
+        }
+        try {
+            engine.startSpectator(new SpectatorClient(parseAddress(target, SpectatorServer.DEFAULT_PORT)));
+            return true;
+        } catch (IOException ex) {
+            System.err.println("Keine Verbindung zu " + target + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    // Liest "host[:port]"
+    private static InetSocketAddress parseAddress(String target, int defaultPort) {
+        int colon = target.lastIndexOf(':');
+        String host = colon < 0 ? target : target.substring(0, colon);
+        int port = colon < 0 ? defaultPort : Integer.parseInt(target.substring(colon + 1));
+        return new InetSocketAddress(host, port);
+    }
+
     // Formatiert eine Zeitangabe in Sekunden zu "MM:SS"
     
     private String formatTime(int secs) {
@@ -164,45 +348,28 @@ public class FXMLDocumentController {
         return String.format("%02d:%02d", m, s);
     }
 
-    // Aktualisiert Ball- und Paddle-Geschwindigkeiten basierend auf Fenstergröße
+    // Setzt Ball- und Paddle-Geschwindigkeit (logische Einheiten, unabhängig von der Fenstergröße)
     
     private void updateSpeeds() {
-        engine.setBallSpeed(baseBallSpeed);  // Ball behält eingestellte Basisgeschwindigkeit
-        // Paddles werden etwas langsamer bei kleinerem Fenster
-        double scale = Math.min(
-            rootPane.getWidth()  / BASE_W,
-            rootPane.getHeight() / BASE_H
-        );
-        engine.setPaddleSpeed(GameConfig.PADDLE_SPEED * scale);
+        engine.setBallSpeed(baseBallSpeed);
+        engine.setPaddleSpeed(GameConfig.PADDLE_SPEED);
     }
 
     /**
-     * Positioniert alle Spielfiguren, Score-Zahlen und UI-Elemente neu.
-     * Wird bei Fenster-Resize und Spielstart aufgerufen
+     * Berechnet die Abbildung aufs Fenster neu und platziert Score-Zahlen und UI-Elemente.
+     * Wird höchstens einmal pro Pulse aufgerufen; der Spielzustand bleibt unberührt.
      */
-    private void positionAll() {
+    private void applyView() {
         double w = rootPane.getWidth();
         double h = rootPane.getHeight();
-        double scale = Math.min(w/BASE_W, h/BASE_H);
-        double px = GameConfig.PADDLE_OFFSET * scale;
-        double ph = leftPaddle.getHeight();
         double margin = 10; // Abstand zu Rand
 
-        //  Mittellinie zeichnen
-        midLine.setStartX(w/2);
-        midLine.setStartY(0);
-        midLine.setEndX(w/2);
-        midLine.setEndY(h);
-
-        // Paddles mittig hoch/runter platzieren
-        leftPaddle.setLayoutX(px);
-        leftPaddle.setLayoutY((h - ph) / 2);
-        rightPaddle.setLayoutX(w - px - rightPaddle.getWidth());
-        rightPaddle.setLayoutY((h - ph) / 2);
-
-        // Ball immer in die Mitte setzen
-        ballView.setCenterX(w / 2);
-        ballView.setCenterY(h / 2);
+        // Spielfeld einheitlich skalieren und im Fenster zentrieren
+        view.update(w, h);
+        world.setLayoutX(view.getOffsetX());
+        world.setLayoutY(view.getOffsetY());
+        worldScale.setX(view.getScale());
+        worldScale.setY(view.getScale());
 
         // Score-Labels oben links und oben rechts
         scoreLeftLabel.setLayoutX(margin);
@@ -217,5 +384,8 @@ public class FXMLDocumentController {
         // Start/Stop-Button unten mittig
         startButton.setLayoutX((w - startButton.getWidth()) / 2);
         startButton.setLayoutY(h - startButton.getHeight() - margin);
+
+        // Im Pausenzustand zeichnet sonst niemand neu (Canvas)
+        engine.repaint();
     }
 }
@@ -5,25 +5,78 @@
 // PingPong.java (Main Application)
 package pingpong.app;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
 import pingpong.config.GameConfig;
+import pingpong.diag.StartupTimer;
 
 public class PingPong extends Application {
+    // Erste Startmarke beim Laden der Klasse, auch wenn ein Launcher main() umgeht
+    static {
+        StartupTimer.start();
+    }
+
+    // Gesetzt, sobald die Oberfläche geladen ist (nur auf dem FX-Thread benutzt)
+    private FXMLDocumentController controller;
+
+    /**
+     * Zeigt das Fenster sofort (leeres, dunkles Spielfeld) und lädt die FXML
+     * samt Engine auf einem Hintergrund-Thread; die Sounds dekodiert die Engine
+     * ihrerseits parallel. Die Startphasen werden mit StartupTimer ausgegeben.
+     */
     @Override
-    public void start(Stage primaryStage) throws Exception {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("FXMLDocument.fxml"));
-        Parent root = loader.load();
-        Scene scene = new Scene(root, GameConfig.BASE_WIDTH, GameConfig.BASE_HEIGHT);
+    public void start(Stage primaryStage) {
+        StartupTimer.mark("fx toolkit");
+        Pane placeholder = new Pane();
+        placeholder.setStyle("-fx-background-color: #111;");
+        Scene scene = new Scene(placeholder, GameConfig.BASE_WIDTH, GameConfig.BASE_HEIGHT);
         primaryStage.setTitle("PingPong");
         primaryStage.setScene(scene);
         primaryStage.show();
+        StartupTimer.mark("stage");
+
+        // Knoten dürfen außerhalb des FX-Threads gebaut werden, solange sie in keiner Szene hängen
+        Thread fxmlLoader = new Thread(() -> {
+            try {
+                FXMLLoader loader = new FXMLLoader(PingPong.class.getResource("FXMLDocument.fxml"));
+                Parent root = loader.load();
+                StartupTimer.mark("fxml");
+                Platform.runLater(() -> {
+                    controller = loader.getController();
+                    scene.setRoot(root);
+                    // Erster Pulse mit dem Spielfeld: danach wird es zum ersten Mal gezeichnet
+                    new AnimationTimer() {
+                        @Override
+                        public void handle(long now) {
+                            stop();
+                            StartupTimer.mark("first frame");
+                        }
+                    }.start();
+                });
+            } catch (Exception e) {
+                System.err.println("Oberfläche konnte nicht geladen werden: " + e);
+                Platform.exit();
+            }
+        }, "fxml-loader");
+        fxmlLoader.setDaemon(true);
+        fxmlLoader.start();
+    }
+
+    // Fenster zu oder Platform.exit(): Historie schließen, bevor die JVM endet
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
     }
 
     public static void main(String[] args) {
         launch(args);
     }
-}
\ No newline at end of file
+}
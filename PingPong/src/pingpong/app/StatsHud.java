@@ -0,0 +1,109 @@
+package pingpong.app;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.Label;
+import javafx.scene.layout.AnchorPane;
+import pingpong.engine.EntityPool;
+import pingpong.engine.GameEngine;
+import pingpong.engine.RewindBuffer;
+import pingpong.model.EntityNodes;
+
+/**
+ * StatsHud blendet die Messwerte der Spielschleife (Frame-Zeiten, Pulses,
+ * Phasen, Tick-Kosten) als Overlay über dem Spielfeld ein.
+ * Der Text wird nur ein paar Mal pro Sekunde und nur bei sichtbarem HUD neu gebaut.
+ * Solange das HUD sichtbar ist, misst der FrameProfiler der Engine mit.
+ */
+public class StatsHud {
+    // Abstand zwischen zwei Aktualisierungen der Anzeige
+    private static final long REFRESH_NANOS = 250_000_000L;
+
+    private final Label label = new Label();
+    private final GameEngine engine;
+    private final AnimationTimer refresher;
+    // War der Profiler schon vor dem Einblenden an (-Dpingpong.profile)?
+    private boolean profilerWasOn;
+
+    /**
+     * Legt das HUD (unsichtbar) oben links auf das Spielfeld.
+     * @param rootPane Spielfeld-Container
+     * @param engine Engine, deren Messwerte angezeigt werden
+     */
+    public StatsHud(AnchorPane rootPane, GameEngine engine) {
+        this.engine = engine;
+        label.getStyleClass().setAll("hud");
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+        label.setLayoutX(10);
+        label.setLayoutY(50);
+        rootPane.getChildren().add(label);
+
+        refresher = new AnimationTimer() {
+            private long last;
+
+            @Override
+            public void handle(long now) {
+                if (now - last >= REFRESH_NANOS) {
+                    last = now;
+                    refresh();
+                }
+            }
+        };
+    }
+
+    /**
+     * Schaltet das HUD ein bzw. aus.
+     */
+    public void toggle() {
+        boolean show = !label.isVisible();
+        label.setVisible(show);
+        if (show) {
+            profilerWasOn = engine.getProfiler().isEnabled();
+            engine.getProfiler().setEnabled(true);
+            refresh();
+            refresher.start();
+        } else {
+            engine.getProfiler().setEnabled(profilerWasOn);
+            refresher.stop();
+        }
+    }
+
+    // Auslastung von Objekt- und Knoten-Pool (zum Einstellen von GameConfig.ENTITY_POOL_SIZE)
+    private String entitySummary() {
+        EntityPool pool = engine.getState().getEntities();
+        EntityNodes nodes = engine.getEntityNodes();
+        return String.format("%nentities live %d, pooled %d, peak %d, rejected %d",
+                        pool.getLiveCount(), pool.getFreeCount(), pool.getPeakLive(), pool.getRejected())
+                + (nodes != null ? String.format(", nodes %d (%d pooled)",
+                        nodes.getNodeCount(), nodes.getPooledCount()) : "");
+    }
+
+    // Snapshot-Puffer der Sofort-Wiederholung: Füllstand, Fenster und Speicher
+    private String rewindSummary() {
+        RewindBuffer rewind = engine.getRewind();
+        if (rewind == null) {
+            return "";
+        }
+        return String.format("%nrewind %d/%d snapshots (every %d ticks), %d KB%s",
+                rewind.size(), rewind.getCapacity(), rewind.getEveryTicks(), rewind.getBytes() / 1024,
+                engine.isRewinding() ? String.format(", showing -%.2f s", engine.getRewindOffsetSeconds()) : "");
+    }
+
+    // Baut den Anzeigetext aus den aktuellen Messwerten
+    private void refresh() {
+        label.setText(engine.getProfiler().summary()
+                + String.format("%ntick %.1f µs @ %d Hz, dropped steps %d, renderer %s",
+                        engine.getAverageTickNanos() / 1e3, engine.getTickRate(), engine.getDroppedSteps(),
+                        engine.getRendererName())
+                + String.format("%nsounds played %d, coalesced %d, dropped %d",
+                        engine.getAudio().getTotalPlayed(), engine.getAudio().getTotalCoalesced(),
+                        engine.getAudio().getTotalDropped())
+                + entitySummary()
+                + rewindSummary()
+                + (engine.getRemote() != null ? "\nnet " + engine.getRemote().summary() : "")
+                + (engine.getSpectators() != null ? "\n" + engine.getSpectators().summary() : "")
+                + (engine.getWatching() != null ? String.format("%nwatching tick %d, frames %d shown / %d received, %.1f KB",
+                        engine.getWatching().getTick(), engine.getWatching().getFramesShown(),
+                        engine.getWatching().getFramesReceived(), engine.getWatching().getBytesReceived() / 1024.0) : ""));
+    }
+}
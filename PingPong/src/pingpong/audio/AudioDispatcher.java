@@ -0,0 +1,155 @@
+package pingpong.audio;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import javafx.scene.media.AudioClip;
+import pingpong.diag.GameEvents;
+
+/**
+ * AudioDispatcher spielt die Spielsounds auf einem eigenen Thread ab.
+ * Die Spielschleife legt nur die Sound-Nummer in eine sperrfreie Schlange
+ * (request() wartet nie); der Dispatcher-Thread entscheidet dann, ob der Sound
+ * wirklich startet:
+ * - innerhalb der Sperrzeit seit dem letzten Start → zusammengefasst (coalesced)
+ * - alle Stimmen des Sounds belegt → verworfen (dropped)
+ * - Schlange voll → verworfen (overflow)
+ * Die Audiodateien dekodiert der SoundLoader parallel im Hintergrund; bis ein
+ * Sound geladen ist, werden seine Anfragen still übergangen.
+ */
+public class AudioDispatcher {
+    private static final Sound[] SOUNDS = Sound.values();
+    // Wartezeit des Threads, wenn nichts zu tun ist (wird bei neuen Anfragen geweckt)
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+
+    private final SoundQueue queue;
+    // Wird von den Lade-Threads befüllt (null = noch nicht geladen oder Datei fehlt)
+    private final AtomicReferenceArray<AudioClip> clips = new AtomicReferenceArray<>(SOUNDS.length);
+    private final CompletableFuture<Void> loaded;
+    // Startzeitpunkte der Stimmen pro Sound (Ringpuffer) und letzter Start
+    private final long[][] voiceStarts = new long[SOUNDS.length][];
+    private final int[] nextVoice = new int[SOUNDS.length];
+    private final long[] lastStart = new long[SOUNDS.length];
+
+    // Zähler pro Sound (werden von anderen Threads gelesen)
+    private final AtomicLongArray played    = new AtomicLongArray(SOUNDS.length);
+    private final AtomicLongArray coalesced = new AtomicLongArray(SOUNDS.length);
+    private final AtomicLongArray dropped   = new AtomicLongArray(SOUNDS.length);
+    private final AtomicLongArray overflow  = new AtomicLongArray(SOUNDS.length);
+
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean sleeping;
+
+    /**
+     * Startet das Laden aller Sounds im Hintergrund und den Dispatcher-Thread.
+     * Kehrt sofort zurück, ohne auf die Audiodateien zu warten.
+     * @param queueCapacity Größe der Anfrage-Schlange
+     */
+    public AudioDispatcher(int queueCapacity) {
+        this.queue = new SoundQueue(queueCapacity);
+        CompletableFuture<AudioClip>[] pending = SoundLoader.loadAll();
+        CompletableFuture<?>[] stored = new CompletableFuture<?>[SOUNDS.length];
+        for (Sound s : SOUNDS) {
+            int id = s.ordinal();
+            stored[id] = pending[id].thenAccept(clip -> clips.set(id, clip));
+            voiceStarts[s.ordinal()] = new long[s.getMaxVoices()];
+            lastStart[s.ordinal()]   = Long.MIN_VALUE / 2;
+            java.util.Arrays.fill(voiceStarts[s.ordinal()], Long.MIN_VALUE / 2);
+        }
+        loaded = CompletableFuture.allOf(stored);
+        thread = new Thread(this::run, "audio-dispatch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Wird fertig, sobald alle Sounds geladen sind (fehlende Dateien zählen als fertig).
+     */
+    public CompletableFuture<Void> whenLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Fordert einen Sound an. Blockiert nie und erzeugt keine Objekte.
+     */
+    public void request(Sound sound) {
+        int id = sound.ordinal();
+        if (clips.get(id) == null) {
+            return;                 // (noch) nicht geladen
+        }
+        if (!queue.offer(id)) {
+            overflow.incrementAndGet(id);
+            return;
+        }
+        if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Beendet den Dispatcher-Thread.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    // Schleife des Dispatcher-Threads
+    private void run() {
+        while (running) {
+            int id = queue.poll();
+            if (id >= 0) {
+                dispatch(id, System.nanoTime());
+                continue;
+            }
+            sleeping = true;
+            if (queue.isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            sleeping = false;
+        }
+    }
+
+    // Entscheidet über Start, Zusammenfassen oder Verwerfen
+    private void dispatch(int id, long now) {
+        Sound sound = SOUNDS[id];
+        if (now - lastStart[id] < sound.getCooldownNanos()) {
+            coalesced.incrementAndGet(id);
+            GameEvents.sound(sound.name(), "coalesced");
+            return;
+        }
+        // Freie Stimme suchen: eine Stimme gilt nach voiceNanos als frei
+        long[] starts = voiceStarts[id];
+        int voice = nextVoice[id];
+        if (now - starts[voice] < sound.getVoiceNanos()) {
+            dropped.incrementAndGet(id);
+            GameEvents.sound(sound.name(), "dropped");
+            return;
+        }
+        starts[voice] = now;
+        nextVoice[id] = (voice + 1) % starts.length;
+        lastStart[id] = now;
+        clips.get(id).play();
+        played.incrementAndGet(id);
+        GameEvents.sound(sound.name(), "played");
+    }
+
+    // Zähler pro Sound
+    public long getPlayed(Sound s)    { return played.get(s.ordinal()); }
+    public long getCoalesced(Sound s) { return coalesced.get(s.ordinal()); }
+    public long getDropped(Sound s)   { return dropped.get(s.ordinal()); }
+    public long getOverflow(Sound s)  { return overflow.get(s.ordinal()); }
+
+    // Summen über alle Sounds
+    public long getTotalPlayed()    { return sum(played); }
+    public long getTotalCoalesced() { return sum(coalesced); }
+    public long getTotalDropped()   { return sum(dropped) + sum(overflow); }
+
+    private static long sum(AtomicLongArray a) {
+        long s = 0;
+        for (int i = 0; i < a.length(); i++) s += a.get(i);
+        return s;
+    }
+}
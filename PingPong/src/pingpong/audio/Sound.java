@@ -0,0 +1,36 @@
+package pingpong.audio;
+
+/**
+ * Alle Spielsounds mit ihrer Audiodatei und den Regeln für die Wiedergabe:
+ * wie viele Stimmen gleichzeitig klingen dürfen, wie lange eine Stimme
+ * ungefähr klingt und wie schnell derselbe Sound erneut starten darf.
+ */
+public enum Sound {
+    //     Datei                                  Stimmen  Sperrzeit ms  Dauer ms
+    START ("/sounds/game-start-317318.mp3",       1,       0,            1500),
+    END   ("/sounds/game-over-arcade-6435.mp3",   1,       0,            2000),
+    PADDLE("/sounds/mouth-sound-ping-pong.wav",   3,       40,           250),
+    WALL  ("/sounds/mouth-sound-ping-pong.wav",   2,       60,           250),  // derselbe Sound wie PADDLE
+    SCORE ("/sounds/video-game-bonus-323603.mp3", 1,       200,          900);
+
+    private final String resource;
+    private final int maxVoices;
+    private final long cooldownNanos;
+    private final long voiceNanos;
+
+    Sound(String resource, int maxVoices, long cooldownMillis, long voiceMillis) {
+        this.resource      = resource;
+        this.maxVoices     = maxVoices;
+        this.cooldownNanos = cooldownMillis * 1_000_000L;
+        this.voiceNanos    = voiceMillis * 1_000_000L;
+    }
+
+    // Pfad der Audiodatei im Klassenpfad
+    public String getResource()   { return resource; }
+    // Höchstzahl gleichzeitig klingender Stimmen
+    public int getMaxVoices()     { return maxVoices; }
+    // Mindestabstand zwischen zwei Starts, kürzere Anfragen werden zusammengefasst
+    public long getCooldownNanos() { return cooldownNanos; }
+    // Ungefähre Länge einer Stimme (so lange gilt sie als belegt)
+    public long getVoiceNanos()   { return voiceNanos; }
+}
@@ -0,0 +1,74 @@
+package pingpong.audio;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.scene.media.AudioClip;
+import pingpong.diag.StartupTimer;
+
+/**
+ * SoundLoader dekodiert die Audiodateien aller Sounds parallel im Hintergrund,
+ * damit weder der FX-Thread noch der Programmstart darauf warten.
+ * Jede Datei wird genau einmal geladen, auch wenn mehrere Sounds sie benutzen.
+ * Fehlende oder defekte Dateien liefern null (der Sound bleibt dann stumm).
+ */
+public final class SoundLoader {
+    private static final Sound[] SOUNDS = Sound.values();
+
+    private SoundLoader() { }
+
+    /**
+     * Startet das Laden. Pro Datei ein Auftrag, höchstens so viele Threads wie Kerne.
+     * @return pro Sound (Index = ordinal()) ein Future mit dem AudioClip oder null
+     */
+    public static CompletableFuture<AudioClip>[] loadAll() {
+        Set<String> files = new HashSet<>();
+        for (Sound s : SOUNDS) {
+            files.add(s.getResource());
+        }
+        int threads = Math.max(1, Math.min(files.size(), Runtime.getRuntime().availableProcessors()));
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "sound-loader-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        long begin = StartupTimer.begin();
+        Map<String, CompletableFuture<AudioClip>> byFile = new HashMap<>();
+        for (String file : files) {
+            byFile.put(file, CompletableFuture.supplyAsync(() -> decode(file), pool));
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        CompletableFuture<AudioClip>[] clips = new CompletableFuture[SOUNDS.length];
+        for (Sound s : SOUNDS) {
+            clips[s.ordinal()] = byFile.get(s.getResource());
+        }
+        CompletableFuture.allOf(clips).whenComplete((v, e) -> {
+            StartupTimer.end("sounds", begin);
+            pool.shutdown();
+        });
+        return clips;
+    }
+
+    // Lädt und dekodiert eine Datei vom Klassenpfad
+    private static AudioClip decode(String resourcePath) {
+        URL url = SoundLoader.class.getResource(resourcePath);
+        if (url == null) {
+            return null; // Datei nicht gefunden
+        }
+        try {
+            return new AudioClip(url.toExternalForm());
+        } catch (Throwable e) {
+            // auch Errors (z.B. fehlende Media-Bibliotheken): ohne Sound weiterspielen
+            System.err.println("Sound " + resourcePath + " nicht ladbar: " + e);
+            return null;
+        }
+    }
+}
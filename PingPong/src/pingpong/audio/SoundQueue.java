@@ -0,0 +1,77 @@
+package pingpong.audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Begrenzte, sperrfreie Warteschlange für Sound-Nummern (mehrere Erzeuger,
+ * ein Verbraucher). Jeder Platz hat eine Sequenznummer, über die Erzeuger
+ * und Verbraucher sich ohne Locks abstimmen (Ringpuffer nach D. Vyukov).
+ * offer() wartet nie: ist die Schlange voll, liefert es false.
+ */
+public class SoundQueue {
+    private final int mask;
+    private final int[] items;
+    private final AtomicLongArray sequence;
+    private final AtomicLong tail = new AtomicLong();   // nächste Schreibposition
+    private final AtomicLong head = new AtomicLong();   // nächste Leseposition
+
+    /**
+     * @param capacity Größe, wird auf die nächste Zweierpotenz aufgerundet
+     */
+    public SoundQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask     = size - 1;
+        items    = new int[size];
+        sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequence.set(i, i);
+        }
+    }
+
+    /**
+     * Legt einen Wert ab, ohne zu blockieren.
+     * @return false, wenn die Schlange voll ist
+     */
+    public boolean offer(int value) {
+        while (true) {
+            long pos = tail.get();
+            int slot = (int) pos & mask;
+            long diff = sequence.get(slot) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    items[slot] = value;
+                    sequence.set(slot, pos + 1);       // Platz für den Leser freigeben (volatile)
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;                          // voll
+            }
+            // sonst hat ein anderer Erzeuger den Platz genommen → erneut versuchen
+        }
+    }
+
+    /**
+     * Holt den nächsten Wert (nur von einem Thread aufrufen).
+     * @return Wert oder -1, wenn die Schlange leer ist
+     */
+    public int poll() {
+        long pos = head.get();
+        int slot = (int) pos & mask;
+        if (sequence.get(slot) != pos + 1) {
+            return -1;                                 // leer oder Erzeuger schreibt noch
+        }
+        int value = items[slot];
+        head.lazySet(pos + 1);
+        sequence.lazySet(slot, pos + mask + 1);        // Platz für die nächste Runde freigeben
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return sequence.get((int) head.get() & mask) != head.get() + 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,315 @@
+package pingpong.batch;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import pingpong.config.GameConfig;
+import pingpong.engine.MatchState;
+import pingpong.engine.SweptCollider;
+import pingpong.model.Direction;
+
+/**
+ * BatchSimulator rechnet sehr viele Matches gleichzeitig ohne JavaFX.
+ * Alle Matches liegen als primitive Arrays vor (Struct-of-Arrays): ein Array
+ * pro Eigenschaft statt ein Objekt pro Match. Die Matches werden in Blöcken
+ * auf einem ForkJoinPool über alle Kerne verteilt.
+ *
+ * Für den Ball gelten dieselben Regeln wie im MatchState (SweptCollider),
+ * alle Matches teilen sich Spielfeld- und Paddle-Größe.
+ */
+public class BatchSimulator {
+    // Anzahl Matches pro Teilaufgabe, darunter wird nicht mehr aufgeteilt
+    private static final int CHUNK = 512;
+
+    private final int count;
+    private final ForkJoinPool pool;
+
+    // Gemeinsame Geometrie aller Matches
+    private double width, height, ballRadius, ballSpeed;
+    private double leftX, rightX, paddleW, paddleH, paddleSpeed;
+    // Punkte bis zum Matchgewinn, danach startet das Match neu
+    private int pointsToWin = 11;
+    // Paddles folgen automatisch dem Ball (einfacher Bot für Massentests)
+    private boolean autoTrack = true;
+    // Zielfehler des Bots als Anteil der Paddle-Höhe; ab 0,5 verfehlt er manche Bälle
+    private double trackError = 0.75;
+
+    // Zustand pro Match (Index i), Paddles bei 2*i (links) und 2*i+1 (rechts)
+    private final double[] ballX, ballY, ballVx, ballVy;
+    private final double[] paddleY, paddleVy;
+    // Wohin der Bot zielt: Abstand der Paddle-Mitte zum Ball, neu bei Aufschlag und Treffer
+    private final double[] aim;
+    private final int[] scoreLeft, scoreRight;
+    private final int[] pointsDone, matchesDone;
+    // Zufallszustand pro Match (SplitMix64), damit Threads nichts teilen
+    private final long[] seeds;
+
+    // Ein Kollisions-Zwischenspeicher pro Worker-Thread
+    private final ThreadLocal<SweptCollider> colliders = new ThreadLocal<SweptCollider>() {
+        @Override
+        protected SweptCollider initialValue() {
+            return new SweptCollider();
+        }
+    };
+
+    // Messwerte des letzten run()
+    private long lastRunNanos;
+    private long lastRunTicks;
+    private long lastRunPoints;
+    private long lastRunMatches;
+
+    /**
+     * @param count Anzahl gleichzeitiger Matches
+     * @param seed Startwert für die Aufschlagwinkel (gleicher Seed → gleiche Matches)
+     * @param pool ForkJoinPool, auf dem gerechnet wird
+     */
+    public BatchSimulator(int count, long seed, ForkJoinPool pool) {
+        this.count = count;
+        this.pool  = pool;
+        ballX      = new double[count];
+        ballY      = new double[count];
+        ballVx     = new double[count];
+        ballVy     = new double[count];
+        paddleY    = new double[2 * count];
+        paddleVy   = new double[2 * count];
+        aim        = new double[2 * count];
+        scoreLeft  = new int[count];
+        scoreRight = new int[count];
+        pointsDone  = new int[count];
+        matchesDone = new int[count];
+        seeds      = new long[count];
+        for (int i = 0; i < count; i++) {
+            seeds[i] = seed + (i + 1) * 0x9E3779B97F4A7C15L;
+        }
+        layout(GameConfig.BASE_WIDTH, GameConfig.BASE_HEIGHT);
+        setBallSpeed(GameConfig.BALL_SPEED);
+        setPaddleSpeed(GameConfig.PADDLE_SPEED);
+        reset();
+    }
+
+    /**
+     * Erstellt einen Batch auf dem gemeinsamen ForkJoinPool.
+     */
+    public BatchSimulator(int count, long seed) {
+        this(count, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Setzt Spielfeld- und Paddle-Größe wie MatchState.layout().
+     */
+    public void layout(double w, double h) {
+        MatchState ref = new MatchState();
+        ref.layout(w, h);
+        width      = w;
+        height     = h;
+        ballRadius = ref.getBallRadius();
+        leftX      = ref.getPaddleX(MatchState.LEFT);
+        rightX     = ref.getPaddleX(MatchState.RIGHT);
+        paddleW    = ref.getPaddleWidth();
+        paddleH    = ref.getPaddleHeight();
+    }
+
+    public void setBallSpeed(double speed)   { this.ballSpeed = speed; }
+    public void setPaddleSpeed(double speed) { this.paddleSpeed = speed; }
+    public void setPointsToWin(int points)   { this.pointsToWin = points; }
+    public void setAutoTrack(boolean on)     { this.autoTrack = on; }
+    public void setTrackError(double error)  { this.trackError = error; }
+
+    /**
+     * Setzt alle Matches auf 0:0 zurück und schlägt neu auf.
+     */
+    public void reset() {
+        for (int i = 0; i < count; i++) {
+            scoreLeft[i] = scoreRight[i] = pointsDone[i] = matchesDone[i] = 0;
+            paddleY[2 * i] = paddleY[2 * i + 1] = (height - paddleH) / 2;
+            paddleVy[2 * i] = paddleVy[2 * i + 1] = 0;
+            serve(i);
+        }
+    }
+
+    /**
+     * Setzt die Richtung eines Paddles (nur sinnvoll ohne autoTrack).
+     * @param match Index des Matches
+     * @param side MatchState.LEFT oder MatchState.RIGHT
+     */
+    public void setPaddleDirection(int match, int side, Direction dir) {
+        paddleVy[2 * match + side] = dir == Direction.UP ? -paddleSpeed
+                                   : dir == Direction.DOWN ? paddleSpeed : 0;
+    }
+
+    /**
+     * Rechnet alle Matches ticks Schritte weiter (parallel auf dem Pool).
+     * @param ticks Anzahl Physik-Schritte
+     * @param dt Länge eines Schritts in Sekunden
+     */
+    public void run(int ticks, double dt) {
+        long points  = total(pointsDone);
+        long matches = total(matchesDone);
+        long t0 = System.nanoTime();
+        pool.invoke(new StepTask(0, count, ticks, dt));
+        lastRunNanos   = System.nanoTime() - t0;
+        lastRunTicks   = (long) ticks * count;
+        lastRunPoints  = total(pointsDone) - points;
+        lastRunMatches = total(matchesDone) - matches;
+    }
+
+    // Teilt den Bereich [from, to) auf, bis ein Block klein genug ist
+    private final class StepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from, to, ticks;
+        private final double dt;
+
+        StepTask(int from, int to, int ticks, double dt) {
+            this.from  = from;
+            this.to    = to;
+            this.ticks = ticks;
+            this.dt    = dt;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK) {
+                stepRange(from, to, ticks, dt);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new StepTask(from, mid, ticks, dt), new StepTask(mid, to, ticks, dt));
+        }
+    }
+
+    /**
+     * Rechnet die Matches [from, to) ticks Schritte weiter.
+     * Jedes Match ist unabhängig, daher läuft die Tick-Schleife innen pro Block.
+     */
+    void stepRange(int from, int to, int ticks, double dt) {
+        SweptCollider c = colliders.get();
+        c.setField(width, height);
+        double maxY = height - paddleH;
+        for (int t = 0; t < ticks; t++) {
+            for (int i = from; i < to; i++) {
+                int l = 2 * i, r = l + 1;
+                if (autoTrack) {
+                    track(l, i);
+                    track(r, i);
+                }
+                // Paddles bewegen und im Spielfeld halten (wie MatchState.movePaddle)
+                paddleY[l] = Math.max(0, Math.min(paddleY[l] + paddleVy[l] * dt, maxY));
+                paddleY[r] = Math.max(0, Math.min(paddleY[r] + paddleVy[r] * dt, maxY));
+
+                // Ball mit kontinuierlicher Kollision bewegen (wie MatchState.advanceBall)
+                c.setPaddles(leftX, paddleY[l], rightX, paddleY[r], paddleW, paddleH);
+                c.setBall(ballX[i], ballY[i], ballVx[i], ballVy[i], ballRadius);
+                int events = c.advance(dt);
+                ballX[i]  = c.getX();
+                ballY[i]  = c.getY();
+                ballVx[i] = c.getVx();
+                ballVy[i] = c.getVy();
+
+                if ((events & SweptCollider.HIT_LEFT_PADDLE) != 0) {
+                    aim(r, i);      // Ball kommt jetzt auf rechts zu
+                } else if ((events & SweptCollider.HIT_RIGHT_PADDLE) != 0) {
+                    aim(l, i);
+                }
+                if ((events & SweptCollider.GOAL_LEFT) != 0) {
+                    scoreRight[i]++;
+                    point(i);
+                } else if ((events & SweptCollider.GOAL_RIGHT) != 0) {
+                    scoreLeft[i]++;
+                    point(i);
+                }
+            }
+        }
+    }
+
+    // Einfacher Bot: Paddle-Mitte läuft der Ballhöhe (plus Zielfehler) hinterher
+    private void track(int p, int i) {
+        double center = paddleY[p] + paddleH / 2;
+        double diff = ballY[i] + aim[p] - center;
+        paddleVy[p] = diff > paddleH / 4 ? paddleSpeed : diff < -paddleH / 4 ? -paddleSpeed : 0;
+    }
+
+    // Neuer Zielfehler für Paddle p, gleichverteilt in ±trackError * Paddle-Höhe
+    private void aim(int p, int i) {
+        aim[p] = (2 * nextDouble(i) - 1) * trackError * paddleH;
+    }
+
+    // Nach einem Punkt: ggf. Match beenden, dann neu aufschlagen
+    private void point(int i) {
+        pointsDone[i]++;
+        if (scoreLeft[i] >= pointsToWin || scoreRight[i] >= pointsToWin) {
+            matchesDone[i]++;
+            scoreLeft[i] = scoreRight[i] = 0;
+        }
+        serve(i);
+    }
+
+    // Ball in die Mitte, zufälliger Winkel wie MatchState.serve()
+    private void serve(int i) {
+        ballX[i] = width / 2;
+        ballY[i] = height / 2;
+        double angle = nextDouble(i) * 2 * Math.PI;
+        ballVx[i] = Math.cos(angle) * ballSpeed;
+        ballVy[i] = Math.sin(angle) * ballSpeed;
+        aim(2 * i, i);
+        aim(2 * i + 1, i);
+    }
+
+    // SplitMix64: schneller Zufall ohne gemeinsamen Zustand zwischen Threads
+    private double nextDouble(int i) {
+        long z = (seeds[i] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    private long total(int[] perMatch) {
+        long sum = 0;
+        for (int i = 0; i < count; i++) sum += perMatch[i];
+        return sum;
+    }
+
+    // Zustand einzelner Matches auslesen
+    public int getCount()                      { return count; }
+    public double getBallX(int match)          { return ballX[match]; }
+    public double getBallY(int match)          { return ballY[match]; }
+    public double getPaddleY(int match, int side) { return paddleY[2 * match + side]; }
+    public int getScoreLeft(int match)         { return scoreLeft[match]; }
+    public int getScoreRight(int match)        { return scoreRight[match]; }
+    public int getPointsDone(int match)        { return pointsDone[match]; }
+    public int getMatchesDone(int match)       { return matchesDone[match]; }
+
+    // Messwerte des letzten run(): Ball-Ticks, Punkte und abgeschlossene Matches pro Sekunde
+    public double getTicksPerSecond() {
+        return lastRunNanos == 0 ? 0 : lastRunTicks * 1e9 / lastRunNanos;
+    }
+
+    public double getPointsPerSecond() {
+        return lastRunNanos == 0 ? 0 : lastRunPoints * 1e9 / lastRunNanos;
+    }
+
+    public double getMatchesPerSecond() {
+        return lastRunNanos == 0 ? 0 : lastRunMatches * 1e9 / lastRunNanos;
+    }
+
+    public long getLastRunNanos() { return lastRunNanos; }
+
+    /**
+     * Kommandozeile: BatchSimulator [matches] [ticks] [tickRate]
+     * Gibt Ball-Ticks/s und Punkte/s aus (ein Match bis 11 dauert länger als
+     * die übliche Messdauer, deshalb Punkte statt Matches).
+     */
+    public static void main(String[] args) {
+        int matches  = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int ticks    = args.length > 1 ? Integer.parseInt(args[1]) : 24000;
+        int tickRate = args.length > 2 ? Integer.parseInt(args[2]) : GameConfig.TICK_RATE;
+
+        BatchSimulator sim = new BatchSimulator(matches, 42L);
+        sim.run(ticks / 10, 1.0 / tickRate);   // Aufwärmen (JIT)
+        sim.reset();
+        sim.run(ticks, 1.0 / tickRate);
+        System.out.printf("%d Matches x %d Ticks auf %d Threads: %.1f ms%n",
+                matches, ticks, sim.pool.getParallelism(), sim.getLastRunNanos() / 1e6);
+        System.out.printf("%.1f Mio. Ball-Ticks/s, %.0f Punkte/s%n",
+                sim.getTicksPerSecond() / 1e6, sim.getPointsPerSecond());
+    }
+}
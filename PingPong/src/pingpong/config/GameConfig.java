@@ -9,4 +9,25 @@ public class GameConfig {
     public static final double BALL_RADIUS   = 10;
     public static final double BALL_SPEED    = 300;
     public static final double PADDLE_SPEED  = 250;
+    // Physik-Schritte pro Sekunde (z.B. 120, 240, 1000)
+    public static final int    TICK_RATE          = 240;
+    // Maximal nachgeholte Physik-Schritte pro Frame, der Rest wird verworfen
+    public static final int    MAX_CATCH_UP_STEPS = 8;
+    // Spieldauer und Pause vor dem Aufschlag nach einem Punkt (in Sekunden Spielzeit)
+    public static final int    MATCH_SECONDS       = 180;
+    public static final double SERVE_DELAY_SECONDS = 0.5;
+    // Chaos-Modus: Radius der zusätzlichen Bälle
+    public static final double MULTI_BALL_RADIUS   = 4;
+    // Power-ups: Plätze im Pool, Abstand zwischen zwei Power-ups, Lebensdauer und Radius
+    public static final int    ENTITY_POOL_SIZE    = 32;
+    public static final double POWER_UP_INTERVAL_SECONDS = 6;
+    public static final double POWER_UP_LIFETIME_SECONDS = 10;
+    public static final double POWER_UP_RADIUS     = 12;
+    // Sofort-Wiederholung: Länge des Fensters und höchstens gespeicherte Chaos-Bälle pro Snapshot
+    public static final double REWIND_SECONDS      = 10;
+    public static final int    REWIND_MAX_BALLS    = 256;
+    // Tempo der Zeitlupe beim Zurückspulen
+    public static final double REWIND_SLOW_MOTION  = 0.25;
+    // Zuschauer-Übertragung: höchstens so viele Chaos-Bälle pro Frame
+    public static final int    SPECTATOR_MAX_BALLS = 1024;
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package pingpong.diag;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * FrameProfiler sammelt die Zeiten der Spielschleife in Histogrammen:
+ * Dauer eines ganzen Frames (AnimationTimer.handle), Abstand der Pulses,
+ * und die Aufteilung eines Frames in Paddle-Bewegung, Ball/Kollisionen,
+ * Audio und Zeichnen. Ein Pulse gilt als verspätet, wenn sein Abstand mehr
+ * als das 1,5-fache des erwarteten Bildabstands beträgt.
+ *
+ * Dazu die Eingabe-Latenz: vom Tastendruck bis zum ersten Frame, der das
+ * Paddle in die neue Richtung bewegt zeigt.
+ *
+ * Die Phasen werden pro Frame aufsummiert (mehrere Physik-Schritte pro Frame)
+ * und in endFrame() als ein Wert pro Histogramm aufgenommen.
+ *
+ * Standardmäßig aus, dann kosten alle Aufrufe nur die Abfrage des Schalters;
+ * einschalten mit -Dpingpong.profile=true oder setEnabled() (z.B. vom F3-Overlay).
+ */
+public class FrameProfiler {
+    // Phasen innerhalb eines Frames
+    public static final int PHASE_PADDLES = 0;
+    public static final int PHASE_BALL    = 1;
+    public static final int PHASE_AUDIO   = 2;
+    public static final int PHASE_RENDER  = 3;
+    private static final String[] PHASE_NAMES = {"paddles", "ball+collisions", "audio", "render"};
+
+    private final LatencyHistogram frame    = new LatencyHistogram("frame (handle)");
+    private final LatencyHistogram interval = new LatencyHistogram("pulse interval");
+    private final LatencyHistogram input    = new LatencyHistogram("input→frame");
+    private final LatencyHistogram[] phases = new LatencyHistogram[PHASE_NAMES.length];
+    private final long[] phaseNanos = new long[PHASE_NAMES.length];
+
+    // Erwarteter Abstand zweier Pulses (aus Bildwiederholrate)
+    private final long expectedIntervalNanos;
+    private boolean enabled = Boolean.getBoolean("pingpong.profile");
+    private long latePulses;
+    private long frameStart;
+
+    /**
+     * @param refreshRate erwartete Bildwiederholrate in Hz (z.B. 60)
+     */
+    public FrameProfiler(double refreshRate) {
+        this.expectedIntervalNanos = (long) (1e9 / refreshRate);
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram(PHASE_NAMES[i]);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Beginn eines Frames.
+     * @param pulseIntervalNanos Abstand zum vorherigen Pulse (0 beim ersten)
+     */
+    public void beginFrame(long pulseIntervalNanos) {
+        if (!enabled) return;
+        frameStart = System.nanoTime();
+        if (pulseIntervalNanos > 0) {
+            interval.record(pulseIntervalNanos);
+            if (pulseIntervalNanos > expectedIntervalNanos * 3 / 2) {
+                latePulses++;
+            }
+        }
+    }
+
+    /**
+     * Addiert Zeit auf eine Phase des laufenden Frames.
+     */
+    public void addPhase(int phase, long nanos) {
+        if (!enabled) return;
+        phaseNanos[phase] += nanos;
+    }
+
+    /**
+     * Zeit vom Tastendruck bis zum Frame, der die Bewegung zeigt.
+     */
+    public void recordInputLatency(long nanos) {
+        if (!enabled) return;
+        input.record(nanos);
+    }
+
+    /**
+     * Ende eines Frames: Gesamtdauer und Phasen in die Histogramme übernehmen.
+     */
+    public void endFrame() {
+        if (!enabled) return;
+        frame.record(System.nanoTime() - frameStart);
+        for (int i = 0; i < phases.length; i++) {
+            phases[i].record(phaseNanos[i]);
+            phaseNanos[i] = 0;
+        }
+    }
+
+    /**
+     * Setzt alle Messwerte zurück (z.B. bei Spielstart).
+     */
+    public void reset() {
+        frame.reset();
+        interval.reset();
+        input.reset();
+        for (LatencyHistogram h : phases) h.reset();
+        java.util.Arrays.fill(phaseNanos, 0);
+        latePulses = 0;
+    }
+
+    public LatencyHistogram getFrame()          { return frame; }
+    public LatencyHistogram getInterval()       { return interval; }
+    public LatencyHistogram getInput()          { return input; }
+    public LatencyHistogram getPhase(int phase) { return phases[phase]; }
+    public long getLatePulses()                 { return latePulses; }
+
+    /**
+     * Kurzer mehrzeiliger Text für das HUD (Werte in Mikrosekunden).
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder(256);
+        line(sb, frame);
+        line(sb, interval);
+        for (LatencyHistogram h : phases) line(sb, h);
+        line(sb, input);
+        sb.append("late pulses: ").append(latePulses);
+        return sb.toString();
+    }
+
+    private static void line(StringBuilder sb, LatencyHistogram h) {
+        sb.append(String.format("%-16s p50 %6.0f  p99 %6.0f  p99.9 %6.0f  max %6.0f µs%n",
+                h.getName(), h.percentile(0.5) / 1e3, h.percentile(0.99) / 1e3,
+                h.percentile(0.999) / 1e3, h.getMax() / 1e3));
+    }
+
+    /**
+     * Schreibt alle Histogramme samt Rechnerinfo in eine Textdatei,
+     * damit Rechner und Builds verglichen werden können.
+     * @param file Zieldatei (Ordner wird angelegt)
+     */
+    public void dump(Path file, String extraInfo) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.printf("# PingPong frame stats%n");
+            out.printf("# java=%s vm=%s os=%s %s cpus=%d%n",
+                    System.getProperty("java.version"), System.getProperty("java.vm.name"),
+                    System.getProperty("os.name"), System.getProperty("os.arch"),
+                    Runtime.getRuntime().availableProcessors());
+            if (extraInfo != null) {
+                out.printf("# %s%n", extraInfo);
+            }
+            out.printf("# late pulses=%d (expected interval %d ns)%n%n", latePulses, expectedIntervalNanos);
+            frame.writeTo(out);
+            interval.writeTo(out);
+            for (LatencyHistogram h : phases) h.writeTo(out);
+            input.writeTo(out);
+        }
+    }
+}
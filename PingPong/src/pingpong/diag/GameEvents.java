@@ -0,0 +1,95 @@
+package pingpong.diag;
+
+/**
+ * Eigene Ereignisse für den JDK Flight Recorder (JFR): Frames der Spielschleife,
+ * Kollisionen, Punkte und Sounds. Damit lassen sich Ruckler in einer normalen
+ * Aufnahme (jcmd &lt;pid&gt; JFR.start) mit GC, JIT und Spielgeschehen vergleichen.
+ *
+ * Solange keine Aufnahme läuft, kostet jeder Aufruf nur das Lesen eines
+ * Feldes (siehe isRecording()); die Aufrufer prüfen das Feld selbst, bevor sie Werte
+ * zusammensuchen, und es entstehen keine Objekte. Die Ereignistypen (JfrEvents)
+ * werden beim ersten Zugriff auf diese Klasse registriert. Ohne jdk.jfr
+ * (JDK 8 vor 8u262) bleibt alles aus; -Dpingpong.jfr=false schaltet es ebenfalls ab.
+ */
+public final class GameEvents {
+    // true, solange eine JFR-Aufnahme läuft (schaltet JfrEvents bei jeder Aufnahme um)
+    static volatile boolean recording;
+
+    static {
+        if (!"false".equalsIgnoreCase(System.getProperty("pingpong.jfr")) && jfrAvailable()) {
+            try {
+                JfrEvents.listen();
+            } catch (LinkageError | RuntimeException e) {
+                // JFR nicht nutzbar (z.B. abgeschaltet), dann eben keine Ereignisse
+            }
+        }
+    }
+
+    private GameEvents() { }
+
+    private static boolean jfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * true, solange eine JFR-Aufnahme läuft.
+     */
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Beginn eines Frames der Spielschleife.
+     * @return Ereignis für endFrame(), null wenn keine Aufnahme läuft
+     */
+    public static Object beginFrame() {
+        return recording ? JfrEvents.beginFrame() : null;
+    }
+
+    /**
+     * Ende des Frames: Dauer ergibt sich aus beginFrame() bis hier.
+     * @param event Rückgabewert von beginFrame()
+     * @param dt Frame-Zeit in Sekunden
+     * @param steps gerechnete Physik-Schritte
+     * @param tick Tick-Zähler nach dem Frame
+     */
+    public static void endFrame(Object event, double dt, int steps, long tick) {
+        if (event != null) {
+            JfrEvents.endFrame(event, dt, steps, tick);
+        }
+    }
+
+    /**
+     * Ein Kontakt des Balls (SweptCollider.CONTACT_*).
+     */
+    public static void collision(long tick, int type, int side, double x, double y) {
+        if (recording) {
+            JfrEvents.collision(tick, type, side, x, y);
+        }
+    }
+
+    /**
+     * Ein Punkt samt Spielstand und Länge des Ballwechsels.
+     */
+    public static void point(long tick, int side, int left, int right, int rallyHits, long rallyTicks) {
+        if (recording) {
+            JfrEvents.point(tick, side, left, right, rallyHits, rallyTicks);
+        }
+    }
+
+    /**
+     * Entscheidung des AudioDispatchers über eine Sound-Anfrage.
+     * @param sound Name des Sounds
+     * @param result "played", "coalesced" oder "dropped"
+     */
+    public static void sound(String sound, String result) {
+        if (recording) {
+            JfrEvents.sound(sound, result);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package pingpong.diag;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Die JFR-Ereignistypen des Spiels. Nur über GameEvents benutzen, damit diese
+ * Klasse (und jdk.jfr) auf JVMs ohne JFR nie geladen wird.
+ * Stacktraces sind aus: die Ereignisse kommen immer von denselben Stellen.
+ */
+final class JfrEvents {
+    private static final String[] CONTACT_NAMES = {"wall", "paddle", "goal"};
+
+    private JfrEvents() { }
+
+    @Name("pingpong.Frame")
+    @Label("Frame")
+    @Description("Ein Pulse der Spielschleife: Physik-Schritte und Zeichnen")
+    @Category({"PingPong", "Game Loop"})
+    @StackTrace(false)
+    static final class FrameEvent extends Event {
+        @Label("Frame Time") @Timespan(Timespan.NANOSECONDS)
+        long dt;
+        @Label("Steps")
+        int steps;
+        @Label("Tick")
+        long tick;
+    }
+
+    @Name("pingpong.Collision")
+    @Label("Collision")
+    @Category({"PingPong", "Physics"})
+    @StackTrace(false)
+    static final class CollisionEvent extends Event {
+        @Label("Tick")
+        long tick;
+        @Label("Type")
+        String type;
+        @Label("Side")
+        int side;
+        @Label("X")
+        double x;
+        @Label("Y")
+        double y;
+    }
+
+    @Name("pingpong.Point")
+    @Label("Point")
+    @Category({"PingPong", "Match"})
+    @StackTrace(false)
+    static final class PointEvent extends Event {
+        @Label("Tick")
+        long tick;
+        @Label("Side")
+        int side;
+        @Label("Left Score")
+        int left;
+        @Label("Right Score")
+        int right;
+        @Label("Rally Hits")
+        int rallyHits;
+        @Label("Rally Ticks")
+        long rallyTicks;
+    }
+
+    @Name("pingpong.Sound")
+    @Label("Sound")
+    @Category({"PingPong", "Audio"})
+    @StackTrace(false)
+    static final class SoundEvent extends Event {
+        @Label("Sound")
+        String sound;
+        @Label("Result")
+        String result;
+    }
+
+    // Schaltet GameEvents.recording mit jeder Aufnahme um
+    static void listen() {
+        FlightRecorder.register(FrameEvent.class);
+        FlightRecorder.register(CollisionEvent.class);
+        FlightRecorder.register(PointEvent.class);
+        FlightRecorder.register(SoundEvent.class);
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording changed) {
+                GameEvents.recording = anyRunning();
+            }
+        });
+        GameEvents.recording = anyRunning();
+    }
+
+    private static boolean anyRunning() {
+        if (!FlightRecorder.isInitialized()) {
+            return false;
+        }
+        for (Recording r : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (r.getState() == RecordingState.RUNNING) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Object beginFrame() {
+        FrameEvent e = new FrameEvent();
+        e.begin();
+        return e;
+    }
+
+    static void endFrame(Object event, double dt, int steps, long tick) {
+        FrameEvent e = (FrameEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.dt    = (long) (dt * 1e9);
+            e.steps = steps;
+            e.tick  = tick;
+            e.commit();
+        }
+    }
+
+    static void collision(long tick, int type, int side, double x, double y) {
+        CollisionEvent e = new CollisionEvent();
+        if (e.shouldCommit()) {
+            e.tick = tick;
+            e.type = CONTACT_NAMES[type];
+            e.side = side;
+            e.x    = x;
+            e.y    = y;
+            e.commit();
+        }
+    }
+
+    static void point(long tick, int side, int left, int right, int rallyHits, long rallyTicks) {
+        PointEvent e = new PointEvent();
+        if (e.shouldCommit()) {
+            e.tick       = tick;
+            e.side       = side;
+            e.left       = left;
+            e.right      = right;
+            e.rallyHits  = rallyHits;
+            e.rallyTicks = rallyTicks;
+            e.commit();
+        }
+    }
+
+    static void sound(String sound, String result) {
+        SoundEvent e = new SoundEvent();
+        if (e.shouldCommit()) {
+            e.sound  = sound;
+            e.result = result;
+            e.commit();
+        }
+    }
+}
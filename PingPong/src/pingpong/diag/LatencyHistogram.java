@@ -0,0 +1,117 @@
+package pingpong.diag;
+
+import java.io.PrintWriter;
+
+/**
+ * LatencyHistogram zählt Zeitwerte (in Nanosekunden) in logarithmisch
+ * verteilten Eimern fester Anzahl. Jede Zweierpotenz wird in 32 gleich große
+ * Teile zerlegt, der Fehler eines Perzentils liegt damit unter ca. 3 %.
+ * Aufnehmen ist O(1) und erzeugt keine Objekte, der Speicher ist fest (~15 KB).
+ * Nicht threadsicher: pro Thread ein eigenes Histogramm verwenden.
+ */
+public class LatencyHistogram {
+    // 2^SUB_BITS Eimer für kleine Werte, danach HALF Eimer pro Zweierpotenz
+    private static final int SUB_BITS = 6;
+    private static final int SUB      = 1 << SUB_BITS;
+    private static final int HALF     = SUB >> 1;
+    private static final int BUCKETS  = (64 - SUB_BITS + 1) * HALF + HALF;
+
+    private final String name;
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * @param name Bezeichnung für Ausgabe und Export
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Nimmt einen Wert auf. Negative Werte werden als 0 gezählt.
+     * @param nanos Dauer in Nanosekunden
+     */
+    public void record(long nanos) {
+        long v = nanos < 0 ? 0 : nanos;
+        counts[bucketOf(v)]++;
+        total++;
+        sum += v;
+        if (v < min) min = v;
+        if (v > max) max = v;
+    }
+
+    /**
+     * Setzt alle Zähler zurück.
+     */
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        total = sum = max = 0;
+        min = Long.MAX_VALUE;
+    }
+
+    /**
+     * Liefert den Wert, unter dem der Anteil p aller Werte liegt.
+     * @param p Anteil zwischen 0 und 1 (z.B. 0.99 für p99)
+     * @return obere Grenze des Eimers in Nanosekunden (0, wenn leer)
+     */
+    public long percentile(double p) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(p * total);
+        if (rank < 1) rank = 1;
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                return Math.min(upperBound(b), max);
+            }
+        }
+        return max;
+    }
+
+    // Index des Eimers für einen Wert
+    private static int bucketOf(long v) {
+        if (v < SUB) {
+            return (int) v;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        int shift = msb - (SUB_BITS - 1);
+        return (shift + 1) * HALF + (int) ((v >>> shift) - HALF);
+    }
+
+    // Größter Wert, der noch in Eimer b fällt
+    private static long upperBound(int b) {
+        if (b < SUB) {
+            return b;
+        }
+        int shift = b / HALF - 1;
+        long sub = b % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    public String getName()   { return name; }
+    public long getCount()    { return total; }
+    public long getMax()      { return max; }
+    public long getMin()      { return total == 0 ? 0 : min; }
+    public double getMean()   { return total == 0 ? 0 : (double) sum / total; }
+
+    /**
+     * Schreibt Zusammenfassung und alle belegten Eimer (obere Grenze, Anzahl).
+     */
+    public void writeTo(PrintWriter out) {
+        out.printf("# %s%n", name);
+        out.printf("count=%d mean=%.0f min=%d p50=%d p90=%d p99=%d p99.9=%d max=%d%n",
+                total, getMean(), getMin(), percentile(0.50), percentile(0.90),
+                percentile(0.99), percentile(0.999), max);
+        for (int b = 0; b < BUCKETS; b++) {
+            if (counts[b] != 0) {
+                out.printf("%d %d%n", upperBound(b), counts[b]);
+            }
+        }
+        out.println();
+    }
+}
@@ -0,0 +1,78 @@
+package pingpong.diag;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * StartupTimer misst die Phasen des Programmstarts und gibt jede Phase beim
+ * Abschluss als eine Zeile aus, z.B.
+ *   [startup] fxml          84.2 ms  (t+312.9 ms)
+ * t zählt ab start(), also ab dem Laden der Hauptklasse. Die Zeit davor
+ * (JVM-Start bis start()) ergibt sich aus der Laufzeit der JVM; das Laden der
+ * Management-Klassen dafür kostet selbst einige zehn Millisekunden und läuft
+ * deshalb auf einem eigenen Thread (Zeile "jvm" kommt dadurch etwas später).
+ * Phasen, die parallel laufen (z.B. Sounds dekodieren), werden mit begin/end
+ * gemessen und zählen nicht zur Kette der übrigen Phasen.
+ * Mit -Dpingpong.startupLog=false wird nichts ausgegeben.
+ */
+public final class StartupTimer {
+    private static final boolean LOG =
+            !"false".equalsIgnoreCase(System.getProperty("pingpong.startupLog"));
+
+    // nanoTime bei start() und am Ende der letzten Phase (0 = start() nicht aufgerufen)
+    private static long startNanos;
+    private static long lastMarkNanos;
+
+    private StartupTimer() { }
+
+    /**
+     * Erste Marke, so früh wie möglich aufrufen (z.B. static-Block der Hauptklasse).
+     */
+    public static synchronized void start() {
+        long now = System.nanoTime();
+        startNanos    = now;
+        lastMarkNanos = now;
+        if (!LOG) return;
+        Thread jvm = new Thread(() -> {
+            long uptimeNanos = ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+            long sinceStart  = System.nanoTime() - now;
+            log("jvm", uptimeNanos - sinceStart, now);
+        }, "startup-timer");
+        jvm.setDaemon(true);
+        jvm.start();
+    }
+
+    /**
+     * Beendet die laufende Phase (seit der letzten Marke).
+     * @param phase Name der Phase, z.B. "fxml"
+     */
+    public static synchronized void mark(String phase) {
+        if (startNanos == 0) return;          // start() nicht aufgerufen (z.B. Benchmarks)
+        long now = System.nanoTime();
+        log(phase, now - lastMarkNanos, now);
+        lastMarkNanos = now;
+    }
+
+    /**
+     * Startzeit einer parallelen Phase (für end()).
+     */
+    public static long begin() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Beendet eine parallele Phase, ohne die Kette der übrigen Phasen zu verschieben.
+     * @param phase Name der Phase
+     * @param beginNanos Rückgabewert von begin()
+     */
+    public static synchronized void end(String phase, long beginNanos) {
+        if (startNanos == 0) return;
+        long now = System.nanoTime();
+        log(phase, now - beginNanos, now);
+    }
+
+    private static synchronized void log(String phase, long nanos, long now) {
+        if (!LOG) return;
+        System.out.printf("[startup] %-12s %8.1f ms  (t+%.1f ms)%n",
+                phase, nanos / 1e6, (now - startNanos) / 1e6);
+    }
+}
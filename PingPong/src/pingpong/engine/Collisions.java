@@ -0,0 +1,39 @@
+package pingpong.engine;
+
+/**
+ * Collisions enthält die reinen Geometrie-Tests der Spielphysik.
+ * Alles arbeitet auf primitiven Werten, damit es ohne JavaFX
+ * und ohne Objekt-Erzeugung pro Frame benutzt werden kann.
+ */
+public final class Collisions {
+
+    private Collisions() { }
+
+    /**
+     * Exakte Kreis-zu-Rechteck-Kollisionserkennung.
+     * @param cx X-Koordinate des Kreismittelpunkts
+     * @param cy Y-Koordinate des Kreismittelpunkts
+     * @param radius Radius des Kreises
+     * @param rx linke Kante des Rechtecks
+     * @param ry obere Kante des Rechtecks
+     * @param rw Breite des Rechtecks
+     * @param rh Höhe des Rechtecks
+     * @return true, falls Kollision stattfindet
+     */
+    public static boolean isCircleRectCollision(double cx, double cy, double radius,
+                                                double rx, double ry, double rw, double rh) {
+        // Punkt auf Rechteck, der dem Ballzentrum am nächsten ist
+        double closestX = clamp(cx, rx, rx + rw);
+        double closestY = clamp(cy, ry, ry + rh);
+
+        // Abstand zum Kreiszentrum
+        double dx = cx - closestX;
+        double dy = cy - closestY;
+        return dx * dx + dy * dy < radius * radius;
+    }
+
+    // Hilfsmethode: beschränkt einen Wert auf ein Intervall [min, max].
+    public static double clamp(double val, double min, double max) {
+        return Math.max(min, Math.min(max, val));
+    }
+}
@@ -0,0 +1,222 @@
+package pingpong.engine;
+
+import java.util.Arrays;
+
+/**
+ * Vorab angelegter Pool für kurzlebige Spielobjekte (Power-ups, Hindernisse,
+ * Geschosse). Jedes Objekt ist ein Platz in parallelen Arrays (Art, Position,
+ * Geschwindigkeit, Radius, Ablauf-Tick); spawn() nimmt einen Platz aus der
+ * Frei-Liste, despawn() legt ihn zurück. Dabei entstehen keine Objekte, auch
+ * nicht mitten im Match, und der Pool wächst nie: ist er voll, schlägt spawn()
+ * fehl und wird gezählt (getRejected(), zum Einstellen der Größe).
+ *
+ * Die lebenden Plätze stehen zusätzlich dicht in einer Liste
+ * (getLiveSlot(0 .. getLiveCount() - 1)), damit Schleifen nur über sie laufen.
+ * Handles enthalten eine Generation wie beim TimerWheel: ein altes Handle
+ * trifft nie ein neues Objekt auf demselben Platz.
+ */
+public class EntityPool {
+    // Ungültiges Handle (spawn() bei vollem Pool)
+    public static final long NO_ENTITY = -1;
+
+    // Arten von Objekten
+    public static final int POWER_FAST = 1;    // Ball wird schneller
+    public static final int POWER_SLOW = 2;    // Ball wird langsamer
+
+    private final int capacity;
+    private final int[] type;
+    private final double[] x, y, vx, vy, prevX, prevY, radius;
+    private final long[] expireTick;
+    private final int[] generation;
+
+    // Frei-Liste über Indizes und dichte Liste der lebenden Plätze (mit Rückverweis)
+    private final int[] nextFree;
+    private int free;
+    private final int[] live;
+    private final int[] livePos;
+    private int liveCount;
+
+    // Statistik für die Pool-Größe
+    private int peakLive;
+    private long spawned, rejected;
+
+    /**
+     * @param capacity maximale Anzahl gleichzeitig lebender Objekte
+     */
+    public EntityPool(int capacity) {
+        this.capacity = capacity;
+        type       = new int[capacity];
+        x          = new double[capacity];
+        y          = new double[capacity];
+        vx         = new double[capacity];
+        vy         = new double[capacity];
+        prevX      = new double[capacity];
+        prevY      = new double[capacity];
+        radius     = new double[capacity];
+        expireTick = new long[capacity];
+        generation = new int[capacity];
+        nextFree   = new int[capacity];
+        live       = new int[capacity];
+        livePos    = new int[capacity];
+        Arrays.fill(generation, 1);
+        clear();
+    }
+
+    /**
+     * Entfernt alle Objekte (Statistik bleibt erhalten).
+     */
+    public void clear() {
+        for (int i = 0; i < capacity; i++) {
+            if (type[i] != 0) {
+                generation[i]++;        // alte Handles ungültig machen
+            }
+            type[i]     = 0;
+            nextFree[i] = i + 1 < capacity ? i + 1 : -1;
+        }
+        free      = capacity > 0 ? 0 : -1;
+        liveCount = 0;
+    }
+
+    /**
+     * Legt ein Objekt an.
+     * @param kind Art (z.B. POWER_FAST), muss größer als 0 sein
+     * @param expire Tick, ab dem das Objekt verschwindet (Long.MAX_VALUE = nie)
+     * @return Handle für despawn(), NO_ENTITY wenn der Pool voll ist
+     */
+    public long spawn(int kind, double px, double py, double pvx, double pvy, double r, long expire) {
+        if (free < 0) {
+            rejected++;
+            return NO_ENTITY;
+        }
+        int i = free;
+        free = nextFree[i];
+        type[i]       = kind;
+        x[i]          = prevX[i] = px;
+        y[i]          = prevY[i] = py;
+        vx[i]         = pvx;
+        vy[i]         = pvy;
+        radius[i]     = r;
+        expireTick[i] = expire;
+        livePos[i]    = liveCount;
+        live[liveCount++] = i;
+        peakLive = Math.max(peakLive, liveCount);
+        spawned++;
+        return handle(i);
+    }
+
+    /**
+     * Entfernt ein Objekt.
+     * @return false, wenn das Handle schon ungültig war
+     */
+    public boolean despawn(long handle) {
+        int i = (int) handle;
+        if (handle == NO_ENTITY || i < 0 || i >= capacity || type[i] == 0
+                || generation[i] != (int) (handle >>> 32)) {
+            return false;
+        }
+        release(i);
+        return true;
+    }
+
+    // Platz freigeben; der letzte lebende rückt an seine Stelle in der dichten Liste
+    private void release(int i) {
+        int pos  = livePos[i];
+        int last = live[--liveCount];
+        live[pos]     = last;
+        livePos[last] = pos;
+        type[i] = 0;
+        generation[i]++;
+        nextFree[i] = free;
+        free = i;
+    }
+
+    /**
+     * Bewegt alle Objekte, lässt sie oben und unten abprallen und entfernt
+     * abgelaufene sowie seitlich aus dem Feld geflogene.
+     * @param dt Zeit in Sekunden
+     * @param tick aktueller Tick (für den Ablauf)
+     */
+    public void step(double dt, double width, double height, long tick) {
+        // Rückwärts, weil release() den letzten Eintrag nach vorne holt
+        for (int k = liveCount - 1; k >= 0; k--) {
+            int i = live[k];
+            if (tick >= expireTick[i]) {
+                release(i);
+                continue;
+            }
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            if (y[i] < radius[i]) {
+                y[i]  = 2 * radius[i] - y[i];
+                vy[i] = Math.abs(vy[i]);
+            } else if (y[i] > height - radius[i]) {
+                y[i]  = 2 * (height - radius[i]) - y[i];
+                vy[i] = -Math.abs(vy[i]);
+            }
+            if (x[i] < -radius[i] || x[i] > width + radius[i]) {
+                release(i);
+            }
+        }
+    }
+
+    /**
+     * Sucht das erste lebende Objekt, das einen Kreis berührt.
+     * @return Platz des Objekts oder -1
+     */
+    public int findOverlap(double cx, double cy, double r) {
+        for (int k = 0; k < liveCount; k++) {
+            int i = live[k];
+            double dx = x[i] - cx;
+            double dy = y[i] - cy;
+            double d  = r + radius[i];
+            if (dx * dx + dy * dy < d * d) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Entfernt das Objekt auf einem Platz (z.B. Ergebnis von findOverlap()).
+     */
+    public void despawnSlot(int slot) {
+        if (type[slot] != 0) {
+            release(slot);
+        }
+    }
+
+    // Zugriff auf einzelne Plätze (für Moveable-Sicht und Zeichnen)
+    public void setPosition(int slot, double px, double py) {
+        x[slot] = prevX[slot] = px;
+        y[slot] = prevY[slot] = py;
+    }
+    public void move(int slot, double dt) {
+        x[slot] += vx[slot] * dt;
+        y[slot] += vy[slot] * dt;
+    }
+    public void reverseX(int slot) { vx[slot] = -vx[slot]; }
+    public void reverseY(int slot) { vy[slot] = -vy[slot]; }
+
+    public long handle(int slot)         { return ((long) generation[slot] << 32) | slot; }
+    public boolean isLive(int slot)      { return type[slot] != 0; }
+    public int getType(int slot)         { return type[slot]; }
+    public double getX(int slot)         { return x[slot]; }
+    public double getY(int slot)         { return y[slot]; }
+    public double getRadius(int slot)    { return radius[slot]; }
+    public long getExpireTick(int slot)  { return expireTick[slot]; }
+    // Interpolierte Position: alpha = 0 → vorheriger Schritt, alpha = 1 → aktueller Schritt
+    public double getX(int slot, double alpha) { return prevX[slot] + (x[slot] - prevX[slot]) * alpha; }
+    public double getY(int slot, double alpha) { return prevY[slot] + (y[slot] - prevY[slot]) * alpha; }
+
+    // Lebende Objekte: getLiveSlot(0) bis getLiveSlot(getLiveCount() - 1)
+    public int getLiveCount()        { return liveCount; }
+    public int getLiveSlot(int k)    { return live[k]; }
+    // Pool-Größe und Auslastung
+    public int getCapacity()         { return capacity; }
+    public int getFreeCount()        { return capacity - liveCount; }
+    public int getPeakLive()         { return peakLive; }
+    public long getSpawned()         { return spawned; }
+    public long getRejected()        { return rejected; }
+}
@@ -0,0 +1,63 @@
+package pingpong.engine;
+
+/**
+ * FixedTimestep verteilt die (schwankende) Frame-Zeit auf Physik-Schritte
+ * fester Länge. Die übrig gebliebene Zeit bleibt im Akkumulator und wird als
+ * Interpolationsfaktor alpha (0..1) für das Zeichnen bereitgestellt.
+ * Damit hängt die Physik nicht mehr von der Bildrate ab, und ein langer Frame
+ * (GC-Pause, verlorener Pulse) führt nicht zu einem riesigen Sprung.
+ */
+public class FixedTimestep {
+    // Länge eines Physik-Schritts in Sekunden
+    private final double stepSeconds;
+    // Obergrenze für nachgeholte Schritte pro Frame
+    private final int maxSteps;
+    // Noch nicht simulierte Zeit in Sekunden
+    private double accumulator;
+    // Interpolationsfaktor zwischen vorletztem und letztem Zustand
+    private double alpha;
+    // Anzahl verworfener Schritte (wegen maxSteps)
+    private long droppedSteps;
+
+    /**
+     * @param tickRate Physik-Schritte pro Sekunde
+     * @param maxSteps maximal nachgeholte Schritte pro Frame
+     */
+    public FixedTimestep(int tickRate, int maxSteps) {
+        if (tickRate <= 0 || maxSteps <= 0) {
+            throw new IllegalArgumentException("tickRate und maxSteps müssen > 0 sein");
+        }
+        this.stepSeconds = 1.0 / tickRate;
+        this.maxSteps    = maxSteps;
+    }
+
+    /**
+     * Fügt die Frame-Zeit hinzu und liefert, wie viele Schritte jetzt zu rechnen sind.
+     * Zu viele Schritte werden verworfen und in droppedSteps gezählt.
+     * @param frameSeconds vergangene Zeit seit dem letzten Frame
+     * @return Anzahl der Physik-Schritte (0..maxSteps)
+     */
+    public int advance(double frameSeconds) {
+        accumulator += frameSeconds;
+        long owed = (long) (accumulator / stepSeconds);
+        accumulator -= owed * stepSeconds;
+        // Nicht alles nachholen, sonst wird der nächste Frame noch langsamer
+        int steps = (int) Math.min(owed, maxSteps);
+        droppedSteps += owed - steps;
+        alpha = Math.min(1.0, accumulator / stepSeconds);
+        return steps;
+    }
+
+    /**
+     * Verwirft angesammelte Zeit, z.B. nach Pause oder Neustart.
+     */
+    public void reset() {
+        accumulator = 0;
+        alpha = 0;
+    }
+
+    public double getStepSeconds() { return stepSeconds; }
+    public int getMaxSteps()       { return maxSteps; }
+    public double getAlpha()       { return alpha; }
+    public long getDroppedSteps()  { return droppedSteps; }
+}
@@ -1,237 +1,1117 @@
 package pingpong.engine;
 
 import javafx.animation.AnimationTimer;
-import javafx.geometry.Bounds;
 import javafx.scene.control.Label;
-import javafx.scene.layout.AnchorPane;
-import javafx.scene.media.AudioClip;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
+import pingpong.ai.PaddleController;
+import pingpong.audio.AudioDispatcher;
+import pingpong.audio.Sound;
+import pingpong.config.GameConfig;
+import pingpong.diag.FrameProfiler;
+import pingpong.diag.GameEvents;
+import pingpong.history.MatchHistory;
 import pingpong.model.Ball;
+import pingpong.model.EntityNodes;
 import pingpong.model.Paddle;
+import pingpong.net.NetClient;
+import pingpong.net.SpectatorClient;
+import pingpong.net.SpectatorServer;
+import pingpong.render.FrameRenderer;
+import pingpong.replay.ReplayWriter;
 
-import java.net.URL;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class GameEngine {
-    // Unser Spielfeld-Container, in dem alles stattfindet
-    private final AnchorPane pane;
+    // Spielzustand und Physik ohne JavaFX, die Views lesen nur daraus.
+    // Gerechnet wird im logischen Spielfeld (GameConfig.BASE_WIDTH x BASE_HEIGHT),
+    // die Fenstergröße spielt für die Physik keine Rolle.
+    private final MatchState state = new MatchState();
     // Die Spieler-Paddles links und rechts
     private final Paddle leftPaddle, rightPaddle;
-    // Das Ball-Objekt und seine grafische Darstellung
+    // Das Ball-Objekt
     private final Ball ball;
-    private final Circle ballView;
-    // Labels für die Spielstände
+    // Labels für die Spielstände und die zuletzt angezeigten Werte
     private final Label scoreLeftLabel, scoreRightLabel;
+    private final int[] shownScore = {-1, -1};
+    // Label-Texte für übliche Punktestände, damit ein Punkt keinen String erzeugt
+    private static final String[] SCORE_TEXT = new String[100];
+    static {
+        for (int i = 0; i < SCORE_TEXT.length; i++) {
+            SCORE_TEXT[i] = Integer.toString(i);
+        }
+    }
 
     // AnimationTimer sorgt für die Spiel-Loop
     private AnimationTimer timer;
-    private int scoreLeft, scoreRight;
-
-    // AudioClip-Objekte für Sounds (Start, Ende, Paddle, Wand, Punkt)
-    private final AudioClip soundStart;
-    private final AudioClip soundEnd;
-    private final AudioClip soundPaddle;
-    private final AudioClip soundWall;
-    private final AudioClip soundScore;
-
-    // Konstruktor ruft Paddle-, Ball- und Sound-Initialisierung auf
-    public GameEngine(AnchorPane pane,
-                      Rectangle leftRect,
+    // Zeitstempel des letzten Pulses (0 = noch keiner seit Start)
+    private long lastPulse;
+
+    // Feste Physik-Schrittweite; Tick-Rate über -Dpingpong.tickRate=120/240/1000 einstellbar
+    private FixedTimestep timestep = new FixedTimestep(
+            Integer.getInteger("pingpong.tickRate", GameConfig.TICK_RATE),
+            GameConfig.MAX_CATCH_UP_STEPS);
+    // Messwerte: Dauer des letzten Physik-Schritts und gleitender Mittelwert (ns)
+    private long lastTickNanos;
+    private double averageTickNanos;
+    // Aufsummierte Zeit für Sound-Anfragen
+    private long audioNanos;
+    // Frame-Zeiten und Phasen als Histogramme (für HUD und Export)
+    private final FrameProfiler profiler = new FrameProfiler(
+            Double.parseDouble(System.getProperty("pingpong.refreshRate", "60")));
+    // Phasen von state.step() für den Profiler; Sounds werden während des Ball-Schritts
+    // angefordert, ihre Zeit (seit stepAudioNanos) zählt nur zur Audio-Phase
+    private long stepAudioNanos;
+    private final StepTimer stepTimer = (paddleNanos, ballNanos) -> {
+        profiler.addPhase(FrameProfiler.PHASE_PADDLES, paddleNanos);
+        profiler.addPhase(FrameProfiler.PHASE_BALL, ballNanos - (audioNanos - stepAudioNanos));
+    };
+
+    // Spielt Sounds auf eigenem Thread ab (Start, Ende, Paddle, Wand, Punkt)
+    private final AudioDispatcher audio;
+    // Nimmt das laufende Match auf, falls -Dpingpong.replayDir gesetzt ist (sonst null)
+    private ReplayWriter replay;
+    // Zeichnet statt der Szenengraph-Knoten, z.B. auf ein Canvas (null = Knoten verschieben)
+    private FrameRenderer renderer;
+    // Tastatureingaben mit Zeitstempel; sie werden zum genauen Zeitpunkt im passenden Tick angewendet
+    private final InputQueue inputs = new InputQueue(256);
+    // Zuletzt eingereihte Richtung pro Seite (nur Key-Handler), filtert die Tastenwiederholung
+    private final pingpong.model.Direction[] queuedDir = {
+            pingpong.model.Direction.NONE, pingpong.model.Direction.NONE};
+    private long droppedInputs;
+    // Eingabe-Latenz: Zeitpunkt und Richtung (-1/+1, 0 = nichts offen) des Tastendrucks,
+    // der noch auf einen Frame mit sichtbarer Paddle-Bewegung wartet, und die zuletzt gezeichnete Y-Position
+    private final long[] pendingInputNanos = new long[2];
+    private final int[] pendingInputSign = new int[2];
+    private final double[] shownPaddleY = new double[2];
+    // Computergesteuerte Paddles (null = Tastatur) und ihre zuletzt gesetzte Richtung
+    private final PaddleController[] controllers = new PaddleController[2];
+    private final pingpong.model.Direction[] controlledDir = {
+            pingpong.model.Direction.NONE, pingpong.model.Direction.NONE};
+    // Verbindung zum Netzwerk-Server im Client-Modus (sonst null, dann rechnet die Engine selbst)
+    private NetClient remote;
+    // Spieluhr (läuft mit den Ticks) und wer über Sekunden und Match-Ende informiert wird
+    private final MatchClock clock = new MatchClock(state);
+    private MatchClock.Listener clockListener;
+    private int matchSeconds = GameConfig.MATCH_SECONDS;
+    private boolean matchOver;
+    // Chaos-Modus: zusätzliche Bälle pro Match (-Dpingpong.balls=N, 0 = normales Spiel)
+    private int extraBalls = Math.max(0, Integer.getInteger("pingpong.balls", 0));
+    // Power-ups pro Match (-Dpingpong.powerUps=true) und ihre Knoten im Szenengraph (null = keine)
+    private boolean powerUps = Boolean.getBoolean("pingpong.powerUps");
+    private EntityNodes entityNodes;
+    // Sofort-Wiederholung: Snapshots der letzten Sekunden (-Dpingpong.rewindSeconds, 0 = aus),
+    // jeder -Dpingpong.rewindEvery-te Tick. Beim Zurückspulen ruht das Match und die Views
+    // zeichnen rewindView; rewindPos ist der Snapshot-Index (mit Bruchteil für die Zeitlupe).
+    private final double rewindSeconds = Double.parseDouble(
+            System.getProperty("pingpong.rewindSeconds", String.valueOf(GameConfig.REWIND_SECONDS)));
+    private final int rewindEvery = Math.max(1, Integer.getInteger("pingpong.rewindEvery", 1));
+    private RewindBuffer rewind;
+    private final MatchState rewindView = new MatchState(0);
+    private boolean rewinding;
+    private double rewindPos;
+    private double rewindSpeed;
+    // Zuschauer-Übertragung (-Dpingpong.spectatorPort, null = aus); bleibt über mehrere Matches offen
+    private SpectatorServer spectators;
+    // Zuschauermodus: Verbindung zum Host (sonst null) und zuletzt gemeldete Restzeit (-1 = noch kein Frame)
+    private SpectatorClient watching;
+    private int watchedSeconds = -1;
+    // true zwischen start()/startRemote()/startSpectator() und stop()
+    private boolean running;
+    // Client-Modus: Server-Tick beim ersten Snapshot (-1 = noch keiner)
+    private long remoteStartTick = -1;
+    // Dauerhafte Punkte-Historie, null wenn aus, gesperrt oder bei Fehler
+    private final MatchHistory history;
+    // Schreibt die Historie im Hintergrund auf die Platte (force() kann dauern), null ohne Historie
+    private final ExecutorService historySync;
+
+    // Konstruktor ruft Paddle-, Ball- und Sound-Initialisierung auf.
+    // Die Knoten liegen im logischen Spielfeld (die Skalierung aufs Fenster macht der Aufrufer).
+    // Historie in -Dpingpong.historyFile (Standard ~/.pingpong/history.ppj, leer = keine)
+    public GameEngine(Rectangle leftRect,
                       Rectangle rightRect,
                       Circle ballView,
                       Label leftScore,
                       Label rightScore) {
+        this(leftRect, rightRect, ballView, leftScore, rightScore, defaultHistoryFile());
+    }
+
+    /**
+     * Wie oben, aber mit eigener Historie-Datei.
+     * @param historyFile Journal für die Punkte-Historie, null = keine Historie
+     *                    (z.B. für Benchmarks und Werkzeuge)
+     */
+    public GameEngine(Rectangle leftRect,
+                      Rectangle rightRect,
+                      Circle ballView,
+                      Label leftScore,
+                      Label rightScore,
+                      Path historyFile) {
+        this.history = historyFile != null ? openHistory(historyFile) : null;
+        this.historySync = history == null ? null : Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "history-sync");
+            t.setDaemon(true);
+            return t;
+        });
+
         // Speichern der Referenzen auf UI-Elemente
-        this.pane            = pane;
-        this.leftPaddle      = new Paddle(leftRect);
-        this.rightPaddle     = new Paddle(rightRect);
-        this.ball            = new Ball(ballView);
-        this.ballView        = ballView;
+        this.leftPaddle      = new Paddle(leftRect, state, MatchState.LEFT);
+        this.rightPaddle     = new Paddle(rightRect, state, MatchState.RIGHT);
+        this.ball            = new Ball(ballView, state);
         this.scoreLeftLabel  = leftScore;
         this.scoreRightLabel = rightScore;
 
-        // Sounds laden, geben null zurück, falls Datei fehlt
-        soundStart  = loadClip("/sounds/game-start-317318.mp3");
-        soundEnd    = loadClip("/sounds/game-over-arcade-6435.mp3");
-        soundPaddle = loadClip("/sounds/mouth-sound-ping-pong.wav");
-        soundWall   = soundPaddle;  // Für Wand-Kollisionen denselben Sound verwenden
-        soundScore  = loadClip("/sounds/video-game-bonus-323603.mp3");
+        // Sounds einmal laden; fehlende Dateien werden einfach nicht gespielt
+        audio = new AudioDispatcher(64);
+
+        // Ereignisse aus der Physik in Sounds und Score-Anzeige umsetzen
+        state.setListener(new MatchListener() {
+            @Override
+            public void onPaddleHit(int side) {
+                play(Sound.PADDLE);         // Paddle-Sound abspielen
+            }
+
+            @Override
+            public void onWallHit() {
+                play(Sound.WALL);           // Wand-Sound abspielen
+            }
+
+            @Override
+            public void onScore(int side) {
+                updateScore(side);
+                play(Sound.SCORE);
+                recordPoint(side);
+            }
+
+            @Override
+            public void onPowerUp(int type) {
+                play(Sound.PADDLE);
+            }
+        });
+
+        // Match-Ende wird erst nach dem laufenden Schritt behandelt (siehe update)
+        clock.setListener(new MatchClock.Listener() {
+            @Override
+            public void onSecond(int remainingSeconds) {
+                if (clockListener != null) clockListener.onSecond(remainingSeconds);
+            }
+
+            @Override
+            public void onMatchEnd() {
+                matchOver = true;
+            }
+        });
+        state.setServeDelayTicks((int) Math.round(GameConfig.SERVE_DELAY_SECONDS * getTickRate()));
+
+        // Figurengrößen einmal aus dem logischen Spielfeld übernehmen
+        ballView.setRadius(state.getBallRadius());
+        for (Rectangle r : new Rectangle[] {leftRect, rightRect}) {
+            r.setWidth(state.getPaddleWidth());
+            r.setHeight(state.getPaddleHeight());
+        }
+        leftRect.setLayoutX(state.getPaddleX(MatchState.LEFT));
+        rightRect.setLayoutX(state.getPaddleX(MatchState.RIGHT));
+
+        // Für -Dpingpong.statsDir wird immer gemessen, sonst erst mit -Dpingpong.profile oder F3
+        if (System.getProperty("pingpong.statsDir") != null) {
+            profiler.setEnabled(true);
+        }
 
         // Timer einrichten, der regelmäßig update() aufruft
         setupTimer();
     }
 
-    /**
-     * Lädt eine Audiodatei vom Klassenpfad und gibt sie als AudioClip zurück.
-     */
-    private AudioClip loadClip(String resourcePath) {
-        URL url = getClass().getResource(resourcePath);
-        if (url == null) {
-            return null; // Datei nicht gefunden
-        }
-        return new AudioClip(url.toExternalForm());
+    // Fordert einen Sound an (blockiert nie) und misst die Zeit dafür
+    private void play(Sound sound) {
+        long t0 = System.nanoTime();
+        audio.request(sound);
+        long nanos = System.nanoTime() - t0;
+        audioNanos += nanos;
+        profiler.addPhase(FrameProfiler.PHASE_AUDIO, nanos);
     }
 
     // Erstellt den AnimationTimer für die Haupt-Spielschleife
 
     private void setupTimer() {
         timer = new AnimationTimer() {
-            private long lastTime = 0;
-
             @Override
             public void handle(long now) {
-                if (lastTime == 0) {
+                if (lastPulse == 0) {
                     // Beim ersten Aufruf nur Zeitstempel setzen
-                    lastTime = now;
+                    lastPulse = now;
                     return;
                 }
+                profiler.beginFrame(now - lastPulse);
                 // Zeitdifferenz in Sekunden berechnen
-                double deltaSeconds = (now - lastTime) / 1e9;
-                lastTime = now;
-                // Spielzustand updaten
-                update(deltaSeconds);
+                double deltaSeconds = (now - lastPulse) / 1e9;
+                lastPulse = now;
+                // Spielzustand in festen Schritten updaten (oder vom Server übernehmen)
+                if (rewinding) {
+                    updateRewind(deltaSeconds);
+                } else if (remote != null) {
+                    updateRemote();
+                } else if (watching != null) {
+                    updateSpectator();
+                } else {
+                    update(deltaSeconds, now);
+                }
+                profiler.endFrame();
             }
         };
     }
 
     // Startet oder setzt das Spiel zurück (Score, Position, Timer)
     public void start() {
-        // Sound abspielen, falls geladen
-        if (soundStart != null) soundStart.play();
-        // Punkte zurücksetzen
-        scoreLeft = scoreRight = 0;
+        // Start-Sound abspielen
+        audio.request(Sound.START);
+        // Neues Match mit frischem Seed: Punkte auf 0, Ball und Paddles in die Mitte
+        state.startMatch(System.nanoTime());
+        state.setExtraBalls(extraBalls);
+        if (powerUps) {
+            state.setPowerUps(ticks(GameConfig.POWER_UP_INTERVAL_SECONDS),
+                              ticks(GameConfig.POWER_UP_LIFETIME_SECONDS));
+        }
+        for (int side = 0; side < 2; side++) {
+            if (controllers[side] != null) {
+                controllers[side].reset();
+                controlledDir[side] = pingpong.model.Direction.NONE;
+                state.setPaddleDirection(side, pingpong.model.Direction.NONE);
+            }
+        }
+        if (history != null) {
+            try {
+                history.beginMatch();
+            } catch (IOException e) {
+                System.err.println("Spiel-Historie nicht verfügbar: " + e.getMessage());
+            }
+        }
+        // Tasten aus dem letzten Match nicht in Sub-Tick 0 des neuen anwenden
+        dropInputs();
+        matchOver = false;
+        rewinding = false;
+        running = true;
+        prepareRewind();
+        openSpectators();
+        clock.start(getTickRate(), matchSeconds);
         updateScores();
-        // Ball und Paddles in die Mitte setzen
-        ball.reset(pane.getWidth() / 2, pane.getHeight() / 2);
-        leftPaddle.reset(0, pane.getHeight() / 2);
-        rightPaddle.reset(0, pane.getHeight() / 2);
+        render();
+        startReplay();
         // Timer starten → Animation läuft
+        lastPulse = 0;
+        timestep.reset();
+        profiler.reset();
         timer.start();
     }
 
     //Stoppt das Spiel und spielt Game-Over-Sound
 
     public void stop() {
+        running = false;
         timer.stop();
-        if (soundEnd != null) soundEnd.play();
+        if (rewinding) {
+            exitRewind();
+        }
+        clock.stop();
+        audio.request(Sound.END);
+        stopRemote();
+        stopSpectator();
+        stopReplay();
+        if (history != null) {
+            // msync nicht auf dem FX-Thread
+            historySync.execute(history.getJournal()::force);
+        }
+        dumpStats();
     }
 
     /**
-     * Wird jeden Frame aufgerufen: bewegt Ball und Paddles und prüft Kollision.
-     * @param dt Zeitunterschied in Sekunden seit letztem Frame
+     * Beendet die Engine endgültig, z.B. beim Schließen des Fensters: stoppt
+     * ein laufendes Spiel und schließt die Historie (Einblendung und Sperre
+     * werden frei). Danach nicht mehr benutzen.
      */
-    private void update(double dt) {
-        ball.update(dt);            // Ball bewegen
-        leftPaddle.update(dt);      // linkes Paddle bewegen
-        rightPaddle.update(dt);     // rechtes Paddle bewegen
-        checkCollisions();          // Kollisionen prüfen
+    public void shutdown() {
+        if (running) {
+            stop();
+        }
+        if (history == null) {
+            return;
+        }
+        historySync.execute(() -> {
+            try {
+                history.close();
+            } catch (IOException e) {
+                System.err.println("Spiel-Historie konnte nicht geschlossen werden: " + e.getMessage());
+            }
+        });
+        historySync.shutdown();
+        try {
+            historySync.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path defaultHistoryFile() {
+        String file = System.getProperty("pingpong.historyFile",
+                Paths.get(System.getProperty("user.home"), ".pingpong", "history.ppj").toString());
+        return file.isEmpty() ? null : Paths.get(file);
     }
 
-    //Prüft alle Kollisionen: Paddle, Ränder und Punkte
-    private void checkCollisions() {
-        Bounds playBounds = pane.getLayoutBounds();
+    // Ohne Historie weiterspielen, wenn die Datei kaputt ist oder schon ein anderes Spiel sie sperrt
+    private static MatchHistory openHistory(Path file) {
+        try {
+            return new MatchHistory(file);
+        } catch (IOException e) {
+            System.err.println("Spiel-Historie nicht verfügbar: " + e.getMessage());
+            return null;
+        }
+    }
 
-        // Paddle-Kollision: exakte Kreis/Rechteck-Prüfung
-        Bounds leftBounds  = leftPaddle.getBounds();
-        Bounds rightBounds = rightPaddle.getBounds();
-        if (isCircleRectCollision(ballView, leftBounds)) {
-            handlePaddleCollision(leftBounds);
-        } else if (isCircleRectCollision(ballView, rightBounds)) {
-            handlePaddleCollision(rightBounds);
+    // Hängt den Punkt an das Journal an (nur Schreiben in die eingeblendete Datei)
+    private void recordPoint(int side) {
+        GameEvents.point(state.getTick(), side, state.getScore(MatchState.LEFT),
+                state.getScore(MatchState.RIGHT), state.getLastRallyHits(), state.getLastRallyTicks());
+        if (history == null) return;
+        try {
+            history.recordPoint(state.getTick(), side,
+                    state.getScore(MatchState.LEFT), state.getScore(MatchState.RIGHT),
+                    state.getLastRallyHits(), (int) state.getLastRallyTicks());
+        } catch (IOException e) {
+            System.err.println("Punkt konnte nicht gespeichert werden: " + e.getMessage());
         }
+    }
 
-        // Ball links raus → Punkt für rechts
-        if (ballView.getCenterX() - ballView.getRadius() <= playBounds.getMinX()) {
-            scoreRight++;
-            updateScores();
-            if (soundScore != null) soundScore.play();
-            ball.reset(playBounds.getWidth() / 2, playBounds.getHeight() / 2);
+    /**
+     * Startet den Client-Modus: das Match rechnet der NetServer, die Engine
+     * zeigt nur an, was der NetClient liefert (eigenes Paddle vorausberechnet).
+     * Tastatureingaben beider Paddles steuern dann das eigene Paddle.
+     * @param client Verbindung zum Server (wird bei stop() geschlossen)
+     */
+    public void startRemote(NetClient client) {
+        audio.request(Sound.START);
+        remote = client;
+        remoteStartTick = -1;
+        matchOver = false;
+        running   = true;
+        state.setExtraBalls(0);     // Chaos-Modus und Power-ups rechnen nur lokal
+        state.getEntities().clear();
+        state.resetScores();
+        updateScores();
+        lastPulse = 0;
+        profiler.reset();
+        timer.start();
+    }
+
+    // Client-Modus: Eingaben gehen ohne Tick-Zeitpunkt an den Server (der rechnet selbst)
+    private void drainInputsToRemote() {
+        while (!inputs.isEmpty()) {
+            remote.setDirection(InputQueue.directionOf(inputs.poll()));
         }
-        // Ball rechts raus → Punkt für links
-        else if (ballView.getCenterX() + ballView.getRadius() >= playBounds.getMaxX()) {
-            scoreLeft++;
+    }
+
+    private void stopRemote() {
+        if (remote == null) {
+            return;
+        }
+        try {
+            remote.close();
+        } catch (IOException ignored) {
+            // Kanal ist ohnehin weg
+        }
+        remote = null;
+    }
+
+    // Client-Modus: Pakete verarbeiten und die Server-Koordinaten ins eigene Spielfeld umrechnen
+    private void updateRemote() {
+        drainInputsToRemote();
+        long now = System.nanoTime();
+        try {
+            remote.update(now);
+        } catch (IOException e) {
+            System.err.println("Verbindung zum Server verloren: " + e.getMessage());
+            stop();
+            return;
+        }
+        if (!remote.hasSnapshot()) {
+            return;
+        }
+        remote.sample(now);
+        // Spieluhr folgt den Server-Ticks
+        if (remoteStartTick < 0) {
+            remoteStartTick = remote.getServerTick();
+            clock.start(remote.getTickRate(), matchSeconds);
+        }
+        state.advanceTick(remote.getServerTick() - remoteStartTick);
+        if (matchOver) {
+            endMatch();
+            return;
+        }
+        double sx = state.getWidth() / remote.getFieldWidth();
+        double sy = state.getHeight() / remote.getFieldHeight();
+        state.setBall(remote.getViewBallX() * sx, remote.getViewBallY() * sy, 0, 0);
+        state.setPaddleY(MatchState.LEFT, remote.getViewPaddleY(MatchState.LEFT) * sy);
+        state.setPaddleY(MatchState.RIGHT, remote.getViewPaddleY(MatchState.RIGHT) * sy);
+        int left = remote.getViewScore(MatchState.LEFT), right = remote.getViewScore(MatchState.RIGHT);
+        if (left != state.getScore(MatchState.LEFT) || right != state.getScore(MatchState.RIGHT)) {
+            state.setScore(left, right);
             updateScores();
-            if (soundScore != null) soundScore.play();
-            ball.reset(playBounds.getWidth() / 2, playBounds.getHeight() / 2);
+            play(Sound.SCORE);
         }
+        long r0 = System.nanoTime();
+        render(1.0);
+        profiler.addPhase(FrameProfiler.PHASE_RENDER, System.nanoTime() - r0);
+    }
 
-        // Ball oben/unten abprallen lassen
-        if (ballView.getCenterY() - ballView.getRadius() <= playBounds.getMinY()
-         || ballView.getCenterY() + ballView.getRadius() >= playBounds.getMaxY()) {
-            ball.reverseY();                          // Y-Richtung umkehren
-            if (soundWall != null) soundWall.play();  // Wand-Sound abspielen
+    // Öffnet beim ersten Match den Zuschauer-Port, falls -Dpingpong.spectatorPort gesetzt ist
+    private void openSpectators() {
+        Integer port = Integer.getInteger("pingpong.spectatorPort");
+        if (port == null || spectators != null) {
+            return;
+        }
+        try {
+            spectators = new SpectatorServer(port, GameConfig.ENTITY_POOL_SIZE, GameConfig.SPECTATOR_MAX_BALLS);
+            spectators.start();
+            System.out.println("Zuschauer-Übertragung auf TCP-Port " + spectators.getPort());
+        } catch (IOException e) {
+            System.err.println("Zuschauer-Übertragung nicht möglich: " + e.getMessage());
+            spectators = null;
         }
     }
 
     /**
-     * Exakte Kreis-zu-Rechteck-Kollisionserkennung
-     * param c Ball als Circle-View
-     * param r Paddle-/Spielfeld-Bounds
-     * return true, falls Kollision stattfindet
+     * Startet den Zuschauermodus: die Engine rechnet nichts, sondern zeigt die
+     * Frames eines Hosts (SpectatorServer) mit den normalen Views an.
+     * Tastatureingaben werden verworfen.
+     * @param client Verbindung zum Host (wird bei stop() geschlossen)
      */
-    private boolean isCircleRectCollision(Circle c, Bounds r) {
-        // Ball-Mittelpunkt und Radius
-        double cx = c.getCenterX();
-        double cy = c.getCenterY();
-        double radius = c.getRadius();
+    public void startSpectator(SpectatorClient client) {
+        audio.request(Sound.START);
+        watching       = client;
+        watchedSeconds = -1;
+        matchOver      = false;
+        running        = true;
+        lastPulse = 0;
+        profiler.reset();
+        timer.start();
+    }
 
-        // Rechteck-Koordinaten
-        double rx = r.getMinX();
-        double ry = r.getMinY();
-        double rw = r.getWidth();
-        double rh = r.getHeight();
+    private void stopSpectator() {
+        if (watching == null) {
+            return;
+        }
+        try {
+            watching.close();
+        } catch (IOException ignored) {
+            // Kanal ist ohnehin weg
+        }
+        watching = null;
+    }
 
-        // Punkt auf Rechteck, der dem Ballzentrum am nächsten ist
-        double closestX = clamp(cx, rx, rx + rw);
-        double closestY = clamp(cy, ry, ry + rh);
+    // Zuschauermodus: neuesten Frame übernehmen, Punkte, Restzeit und Bild nur bei einem neuen Frame
+    private void updateSpectator() {
+        while (!inputs.isEmpty()) {
+            inputs.poll();
+        }
+        try {
+            if (!watching.update()) {
+                return;
+            }
+        } catch (IOException e) {
+            System.err.println("Verbindung zum Host verloren: " + e.getMessage());
+            stop();
+            return;
+        }
+        MatchState view = watching.getView();
+        boolean first  = watchedSeconds < 0;
+        boolean scored = view.getScore(MatchState.LEFT) != shownScore[MatchState.LEFT]
+                      || view.getScore(MatchState.RIGHT) != shownScore[MatchState.RIGHT];
+        showScore(MatchState.LEFT, view.getScore(MatchState.LEFT));
+        showScore(MatchState.RIGHT, view.getScore(MatchState.RIGHT));
+        if (scored && !first) {
+            play(Sound.SCORE);
+        }
+        if (watching.getRemainingSeconds() != watchedSeconds) {
+            watchedSeconds = watching.getRemainingSeconds();
+            if (clockListener != null) {
+                clockListener.onSecond(watchedSeconds);
+            }
+        }
+        long r0 = System.nanoTime();
+        render(view, 1.0);
+        profiler.addPhase(FrameProfiler.PHASE_RENDER, System.nanoTime() - r0);
+    }
+
+    // Beginnt die Aufnahme in -Dpingpong.replayDir (falls gesetzt)
+    private void startReplay() {
+        stopReplay();
+        String dir = System.getProperty("pingpong.replayDir");
+        if (dir == null) {
+            return;
+        }
+        String name = "match-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".ppr";
+        try {
+            Path file = Paths.get(dir, name);
+            Files.createDirectories(file.getParent());
+            replay = new ReplayWriter(file, state, getTickRate());
+        } catch (IOException e) {
+            System.err.println("Replay konnte nicht angelegt werden: " + e.getMessage());
+        }
+    }
+
+    private void stopReplay() {
+        if (replay == null) {
+            return;
+        }
+        try {
+            replay.close(state.getTick());
+        } catch (IOException e) {
+            System.err.println("Replay konnte nicht gespeichert werden: " + e.getMessage());
+        }
+        replay = null;
+    }
 
-        // Abstand zum Kreiszentrum
-        double dx = cx - closestX;
-        double dy = cy - closestY;
-        return dx * dx + dy * dy < radius * radius;
+    // Bei einem Schreibfehler wird die Aufnahme beendet, das Spiel läuft weiter
+    private void replayFailed(IOException e) {
+        System.err.println("Replay-Aufnahme abgebrochen: " + e.getMessage());
+        try {
+            replay.close();
+        } catch (IOException ignored) {
+            // Datei ist ohnehin unbrauchbar
+        }
+        replay = null;
     }
 
-    // Verschiebt den Ball aus dem Paddle heraus und kehrt X-Richtung um
-    
-    private void handlePaddleCollision(Bounds r) {
-        // Ball direkt neben das Paddle setzen, je nachdem ob links oder rechts getroffen
-        if (r.getMinX() < pane.getWidth() / 2) {
-            ballView.setCenterX(r.getMaxX() + ballView.getRadius());
+    // Schreibt die Frame-Statistik in -Dpingpong.statsDir (falls gesetzt)
+    private void dumpStats() {
+        String dir = System.getProperty("pingpong.statsDir");
+        if (dir == null || profiler.getFrame().getCount() == 0) {
+            return;
+        }
+        String name = "frames-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".txt";
+        try {
+            profiler.dump(Paths.get(dir, name), "renderer=" + getRendererName()
+                    + " prism.order=" + System.getProperty("prism.order", "default")
+                    + " tickRate=" + getTickRate()
+                    + " avgTickNanos=" + Math.round(averageTickNanos)
+                    + " droppedSteps=" + getDroppedSteps()
+                    + " droppedInputs=" + droppedInputs
+                    + " soundsPlayed=" + audio.getTotalPlayed()
+                    + " soundsCoalesced=" + audio.getTotalCoalesced()
+                    + " soundsDropped=" + audio.getTotalDropped());
+        } catch (IOException e) {
+            System.err.println("Frame-Statistik konnte nicht gespeichert werden: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Setzt Ball und Paddles in die Spielfeldmitte, ohne die Flugrichtung des Balls zu ändern.
+     */
+    public void centerAll() {
+        state.centerPositions();
+        if (replay != null) {
+            try {
+                replay.recordCenter(state.getTick());
+            } catch (IOException e) {
+                replayFailed(e);
+            }
+        }
+        render();
+    }
+
+    /**
+     * Wird jeden Frame aufgerufen: rechnet so viele feste Physik-Schritte,
+     * wie in die vergangene Zeit passen, und zeichnet dann interpoliert.
+     * Paketsichtbar, damit die JMH-Benchmarks den Frame ohne AnimationTimer aufrufen können.
+     * @param dt Zeitunterschied in Sekunden seit letztem Frame
+     */
+    void update(double dt) {
+        update(dt, System.nanoTime());
+    }
+
+    /**
+     * Wie update(dt); now ist der Zeitstempel des Pulses, daraus ergibt sich,
+     * welchen Zeitraum jeder Schritt abdeckt und in welchen Tick eine Eingabe fällt.
+     */
+    private void update(double dt, long now) {
+        Object frameEvent = GameEvents.beginFrame();
+        int steps = timestep.advance(dt);
+        state.setStepTimer(profiler.isEnabled() ? stepTimer : null);
+        if (steps > 0) {
+            long t0 = System.nanoTime();
+            double stepSeconds = timestep.getStepSeconds();
+            long stepNanos = Math.round(stepSeconds * 1e9);
+            // Die Schritte enden dort, wo der angefangene Rest (alpha) beginnt
+            long stepStart = now - Math.round(timestep.getAlpha() * stepNanos) - steps * stepNanos;
+            for (int i = 0; i < steps; i++) {
+                applyControllers(stepSeconds);
+                applyInputs(stepStart, stepNanos);
+                stepStart += stepNanos;
+                stepAudioNanos = audioNanos;
+                state.step(stepSeconds); // Physik rechnen (Bewegung + Kollisionen)
+                if (GameEvents.isRecording()) {
+                    recordContacts();
+                }
+                if (rewind != null) {
+                    rewind.capture(state);
+                }
+                if (matchOver) {
+                    break;          // Spielzeit abgelaufen: keine Schritte mehr danach
+                }
+            }
+            lastTickNanos = (System.nanoTime() - t0) / steps;
+            averageTickNanos = averageTickNanos == 0
+                    ? lastTickNanos
+                    : averageTickNanos + (lastTickNanos - averageTickNanos) * 0.05;
+        }
+        long r0 = System.nanoTime();
+        render(timestep.getAlpha()); // Views zwischen den letzten zwei Zuständen zeichnen
+        long r1 = System.nanoTime();
+        profiler.addPhase(FrameProfiler.PHASE_RENDER, r1 - r0);
+        trackInputLatency(timestep.getAlpha(), r1);
+        GameEvents.endFrame(frameEvent, dt, steps, state.getTick());
+        if (matchOver) {
+            endMatch();
+        }
+    }
+
+    // Spielzeit abgelaufen: Spiel beenden und den Aufrufer informieren
+    private void endMatch() {
+        matchOver = false;
+        stop();
+        if (clockListener != null) {
+            clockListener.onMatchEnd();
+        }
+    }
+
+    // Kontakte des letzten Schritts als JFR-Ereignisse (nur bei laufender Aufnahme)
+    private void recordContacts() {
+        SweptCollider contacts = state.getLastContacts();
+        for (int i = 0; i < contacts.getContactCount(); i++) {
+            GameEvents.collision(state.getTick(), contacts.getContactType(i), contacts.getContactSide(i),
+                    contacts.getContactX(i), contacts.getContactY(i));
+        }
+    }
+
+    /**
+     * Nimmt einen Tastendruck an (blockiert nie). Er wird nicht sofort gesetzt,
+     * sondern im nächsten Frame zu seinem Zeitpunkt innerhalb des passenden Ticks;
+     * so zählt die genaue Dauer, und auch ein kurzes Antippen zwischen zwei Frames
+     * geht nicht verloren. Wiederholte gleiche Richtungen werden verworfen.
+     * @param side MatchState.LEFT oder MatchState.RIGHT
+     * @param dir neue Richtung
+     * @param nanos Zeitpunkt des Tastendrucks (System.nanoTime())
+     */
+    public void queueInput(int side, pingpong.model.Direction dir, long nanos) {
+        if (controllers[side] != null || queuedDir[side] == dir) {
+            return;
+        }
+        if (inputs.offer(nanos, side, dir)) {
+            queuedDir[side] = dir;
         } else {
-            ballView.setCenterX(r.getMinX() - ballView.getRadius());
+            droppedInputs++;
         }
-        ball.reverseX();                     // X-Richtung wechseln
-        if (soundPaddle != null) soundPaddle.play(); // Paddle-Sound abspielen
     }
 
-    //Hilfsmethode: beschränkt einen Wert auf ein Intervall [min, max].
-    private double clamp(double val, double min, double max) {
-        return Math.max(min, Math.min(max, val));
+    // Wendet alle Eingaben an, die vor dem Ende dieses Schritts passiert sind
+    private void applyInputs(long stepStart, long stepNanos) {
+        long stepEnd = stepStart + stepNanos;
+        while (!inputs.isEmpty() && inputs.peekTime() - stepEnd < 0) {
+            long nanos = inputs.peekTime();
+            int code = inputs.poll();
+            int side = InputQueue.sideOf(code);
+            pingpong.model.Direction dir = InputQueue.directionOf(code);
+            if (controllers[side] != null) continue;
+            // Ältere Eingaben (Pause, verworfene Schritte) gelten ab Schrittbeginn
+            int at = (int) (Math.max(0, nanos - stepStart) * MatchState.SUB_TICK_STEPS / stepNanos);
+            state.setPaddleDirectionAt(side, dir, at);
+            recordInput(side, dir, at);
+            pendingInputNanos[side] = nanos;
+            pendingInputSign[side]  = dir == pingpong.model.Direction.UP ? -1
+                                    : dir == pingpong.model.Direction.DOWN ? 1 : 0;
+        }
+    }
+
+    // Sobald ein gezeichneter Frame das Paddle in die gedrückte Richtung bewegt zeigt,
+    // zählt die Zeit seit dem Tastendruck als Eingabe-Latenz (bis zur Übergabe an den
+    // Render-Thread; bis zum Bildschirm kommt noch etwa ein Bildabstand dazu)
+    private void trackInputLatency(double alpha, long frameNanos) {
+        for (int side = 0; side < 2; side++) {
+            double y = state.getPaddleY(side, alpha);
+            if (pendingInputSign[side] != 0 && (y - shownPaddleY[side]) * pendingInputSign[side] > 0) {
+                profiler.recordInputLatency(frameNanos - pendingInputNanos[side]);
+                pendingInputSign[side] = 0;
+            }
+            shownPaddleY[side] = y;
+        }
+    }
+
+    // Fragt die Computergegner vor jedem Tick; Änderungen gehen wie Tastendrücke ins Replay
+    private void applyControllers(double dt) {
+        for (int side = 0; side < 2; side++) {
+            PaddleController c = controllers[side];
+            if (c == null) continue;
+            pingpong.model.Direction dir = c.decide(state, side, dt);
+            if (dir != controlledDir[side]) {
+                controlledDir[side] = dir;
+                state.setPaddleDirection(side, dir);
+                recordInput(side, dir);
+            }
+        }
+    }
+
+    /**
+     * Zeichnet den aktuellen Zustand neu, z.B. nach einer Größenänderung im Pausenzustand.
+     */
+    public void repaint() {
+        render();
+    }
+
+    // Zeichnet Ball und Paddles aus dem MatchState
+    private void render() {
+        render(1.0);
+    }
+
+    private void render(double alpha) {
+        render(state, alpha);
+    }
+
+    // Zeichnet aus s: dem laufenden Match, beim Zurückspulen aus rewindView, als Zuschauer
+    // aus dem Frame des Hosts. Zuschauer bekommen genau das, was hier gezeichnet wird.
+    private void render(MatchState s, double alpha) {
+        if (spectators != null) {
+            spectators.publish(s, alpha, clock.getRemainingSeconds());
+        }
+        if (renderer != null) {
+            renderer.render(s, alpha);
+            return;
+        }
+        ball.render(s, alpha);
+        leftPaddle.render(s, alpha);
+        rightPaddle.render(s, alpha);
+        if (entityNodes != null) {
+            entityNodes.render(s.getEntities(), alpha);
+        }
     }
 
     //Aktualisiert die angezeigten Punkte im UI
      
     private void updateScores() {
-        scoreLeftLabel .setText(String.valueOf(scoreLeft));
-        scoreRightLabel.setText(String.valueOf(scoreRight));
+        updateScore(MatchState.LEFT);
+        updateScore(MatchState.RIGHT);
+    }
+
+    // Baut den Label-Text nur neu, wenn sich der Punktestand dieser Seite geändert hat
+    private void updateScore(int side) {
+        showScore(side, state.getScore(side));
+    }
+
+    private void showScore(int side, int score) {
+        if (shownScore[side] == score) {
+            return;
+        }
+        shownScore[side] = score;
+        String text = score >= 0 && score < SCORE_TEXT.length ? SCORE_TEXT[score] : String.valueOf(score);
+        (side == MatchState.LEFT ? scoreLeftLabel : scoreRightLabel).setText(text);
     }
 
     // Methoden zum Setzen von Ball- und Paddle-Geschwindigkeit von außen
     public void setBallSpeed(double speed) {
         ball.setSpeed(speed);
+        recordSpeed();
     }
 
     public void setPaddleSpeed(double speed) {
         leftPaddle.setSpeed(speed);
         rightPaddle.setSpeed(speed);
+        recordSpeed();
     }
 
     // Methoden, um die Richtung der Paddles zu steuern (z.B. Tastatur)
     public void setLeftPaddleDirection(pingpong.model.Direction dir) {
+        if (controllers[MatchState.LEFT] != null) {
+            return;     // Seite wird vom Computer gespielt
+        }
+        if (remote != null) {
+            remote.setDirection(dir);
+            return;
+        }
         leftPaddle.setDirection(dir);
+        recordInput(MatchState.LEFT, dir);
     }
 
     public void setRightPaddleDirection(pingpong.model.Direction dir) {
+        if (controllers[MatchState.RIGHT] != null) {
+            return;     // Seite wird vom Computer gespielt
+        }
+        if (remote != null) {
+            remote.setDirection(dir);
+            return;
+        }
         rightPaddle.setDirection(dir);
+        recordInput(MatchState.RIGHT, dir);
+    }
+
+    /**
+     * Wählt die Zeichenart: null = Szenengraph-Knoten (Standard), sonst z.B. CanvasRenderer.
+     */
+    public void setRenderer(FrameRenderer renderer) {
+        this.renderer = renderer;
+        render();
+    }
+
+    public String getRendererName() {
+        return renderer != null ? renderer.getName() : "nodes";
+    }
+
+    /**
+     * Lässt eine Seite vom Computer spielen (null = wieder Tastatur).
+     * @param side MatchState.LEFT oder MatchState.RIGHT
+     * @param controller z.B. ein AiController
+     */
+    public void setController(int side, PaddleController controller) {
+        controllers[side] = controller;
+        controlledDir[side] = pingpong.model.Direction.NONE;
+        state.setPaddleDirection(side, pingpong.model.Direction.NONE);
+    }
+
+    // Eingaben und Einstellungen gelten ab dem nächsten Tick und kommen so ins Replay
+    private void recordInput(int side, pingpong.model.Direction dir) {
+        if (replay == null) return;
+        try {
+            replay.recordInput(state.getTick(), side, dir);
+        } catch (IOException e) {
+            replayFailed(e);
+        }
+    }
+
+    private void recordInput(int side, pingpong.model.Direction dir, int at) {
+        if (replay == null) return;
+        try {
+            replay.recordInput(state.getTick(), side, dir, at);
+        } catch (IOException e) {
+            replayFailed(e);
+        }
+    }
+
+    private void recordSpeed() {
+        if (replay == null) return;
+        try {
+            replay.recordSpeed(state.getTick(), state);
+        } catch (IOException e) {
+            replayFailed(e);
+        }
+    }
+
+    /**
+     * Setzt die Physik-Tick-Rate (Schritte pro Sekunde), z.B. 120, 240 oder 1000.
+     */
+    public void setTickRate(int tickRate) {
+        timestep = new FixedTimestep(tickRate, GameConfig.MAX_CATCH_UP_STEPS);
+        state.setServeDelayTicks((int) Math.round(GameConfig.SERVE_DELAY_SECONDS * tickRate));
+    }
+
+    /**
+     * Informiert über jede Sekunde Spielzeit und das Match-Ende (nach dem Ende ist die Engine gestoppt).
+     */
+    public void setClockListener(MatchClock.Listener listener) {
+        this.clockListener = listener;
+    }
+
+    /**
+     * Spieldauer für die nächsten Matches.
+     */
+    public void setMatchSeconds(int seconds) {
+        this.matchSeconds = seconds;
+    }
+
+    /**
+     * Chaos-Modus: Anzahl zusätzlicher Bälle für die nächsten Matches.
+     * Die Bälle zeichnet nur ein FrameRenderer (z.B. CanvasRenderer).
+     */
+    public void setExtraBalls(int count) {
+        this.extraBalls = Math.max(0, count);
+    }
+
+    /**
+     * Schaltet Power-ups für die nächsten Matches ein oder aus.
+     */
+    public void setPowerUps(boolean enabled) {
+        this.powerUps = enabled;
+    }
+
+    /**
+     * Knoten-Pool, der die Power-ups im Szenengraph zeigt (nur ohne FrameRenderer nötig).
+     */
+    public void setEntityNodes(EntityNodes nodes) {
+        this.entityNodes = nodes;
+    }
+
+    public EntityNodes getEntityNodes() {
+        return entityNodes;
+    }
+
+    // Legt den Snapshot-Puffer für das neue Match an (nur wenn sich die Größe ändert) und leert ihn
+    private void prepareRewind() {
+        if (rewindSeconds <= 0) {
+            rewind = null;
+            return;
+        }
+        int window = (int) Math.round(rewindSeconds * getTickRate());
+        int balls  = Math.min(extraBalls, GameConfig.REWIND_MAX_BALLS);
+        if (rewind == null || rewind.getCapacity() != Math.max(1, window / rewindEvery)
+                || rewind.getMaxBalls() != balls) {
+            rewind = new RewindBuffer(window, rewindEvery, GameConfig.ENTITY_POOL_SIZE, balls);
+        }
+        rewind.clear();
+    }
+
+    /**
+     * Sofort-Wiederholung: hält das Match an und zeigt den neuesten Snapshot.
+     * Geht auch nach Spielende, solange die Snapshots des letzten Matches da sind.
+     * @return false, wenn es nichts zum Zurückspulen gibt (abgeschaltet, Client- oder Zuschauermodus)
+     */
+    public boolean enterRewind() {
+        if (rewinding || rewind == null || rewind.size() == 0 || remote != null || watching != null) {
+            return false;
+        }
+        rewinding   = true;
+        rewindPos   = rewind.size() - 1;
+        rewindSpeed = 0;
+        showRewind();
+        lastPulse = 0;
+        timer.start();
+        return true;
+    }
+
+    /**
+     * Zurück zum laufenden Match; es geht genau dort weiter, wo es angehalten wurde.
+     * Tastendrücke während des Zurückspulens werden verworfen.
+     */
+    public void exitRewind() {
+        if (!rewinding) {
+            return;
+        }
+        rewinding = false;
+        dropInputs();
+        timestep.reset();
+        lastPulse = 0;
+        updateScores();
+        render();
+        if (!running) {
+            timer.stop();
+        }
+    }
+
+    // Verwirft wartende Tastendrücke; danach zählt ein Druck wieder als neue Richtung
+    private void dropInputs() {
+        while (!inputs.isEmpty()) {
+            inputs.poll();
+        }
+        queuedDir[MatchState.LEFT] = queuedDir[MatchState.RIGHT] = pingpong.model.Direction.NONE;
+        pendingInputSign[MatchState.LEFT] = pendingInputSign[MatchState.RIGHT] = 0;
+    }
+
+    /**
+     * Spult um seconds Spielzeit vor (positiv) oder zurück (negativ), begrenzt auf das Fenster.
+     */
+    public void scrubRewind(double seconds) {
+        if (!rewinding) {
+            return;
+        }
+        rewindPos = clampRewind(rewindPos + seconds * getTickRate() / rewind.getEveryTicks());
+        showRewind();
+    }
+
+    /**
+     * Springt beim Zurückspulen zum letzten Snapshot bis einschließlich tick.
+     */
+    public void seekRewind(long tick) {
+        if (!rewinding) {
+            return;
+        }
+        rewindPos = rewind.indexOf(tick);
+        showRewind();
+    }
+
+    /**
+     * Wiedergabe-Tempo beim Zurückspulen: 0 = Standbild, z.B. 0.25 = Zeitlupe, 1 = normal.
+     * Am neuesten Snapshot hält die Wiedergabe an.
+     */
+    public void setRewindSpeed(double speed) {
+        this.rewindSpeed = Math.max(0, speed);
+    }
+
+    // Ein Pulse beim Zurückspulen: Wiedergabe-Position weiterschieben und Snapshot zeigen
+    private void updateRewind(double dt) {
+        if (rewindSpeed > 0) {
+            rewindPos = clampRewind(rewindPos + dt * rewindSpeed * getTickRate() / rewind.getEveryTicks());
+            if (rewindPos >= rewind.size() - 1) {
+                rewindSpeed = 0;
+            }
+        }
+        long r0 = System.nanoTime();
+        showRewind();
+        profiler.addPhase(FrameProfiler.PHASE_RENDER, System.nanoTime() - r0);
+    }
+
+    private double clampRewind(double pos) {
+        return Math.max(0, Math.min(pos, rewind.size() - 1));
+    }
+
+    private void showRewind() {
+        rewind.restore((int) rewindPos, rewindView);
+        showScore(MatchState.LEFT, rewindView.getScore(MatchState.LEFT));
+        showScore(MatchState.RIGHT, rewindView.getScore(MatchState.RIGHT));
+        render(rewindView, 1.0);
+    }
+
+    public boolean isRewinding()     { return rewinding; }
+    public double getRewindSpeed()   { return rewindSpeed; }
+    // Snapshot-Puffer (null, wenn abgeschaltet oder noch kein Match lief)
+    public RewindBuffer getRewind()  { return rewind; }
+    // Wie weit das gezeigte Bild hinter dem Match liegt, in Sekunden
+    public double getRewindOffsetSeconds() {
+        if (!rewinding) return 0;
+        return (rewind.getTick(rewind.size() - 1) - rewind.getTick((int) rewindPos)) / (double) getTickRate();
+    }
+
+    // Sekunden Spielzeit in Ticks bei der aktuellen Tick-Rate
+    private int ticks(double seconds) {
+        return (int) Math.round(seconds * getTickRate());
+    }
+
+    public int getExtraBalls() {
+        return extraBalls;
+    }
+
+    public int getTickRate() {
+        return (int) Math.round(1.0 / timestep.getStepSeconds());
+    }
+
+    // Messwerte der Spielschleife
+    public FrameProfiler getProfiler()   { return profiler; }
+    public AudioDispatcher getAudio()    { return audio; }
+    public MatchHistory getHistory()     { return history; }
+    public MatchClock getClock()         { return clock; }
+    public NetClient getRemote()         { return remote; }
+    public SpectatorServer getSpectators() { return spectators; }
+    public SpectatorClient getWatching()   { return watching; }
+    public long getLastTickNanos()       { return lastTickNanos; }
+    public double getAverageTickNanos()  { return averageTickNanos; }
+    public long getDroppedSteps()        { return timestep.getDroppedSteps(); }
+    public long getDroppedInputs()       { return droppedInputs; }
+
+    /**
+     * Liefert den Spielzustand, z.B. für Anzeige oder Auswertung.
+     */
+    public MatchState getState() {
+        return state;
     }
 }
\ No newline at end of file
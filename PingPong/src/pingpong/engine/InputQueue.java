@@ -0,0 +1,102 @@
+package pingpong.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import pingpong.model.Direction;
+
+/**
+ * Begrenzte, sperrfreie Warteschlange für Tastatureingaben samt Zeitstempel
+ * (System.nanoTime() im Key-Handler). Aufbau wie audio.SoundQueue
+ * (Ringpuffer nach D. Vyukov, mehrere Erzeuger, ein Verbraucher), jeder Platz
+ * trägt zusätzlich den Zeitstempel. Der Verbraucher sieht mit peekTime() nach,
+ * ob das nächste Ereignis schon in den gerade gerechneten Tick gehört, und
+ * lässt spätere Ereignisse in der Schlange.
+ */
+public class InputQueue {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int mask;
+    private final long[] times;
+    private final int[] codes;
+    private final AtomicLongArray sequence;
+    private final AtomicLong tail = new AtomicLong();   // nächste Schreibposition
+    private final AtomicLong head = new AtomicLong();   // nächste Leseposition
+
+    /**
+     * @param capacity Größe, wird auf die nächste Zweierpotenz aufgerundet
+     */
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask     = size - 1;
+        times    = new long[size];
+        codes    = new int[size];
+        sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequence.set(i, i);
+        }
+    }
+
+    /**
+     * Legt eine Eingabe ab, ohne zu blockieren.
+     * @param nanos Zeitpunkt der Eingabe (System.nanoTime())
+     * @param side MatchState.LEFT oder MatchState.RIGHT
+     * @param dir neue Richtung
+     * @return false, wenn die Schlange voll ist
+     */
+    public boolean offer(long nanos, int side, Direction dir) {
+        while (true) {
+            long pos = tail.get();
+            int slot = (int) pos & mask;
+            long diff = sequence.get(slot) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    times[slot] = nanos;
+                    codes[slot] = (side << 2) | dir.ordinal();
+                    sequence.set(slot, pos + 1);       // Platz für den Leser freigeben (volatile)
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;                          // voll
+            }
+            // sonst hat ein anderer Erzeuger den Platz genommen → erneut versuchen
+        }
+    }
+
+    /**
+     * true, wenn keine fertig geschriebene Eingabe bereitliegt.
+     */
+    public boolean isEmpty() {
+        return sequence.get((int) head.get() & mask) != head.get() + 1;
+    }
+
+    /**
+     * Zeitstempel der nächsten Eingabe (nur vom Verbraucher und nur, wenn !isEmpty()).
+     */
+    public long peekTime() {
+        return times[(int) head.get() & mask];
+    }
+
+    /**
+     * Holt die nächste Eingabe (nur von einem Thread aufrufen).
+     * @return (Seite << 2) | Direction.ordinal() oder -1, wenn die Schlange leer ist
+     */
+    public int poll() {
+        long pos = head.get();
+        int slot = (int) pos & mask;
+        if (sequence.get(slot) != pos + 1) {
+            return -1;                                 // leer oder Erzeuger schreibt noch
+        }
+        int code = codes[slot];
+        head.lazySet(pos + 1);
+        sequence.lazySet(slot, pos + mask + 1);        // Platz für die nächste Runde freigeben
+        return code;
+    }
+
+    // Zerlegt den Wert aus poll()
+    public static int sideOf(int code)             { return code >> 2; }
+    public static Direction directionOf(int code)  { return DIRECTIONS[code & 3]; }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
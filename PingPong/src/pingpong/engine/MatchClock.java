@@ -0,0 +1,104 @@
+package pingpong.engine;
+
+/**
+ * Spieluhr eines Matches, die nur mit den Simulationsschritten läuft:
+ * Restzeit und Match-Ende sind Aufträge im TimerWheel des MatchState.
+ * Dadurch bleibt die Uhr exakt bei der Spielzeit, auch bei verworfenen
+ * Frames, Pause, Vorspulen oder im Replay ohne Grafik, und braucht keinen
+ * eigenen Pulse-Timer.
+ */
+public class MatchClock {
+    /**
+     * Wird aus dem Simulationsschritt heraus aufgerufen (im Spiel also auf dem FX-Thread).
+     */
+    public interface Listener {
+        /**
+         * Eine volle Sekunde Spielzeit ist vergangen.
+         * @param remainingSeconds verbleibende Sekunden
+         */
+        void onSecond(int remainingSeconds);
+
+        /**
+         * Die Spielzeit ist abgelaufen.
+         */
+        void onMatchEnd();
+    }
+
+    private final MatchState state;
+    private Listener listener;
+    private int tickRate = 1;
+    private long endTick = Long.MAX_VALUE;
+    private long secondHandle, endHandle;
+    private boolean running;
+
+    private final TimerWheel.Task secondTask = this::onSecond;
+    private final TimerWheel.Task endTask = this::onEnd;
+
+    /**
+     * @param state Match, dessen Tick-Zähler die Uhr antreibt
+     */
+    public MatchClock(MatchState state) {
+        this.state = state;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Startet die Uhr ab dem aktuellen Tick.
+     * @param tickRate Simulationsschritte pro Sekunde
+     * @param seconds Spieldauer in Sekunden
+     */
+    public void start(int tickRate, int seconds) {
+        stop();
+        TimerWheel timers = state.getTimers();
+        this.tickRate = tickRate;
+        endTick       = state.getTick() + (long) seconds * tickRate;
+        running       = true;
+        secondHandle  = timers.schedule(state.getTick() + tickRate, secondTask);
+        endHandle     = timers.schedule(endTick, endTask);
+    }
+
+    /**
+     * Hält die Uhr an und entfernt ihre geplanten Aufträge.
+     */
+    public void stop() {
+        if (!running) return;
+        running = false;
+        state.getTimers().cancel(secondHandle);
+        state.getTimers().cancel(endHandle);
+    }
+
+    private void onSecond(long tick) {
+        if (tick < endTick) {
+            secondHandle = state.getTimers().schedule(tick + tickRate, secondTask);
+        }
+        if (listener != null) {
+            listener.onSecond(getRemainingSeconds());
+        }
+    }
+
+    private void onEnd(long tick) {
+        running = false;
+        // Letzte Sekunde noch nicht gemeldet (beide Aufträge im selben Tick) → jetzt melden
+        boolean secondPending = state.getTimers().cancel(secondHandle);
+        if (listener != null) {
+            if (secondPending) listener.onSecond(0);
+            listener.onMatchEnd();
+        }
+    }
+
+    /**
+     * Verbleibende Spielzeit in ganzen Sekunden (aufgerundet).
+     */
+    public int getRemainingSeconds() {
+        if (endTick == Long.MAX_VALUE) return 0;
+        long ticks = Math.max(0, endTick - state.getTick());
+        return (int) ((ticks + tickRate - 1) / tickRate);
+    }
+
+    public boolean isRunning() { return running; }
+    public boolean isOver()    { return !running && endTick != Long.MAX_VALUE && state.getTick() >= endTick; }
+    public long getEndTick()   { return endTick; }
+}
@@ -0,0 +1,35 @@
+package pingpong.engine;
+
+/**
+ * MatchListener wird von MatchState über Spielereignisse informiert
+ * (Paddle-Treffer, Wand-Abpraller, Punkte, Power-ups).
+ * So kann z.B. die GameEngine Sounds abspielen, ohne dass die Physik JavaFX kennt.
+ * Alle Methoden sind leer vorbelegt, man überschreibt nur, was man braucht.
+ */
+public interface MatchListener {
+    /** Listener, der nichts tut (Standard für Headless-Spiele). */
+    MatchListener NONE = new MatchListener() { };
+
+    /**
+     * Ball hat ein Paddle getroffen.
+     * @param side MatchState.LEFT oder MatchState.RIGHT
+     */
+    default void onPaddleHit(int side) { }
+
+    /**
+     * Ball ist oben oder unten von der Wand abgeprallt.
+     */
+    default void onWallHit() { }
+
+    /**
+     * Ein Spieler hat einen Punkt erzielt.
+     * @param side Seite, die den Punkt bekommt (MatchState.LEFT oder MatchState.RIGHT)
+     */
+    default void onScore(int side) { }
+
+    /**
+     * Ball hat ein Power-up eingesammelt.
+     * @param type Art aus EntityPool (z.B. EntityPool.POWER_FAST)
+     */
+    default void onPowerUp(int type) { }
+}
@@ -0,0 +1,652 @@
+package pingpong.engine;
+
+import java.util.Random;
+import pingpong.config.GameConfig;
+import pingpong.model.Direction;
+
+/**
+ * MatchState ist der komplette Spielzustand eines Matches als primitive Werte
+ * (Spielfeld, Ball, Paddles, Punkte) und enthält die Spielphysik.
+ * Die Klasse benutzt kein JavaFX, deshalb kann ein Match auch ohne Fenster
+ * auf einem beliebigen Thread laufen. Die JavaFX-Views lesen nur daraus, um zu zeichnen.
+ */
+public class MatchState {
+    // Index für das linke bzw. rechte Paddle (auch für Punkte)
+    public static final int LEFT  = 0;
+    public static final int RIGHT = 1;
+
+    // Spielfeldgröße (Ursprung ist immer oben links bei 0/0)
+    private double width  = GameConfig.BASE_WIDTH;
+    private double height = GameConfig.BASE_HEIGHT;
+
+    // Ball: Mittelpunkt, Geschwindigkeit und Radius
+    private double ballX, ballY;
+    private double ballVx, ballVy;
+    private double ballRadius = GameConfig.BALL_RADIUS;
+    private double ballSpeed  = GameConfig.BALL_SPEED;
+
+    // Paddles: linke obere Ecke und Geschwindigkeit in Y-Richtung (positiv = nach unten)
+    private final double[] paddleX  = new double[2];
+    private final double[] paddleY  = new double[2];
+    private final double[] paddleVy = new double[2];
+    private double paddleWidth  = GameConfig.PADDLE_WIDTH;
+    private double paddleHeight = GameConfig.PADDLE_HEIGHT;
+    private double paddleSpeed  = GameConfig.PADDLE_SPEED;
+
+    // Richtungswechsel innerhalb des nächsten Schritts (Seite, Richtung, Zeitpunkt in 1/256 Schritt),
+    // in zeitlicher Reihenfolge; werden in movePaddles() angewendet
+    public static final int SUB_TICK_STEPS = 256;
+    private static final int MAX_SUB_TICK_INPUTS = 16;
+    private final int[] subTickSide = new int[MAX_SUB_TICK_INPUTS];
+    private final Direction[] subTickDir = new Direction[MAX_SUB_TICK_INPUTS];
+    private final int[] subTickAt = new int[MAX_SUB_TICK_INPUTS];
+    private int subTickCount;
+
+    // Positionen vor dem letzten Schritt, zum Interpolieren beim Zeichnen
+    private double prevBallX, prevBallY;
+    private final double[] prevPaddleY = new double[2];
+
+    // Punkte links/rechts und Anzahl der simulierten Schritte
+    private final int[] score = new int[2];
+    private long tick;
+    // Ballwechsel: Paddle-Treffer und Start-Tick seit dem letzten Aufschlag,
+    // Werte des zuletzt beendeten Ballwechsels (für ScoreEvent)
+    private int rallyHits;
+    private long rallyStartTick;
+    private int lastRallyHits;
+    private long lastRallyTicks;
+
+    // Zeitgesteuerte Ereignisse (Aufschlag nach Pause, Match-Ende, Effekte), laufen mit dem Tick-Zähler
+    private final TimerWheel timers = new TimerWheel(256);
+    // Pause vor dem Aufschlag nach einem Punkt in Ticks (0 = sofort); der Ball wartet in der Mitte
+    private int serveDelayTicks;
+    private final TimerWheel.Task serveTask = t -> serve();
+
+    // Zusätzliche Bälle im Chaos-Modus (leer = normales Spiel, kostet dann nichts)
+    private final MultiBall balls = new MultiBall(16, GameConfig.MULTI_BALL_RADIUS);
+    // Kurzlebige Objekte (Power-ups) aus einem festen Pool; alle powerUpInterval Ticks
+    // kommt eins dazu und lebt powerUpLifetime Ticks (Intervall 0 = keine Power-ups)
+    private final EntityPool entities = new EntityPool(GameConfig.ENTITY_POOL_SIZE);
+    private int powerUpInterval, powerUpLifetime;
+    private long powerUpHandle;
+    private final TimerWheel.Task powerUpTask = this::spawnPowerUp;
+
+    // Zufallsgenerator für die Aufschlagrichtung und sein Startwert (für Replays)
+    private final Random random;
+    private long seed;
+    // Wird über Treffer und Punkte informiert
+    private MatchListener listener = MatchListener.NONE;
+    // Misst die Phasen von step(), null = keine Messung
+    private StepTimer stepTimer;
+    // Kontinuierliche Kollisionsprüfung für den Ball (wiederverwendet, keine Allokation)
+    private final SweptCollider collider = new SweptCollider();
+
+    /**
+     * Erstellt ein Match mit Standardgrößen aus GameConfig.
+     */
+    public MatchState() {
+        this(new Random());
+    }
+
+    /**
+     * Erstellt ein Match mit festem Startwert: gleicher Seed und gleiche
+     * Eingaben ergeben genau dasselbe Match.
+     * @param seed Startwert für die Aufschlagwinkel
+     */
+    public MatchState(long seed) {
+        this(new Random(seed));
+        this.seed = seed;
+    }
+
+    /**
+     * Erstellt ein Match mit eigenem Zufallsgenerator.
+     * @param random Quelle für die Aufschlagwinkel
+     */
+    public MatchState(Random random) {
+        this.random = random;
+        layout(GameConfig.BASE_WIDTH, GameConfig.BASE_HEIGHT);
+    }
+
+    /**
+     * Setzt den Empfänger für die Dauer der Phasen jedes step().
+     * @param timer Empfänger, null = nicht messen
+     */
+    public void setStepTimer(StepTimer timer) {
+        this.stepTimer = timer;
+    }
+
+    /**
+     * Setzt den Listener für Spielereignisse.
+     * @param listener Empfänger der Ereignisse, null = keine Benachrichtigung
+     */
+    public void setListener(MatchListener listener) {
+        this.listener = listener != null ? listener : MatchListener.NONE;
+    }
+
+    // ---------------------------------------------------------------------
+    // Geometrie
+    // ---------------------------------------------------------------------
+
+    /**
+     * Setzt Spielfeld, Ballradius und Paddle-Maße so, wie der Controller
+     * sie für ein Fenster der Größe w x h berechnet (skaliert von BASE_WIDTH/HEIGHT).
+     * Praktisch für Headless-Matches ohne UI.
+     * @param w Breite des Spielfelds
+     * @param h Höhe des Spielfelds
+     */
+    public void layout(double w, double h) {
+        double scale = Math.min(w / GameConfig.BASE_WIDTH, h / GameConfig.BASE_HEIGHT);
+        double pw = w * GameConfig.PADDLE_WIDTH / GameConfig.BASE_WIDTH;
+        double px = GameConfig.PADDLE_OFFSET * scale;
+        setField(w, h);
+        setBallRadius(h * GameConfig.BALL_RADIUS / GameConfig.BASE_HEIGHT);
+        setPaddleGeometry(px, w - px - pw, pw, h * GameConfig.PADDLE_HEIGHT / GameConfig.BASE_HEIGHT);
+    }
+
+    /**
+     * Setzt die Spielfeldgröße.
+     */
+    public void setField(double w, double h) {
+        this.width  = w;
+        this.height = h;
+    }
+
+    /**
+     * Setzt den Radius des Balls.
+     */
+    public void setBallRadius(double radius) {
+        this.ballRadius = radius;
+    }
+
+    /**
+     * Setzt X-Position und Größe beider Paddles.
+     * @param leftX linke Kante des linken Paddles
+     * @param rightX linke Kante des rechten Paddles
+     * @param w Breite eines Paddles
+     * @param h Höhe eines Paddles
+     */
+    public void setPaddleGeometry(double leftX, double rightX, double w, double h) {
+        paddleX[LEFT]  = leftX;
+        paddleX[RIGHT] = rightX;
+        paddleWidth    = w;
+        paddleHeight   = h;
+    }
+
+    // ---------------------------------------------------------------------
+    // Steuerung
+    // ---------------------------------------------------------------------
+
+    /**
+     * Setzt die Ballgeschwindigkeit, gilt ab dem nächsten Aufschlag.
+     * @param speed Geschwindigkeit in Einheiten pro Sekunde
+     */
+    public void setBallSpeed(double speed) {
+        this.ballSpeed = speed;
+    }
+
+    /**
+     * Setzt die Paddle-Geschwindigkeit. Ein Paddle, das sich gerade bewegt,
+     * bewegt sich sofort mit der neuen Geschwindigkeit weiter.
+     * @param speed Geschwindigkeit in Einheiten pro Sekunde
+     */
+    public void setPaddleSpeed(double speed) {
+        this.paddleSpeed = speed;
+        paddleVy[LEFT]  = Math.signum(paddleVy[LEFT])  * speed;
+        paddleVy[RIGHT] = Math.signum(paddleVy[RIGHT]) * speed;
+    }
+
+    /**
+     * Pause zwischen Punkt und neuem Aufschlag. Der Ball wartet solange in der Mitte.
+     * @param ticks Pause in Simulationsschritten (0 = sofort aufschlagen)
+     */
+    public void setServeDelayTicks(int ticks) {
+        this.serveDelayTicks = Math.max(0, ticks);
+    }
+
+    /**
+     * Chaos-Modus: setzt count zusätzliche Bälle auf der Mittellinie ein
+     * (ersetzt vorhandene). Die Startwerte kommen aus dem Zufallsgenerator des
+     * Matches, deshalb direkt nach startMatch() aufrufen, damit Replays stimmen.
+     * @param count Anzahl zusätzlicher Bälle (0 = normales Spiel)
+     */
+    public void setExtraBalls(int count) {
+        balls.clear();
+        for (int i = 0; i < count; i++) {
+            balls.serve(balls.add(0, 0, 0, 0, tick), width, height, ballSpeed, random, tick);
+        }
+    }
+
+    /**
+     * Power-ups: alle intervalTicks erscheint eines in der Feldmitte und treibt
+     * langsam auf und ab; berührt der Ball es, wird er schneller oder langsamer.
+     * Wie setExtraBalls() direkt nach startMatch() aufrufen.
+     * @param intervalTicks Abstand zwischen zwei Power-ups (0 = aus)
+     * @param lifetimeTicks Lebensdauer eines Power-ups
+     */
+    public void setPowerUps(int intervalTicks, int lifetimeTicks) {
+        timers.cancel(powerUpHandle);
+        powerUpInterval = Math.max(0, intervalTicks);
+        powerUpLifetime = Math.max(1, lifetimeTicks);
+        if (powerUpInterval > 0) {
+            powerUpHandle = timers.schedule(tick + powerUpInterval, powerUpTask);
+        }
+    }
+
+    private void spawnPowerUp(long t) {
+        powerUpHandle = timers.schedule(t + powerUpInterval, powerUpTask);
+        double r  = GameConfig.POWER_UP_RADIUS * height / GameConfig.BASE_HEIGHT;
+        int type  = random.nextBoolean() ? EntityPool.POWER_FAST : EntityPool.POWER_SLOW;
+        double px = width * (0.3 + 0.4 * random.nextDouble());
+        double py = r + (height - 2 * r) * random.nextDouble();
+        double vy = (random.nextDouble() - 0.5) * paddleSpeed;
+        entities.spawn(type, px, py, 0, vy, r, t + powerUpLifetime);
+    }
+
+    /**
+     * Setzt die Bewegungsrichtung eines Paddles.
+     * UP → negatives vy, DOWN → positives vy, NONE → vy = 0
+     * @param side LEFT oder RIGHT
+     * @param dir gewünschte Richtung
+     */
+    public void setPaddleDirection(int side, Direction dir) {
+        switch (dir) {
+            case UP:    paddleVy[side] = -paddleSpeed; break;
+            case DOWN:  paddleVy[side] =  paddleSpeed; break;
+            default:    paddleVy[side] = 0;
+        }
+    }
+
+    /**
+     * Richtungswechsel mitten im nächsten Schritt: das Paddle fährt bis zum
+     * Zeitpunkt at mit der alten Richtung, danach mit der neuen. Mehrere Wechsel
+     * pro Schritt müssen in zeitlicher Reihenfolge kommen. Der Zeitpunkt ist
+     * ganzzahlig, damit ein Replay exakt dasselbe rechnet.
+     * @param side LEFT oder RIGHT
+     * @param dir neue Richtung
+     * @param at Zeitpunkt im Schritt in 1/SUB_TICK_STEPS (0 = Schrittbeginn)
+     */
+    public void setPaddleDirectionAt(int side, Direction dir, int at) {
+        if (at <= 0 && subTickCount == 0) {
+            setPaddleDirection(side, dir);      // gilt für den ganzen Schritt
+            return;
+        }
+        if (subTickCount == MAX_SUB_TICK_INPUTS) {
+            subTickCount--;                     // mehr Wechsel als Plätze: der letzte gewinnt
+        }
+        subTickSide[subTickCount] = side;
+        subTickDir[subTickCount]  = dir;
+        subTickAt[subTickCount]   = Math.max(0, Math.min(at, SUB_TICK_STEPS - 1));
+        subTickCount++;
+    }
+
+    /**
+     * Setzt den Ball in die Spielfeldmitte und startet ihn in eine zufällige Richtung.
+     */
+    public void serve() {
+        serve(width / 2, height / 2);
+    }
+
+    /**
+     * Setzt den Ball auf (centerX, centerY) und startet ihn in eine zufällige Richtung.
+     * @param centerX X-Koordinate der Mitte
+     * @param centerY Y-Koordinate der Mitte
+     */
+    public void serve(double centerX, double centerY) {
+        ballX = centerX;
+        ballY = centerY;
+        // Zufälliger Startwinkel zwischen 0 und 360 Grad (0 bis 2π)
+        double angle = random.nextDouble() * 2 * Math.PI;
+        // vx und vy so berechnen, dass die Gesamtgeschwindigkeit = speed ist
+        // (StrictMath: auf jedem Rechner bitgenau gleich, wichtig für Replays)
+        ballVx = StrictMath.cos(angle) * ballSpeed;
+        ballVy = StrictMath.sin(angle) * ballSpeed;
+        rallyHits      = 0;
+        rallyStartTick = tick;
+        // Sprung in die Mitte nicht interpolieren
+        prevBallX = ballX;
+        prevBallY = ballY;
+    }
+
+    /**
+     * Setzt ein Paddle vertikal mittig auf centerY.
+     */
+    public void resetPaddle(int side, double centerY) {
+        paddleY[side] = centerY - paddleHeight / 2.0;
+        prevPaddleY[side] = paddleY[side];
+    }
+
+    /**
+     * Setzt Ball und beide Paddles in die Mitte, ohne die Ballrichtung zu ändern.
+     */
+    public void centerPositions() {
+        ballX = prevBallX = width / 2;
+        ballY = prevBallY = height / 2;
+        resetPaddle(LEFT,  height / 2);
+        resetPaddle(RIGHT, height / 2);
+    }
+
+    /**
+     * Startet ein neues Match: Zufallsgenerator auf seed setzen, Punkte und
+     * Tick-Zähler auf 0, Paddles in die Mitte, Aufschlag aus der Mitte.
+     * @param seed Startwert für die Aufschlagwinkel
+     */
+    public void startMatch(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+        subTickCount = 0;
+        balls.clear();
+        entities.clear();
+        powerUpInterval = 0;
+        resetScores();
+        centerPositions();
+        serve();
+    }
+
+    /**
+     * Setzt den Spielstand und den Tick-Zähler auf 0 und verwirft geplante Ereignisse.
+     */
+    public void resetScores() {
+        score[LEFT] = score[RIGHT] = 0;
+        tick = 0;
+        timers.reset(0);
+    }
+
+    // ---------------------------------------------------------------------
+    // Simulation
+    // ---------------------------------------------------------------------
+
+    /**
+     * Ein Simulationsschritt: bewegt Paddles und Ball und prüft Kollisionen.
+     * Die Paddles werden zuerst bewegt, danach fliegt der Ball mit
+     * kontinuierlicher Kollisionsprüfung gegen ihre neue Position.
+     * Ist ein StepTimer gesetzt, bekommt er die Dauer der Phasen.
+     * @param dt Zeit in Sekunden
+     */
+    public void step(double dt) {
+        StepTimer timer = stepTimer;
+        long t0 = timer != null ? System.nanoTime() : 0;
+        savePrevious();             // alten Zustand für Interpolation merken
+        movePaddles(dt);            // beide Paddles bewegen
+        long t1 = timer != null ? System.nanoTime() : 0;
+        advanceBall(dt);            // Ball bewegen, Kollisionen und Punkte
+        if (balls.getCount() > 0) {
+            advanceExtraBalls(dt);  // Chaos-Modus
+        }
+        if (entities.getLiveCount() > 0) {
+            advanceEntities(dt);    // Power-ups
+        }
+        endStep();                  // Schritt zählen
+        if (timer != null) {
+            timer.onStep(t1 - t0, System.nanoTime() - t1);
+        }
+    }
+
+    /**
+     * Schließt einen Schritt ab (Tick-Zähler). Nur nötig, wenn die Phasen
+     * eines Schritts einzeln aufgerufen werden statt über step().
+     */
+    public void endStep() {
+        tick++;
+        timers.advance(tick);       // fällige Ereignisse dieses Ticks
+    }
+
+    /**
+     * Merkt sich die aktuellen Positionen als "vorherigen" Zustand.
+     */
+    public void savePrevious() {
+        prevBallX      = ballX;
+        prevBallY      = ballY;
+        prevPaddleY[LEFT]  = paddleY[LEFT];
+        prevPaddleY[RIGHT] = paddleY[RIGHT];
+    }
+
+    /**
+     * Verschiebt den Ball um seine Geschwindigkeit * dt.
+     */
+    public void moveBall(double dt) {
+        ballX += ballVx * dt;
+        ballY += ballVy * dt;
+    }
+
+    /**
+     * Verschiebt beide Paddles.
+     */
+    public void movePaddles(double dt) {
+        if (subTickCount == 0) {
+            movePaddle(LEFT, dt);
+            movePaddle(RIGHT, dt);
+            return;
+        }
+        // Jede Seite stückweise bis zu ihren Richtungswechseln bewegen
+        for (int side = LEFT; side <= RIGHT; side++) {
+            int done = 0;
+            for (int i = 0; i < subTickCount; i++) {
+                if (subTickSide[i] != side) continue;
+                int at = Math.max(done, subTickAt[i]);
+                movePaddle(side, dt * (at - done) / SUB_TICK_STEPS);
+                setPaddleDirection(side, subTickDir[i]);
+                done = at;
+            }
+            movePaddle(side, dt * (SUB_TICK_STEPS - done) / SUB_TICK_STEPS);
+        }
+        subTickCount = 0;
+    }
+
+    /**
+     * Verschiebt ein Paddle und hält es im Spielfeld.
+     */
+    public void movePaddle(int side, double dt) {
+        double newY = paddleY[side] + paddleVy[side] * dt;
+        // Sicherstellen, dass Paddle nicht über den Rand hinausgeht
+        paddleY[side] = Math.max(0, Math.min(newY, height - paddleHeight));
+    }
+
+    /**
+     * Bewegt den Ball um dt und löst dabei alle Kontakte mit Wänden, Paddles
+     * und Torlinien zum exakten Zeitpunkt auf (siehe SweptCollider).
+     * Bei einem Tor gibt es den Punkt und einen neuen Aufschlag.
+     * @param dt Zeit in Sekunden
+     */
+    public void advanceBall(double dt) {
+        collider.setField(width, height);
+        collider.setPaddles(paddleX[LEFT], paddleY[LEFT], paddleX[RIGHT], paddleY[RIGHT],
+                            paddleWidth, paddleHeight);
+        collider.setBall(ballX, ballY, ballVx, ballVy, ballRadius);
+        int events = collider.advance(dt);
+        ballX  = collider.getX();
+        ballY  = collider.getY();
+        ballVx = collider.getVx();
+        ballVy = collider.getVy();
+        if (events == 0) {
+            return;
+        }
+
+        // Listener in der Reihenfolge der Kontakte informieren
+        for (int i = 0; i < collider.getContactCount(); i++) {
+            switch (collider.getContactType(i)) {
+                case SweptCollider.CONTACT_PADDLE:
+                    rallyHits++;
+                    listener.onPaddleHit(collider.getContactSide(i));
+                    break;
+                case SweptCollider.CONTACT_WALL:
+                    listener.onWallHit();
+                    break;
+                default:
+                    break;
+            }
+        }
+        // Ball links raus → Punkt für rechts, rechts raus → Punkt für links
+        if ((events & SweptCollider.GOAL_LEFT) != 0) {
+            score(RIGHT);
+        } else if ((events & SweptCollider.GOAL_RIGHT) != 0) {
+            score(LEFT);
+        }
+    }
+
+    /**
+     * Bewegt die zusätzlichen Bälle des Chaos-Modus. Der Listener bekommt pro
+     * Schritt höchstens einen Paddle-Treffer je Seite und einen Wand-Abpraller,
+     * aber jeden Punkt einzeln; ein Ball hinter der Torlinie wird neu aufgeschlagen.
+     */
+    public void advanceExtraBalls(double dt) {
+        balls.step(dt, width, height, paddleX[LEFT], paddleY[LEFT], paddleX[RIGHT], paddleY[RIGHT],
+                   paddleWidth, paddleHeight);
+        for (int side = LEFT; side <= RIGHT; side++) {
+            if (balls.getPaddleHits(side) > 0) {
+                listener.onPaddleHit(side);
+            }
+        }
+        if (balls.getWallHits() > 0) {
+            listener.onWallHit();
+        }
+        for (int k = 0; k < balls.getScoredCount(); k++) {
+            int i = balls.getScoredBall(k);
+            addPoint(balls.getScoredSide(k), balls.getHits(i), tick - balls.getServeTick(i));
+            balls.serve(i, width, height, ballSpeed, random, tick);
+        }
+    }
+
+    /**
+     * Bewegt die Objekte im EntityPool. Berührt der Ball ein Power-up,
+     * verschwindet es und ändert die Geschwindigkeit des laufenden Ballwechsels
+     * (begrenzt auf das 0,5- bis 3-fache der Aufschlag-Geschwindigkeit).
+     */
+    public void advanceEntities(double dt) {
+        entities.step(dt, width, height, tick);
+        int slot = entities.findOverlap(ballX, ballY, ballRadius);
+        if (slot < 0) {
+            return;
+        }
+        double speed  = Math.sqrt(ballVx * ballVx + ballVy * ballVy);
+        double factor = entities.getType(slot) == EntityPool.POWER_FAST ? 1.25 : 0.8;
+        double target = Math.max(0.5 * ballSpeed, Math.min(speed * factor, 3 * ballSpeed));
+        if (speed > 0) {
+            ballVx *= target / speed;
+            ballVy *= target / speed;
+        }
+        listener.onPowerUp(entities.getType(slot));
+        entities.despawnSlot(slot);
+    }
+
+    /**
+     * Liefert die Kontakte des letzten Ball-Schritts (Art, Seite, Position).
+     */
+    public SweptCollider getLastContacts() {
+        return collider;
+    }
+
+    // Punkt vergeben und neu aufschlagen (sofort oder nach der Aufschlag-Pause)
+    private void score(int side) {
+        int hits   = rallyHits;
+        long ticks = tick - rallyStartTick;
+        if (serveDelayTicks > 0) {
+            ballX  = prevBallX = width / 2;
+            ballY  = prevBallY = height / 2;
+            ballVx = ballVy = 0;
+            timers.schedule(tick + serveDelayTicks, serveTask);
+        } else {
+            serve();
+        }
+        addPoint(side, hits, ticks);
+    }
+
+    // Punkt zählen und melden (Hauptball oder ein Ball des Chaos-Modus)
+    private void addPoint(int side, int hits, long ticks) {
+        score[side]++;
+        lastRallyHits  = hits;
+        lastRallyTicks = ticks;
+        listener.onScore(side);
+    }
+
+    /**
+     * Kehrt die X-Richtung des Balls um.
+     */
+    public void reverseBallX() {
+        ballVx = -ballVx;
+    }
+
+    /**
+     * Kehrt die Y-Richtung des Balls um.
+     */
+    public void reverseBallY() {
+        ballVy = -ballVy;
+    }
+
+    // ---------------------------------------------------------------------
+    // Zustand von außen übernehmen (z.B. Snapshot vom Netzwerk-Server)
+    // ---------------------------------------------------------------------
+
+    /**
+     * Setzt Position und Geschwindigkeit des Balls (ohne Interpolation).
+     */
+    public void setBall(double x, double y, double vx, double vy) {
+        ballX  = prevBallX = x;
+        ballY  = prevBallY = y;
+        ballVx = vx;
+        ballVy = vy;
+    }
+
+    /**
+     * Setzt die obere Kante eines Paddles (ohne Interpolation).
+     */
+    public void setPaddleY(int side, double y) {
+        paddleY[side] = prevPaddleY[side] = y;
+    }
+
+    /**
+     * Setzt den Spielstand.
+     */
+    public void setScore(int left, int right) {
+        score[LEFT]  = left;
+        score[RIGHT] = right;
+    }
+
+    /**
+     * Zählt den Tick-Zähler ohne Physik bis tick vor und löst dabei die fälligen
+     * Ereignisse aus (z.B. Spieluhr im Client-Modus, wo der Server rechnet).
+     */
+    public void advanceTick(long tick) {
+        while (this.tick < tick) {
+            this.tick++;
+            timers.advance(this.tick);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Getter
+    // ---------------------------------------------------------------------
+
+    public double getWidth()        { return width; }
+    public double getHeight()       { return height; }
+    public double getBallX()        { return ballX; }
+    public double getBallY()        { return ballY; }
+    public double getBallVx()       { return ballVx; }
+    public double getBallVy()       { return ballVy; }
+    public double getBallRadius()   { return ballRadius; }
+    public double getBallSpeed()    { return ballSpeed; }
+    public double getPaddleX(int side)  { return paddleX[side]; }
+    public double getPaddleY(int side)  { return paddleY[side]; }
+    public double getPaddleVy(int side) { return paddleVy[side]; }
+    public double getPaddleWidth()  { return paddleWidth; }
+    public double getPaddleHeight() { return paddleHeight; }
+    public double getPaddleSpeed()  { return paddleSpeed; }
+    public int getScore(int side)   { return score[side]; }
+
+    // Interpolierte Positionen: alpha = 0 → vorheriger Schritt, alpha = 1 → aktueller Schritt
+    public double getBallX(double alpha) { return prevBallX + (ballX - prevBallX) * alpha; }
+    public double getBallY(double alpha) { return prevBallY + (ballY - prevBallY) * alpha; }
+    public double getPaddleY(int side, double alpha) {
+        return prevPaddleY[side] + (paddleY[side] - prevPaddleY[side]) * alpha;
+    }
+    public long getTick()           { return tick; }
+    public TimerWheel getTimers()   { return timers; }
+    public MultiBall getExtraBalls() { return balls; }
+    public EntityPool getEntities()  { return entities; }
+    public int getPowerUpInterval()  { return powerUpInterval; }
+    public int getPowerUpLifetime()  { return powerUpLifetime; }
+    public int getServeDelayTicks() { return serveDelayTicks; }
+    public long getSeed()           { return seed; }
+    // Länge des zuletzt mit einem Punkt beendeten Ballwechsels
+    public int getLastRallyHits()   { return lastRallyHits; }
+    public long getLastRallyTicks() { return lastRallyTicks; }
+}
@@ -0,0 +1,300 @@
+package pingpong.engine;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zusätzliche Bälle für den Chaos-Modus (hunderte bis tausende).
+ * Alle Bälle haben denselben Radius und dieselbe Masse; Positionen und
+ * Geschwindigkeiten liegen in parallelen Arrays, es gibt keine Objekte pro Ball.
+ *
+ * Ein Schritt: Bälle bewegen, ins UniformGrid einsortieren (Zellgröße
+ * mindestens ein Durchmesser), dann elastische Stöße nur mit Bällen derselben und der
+ * angrenzenden Zellen, Paddles nur gegen die Zellen, die sie überdecken,
+ * zuletzt Wände und Torlinien. Der Aufwand wächst damit ungefähr linear mit
+ * der Anzahl der Bälle statt quadratisch.
+ *
+ * Anders als der Hauptball (SweptCollider) werden die Bälle diskret bewegt:
+ * pro Tick legen sie weit weniger als ihren Radius zurück.
+ * Was dabei passiert (Treffer, Tore), liest MatchState nach step() aus.
+ */
+public class MultiBall {
+    private int count;
+    private double radius;
+    private double[] x, y, vx, vy, prevX, prevY;
+    // Paddle-Treffer und Aufschlag-Tick pro Ball (für die Ballwechsel-Statistik)
+    private int[] hits;
+    private long[] serveTick;
+
+    private final UniformGrid grid = new UniformGrid();
+
+    // Ergebnis des letzten step(): Treffer pro Paddle-Seite, Wand- und Ball-Kontakte,
+    // Bälle hinter der Torlinie (Index und Seite, die den Punkt bekommt)
+    private final int[] paddleHits = new int[2];
+    private int wallHits, ballHits;
+    private int[] scored;
+    private int[] scoredFor;
+    private int scoredCount;
+
+    /**
+     * @param capacity Anzahl Bälle, für die Platz reserviert wird (wächst bei Bedarf)
+     * @param radius Radius jedes Balls
+     */
+    public MultiBall(int capacity, double radius) {
+        this.radius = radius;
+        grow(Math.max(1, capacity));
+    }
+
+    /**
+     * Setzt den Radius aller Bälle (gilt ab dem nächsten Schritt).
+     */
+    public void setRadius(double radius) {
+        this.radius = radius;
+    }
+
+    /**
+     * Entfernt alle Bälle.
+     */
+    public void clear() {
+        count = 0;
+        scoredCount = 0;
+    }
+
+    /**
+     * Fügt einen Ball hinzu.
+     * @return Index des Balls
+     */
+    public int add(double px, double py, double pvx, double pvy, long tick) {
+        if (count == x.length) {
+            grow(count * 2);
+        }
+        int i = count++;
+        place(i, px, py, pvx, pvy, tick);
+        return i;
+    }
+
+    /**
+     * Setzt einen Ball auf der Mittellinie an zufälliger Höhe neu auf; die
+     * Richtung weicht höchstens 45 Grad von der Waagrechten ab, damit er
+     * nicht ewig zwischen den Wänden pendelt.
+     */
+    public void serve(int i, double width, double height, double speed, Random random, long tick) {
+        double py    = radius + random.nextDouble() * (height - 2 * radius);
+        double angle = (random.nextDouble() - 0.5) * (Math.PI / 2)
+                     + (random.nextBoolean() ? 0 : Math.PI);
+        place(i, width / 2, py, StrictMath.cos(angle) * speed, StrictMath.sin(angle) * speed, tick);
+    }
+
+    private void place(int i, double px, double py, double pvx, double pvy, long tick) {
+        x[i]  = prevX[i] = px;
+        y[i]  = prevY[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        hits[i]      = 0;
+        serveTick[i] = tick;
+    }
+
+    /**
+     * Ein Simulationsschritt für alle Bälle.
+     * @param dt Zeit in Sekunden
+     * @param width Breite des Spielfelds
+     * @param height Höhe des Spielfelds
+     * @param leftX linke Kante des linken Paddles
+     * @param leftY obere Kante des linken Paddles
+     * @param rightX linke Kante des rechten Paddles
+     * @param rightY obere Kante des rechten Paddles
+     * @param pw Breite eines Paddles
+     * @param ph Höhe eines Paddles
+     */
+    public void step(double dt, double width, double height,
+                     double leftX, double leftY, double rightX, double rightY, double pw, double ph) {
+        paddleHits[0] = paddleHits[1] = 0;
+        wallHits = ballHits = scoredCount = 0;
+        if (count == 0) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+        }
+        // Zellen mindestens so groß wie ein Durchmesser; bei wenigen Bällen größer,
+        // damit nie wesentlich mehr Zellen als Bälle geleert und aufsummiert werden
+        grid.setBounds(width, height, Math.max(2 * radius, Math.sqrt(width * height / count)));
+        grid.build(x, y, count);
+        collideBalls();
+        collidePaddle(MatchState.LEFT, leftX, leftY, pw, ph);
+        collidePaddle(MatchState.RIGHT, rightX, rightY, pw, ph);
+        collideWalls(width, height);
+    }
+
+    // Jedes Paar genau einmal: dieselbe Zelle (nur spätere Einträge) und die vier
+    // Nachbarzellen rechts, links unten, unten und rechts unten
+    private void collideBalls() {
+        int cols = grid.getColumns();
+        int rows = grid.getRows();
+        for (int k = 0; k < count; k++) {
+            int i  = grid.getItem(k);
+            int c  = grid.getCell(i);
+            int cx = c % cols;
+            int cy = c / cols;
+            int end = grid.getCellEnd(c);
+            for (int m = k + 1; m < end; m++) {
+                collide(i, grid.getItem(m));
+            }
+            if (cx + 1 < cols) {
+                collideCell(i, c + 1);
+            }
+            if (cy + 1 < rows) {
+                if (cx > 0) {
+                    collideCell(i, c + cols - 1);
+                }
+                collideCell(i, c + cols);
+                if (cx + 1 < cols) {
+                    collideCell(i, c + cols + 1);
+                }
+            }
+        }
+    }
+
+    private void collideCell(int i, int cell) {
+        for (int m = grid.getCellStart(cell), end = grid.getCellEnd(cell); m < end; m++) {
+            collide(i, grid.getItem(m));
+        }
+    }
+
+    // Elastischer Stoß gleich schwerer Kugeln: die Geschwindigkeitsanteile entlang
+    // der Verbindungslinie werden getauscht, die Überlappung je zur Hälfte aufgelöst
+    private void collide(int i, int j) {
+        double dx = x[j] - x[i];
+        double dy = y[j] - y[i];
+        double d2 = dx * dx + dy * dy;
+        double minDist = 2 * radius;
+        if (d2 >= minDist * minDist) {
+            return;
+        }
+        double d = Math.sqrt(d2);
+        double nx, ny;
+        if (d > 0) {
+            nx = dx / d;
+            ny = dy / d;
+        } else {
+            nx = 1;
+            ny = 0;
+        }
+        double push = (minDist - d) * 0.5;
+        x[i] -= nx * push;
+        y[i] -= ny * push;
+        x[j] += nx * push;
+        y[j] += ny * push;
+        // Nur abprallen, wenn sie sich aufeinander zu bewegen
+        double approach = (vx[i] - vx[j]) * nx + (vy[i] - vy[j]) * ny;
+        if (approach > 0) {
+            vx[i] -= approach * nx;
+            vy[i] -= approach * ny;
+            vx[j] += approach * nx;
+            vy[j] += approach * ny;
+            ballHits++;
+        }
+    }
+
+    // Kreis gegen Rechteck, nur für Bälle in den Zellen, die das Paddle (plus Radius) überdeckt
+    private void collidePaddle(int side, double px, double py, double pw, double ph) {
+        int cols = grid.getColumns();
+        int x0 = grid.cellX(px - radius), x1 = grid.cellX(px + pw + radius);
+        int y0 = grid.cellY(py - radius), y1 = grid.cellY(py + ph + radius);
+        double r2 = radius * radius;
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int cell = cy * cols + cx;
+                for (int m = grid.getCellStart(cell), end = grid.getCellEnd(cell); m < end; m++) {
+                    int i = grid.getItem(m);
+                    double qx = Collisions.clamp(x[i], px, px + pw);
+                    double qy = Collisions.clamp(y[i], py, py + ph);
+                    double dx = x[i] - qx;
+                    double dy = y[i] - qy;
+                    double d2 = dx * dx + dy * dy;
+                    if (d2 >= r2) {
+                        continue;
+                    }
+                    // Normale vom Paddle weg; Mittelpunkt im Paddle → zur Spielfeldmitte hin
+                    double d = Math.sqrt(d2);
+                    double nx, ny;
+                    if (d > 0) {
+                        nx = dx / d;
+                        ny = dy / d;
+                    } else {
+                        nx = side == MatchState.LEFT ? 1 : -1;
+                        ny = 0;
+                        d  = side == MatchState.LEFT ? x[i] - (px + pw) : px - x[i];
+                    }
+                    x[i] += nx * (radius - d);
+                    y[i] += ny * (radius - d);
+                    double vn = vx[i] * nx + vy[i] * ny;
+                    if (vn < 0) {
+                        vx[i] -= 2 * vn * nx;
+                        vy[i] -= 2 * vn * ny;
+                        hits[i]++;
+                        paddleHits[side]++;
+                    }
+                }
+            }
+        }
+    }
+
+    // Oben/unten abprallen; ganz hinter einer Torlinie → Punkt für die andere Seite
+    private void collideWalls(double width, double height) {
+        for (int i = 0; i < count; i++) {
+            if (y[i] < radius) {
+                y[i]  = 2 * radius - y[i];
+                vy[i] = Math.abs(vy[i]);
+                wallHits++;
+            } else if (y[i] > height - radius) {
+                y[i]  = 2 * (height - radius) - y[i];
+                vy[i] = -Math.abs(vy[i]);
+                wallHits++;
+            }
+            if (x[i] < -radius) {
+                scored[scoredCount]      = i;
+                scoredFor[scoredCount++] = MatchState.RIGHT;
+            } else if (x[i] > width + radius) {
+                scored[scoredCount]      = i;
+                scoredFor[scoredCount++] = MatchState.LEFT;
+            }
+        }
+    }
+
+    private void grow(int capacity) {
+        x         = x == null ? new double[capacity] : Arrays.copyOf(x, capacity);
+        y         = y == null ? new double[capacity] : Arrays.copyOf(y, capacity);
+        vx        = vx == null ? new double[capacity] : Arrays.copyOf(vx, capacity);
+        vy        = vy == null ? new double[capacity] : Arrays.copyOf(vy, capacity);
+        prevX     = prevX == null ? new double[capacity] : Arrays.copyOf(prevX, capacity);
+        prevY     = prevY == null ? new double[capacity] : Arrays.copyOf(prevY, capacity);
+        hits      = hits == null ? new int[capacity] : Arrays.copyOf(hits, capacity);
+        serveTick = serveTick == null ? new long[capacity] : Arrays.copyOf(serveTick, capacity);
+        scored    = new int[capacity];
+        scoredFor = new int[capacity];
+    }
+
+    public int getCount()           { return count; }
+    public double getRadius()       { return radius; }
+    public double getX(int i)       { return x[i]; }
+    public double getY(int i)       { return y[i]; }
+    public double getVx(int i)      { return vx[i]; }
+    public double getVy(int i)      { return vy[i]; }
+    public int getHits(int i)       { return hits[i]; }
+    public long getServeTick(int i) { return serveTick[i]; }
+    // Interpolierte Position: alpha = 0 → vorheriger Schritt, alpha = 1 → aktueller Schritt
+    public double getX(int i, double alpha) { return prevX[i] + (x[i] - prevX[i]) * alpha; }
+    public double getY(int i, double alpha) { return prevY[i] + (y[i] - prevY[i]) * alpha; }
+
+    // Ergebnis des letzten step()
+    public int getPaddleHits(int side) { return paddleHits[side]; }
+    public int getWallHits()           { return wallHits; }
+    public int getBallHits()           { return ballHits; }
+    public int getScoredCount()        { return scoredCount; }
+    public int getScoredBall(int k)    { return scored[k]; }
+    public int getScoredSide(int k)    { return scoredFor[k]; }
+}
@@ -0,0 +1,168 @@
+package pingpong.engine;
+
+/**
+ * Ringpuffer für die Sofort-Wiederholung: hält die letzten Sekunden eines
+ * Matches als kompakte Snapshots (Ball, Paddles, Punkte, Power-ups und
+ * zusätzliche Bälle) und überschreibt immer den ältesten.
+ *
+ * Alle Snapshots haben dieselbe Länge und liegen hintereinander in einem
+ * einzigen float-Array, das im Konstruktor angelegt wird; capture() und
+ * restore() erzeugen keine Objekte, der Speicher bleibt fest
+ * (siehe getBytes()). Eingestellt wird er über Fensterlänge und Abstand
+ * der Snapshots in Ticks sowie die Höchstzahl gespeicherter Power-ups und Bälle.
+ *
+ * Gespeichert wird nur, was man zum Zeichnen braucht. Ein Snapshot wird in einen
+ * eigenen MatchState zurückgeschrieben, das laufende Match bleibt unberührt.
+ */
+public class RewindBuffer {
+    // Aufbau eines Snapshots: feste Werte, dann Power-ups (Art, x, y, Radius), dann Bälle (x, y)
+    private static final int BALL_X       = 0;
+    private static final int BALL_Y       = 1;
+    private static final int LEFT_Y       = 2;
+    private static final int RIGHT_Y      = 3;
+    private static final int LEFT_SCORE   = 4;
+    private static final int RIGHT_SCORE  = 5;
+    private static final int ENTITY_COUNT = 6;
+    private static final int BALL_COUNT   = 7;
+    private static final int FIXED        = 8;
+    private static final int ENTITY_SIZE  = 4;
+    private static final int BALL_SIZE    = 2;
+
+    private final int capacity;
+    private final int every;
+    private final int maxEntities, maxBalls;
+    private final int stride;
+    private final float[] data;
+    private final long[] ticks;
+    // Nächster Schreibplatz und Anzahl gültiger Snapshots
+    private int head, size;
+
+    /**
+     * @param windowTicks Länge des Fensters in Ticks (z.B. 10 s * Tick-Rate)
+     * @param everyTicks nur jeden everyTicks-ten Tick speichern (1 = jeden)
+     * @param maxEntities höchstens so viele Power-ups pro Snapshot
+     * @param maxBalls höchstens so viele zusätzliche Bälle pro Snapshot
+     */
+    public RewindBuffer(int windowTicks, int everyTicks, int maxEntities, int maxBalls) {
+        this.every       = Math.max(1, everyTicks);
+        this.capacity    = Math.max(1, windowTicks / every);
+        this.maxEntities = Math.max(0, maxEntities);
+        this.maxBalls    = Math.max(0, maxBalls);
+        this.stride      = FIXED + this.maxEntities * ENTITY_SIZE + this.maxBalls * BALL_SIZE;
+        this.data        = new float[capacity * stride];
+        this.ticks       = new long[capacity];
+    }
+
+    /**
+     * Verwirft alle Snapshots (z.B. bei neuem Match).
+     */
+    public void clear() {
+        head = size = 0;
+    }
+
+    /**
+     * Speichert den aktuellen Zustand, falls der Tick an der Reihe ist.
+     * @return true, wenn ein Snapshot geschrieben wurde
+     */
+    public boolean capture(MatchState s) {
+        long tick = s.getTick();
+        if (tick % every != 0 || (size > 0 && tick == ticks[prev(head)])) {
+            return false;
+        }
+        int o = head * stride;
+        data[o + BALL_X]      = (float) s.getBallX();
+        data[o + BALL_Y]      = (float) s.getBallY();
+        data[o + LEFT_Y]      = (float) s.getPaddleY(MatchState.LEFT);
+        data[o + RIGHT_Y]     = (float) s.getPaddleY(MatchState.RIGHT);
+        data[o + LEFT_SCORE]  = s.getScore(MatchState.LEFT);
+        data[o + RIGHT_SCORE] = s.getScore(MatchState.RIGHT);
+
+        EntityPool entities = s.getEntities();
+        int ne = Math.min(entities.getLiveCount(), maxEntities);
+        data[o + ENTITY_COUNT] = ne;
+        int p = o + FIXED;
+        for (int k = 0; k < ne; k++, p += ENTITY_SIZE) {
+            int slot = entities.getLiveSlot(k);
+            data[p]     = entities.getType(slot);
+            data[p + 1] = (float) entities.getX(slot);
+            data[p + 2] = (float) entities.getY(slot);
+            data[p + 3] = (float) entities.getRadius(slot);
+        }
+
+        MultiBall balls = s.getExtraBalls();
+        int nb = Math.min(balls.getCount(), maxBalls);
+        data[o + BALL_COUNT] = nb;
+        p = o + FIXED + maxEntities * ENTITY_SIZE;
+        for (int i = 0; i < nb; i++, p += BALL_SIZE) {
+            data[p]     = (float) balls.getX(i);
+            data[p + 1] = (float) balls.getY(i);
+        }
+
+        ticks[head] = tick;
+        head = (head + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+        return true;
+    }
+
+    /**
+     * Schreibt einen Snapshot in einen Anzeige-Zustand (ohne Interpolation,
+     * alle Geschwindigkeiten 0). Power-ups und Bälle des Ziels werden ersetzt.
+     * @param index 0 = ältester, size() - 1 = neuester Snapshot
+     * @param target Zustand, aus dem die Views zeichnen (nicht das laufende Match)
+     */
+    public void restore(int index, MatchState target) {
+        int o = slot(index) * stride;
+        target.setBall(data[o + BALL_X], data[o + BALL_Y], 0, 0);
+        target.setPaddleY(MatchState.LEFT, data[o + LEFT_Y]);
+        target.setPaddleY(MatchState.RIGHT, data[o + RIGHT_Y]);
+        target.setScore((int) data[o + LEFT_SCORE], (int) data[o + RIGHT_SCORE]);
+
+        EntityPool entities = target.getEntities();
+        entities.clear();
+        int p = o + FIXED;
+        for (int k = 0, n = (int) data[o + ENTITY_COUNT]; k < n; k++, p += ENTITY_SIZE) {
+            entities.spawn((int) data[p], data[p + 1], data[p + 2], 0, 0, data[p + 3], Long.MAX_VALUE);
+        }
+
+        MultiBall balls = target.getExtraBalls();
+        balls.clear();
+        p = o + FIXED + maxEntities * ENTITY_SIZE;
+        for (int i = 0, n = (int) data[o + BALL_COUNT]; i < n; i++, p += BALL_SIZE) {
+            balls.add(data[p], data[p + 1], 0, 0, 0);
+        }
+    }
+
+    /**
+     * Index des letzten Snapshots bis einschließlich tick (0, wenn tick älter ist als alle).
+     */
+    public int indexOf(long tick) {
+        int lo = 0, hi = size - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (getTick(mid) <= tick) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    // Platz im Array für Index 0 (ältester) bis size - 1 (neuester)
+    private int slot(int index) {
+        return (head - size + index + capacity) % capacity;
+    }
+
+    private int prev(int i) {
+        return (i - 1 + capacity) % capacity;
+    }
+
+    public int size()              { return size; }
+    public int getCapacity()       { return capacity; }
+    public int getEveryTicks()     { return every; }
+    public int getMaxEntities()    { return maxEntities; }
+    public int getMaxBalls()       { return maxBalls; }
+    public long getTick(int index) { return ticks[slot(index)]; }
+    // Belegter Speicher der Snapshots in Bytes
+    public long getBytes()         { return data.length * 4L + ticks.length * 8L; }
+}
@@ -0,0 +1,18 @@
+package pingpong.engine;
+
+/**
+ * StepTimer bekommt von MatchState.step() die Dauer der Phasen eines Schritts,
+ * z.B. für den FrameProfiler der GameEngine. So wird genau der Schritt gemessen,
+ * den auch Replays und Headless-Spiele rechnen, statt einer Kopie davon.
+ * Ohne StepTimer misst step() nichts.
+ */
+public interface StepTimer {
+
+    /**
+     * Ein Schritt ist fertig.
+     * @param paddleNanos Paddles bewegen
+     * @param ballNanos Ball, Chaos-Bälle, Power-ups und fällige Ereignisse
+     *                  (inklusive der Listener-Aufrufe, z.B. Sounds)
+     */
+    void onStep(long paddleNanos, long ballNanos);
+}
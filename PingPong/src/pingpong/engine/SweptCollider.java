@@ -0,0 +1,274 @@
+package pingpong.engine;
+
+/**
+ * SweptCollider bewegt den Ball kontinuierlich durch einen Zeitschritt.
+ * Statt nur die Endposition zu prüfen, wird der genaue Zeitpunkt des ersten
+ * Kontakts (Time of Impact) mit Wand, Paddle oder Torlinie berechnet, der Ball
+ * dorthin bewegt, abgeprallt und mit der Restzeit weitergerechnet.
+ * Dadurch fliegt der Ball auch bei hoher Geschwindigkeit nicht durch ein Paddle,
+ * und mehrere Abpraller in einem Schritt sind möglich.
+ *
+ * Ein Paddle wird dabei als Rechteck plus Ballradius behandelt (abgerundetes
+ * Rechteck): vier Kanten-Streifen und vier Eckkreise. Die Paddles stehen
+ * während des Ball-Schritts still, sie werden vorher bewegt.
+ *
+ * Die Klasse ist ein wiederverwendbarer Zwischenspeicher: Werte setzen,
+ * advance() aufrufen, Ergebnis auslesen. Es werden keine Objekte erzeugt.
+ */
+public class SweptCollider {
+    // Ereignis-Bits, die advance() zurückgibt
+    public static final int HIT_LEFT_PADDLE  = 1;
+    public static final int HIT_RIGHT_PADDLE = 1 << 1;
+    public static final int HIT_WALL         = 1 << 2;
+    /** Ball hat die linke Torlinie erreicht → Punkt für rechts. */
+    public static final int GOAL_LEFT        = 1 << 3;
+    /** Ball hat die rechte Torlinie erreicht → Punkt für links. */
+    public static final int GOAL_RIGHT       = 1 << 4;
+
+    // Maximale Anzahl Kontakte pro Schritt, danach wird die Restzeit verworfen
+    public static final int MAX_CONTACTS = 8;
+
+    // Art des Kontakts (für Auswertung pro Kontakt)
+    public static final int CONTACT_WALL   = 0;
+    public static final int CONTACT_PADDLE = 1;
+    public static final int CONTACT_GOAL   = 2;
+
+    // Kleine Toleranz gegen Rundungsfehler (in Sekunden bzw. Einheiten)
+    private static final double EPSILON = 1e-9;
+
+    // Spielfeld
+    private double width, height;
+    // Paddles: linke obere Ecke und Größe
+    private double leftX, leftY, rightX, rightY, paddleW, paddleH;
+
+    // Ball: Position, Geschwindigkeit, Radius (werden von advance() verändert)
+    private double x, y, vx, vy, radius;
+
+    // Kontakte des letzten advance(): Art, Seite (bei Paddle/Tor) und Ballposition
+    private final int[] contactType    = new int[MAX_CONTACTS];
+    private final int[] contactSide    = new int[MAX_CONTACTS];
+    private final double[] contactX    = new double[MAX_CONTACTS];
+    private final double[] contactY    = new double[MAX_CONTACTS];
+    private int contactCount;
+
+    // Ergebnis der letzten Zeitpunkt-Suche (Felder statt Rückgabeobjekt)
+    private double hitTime;
+    private double hitNx, hitNy;
+
+    /**
+     * Setzt die Spielfeldgröße.
+     */
+    public void setField(double width, double height) {
+        this.width  = width;
+        this.height = height;
+    }
+
+    /**
+     * Setzt Position und Größe beider Paddles (linke obere Ecken).
+     */
+    public void setPaddles(double leftX, double leftY, double rightX, double rightY,
+                           double paddleW, double paddleH) {
+        this.leftX   = leftX;
+        this.leftY   = leftY;
+        this.rightX  = rightX;
+        this.rightY  = rightY;
+        this.paddleW = paddleW;
+        this.paddleH = paddleH;
+    }
+
+    /**
+     * Setzt den Ball vor dem Aufruf von advance().
+     */
+    public void setBall(double x, double y, double vx, double vy, double radius) {
+        this.x      = x;
+        this.y      = y;
+        this.vx     = vx;
+        this.vy     = vy;
+        this.radius = radius;
+    }
+
+    /**
+     * Bewegt den Ball um dt Sekunden und löst alle Kontakte auf dem Weg auf.
+     * Bei einem Tor bleibt der Ball auf der Torlinie stehen; der Aufrufer vergibt
+     * den Punkt und schlägt neu auf.
+     * @param dt Länge des Schritts in Sekunden
+     * @return Oder-Verknüpfung der Ereignis-Bits (HIT_*, GOAL_*)
+     */
+    public int advance(double dt) {
+        int events = 0;
+        contactCount = 0;
+
+        // Paddle hat sich in den Ball geschoben → wie bisher seitlich herausdrücken
+        events |= resolveOverlap(leftX,  leftY,  MatchState.LEFT);
+        events |= resolveOverlap(rightX, rightY, MatchState.RIGHT);
+
+        double remaining = dt;
+        while (remaining > 0 && contactCount < MAX_CONTACTS) {
+            // Frühesten Kontakt innerhalb der Restzeit suchen
+            double best = remaining;
+            int bestKind = -1;
+            int bestSide = 0;
+            double bestNx = 0, bestNy = 0;
+
+            // Wände oben/unten: nur, wenn sich der Ball darauf zubewegt
+            if (vy < 0) {
+                double t = (radius - y) / vy;
+                if (t < best) { best = t; bestKind = CONTACT_WALL; bestNx = 0; bestNy = 1; }
+            } else if (vy > 0) {
+                double t = (height - radius - y) / vy;
+                if (t < best) { best = t; bestKind = CONTACT_WALL; bestNx = 0; bestNy = -1; }
+            }
+
+            // Torlinien links/rechts
+            if (vx < 0) {
+                double t = (radius - x) / vx;
+                if (t < best) { best = t; bestKind = CONTACT_GOAL; bestSide = MatchState.LEFT; }
+            } else if (vx > 0) {
+                double t = (width - radius - x) / vx;
+                if (t < best) { best = t; bestKind = CONTACT_GOAL; bestSide = MatchState.RIGHT; }
+            }
+
+            // Paddles als abgerundete Rechtecke
+            if (sweepPaddle(leftX, leftY, best)) {
+                best = hitTime; bestKind = CONTACT_PADDLE; bestSide = MatchState.LEFT;
+                bestNx = hitNx; bestNy = hitNy;
+            }
+            if (sweepPaddle(rightX, rightY, best)) {
+                best = hitTime; bestKind = CONTACT_PADDLE; bestSide = MatchState.RIGHT;
+                bestNx = hitNx; bestNy = hitNy;
+            }
+
+            if (best < 0) best = 0;  // Ball steckt schon minimal in der Wand
+            x += vx * best;
+            y += vy * best;
+            remaining -= best;
+
+            if (bestKind < 0) {
+                break;               // kein Kontakt mehr in diesem Schritt
+            }
+            recordContact(bestKind, bestSide);
+            if (bestKind == CONTACT_GOAL) {
+                return events | (bestSide == MatchState.LEFT ? GOAL_LEFT : GOAL_RIGHT);
+            }
+            // Geschwindigkeit an der Kontakt-Normale spiegeln: v' = v - 2 (v·n) n
+            double dot = vx * bestNx + vy * bestNy;
+            vx -= 2 * dot * bestNx;
+            vy -= 2 * dot * bestNy;
+            if (bestKind == CONTACT_WALL) {
+                events |= HIT_WALL;
+            } else {
+                events |= bestSide == MatchState.LEFT ? HIT_LEFT_PADDLE : HIT_RIGHT_PADDLE;
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Sucht den ersten Kontakt des Balls mit einem Paddle vor maxTime.
+     * Ergebnis steht in hitTime, hitNx, hitNy.
+     * @return true, falls ein Kontakt vor maxTime gefunden wurde
+     */
+    private boolean sweepPaddle(double px, double py, double maxTime) {
+        double x0 = px, x1 = px + paddleW;
+        double y0 = py, y1 = py + paddleH;
+        double r = radius;
+        hitTime = maxTime;
+        boolean hit = false;
+
+        // Senkrechte Kanten (Vorder-/Rückseite), um den Radius nach außen verschoben
+        if (vx > 0) {
+            hit |= faceX(x0 - r, y0, y1, -1);
+        } else if (vx < 0) {
+            hit |= faceX(x1 + r, y0, y1, 1);
+        }
+        // Waagrechte Kanten (Ober-/Unterseite)
+        if (vy > 0) {
+            hit |= faceY(y0 - r, x0, x1, -1);
+        } else if (vy < 0) {
+            hit |= faceY(y1 + r, x0, x1, 1);
+        }
+        // Ecken als Kreise mit Ballradius
+        hit |= corner(x0, y0);
+        hit |= corner(x1, y0);
+        hit |= corner(x0, y1);
+        hit |= corner(x1, y1);
+        return hit;
+    }
+
+    // Kontakt mit der senkrechten Linie x = lineX im Bereich [ya, yb]
+    private boolean faceX(double lineX, double ya, double yb, double nx) {
+        double t = (lineX - x) / vx;
+        if (t < -EPSILON || t >= hitTime) return false;
+        double yHit = y + vy * t;
+        if (yHit < ya || yHit > yb) return false;
+        hitTime = t; hitNx = nx; hitNy = 0;
+        return true;
+    }
+
+    // Kontakt mit der waagrechten Linie y = lineY im Bereich [xa, xb]
+    private boolean faceY(double lineY, double xa, double xb, double ny) {
+        double t = (lineY - y) / vy;
+        if (t < -EPSILON || t >= hitTime) return false;
+        double xHit = x + vx * t;
+        if (xHit < xa || xHit > xb) return false;
+        hitTime = t; hitNx = 0; hitNy = ny;
+        return true;
+    }
+
+    // Kontakt mit dem Kreis (Ecke cx/cy, Radius = Ballradius)
+    private boolean corner(double cx, double cy) {
+        double dx = x - cx, dy = y - cy;
+        double b = dx * vx + dy * vy;
+        if (b >= 0) return false;                  // bewegt sich nicht auf die Ecke zu
+        double a = vx * vx + vy * vy;
+        double c = dx * dx + dy * dy - radius * radius;
+        double disc = b * b - a * c;
+        if (disc < 0) return false;
+        double t = (-b - Math.sqrt(disc)) / a;
+        if (t < -EPSILON || t >= hitTime) return false;
+        // Normale zeigt von der Ecke zum Ballmittelpunkt im Kontaktpunkt
+        double nx = dx + vx * t, ny = dy + vy * t;
+        double len = Math.sqrt(nx * nx + ny * ny);
+        if (len == 0) return false;
+        hitTime = t; hitNx = nx / len; hitNy = ny / len;
+        return true;
+    }
+
+    // Drückt den Ball seitlich aus dem Paddle, falls er schon darin steckt
+    private int resolveOverlap(double px, double py, int side) {
+        if (!Collisions.isCircleRectCollision(x, y, radius, px, py, paddleW, paddleH)) {
+            return 0;
+        }
+        // Ball direkt neben das Paddle setzen, je nachdem ob links oder rechts
+        if (px < width / 2) {
+            x  = px + paddleW + radius;
+            vx = Math.abs(vx);
+        } else {
+            x  = px - radius;
+            vx = -Math.abs(vx);
+        }
+        recordContact(CONTACT_PADDLE, side);
+        return side == MatchState.LEFT ? HIT_LEFT_PADDLE : HIT_RIGHT_PADDLE;
+    }
+
+    private void recordContact(int kind, int side) {
+        contactType[contactCount] = kind;
+        contactSide[contactCount] = side;
+        contactX[contactCount]    = x;
+        contactY[contactCount]    = y;
+        contactCount++;
+    }
+
+    // Ergebnis auslesen
+    public double getX()  { return x; }
+    public double getY()  { return y; }
+    public double getVx() { return vx; }
+    public double getVy() { return vy; }
+
+    // Kontakte des letzten Schritts (in zeitlicher Reihenfolge)
+    public int getContactCount()          { return contactCount; }
+    public int getContactType(int i)      { return contactType[i]; }
+    public int getContactSide(int i)      { return contactSide[i]; }
+    public double getContactX(int i)      { return contactX[i]; }
+    public double getContactY(int i)      { return contactY[i]; }
+}
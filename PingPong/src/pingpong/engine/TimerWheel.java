@@ -0,0 +1,186 @@
+package pingpong.engine;
+
+import java.util.Arrays;
+
+/**
+ * Zeitgesteuerte Spielereignisse auf Tick-Basis als gehashtes Timer-Rad:
+ * ein Auftrag für Tick t liegt im Fach t % Radgröße, schedule() und cancel()
+ * sind O(1), advance() schaut pro Tick nur in ein Fach. Aufträge, die mehr
+ * als eine Umdrehung entfernt sind, bleiben einfach liegen, bis ihr Tick kommt.
+ *
+ * Die Einträge stehen in parallelen Arrays (doppelt verkettete Listen über
+ * Indizes, freie Plätze in einer eigenen Liste), damit Planen und Auslösen
+ * im laufenden Spiel keine Objekte erzeugt. Nur wenn mehr Aufträge gleichzeitig
+ * anstehen als Platz ist, wachsen die Arrays.
+ *
+ * Läuft nur mit dem Tick-Zähler der Simulation, nicht mit der Uhrzeit:
+ * Pause, Vorspulen und Replays ohne Grafik treffen dieselben Ticks.
+ */
+public class TimerWheel {
+    /**
+     * Ein geplanter Auftrag.
+     */
+    public interface Task {
+        /**
+         * @param tick Tick, in dem der Auftrag fällig war
+         */
+        void run(long tick);
+    }
+
+    private static final int NONE = -1;
+
+    private final int mask;
+    // Listenanfang pro Fach; der letzte Eintrag ist die Liste der gerade auslösenden Aufträge
+    private final int[] heads;
+    private final int firing;
+
+    // Einträge: Fälligkeit, Auftrag, Fach, Verkettung und Generation (gegen veraltete Handles)
+    private long[] deadline;
+    private Task[] tasks;
+    private int[] bucket;
+    private int[] next;
+    private int[] prev;
+    private int[] generation;
+    private int free = NONE;
+    private int size;
+
+    // Zuletzt abgearbeiteter Tick
+    private long now;
+
+    /**
+     * @param wheelSize Anzahl der Fächer, wird auf die nächste Zweierpotenz aufgerundet
+     */
+    public TimerWheel(int wheelSize) {
+        int n = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        mask   = n - 1;
+        heads  = new int[n + 1];
+        firing = n;
+        Arrays.fill(heads, NONE);
+        grow(16);
+    }
+
+    /**
+     * Plant einen Auftrag für einen Tick. Liegt der Tick nicht in der Zukunft,
+     * wird er beim nächsten advance() ausgeführt.
+     * @param tick Tick, in dem der Auftrag laufen soll
+     * @param task Auftrag
+     * @return Handle für cancel()
+     */
+    public long schedule(long tick, Task task) {
+        if (free == NONE) {
+            grow(deadline.length * 2);
+        }
+        int i = free;
+        free = next[i];
+        long due = Math.max(tick, now + 1);
+        deadline[i] = due;
+        tasks[i]    = task;
+        link(i, (int) (due & mask));
+        size++;
+        return ((long) generation[i] << 32) | i;
+    }
+
+    /**
+     * Entfernt einen geplanten Auftrag.
+     * @param handle Rückgabewert von schedule()
+     * @return false, wenn der Auftrag schon gelaufen oder entfernt war
+     */
+    public boolean cancel(long handle) {
+        int i = (int) handle;
+        if (i < 0 || i >= tasks.length || tasks[i] == null || generation[i] != (int) (handle >>> 32)) {
+            return false;
+        }
+        unlink(i);
+        release(i);
+        return true;
+    }
+
+    /**
+     * Arbeitet alle Ticks bis einschließlich tick ab und führt fällige Aufträge aus.
+     * Aufträge dürfen dabei neue Aufträge planen oder andere entfernen.
+     */
+    public void advance(long tick) {
+        while (now < tick) {
+            now++;
+            int b = (int) (now & mask);
+            // Fällige Einträge erst in die Auslöse-Liste umhängen, dann ausführen
+            for (int i = heads[b]; i != NONE; ) {
+                int n = next[i];
+                if (deadline[i] <= now) {
+                    unlink(i);
+                    link(i, firing);
+                }
+                i = n;
+            }
+            while (heads[firing] != NONE) {
+                int i = heads[firing];
+                Task task = tasks[i];
+                unlink(i);
+                release(i);
+                task.run(now);
+            }
+        }
+    }
+
+    /**
+     * Entfernt alle Aufträge und setzt den Tick-Zähler neu (z.B. bei Match-Start).
+     */
+    public void reset(long tick) {
+        for (int b = 0; b < heads.length; b++) {
+            while (heads[b] != NONE) {
+                int i = heads[b];
+                unlink(i);
+                release(i);
+            }
+        }
+        now = tick;
+    }
+
+    public int size()     { return size; }
+    public long getTick() { return now; }
+
+    private void link(int i, int b) {
+        bucket[i] = b;
+        prev[i]   = NONE;
+        next[i]   = heads[b];
+        if (heads[b] != NONE) {
+            prev[heads[b]] = i;
+        }
+        heads[b] = i;
+    }
+
+    private void unlink(int i) {
+        if (prev[i] != NONE) {
+            next[prev[i]] = next[i];
+        } else {
+            heads[bucket[i]] = next[i];
+        }
+        if (next[i] != NONE) {
+            prev[next[i]] = prev[i];
+        }
+    }
+
+    private void release(int i) {
+        tasks[i] = null;
+        generation[i]++;
+        next[i] = free;
+        free = i;
+        size--;
+    }
+
+    // Vergrößert die Eintrags-Arrays und hängt die neuen Plätze an die Frei-Liste
+    private void grow(int capacity) {
+        int old = deadline == null ? 0 : deadline.length;
+        deadline   = deadline == null ? new long[capacity] : Arrays.copyOf(deadline, capacity);
+        tasks      = tasks == null ? new Task[capacity] : Arrays.copyOf(tasks, capacity);
+        bucket     = bucket == null ? new int[capacity] : Arrays.copyOf(bucket, capacity);
+        next       = next == null ? new int[capacity] : Arrays.copyOf(next, capacity);
+        prev       = prev == null ? new int[capacity] : Arrays.copyOf(prev, capacity);
+        generation = generation == null ? new int[capacity] : Arrays.copyOf(generation, capacity);
+        for (int i = capacity - 1; i >= old; i--) {
+            generation[i] = 1;
+            next[i] = free;
+            free = i;
+        }
+    }
+}
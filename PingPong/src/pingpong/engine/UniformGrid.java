@@ -0,0 +1,95 @@
+package pingpong.engine;
+
+import java.util.Arrays;
+
+/**
+ * Gleichmäßiges Gitter über dem Spielfeld als Broadphase: jeder Punkt wird
+ * in genau eine Zelle einsortiert, Nachbarn findet man dann nur in den
+ * angrenzenden Zellen statt durch Vergleich aller Paare.
+ *
+ * build() sortiert alle Punkte per Counting Sort in ein Index-Array
+ * (cellStart[c] bis cellStart[c + 1] sind die Einträge von Zelle c).
+ * Das geht in O(Punkte + Zellen), jeden Tick neu und ohne Objekte; die
+ * Arrays wachsen nur, wenn mehr Punkte als bisher kommen.
+ * Punkte außerhalb des Felds landen in der nächsten Randzelle.
+ */
+public class UniformGrid {
+    private double invCellSize = 1;
+    private int cols = 1, rows = 1;
+
+    // Beginn jeder Zelle im items-Array, letzter Eintrag = Anzahl Punkte
+    private int[] cellStart = new int[2];
+    // Punkt-Indizes nach Zellen sortiert und Zelle jedes Punkts
+    private int[] items  = new int[16];
+    private int[] cellOf = new int[16];
+    private int count;
+
+    /**
+     * Legt das Gitter über ein Feld der Größe width x height.
+     * @param cellSize Kantenlänge einer Zelle; mindestens der größte Abstand,
+     *                 bei dem sich zwei Punkte noch berühren können
+     */
+    public void setBounds(double width, double height, double cellSize) {
+        invCellSize = 1.0 / cellSize;
+        cols = Math.max(1, (int) Math.ceil(width * invCellSize));
+        rows = Math.max(1, (int) Math.ceil(height * invCellSize));
+        if (cellStart.length < cols * rows + 1) {
+            cellStart = new int[cols * rows + 1];
+        }
+    }
+
+    /**
+     * Sortiert die ersten count Punkte neu in die Zellen.
+     */
+    public void build(double[] x, double[] y, int count) {
+        if (items.length < count) {
+            int capacity = Math.max(count, items.length * 2);
+            items  = new int[capacity];
+            cellOf = new int[capacity];
+        }
+        this.count = count;
+        int cells = cols * rows;
+        // Punkte pro Zelle zählen, aufsummieren (Ende jeder Zelle) und rückwärts einsortieren;
+        // danach steht in cellStart[c] der Beginn von Zelle c
+        Arrays.fill(cellStart, 0, cells + 1, 0);
+        for (int i = 0; i < count; i++) {
+            int c = cellY(y[i]) * cols + cellX(x[i]);
+            cellOf[i] = c;
+            cellStart[c]++;
+        }
+        int sum = 0;
+        for (int c = 0; c <= cells; c++) {
+            sum += cellStart[c];
+            cellStart[c] = sum;
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            items[--cellStart[cellOf[i]]] = i;
+        }
+    }
+
+    /**
+     * Spalte einer X-Koordinate (auf das Gitter begrenzt).
+     */
+    public int cellX(double x) {
+        int c = (int) (x * invCellSize);
+        return c < 0 ? 0 : c >= cols ? cols - 1 : c;
+    }
+
+    /**
+     * Zeile einer Y-Koordinate (auf das Gitter begrenzt).
+     */
+    public int cellY(double y) {
+        int r = (int) (y * invCellSize);
+        return r < 0 ? 0 : r >= rows ? rows - 1 : r;
+    }
+
+    public int getColumns()          { return cols; }
+    public int getRows()             { return rows; }
+    public int getCount()            { return count; }
+    // Zelle (Zeile * Spalten + Spalte) eines Punkts beim letzten build()
+    public int getCell(int point)    { return cellOf[point]; }
+    // Einträge einer Zelle: getItem(getCellStart(c)) bis getItem(getCellEnd(c) - 1)
+    public int getCellStart(int cell) { return cellStart[cell]; }
+    public int getCellEnd(int cell)   { return cellStart[cell + 1]; }
+    public int getItem(int k)         { return items[k]; }
+}
@@ -0,0 +1,147 @@
+package pingpong.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * FrameEncoder kodiert Frames auf einem Pool von Worker-Threads als PNG,
+ * während der Render-Thread schon die nächsten Frames zeichnet.
+ *
+ * Die Pixel liegen in einer festen Zahl wiederverwendeter int[]-Puffer
+ * (Threads + 2): nextBuffer() holt einen freien, submit() gibt ihn an einen
+ * Worker, der ihn nach dem Schreiben zurücklegt. Sind alle Puffer unterwegs,
+ * wartet nextBuffer(); so läuft das Rendern höchstens zwei Frames vor und
+ * der Speicher bleibt begrenzt. Die Wartezeit zeigt, ob Rendern oder
+ * Kodieren der Engpass ist.
+ *
+ * Dateien: zielordner/frame-00000.png, frame-00001.png, ...
+ */
+public class FrameEncoder {
+    private final Path dir;
+    private final int width, height, threads;
+    private final ExecutorService workers;
+    private final BlockingQueue<int[]> free;
+    // Ein PngEncoder pro Worker-Thread (Deflater und Puffer werden wiederverwendet)
+    private final List<PngEncoder> encoders = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<PngEncoder> encoder;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // Messwerte
+    private final AtomicLong encodeNanos = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong frames = new AtomicLong();
+    private long waitNanos;
+    private long firstSubmit, finished;
+
+    /**
+     * @param dir Zielordner (wird angelegt)
+     * @param width Breite der Frames in Pixeln
+     * @param height Höhe der Frames in Pixeln
+     * @param threads Anzahl Worker
+     * @param level Deflate-Stufe 0..9
+     */
+    public FrameEncoder(Path dir, int width, int height, int threads, int level) throws IOException {
+        Files.createDirectories(dir);
+        this.dir     = dir;
+        this.width   = width;
+        this.height  = height;
+        this.threads = threads;
+        this.free    = new ArrayBlockingQueue<>(threads + 2);
+        for (int i = 0; i < threads + 2; i++) {
+            free.add(new int[width * height]);
+        }
+        this.encoder = ThreadLocal.withInitial(() -> {
+            PngEncoder e = new PngEncoder(level);
+            encoders.add(e);
+            return e;
+        });
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "png-encoder");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Freier Pixelpuffer (width * height, ARGB); wartet, bis einer frei ist.
+     * @throws IOException wenn ein früherer Frame nicht geschrieben werden konnte
+     */
+    public int[] nextBuffer() throws IOException, InterruptedException {
+        checkFailure();
+        long t0 = System.nanoTime();
+        int[] buffer = free.take();
+        waitNanos += System.nanoTime() - t0;
+        return buffer;
+    }
+
+    /**
+     * Gibt einen gefüllten Puffer zum Kodieren ab.
+     * @param index Nummer des Frames (Dateiname)
+     * @param pixels Puffer aus nextBuffer()
+     */
+    public void submit(int index, int[] pixels) {
+        if (firstSubmit == 0) {
+            firstSubmit = System.nanoTime();
+        }
+        workers.execute(() -> {
+            long t0 = System.nanoTime();
+            Path file = dir.resolve(String.format("frame-%05d.png", index));
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+                encoder.get().encode(pixels, width, height, out);
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                free.add(pixels);
+            }
+            try {
+                bytes.addAndGet(Files.size(file));
+            } catch (IOException e) {
+                // nur für die Statistik
+            }
+            encodeNanos.addAndGet(System.nanoTime() - t0);
+            frames.incrementAndGet();
+        });
+    }
+
+    /**
+     * Wartet, bis alle Frames geschrieben sind, und beendet die Worker.
+     * @throws IOException wenn ein Frame nicht geschrieben werden konnte
+     */
+    public void finish() throws IOException, InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        finished = System.nanoTime();
+        for (PngEncoder e : encoders) {
+            e.close();
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable t = failure.get();
+        if (t instanceof IOException) throw (IOException) t;
+        if (t != null) throw new IOException("Frame konnte nicht kodiert werden", t);
+    }
+
+    public int getThreads()        { return threads; }
+    public long getFrames()        { return frames.get(); }
+    public long getBytes()         { return bytes.get(); }
+    // Summe der Kodierzeit aller Worker
+    public long getEncodeNanos()   { return encodeNanos.get(); }
+    // Zeit, die der Render-Thread auf freie Puffer gewartet hat
+    public long getWaitNanos()     { return waitNanos; }
+    // Vom ersten Frame bis zum Ende von finish()
+    public long getElapsedNanos()  { return finished - firstSubmit; }
+}
@@ -0,0 +1,178 @@
+package pingpong.export;
+
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
+import javafx.stage.Stage;
+import pingpong.ai.PaddleController;
+import pingpong.config.GameConfig;
+import pingpong.engine.MatchState;
+import pingpong.render.CanvasRenderer;
+import pingpong.render.ViewTransform;
+import pingpong.replay.ReplayPlayer;
+import pingpong.tournament.Contestant;
+
+/**
+ * FrameExporter zeichnet ein aufgezeichnetes (Replay) oder simuliertes
+ * (Bot gegen Bot) Match ohne Fenster mit fester Bildrate und speichert jeden
+ * Frame als PNG, z.B. für Highlight-Clips oder als Referenzbilder für
+ * visuelle Regressionstests.
+ *
+ * Gezeichnet wird mit dem CanvasRenderer auf ein Canvas, das in keinem
+ * Fenster hängt; Canvas.snapshot() holt das Bild in ein wiederverwendetes
+ * WritableImage, die Pixel gehen in einen Puffer des FrameEncoders. Während
+ * dessen Worker PNGs schreiben, zeichnet der FX-Thread bereits die nächsten
+ * Frames. Zeitpunkt t liegt zwischen zwei Ticks und wird wie im Spiel
+ * interpoliert; gleiche Eingabe ergibt auf der Software-Pipeline dieselben Bilder.
+ *
+ * Ohne Display (Linux-Server): mit xvfb-run starten oder mit Monocle
+ * (-Dglass.platform=Monocle -Dmonocle.platform=Headless, Monocle-Jar im
+ * Klassenpfad), jeweils mit -Dprism.order=sw.
+ *
+ * Aufruf: java -cp PingPong.jar pingpong.export.FrameExporter
+ *             <match.ppr | bots:medium,hard> <zielordner>
+ *             [fps] [breite] [höhe] [von s] [bis s] [threads] [stufe]
+ */
+public class FrameExporter extends Application {
+    // Ergebnis für main(), das nach Platform.exit() weiterläuft
+    private static volatile int exitCode;
+
+    // Quelle: Replay oder zwei Bots auf einem eigenen Match
+    private ReplayPlayer replay;
+    private MatchState state;
+    private PaddleController left, right;
+    private int tickRate;
+
+    @Override
+    public void start(Stage stage) {
+        try {
+            export(getParameters().getRaw());
+        } catch (Exception e) {
+            System.err.println("Export fehlgeschlagen: " + e);
+            exitCode = 1;
+        }
+        Platform.exit();
+    }
+
+    private void export(List<String> args) throws Exception {
+        if (args.size() < 2) {
+            throw new IllegalArgumentException("Aufruf: FrameExporter <match.ppr | bots:a,b> <zielordner>"
+                    + " [fps] [breite] [höhe] [von s] [bis s] [threads] [stufe]");
+        }
+        String source = args.get(0);
+        Path dir     = Paths.get(args.get(1));
+        double fps   = args.size() > 2 ? Double.parseDouble(args.get(2)) : 60;
+        int width    = args.size() > 3 ? Integer.parseInt(args.get(3)) : (int) GameConfig.BASE_WIDTH;
+        int height   = args.size() > 4 ? Integer.parseInt(args.get(4)) : (int) GameConfig.BASE_HEIGHT;
+        double from  = args.size() > 5 ? Double.parseDouble(args.get(5)) : 0;
+        double to    = args.size() > 6 ? Double.parseDouble(args.get(6)) : Double.NaN;
+        int threads  = args.size() > 7 ? Integer.parseInt(args.get(7)) : Runtime.getRuntime().availableProcessors();
+        int level    = args.size() > 8 ? Integer.parseInt(args.get(8)) : 1;
+
+        open(source);
+        if (Double.isNaN(to)) {
+            // Replay bis zum Ende, Simulation 10 s
+            to = replay != null ? (double) replay.getEndTick() / tickRate : from + 10;
+        }
+        int frames = (int) Math.floor((to - from) * fps) + 1;
+
+        Canvas canvas = new Canvas(width, height);
+        new Scene(new Group(canvas), width, height);    // Schriften und CSS wie im Fenster
+        ViewTransform view = new ViewTransform();
+        view.update(width, height);
+        CanvasRenderer renderer = new CanvasRenderer(canvas, view);
+        WritableImage image = new WritableImage(width, height);
+        SnapshotParameters params = new SnapshotParameters();
+        WritablePixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
+
+        System.out.printf("Export: %s, %d Frames (%.2f..%.2f s) mit %.0f fps, %dx%d, %d Threads, Pipeline %s%n",
+                source, frames, from, to, fps, width, height, threads,
+                System.getProperty("prism.order", "Standard"));
+        FrameEncoder encoder = new FrameEncoder(dir, width, height, threads, level);
+        long renderNanos = 0;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            // Zeitpunkt zwischen Tick n-1 und n, alpha = Anteil dazwischen
+            double f = (from + i / fps) * tickRate;
+            long n = (long) Math.floor(f) + 1;
+            double alpha = f - (n - 1);
+            if (replay != null && n > replay.getEndTick()) {
+                // Hinter dem letzten Tick gibt es nichts mehr: Endzustand zeigen
+                n = replay.getEndTick();
+                alpha = 1;
+            }
+            int[] pixels = encoder.nextBuffer();
+            long r0 = System.nanoTime();
+            advanceTo(n);
+            renderer.render(state, alpha);
+            canvas.snapshot(params, image);
+            image.getPixelReader().getPixels(0, 0, width, height, format, pixels, 0, width);
+            renderNanos += System.nanoTime() - r0;
+            encoder.submit(i, pixels);
+        }
+        encoder.finish();
+        long wall = System.nanoTime() - t0;
+
+        double encodeSeconds = encoder.getEncodeNanos() / 1e9;
+        System.out.printf("Rendern:  %.1f Frames/s (Simulation, Zeichnen, Snapshot, Pixel lesen; %.2f s), "
+                        + "%.2f s auf freie Puffer gewartet%n",
+                frames / (renderNanos / 1e9), renderNanos / 1e9, encoder.getWaitNanos() / 1e9);
+        System.out.printf("Kodieren: %.1f Frames/s pro Thread (%.2f s Rechenzeit), Ø %.0f KB pro Frame%n",
+                frames / encodeSeconds, encodeSeconds, encoder.getBytes() / 1024.0 / frames);
+        System.out.printf("Gesamt:   %d Frames in %.2f s = %.1f Frames/s, Überlappung %.2fx%n",
+                frames, wall / 1e9, frames / (wall / 1e9), (renderNanos / 1e9 + encodeSeconds) / (wall / 1e9));
+        System.out.println("Geschrieben: " + dir.toAbsolutePath());
+    }
+
+    // Replay-Datei oder "bots:a,b" (Bots wie im Turnier, Seed 1)
+    private void open(String source) throws Exception {
+        if (source.startsWith("bots:")) {
+            String[] bots = source.substring(5).split(",");
+            Contestant a = Contestant.parse(bots[0]);
+            Contestant b = Contestant.parse(bots.length > 1 ? bots[1] : bots[0]);
+            tickRate = GameConfig.TICK_RATE;
+            state = new MatchState(1);
+            state.setBallSpeed(GameConfig.BALL_SPEED);
+            state.setPaddleSpeed(GameConfig.PADDLE_SPEED);
+            state.setServeDelayTicks((int) Math.round(GameConfig.SERVE_DELAY_SECONDS * tickRate));
+            state.startMatch(1);
+            left  = a.create(2);
+            right = b.create(3);
+            left.reset();
+            right.reset();
+        } else {
+            replay   = new ReplayPlayer(Paths.get(source));
+            tickRate = replay.getTickRate();
+            state    = replay.getState();
+        }
+    }
+
+    // Quelle bis Tick n weiterrechnen (nur vorwärts)
+    private void advanceTo(long n) {
+        if (replay != null) {
+            replay.seek(n);
+            return;
+        }
+        double dt = 1.0 / tickRate;
+        while (state.getTick() < n) {
+            state.setPaddleDirection(MatchState.LEFT, left.decide(state, MatchState.LEFT, dt));
+            state.setPaddleDirection(MatchState.RIGHT, right.decide(state, MatchState.RIGHT, dt));
+            state.step(dt);
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,110 @@
+package pingpong.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Schreibt ARGB-Pixel (wie PixelFormat.getIntArgbInstance()) als PNG mit 8 Bit
+ * RGB ohne Alpha; die Frames sind immer deckend. Jede Zeile bekommt den
+ * PNG-Filter "Sub" (Differenz zum linken Pixel), damit die großen einfarbigen
+ * Flächen des Spielfelds gut komprimieren.
+ *
+ * Kommt ohne AWT/ImageIO aus und läuft deshalb auch auf einem Rechner ohne
+ * Display. Eine Instanz hält Deflater und Puffer und wird wiederverwendet;
+ * sie ist nicht threadsicher, also eine pro Thread.
+ */
+public final class PngEncoder {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] IHDR = {'I', 'H', 'D', 'R'};
+    private static final byte[] IDAT = {'I', 'D', 'A', 'T'};
+    private static final byte[] IEND = {'I', 'E', 'N', 'D'};
+    // Filter-Byte am Zeilenanfang
+    private static final byte FILTER_SUB = 1;
+
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] header = new byte[13];
+    private final byte[] chunk = new byte[64 * 1024];
+    private final byte[] word = new byte[4];
+    private byte[] raw = new byte[0];
+
+    /**
+     * @param level Deflate-Stufe 0..9 (1 = schnell, 9 = klein)
+     */
+    public PngEncoder(int level) {
+        deflater = new Deflater(level);
+    }
+
+    /**
+     * Kodiert ein Bild und schreibt es vollständig nach out (out bleibt offen).
+     * @param argb Pixel zeilenweise, width * height Werte
+     */
+    public void encode(int[] argb, int width, int height, OutputStream out) throws IOException {
+        int stride = 1 + 3 * width;
+        if (raw.length < stride * height) {
+            raw = new byte[stride * height];
+        }
+        // Zeilen mit Filter "Sub": jedes Byte minus dasselbe Byte des linken Pixels
+        for (int y = 0, p = 0, o = 0; y < height; y++) {
+            raw[o++] = FILTER_SUB;
+            int left = 0;
+            for (int x = 0; x < width; x++) {
+                int c = argb[p++];
+                raw[o++] = (byte) ((c >> 16) - (left >> 16));
+                raw[o++] = (byte) ((c >> 8) - (left >> 8));
+                raw[o++] = (byte) (c - left);
+                left = c;
+            }
+        }
+
+        out.write(SIGNATURE);
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8]  = 8;             // Bits pro Kanal
+        header[9]  = 2;             // Farbtyp RGB
+        header[10] = 0;             // Deflate
+        header[11] = 0;             // Standardfilter
+        header[12] = 0;             // kein Interlacing
+        writeChunk(out, IHDR, header, 13);
+
+        deflater.reset();
+        deflater.setInput(raw, 0, stride * height);
+        deflater.finish();
+        while (!deflater.finished()) {
+            int n = deflater.deflate(chunk);
+            if (n > 0) {
+                writeChunk(out, IDAT, chunk, n);
+            }
+        }
+        writeChunk(out, IEND, chunk, 0);
+    }
+
+    // Länge, Typ, Daten, CRC über Typ und Daten
+    private void writeChunk(OutputStream out, byte[] type, byte[] data, int length) throws IOException {
+        putInt(word, 0, length);
+        out.write(word);
+        out.write(type);
+        out.write(data, 0, length);
+        crc.reset();
+        crc.update(type, 0, type.length);
+        crc.update(data, 0, length);
+        putInt(word, 0, (int) crc.getValue());
+        out.write(word);
+    }
+
+    private static void putInt(byte[] b, int at, int v) {
+        b[at]     = (byte) (v >>> 24);
+        b[at + 1] = (byte) (v >>> 16);
+        b[at + 2] = (byte) (v >>> 8);
+        b[at + 3] = (byte) v;
+    }
+
+    /**
+     * Gibt den nativen Speicher des Deflaters frei.
+     */
+    public void close() {
+        deflater.end();
+    }
+}
@@ -0,0 +1,224 @@
+package pingpong.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import pingpong.model.ScoreEvent;
+
+/**
+ * MatchHistory legt über das ScoreJournal einen kleinen Index im Speicher:
+ * - pro Match Kennung (Startzeit) und Bereich der Datensätze, nach Zeit sortiert
+ *   → "Matches an einem Tag/Zeitraum" per binärer Suche
+ * - die TOP_RALLIES längsten Ballwechsel als Min-Heap
+ *   → "längste Ballwechsel" ohne das Journal durchzugehen
+ * Der Index kostet ca. 16 Byte pro Match statt 48 pro Punkt und wird beim Öffnen
+ * einmal aus dem Journal aufgebaut, danach bei jedem Punkt mitgeführt.
+ */
+public class MatchHistory implements Closeable {
+    public static final int TOP_RALLIES = 100;
+    // So viele Punkte pro Match werden vorab im Journal reserviert
+    private static final int RESERVE_POINTS = 1024;
+
+    private final ScoreJournal journal;
+
+    // Matches nach Startzeit (= Kennung) aufsteigend, Datensätze eines Matches liegen am Stück
+    private long[] matchIds   = new long[64];
+    private int[] matchFirst  = new int[64];
+    private int matchCount;
+
+    // Min-Heap über (rallyHits, rallyTicks) mit Datensatz-Nummer
+    private final long[] heapKey    = new long[TOP_RALLIES];
+    private final int[] heapRecord  = new int[TOP_RALLIES];
+    private int heapSize;
+
+    // Kennung des laufenden Matches (0 = keins)
+    private long currentMatch;
+
+    /**
+     * Öffnet (oder erstellt) die Historie und baut den Index auf.
+     * @param file Journal-Datei
+     */
+    public MatchHistory(Path file) throws IOException {
+        journal = new ScoreJournal(file);
+        for (int i = 0; i < journal.size(); i++) {
+            index(i);
+        }
+    }
+
+    /**
+     * Beginnt ein neues Match und liefert seine Kennung: die aktuelle Zeit in ms,
+     * aber immer größer als alle bisherigen (damit bleibt der Index sortiert).
+     * Reserviert Platz im Journal, damit während des Spiels nichts vergrößert wird.
+     */
+    public long beginMatch() throws IOException {
+        long last = matchCount == 0 ? 0 : matchIds[matchCount - 1];
+        currentMatch = Math.max(System.currentTimeMillis(), Math.max(last, currentMatch) + 1);
+        journal.reserve(RESERVE_POINTS);
+        return currentMatch;
+    }
+
+    /**
+     * Hängt einen Punkt des laufenden Matches an (keine Objekte, für die Spielschleife).
+     */
+    public void recordPoint(long tick, int side, int left, int right,
+                            int rallyHits, int rallyTicks) throws IOException {
+        if (currentMatch == 0) {
+            beginMatch();
+        }
+        int i = journal.append(currentMatch, tick, System.currentTimeMillis(), side,
+                left, right, rallyHits, rallyTicks);
+        index(i);
+    }
+
+    // Nimmt Datensatz i in den Index auf
+    private void index(int i) {
+        long id = journal.getMatchId(i);
+        if (matchCount == 0 || matchIds[matchCount - 1] != id) {
+            if (matchCount == matchIds.length) {
+                matchIds   = Arrays.copyOf(matchIds, matchCount * 2);
+                matchFirst = Arrays.copyOf(matchFirst, matchCount * 2);
+            }
+            matchIds[matchCount]   = id;
+            matchFirst[matchCount] = i;
+            matchCount++;
+        }
+        long key = ((long) journal.getRallyHits(i) << 32) | (journal.getRallyTicks(i) & 0xFFFFFFFFL);
+        if (heapSize < TOP_RALLIES) {
+            heapKey[heapSize]    = key;
+            heapRecord[heapSize] = i;
+            siftUp(heapSize++);
+        } else if (key > heapKey[0]) {
+            heapKey[0]    = key;
+            heapRecord[0] = i;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Alle Matches, die im Zeitraum [fromMillis, toMillis) begonnen haben.
+     */
+    public List<MatchSummary> matchesBetween(long fromMillis, long toMillis) {
+        int from = lowerBound(fromMillis);
+        int to   = lowerBound(toMillis);
+        List<MatchSummary> result = new ArrayList<>(Math.max(0, to - from));
+        for (int m = from; m < to; m++) {
+            result.add(summary(m));
+        }
+        return result;
+    }
+
+    /**
+     * Die n längsten Ballwechsel (nach Paddle-Treffern, dann Dauer), längster zuerst.
+     * @param n höchstens TOP_RALLIES
+     */
+    public List<ScoreEvent> longestRallies(int n) {
+        // Heap-Positionen absteigend nach Schlüssel sortieren, bei Gleichstand ältester zuerst
+        Integer[] order = new Integer[heapSize];
+        for (int k = 0; k < heapSize; k++) order[k] = k;
+        Arrays.sort(order, (a, b) -> heapKey[a] != heapKey[b]
+                ? Long.compare(heapKey[b], heapKey[a])
+                : Integer.compare(heapRecord[a], heapRecord[b]));
+        int limit = Math.min(n, heapSize);
+        List<ScoreEvent> result = new ArrayList<>(limit);
+        for (int k = 0; k < limit; k++) {
+            result.add(journal.get(heapRecord[order[k]]));
+        }
+        return result;
+    }
+
+    /**
+     * Alle Punkte eines Matches in Reihenfolge.
+     */
+    public List<ScoreEvent> points(MatchSummary match) {
+        List<ScoreEvent> result = new ArrayList<>(match.getPoints());
+        for (int i = match.getFirstRecord(); i <= match.getLastRecord(); i++) {
+            result.add(journal.get(i));
+        }
+        return result;
+    }
+
+    public int getMatchCount()       { return matchCount; }
+    public ScoreJournal getJournal() { return journal; }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private MatchSummary summary(int m) {
+        int first = matchFirst[m];
+        int last  = m + 1 < matchCount ? matchFirst[m + 1] - 1 : journal.size() - 1;
+        ScoreEvent end = journal.get(last);
+        return new MatchSummary(matchIds[m], first, last, end.getLeftScore(), end.getRightScore());
+    }
+
+    // Erstes Match mit Kennung >= millis
+    private int lowerBound(long millis) {
+        int lo = 0, hi = matchCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (matchIds[mid] < millis) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private void siftUp(int k) {
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (heapKey[parent] <= heapKey[k]) break;
+            swap(k, parent);
+            k = parent;
+        }
+    }
+
+    private void siftDown(int k) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) child++;
+            if (heapKey[k] <= heapKey[child]) break;
+            swap(k, child);
+            k = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = heapKey[a];   heapKey[a] = heapKey[b];       heapKey[b] = key;
+        int rec  = heapRecord[a]; heapRecord[a] = heapRecord[b]; heapRecord[b] = rec;
+    }
+
+    /**
+     * Abfragen auf der Kommandozeile:
+     *   MatchHistory <datei> matches [yyyy-MM-dd]   Matches eines Tages (ohne Datum: alle)
+     *   MatchHistory <datei> rallies [n]            n längste Ballwechsel
+     */
+    public static void main(String[] args) throws IOException, ParseException {
+        if (args.length < 2) {
+            System.err.println("Aufruf: MatchHistory <datei> matches [yyyy-MM-dd] | rallies [n]");
+            return;
+        }
+        try (MatchHistory history = new MatchHistory(Paths.get(args[0]))) {
+            if (args[1].equals("rallies")) {
+                int n = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+                for (ScoreEvent e : history.longestRallies(n)) {
+                    System.out.printf("%tF %<tT  %s%n", e.getTimestamp(), e);
+                }
+            } else {
+                long from = 0, to = Long.MAX_VALUE;
+                if (args.length > 2) {
+                    from = new SimpleDateFormat("yyyy-MM-dd").parse(args[2]).getTime();
+                    to   = from + 24L * 60 * 60 * 1000;
+                }
+                for (MatchSummary m : history.matchesBetween(from, to)) {
+                    System.out.println(m);
+                }
+            }
+        }
+    }
+}
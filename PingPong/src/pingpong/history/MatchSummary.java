@@ -0,0 +1,34 @@
+package pingpong.history;
+
+/**
+ * MatchSummary beschreibt ein Match im ScoreJournal: Kennung (Startzeit),
+ * Bereich der Datensätze und Endstand.
+ */
+public class MatchSummary {
+    private final long matchId;
+    private final int firstRecord;
+    private final int lastRecord;
+    private final int leftScore;
+    private final int rightScore;
+
+    MatchSummary(long matchId, int firstRecord, int lastRecord, int leftScore, int rightScore) {
+        this.matchId     = matchId;
+        this.firstRecord = firstRecord;
+        this.lastRecord  = lastRecord;
+        this.leftScore   = leftScore;
+        this.rightScore  = rightScore;
+    }
+
+    // Startzeit des Matches in ms seit 1970 (gleich der Kennung)
+    public long getMatchId()      { return matchId; }
+    public int getFirstRecord()   { return firstRecord; }
+    public int getLastRecord()    { return lastRecord; }
+    public int getPoints()        { return lastRecord - firstRecord + 1; }
+    public int getLeftScore()     { return leftScore; }
+    public int getRightScore()    { return rightScore; }
+
+    @Override
+    public String toString() {
+        return String.format("%tF %<tT  %d:%d  (%d Punkte)", matchId, leftScore, rightScore, getPoints());
+    }
+}
@@ -0,0 +1,198 @@
+package pingpong.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import pingpong.model.ScoreEvent;
+
+/**
+ * ScoreJournal ist eine Datei, an die jeder Punkt als Datensatz fester Länge
+ * angehängt wird. Die Datei ist in den Speicher eingeblendet (memory-mapped):
+ * Anhängen ist nur ein paar Schreibzugriffe in den Puffer, das Betriebssystem
+ * schreibt die Seiten selbst auf die Platte. Lesen holt nur die benötigten
+ * Datensätze, die Historie landet nie komplett im Heap.
+ *
+ * Kopf (HEADER_SIZE Bytes): int MAGIC "PPSJ", int VERSION, int RECORD_SIZE, int Anzahl
+ * Datensatz (RECORD_SIZE Bytes):
+ *   long matchId, long timestamp, long tick,
+ *   int links, int rechts, int rallyHits, int rallyTicks, int Seite, int COMMIT
+ * COMMIT wird als letztes geschrieben, danach die Anzahl im Kopf. Nach einem Absturz
+ * zwischen beiden Schritten wird der Datensatz beim Öffnen trotzdem gefunden.
+ *
+ * Nur ein Schreiber pro Datei: das Journal sperrt die Datei exklusiv, solange es
+ * offen ist; ein zweites Öffnen (anderes Spiel, Benchmark, Abfrage) schlägt fehl.
+ * Nicht threadsicher.
+ */
+public class ScoreJournal implements Closeable {
+    private static final int MAGIC       = 0x5050534A;   // "PPSJ"
+    private static final int VERSION     = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int COUNT_POS   = 12;
+    public static final int RECORD_SIZE  = 48;
+    private static final int COMMIT      = 0x5C0BE7;
+    // Einblendung wächst in Schritten dieser Größe (Datensätze, ~384 KB)
+    private static final int GROW_RECORDS = 8192;
+    private static final int PAGE_SIZE    = 4096;
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private int capacity;
+    private int count;
+
+    /**
+     * Öffnet das Journal oder legt es an.
+     * @param file Journal-Datei (Ordner wird angelegt)
+     * @throws IOException wenn die Datei kein Journal ist oder schon geöffnet ist
+     */
+    public ScoreJournal(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (!lock(channel)) {
+                throw new IOException("Journal wird schon benutzt: " + file);
+            }
+            boolean fresh = channel.size() == 0;
+            long stored = fresh ? 0 : (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+            remap((int) Math.max(GROW_RECORDS, stored + GROW_RECORDS));
+            if (fresh) {
+                map.putInt(0, MAGIC);
+                map.putInt(4, VERSION);
+                map.putInt(8, RECORD_SIZE);
+                map.putInt(COUNT_POS, 0);
+            } else if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION
+                    || map.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Keine ScoreJournal-Datei: " + file);
+            }
+            count = map.getInt(COUNT_POS);
+            // Datensätze nach einem Absturz übernehmen (COMMIT gesetzt, Anzahl noch alt)
+            while (count < stored && map.getInt(offset(count) + RECORD_SIZE - 4) == COMMIT) {
+                count++;
+            }
+            map.putInt(COUNT_POS, count);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sorgt dafür, dass mindestens records weitere Punkte ohne Vergrößern
+     * der Einblendung passen (das Vergrößern dauert einige Millisekunden und
+     * soll z.B. vor Matchbeginn statt mitten im Spiel passieren).
+     */
+    public void reserve(int records) throws IOException {
+        if (count + records > capacity) {
+            remap(count + records + GROW_RECORDS);
+        }
+        // Seiten einmal anfassen, damit der erste Schreibzugriff keinen Seitenfehler auslöst
+        int end = offset(Math.min(count + records, capacity));
+        for (int pos = offset(count); pos < end; pos += PAGE_SIZE) {
+            map.put(pos, map.get(pos));
+        }
+    }
+
+    /**
+     * Hängt einen Punkt an. Erzeugt keine Objekte; nur wenn die Reserve
+     * aufgebraucht ist, wird die Einblendung vergrößert.
+     * @return Nummer des Datensatzes
+     */
+    public int append(long matchId, long tick, long timestamp, int side,
+                      int left, int right, int rallyHits, int rallyTicks) throws IOException {
+        if (count == capacity) {
+            remap(capacity + GROW_RECORDS);
+        }
+        int pos = offset(count);
+        map.putLong(pos,      matchId);
+        map.putLong(pos + 8,  timestamp);
+        map.putLong(pos + 16, tick);
+        map.putInt(pos + 24,  left);
+        map.putInt(pos + 28,  right);
+        map.putInt(pos + 32,  rallyHits);
+        map.putInt(pos + 36,  rallyTicks);
+        map.putInt(pos + 40,  side);
+        map.putInt(pos + 44,  COMMIT);
+        map.putInt(COUNT_POS, count + 1);
+        return count++;
+    }
+
+    /**
+     * Hängt einen ScoreEvent an.
+     * @return Nummer des Datensatzes
+     */
+    public int append(ScoreEvent e) throws IOException {
+        return append(e.getMatchId(), e.getTick(), e.getTimestamp(), e.getSide(),
+                e.getLeftScore(), e.getRightScore(), e.getRallyHits(), e.getRallyTicks());
+    }
+
+    /**
+     * Liest einen Datensatz als ScoreEvent.
+     * @param i Nummer zwischen 0 und size()-1
+     */
+    public ScoreEvent get(int i) {
+        int pos = checkedOffset(i);
+        return new ScoreEvent(map.getLong(pos), map.getLong(pos + 16), map.getLong(pos + 8),
+                map.getInt(pos + 40), map.getInt(pos + 24), map.getInt(pos + 28),
+                map.getInt(pos + 32), map.getInt(pos + 36));
+    }
+
+    // Einzelne Felder ohne Objekt (für den Index)
+    public long getMatchId(int i)   { return map.getLong(checkedOffset(i)); }
+    public long getTimestamp(int i) { return map.getLong(checkedOffset(i) + 8); }
+    public int getRallyHits(int i)  { return map.getInt(checkedOffset(i) + 32); }
+    public int getRallyTicks(int i) { return map.getInt(checkedOffset(i) + 36); }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Schreibt alle geänderten Seiten sofort auf die Platte (sonst macht das
+     * Betriebssystem es irgendwann selbst).
+     */
+    public void force() {
+        map.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        // Die Datei bleibt so lang wie die Einblendung; gültig ist nur die Anzahl im Kopf
+        map = null;
+        channel.close();
+    }
+
+    // Exklusive Sperre für die ganze Datei, gilt bis channel.close()
+    private static boolean lock(FileChannel channel) throws IOException {
+        try {
+            FileLock lock = channel.tryLock();
+            return lock != null;
+        } catch (OverlappingFileLockException e) {
+            return false;           // in dieser JVM schon offen
+        }
+    }
+
+    private void remap(int records) throws IOException {
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) records * RECORD_SIZE);
+        capacity = records;
+    }
+
+    private static int offset(int i) {
+        return HEADER_SIZE + i * RECORD_SIZE;
+    }
+
+    private int checkedOffset(int i) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("Datensatz " + i + " von " + count);
+        }
+        return offset(i);
+    }
+}
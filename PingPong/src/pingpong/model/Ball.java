@@ -2,26 +2,52 @@ package pingpong.model;
 
 import javafx.geometry.Bounds;
 import javafx.scene.shape.Circle;
-import pingpong.config.GameConfig;
+import pingpong.engine.MatchState;
 
 /**
  * Die Ball-Klasse repräsentiert den runden Ball im Spiel.
- * Sie verwaltet Position, Geschwindigkeit und Reset-Verhalten.
+ * Position und Geschwindigkeit liegen im MatchState; der Ball
+ * leitet Änderungen dorthin weiter und zeichnet den Circle aus dem Zustand.
  */
 public class Ball implements Moveable {
     // Grafische Darstellung des Balls (JavaFX Circle)
     private final Circle view;
-    // Geschwindigkeit in X- und Y-Richtung
-    private double vx, vy;
-    // Basis-Geschwindigkeit, einstellbar über GameConfig
-    private double speed = GameConfig.BALL_SPEED;
+    // Spielzustand, in dem Position und Geschwindigkeit gespeichert sind
+    private final MatchState state;
 
     /**
      * Konstruktor speichert die Referenz auf den Circle, der den Ball darstellt.
      * @param view Ein Circle-Objekt aus der UI, das den Ball zeigt
+     * @param state Spielzustand, aus dem der Ball gelesen wird
      */
-    public Ball(Circle view) {
-        this.view = view;
+    public Ball(Circle view, MatchState state) {
+        this.view  = view;
+        this.state = state;
+    }
+
+    /**
+     * render überträgt die Ballposition aus dem MatchState auf den Circle.
+     */
+    public void render() {
+        render(1.0);
+    }
+
+    /**
+     * Zeichnet den Ball zwischen vorletztem und letztem Physik-Schritt.
+     * @param alpha Interpolationsfaktor (0 = vorheriger, 1 = aktueller Schritt)
+     */
+    public void render(double alpha) {
+        render(state, alpha);
+    }
+
+    /**
+     * Zeichnet den Ball aus einem anderen Zustand (z.B. Snapshot beim Zurückspulen).
+     * @param from Zustand, aus dem gelesen wird
+     * @param alpha Interpolationsfaktor (0 = vorheriger, 1 = aktueller Schritt)
+     */
+    public void render(MatchState from, double alpha) {
+        view.setCenterX(from.getBallX(alpha));
+        view.setCenterY(from.getBallY(alpha));
     }
 
     /**
@@ -29,7 +55,7 @@ public class Ball implements Moveable {
      * @param speed Neue Geschwindigkeit in Einheiten pro Sekunde
      */
     public void setSpeed(double speed) {
-        this.speed = speed;
+        state.setBallSpeed(speed);
     }
 
     /**
@@ -39,10 +65,9 @@ public class Ball implements Moveable {
      */
     @Override
     public void update(double deltaTime) {
-        // X-Position um vx * Zeit verschieben
-        view.setCenterX(view.getCenterX() + vx * deltaTime);
-        // Y-Position um vy * Zeit verschieben
-        view.setCenterY(view.getCenterY() + vy * deltaTime);
+        // Position um v * Zeit verschieben und anzeigen
+        state.moveBall(deltaTime);
+        render();
     }
 
     /**
@@ -53,14 +78,9 @@ public class Ball implements Moveable {
      */
     @Override
     public void reset(double centerX, double centerY) {
-        // Ball in die Spielfeldmitte setzen
-        view.setCenterX(centerX);
-        view.setCenterY(centerY);
-        // Zufälliger Startwinkel zwischen 0 und 360 Grad (0 bis 2π)
-        double angle = Math.random() * 2 * Math.PI;
-        // vx und vy so berechnen, dass die Gesamtgeschwindigkeit = speed ist
-        vx = Math.cos(angle) * speed;
-        vy = Math.sin(angle) * speed;
+        // Ball in die Spielfeldmitte setzen, Zufallswinkel wählt der MatchState
+        state.serve(centerX, centerY);
+        render();
     }
 
     /**
@@ -77,7 +97,7 @@ public class Ball implements Moveable {
      */
     @Override
     public void reverseX() {
-        vx = -vx;
+        state.reverseBallX();
     }
 
     /**
@@ -85,7 +105,7 @@ public class Ball implements Moveable {
      */
     @Override
     public void reverseY() {
-        vy = -vy;
+        state.reverseBallY();
     }
 }
 
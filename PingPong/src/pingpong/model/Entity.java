@@ -0,0 +1,100 @@
+package pingpong.model;
+
+import javafx.geometry.Bounds;
+import javafx.scene.shape.Circle;
+import pingpong.engine.EntityPool;
+
+/**
+ * Entity ist die bewegliche Spielfigur für einen Platz im EntityPool
+ * (Power-up usw.). Wie Ball und Paddle liegen die Werte nicht im Objekt,
+ * sondern im Pool; die Entity leitet nur weiter und zeichnet ihren Circle.
+ * Pro Platz gibt es genau eine Entity samt Knoten, sie wird für jedes neue
+ * Objekt auf diesem Platz wiederverwendet (siehe EntityNodes).
+ */
+public class Entity implements Moveable {
+    // CSS-Klassen pro Art (Index = EntityPool-Typ)
+    private static final String[] STYLE = {"", "power-fast", "power-slow"};
+
+    // Grafische Darstellung (JavaFX Circle)
+    private final Circle view;
+    // Pool und Platz, den diese Entity zeigt
+    private final EntityPool pool;
+    private final int slot;
+    // Zuletzt gesetzte Art, die CSS-Klasse wird nur bei Änderung getauscht
+    private int shownType;
+
+    /**
+     * @param view Circle, der das Objekt zeigt
+     * @param pool Pool mit den Werten
+     * @param slot Platz im Pool
+     */
+    public Entity(Circle view, EntityPool pool, int slot) {
+        this.view = view;
+        this.pool = pool;
+        this.slot = slot;
+    }
+
+    /**
+     * Überträgt Art, Position und Größe aus dem Pool auf den Circle.
+     * @param alpha Interpolationsfaktor (0 = vorheriger, 1 = aktueller Schritt)
+     */
+    public void render(double alpha) {
+        render(pool, alpha);
+    }
+
+    /**
+     * Zeichnet denselben Platz aus einem anderen Pool gleicher Größe
+     * (z.B. Snapshot beim Zurückspulen).
+     * @param from Pool, aus dem gelesen wird
+     * @param alpha Interpolationsfaktor (0 = vorheriger, 1 = aktueller Schritt)
+     */
+    public void render(EntityPool from, double alpha) {
+        int type = from.getType(slot);
+        if (type != shownType) {
+            view.getStyleClass().remove(STYLE[shownType]);
+            if (type > 0 && type < STYLE.length) {
+                view.getStyleClass().add(STYLE[type]);
+            }
+            shownType = type;
+        }
+        view.setRadius(from.getRadius(slot));
+        view.setCenterX(from.getX(slot, alpha));
+        view.setCenterY(from.getY(slot, alpha));
+    }
+
+    /**
+     * Verschiebt das Objekt um v * deltaTime und zeichnet es.
+     */
+    @Override
+    public void update(double deltaTime) {
+        pool.move(slot, deltaTime);
+        render(1.0);
+    }
+
+    /**
+     * Setzt das Objekt ohne Interpolation auf (centerX, centerY).
+     */
+    @Override
+    public void reset(double centerX, double centerY) {
+        pool.setPosition(slot, centerX, centerY);
+        render(1.0);
+    }
+
+    @Override
+    public Bounds getBounds() {
+        return view.getBoundsInParent();
+    }
+
+    @Override
+    public void reverseX() {
+        pool.reverseX(slot);
+    }
+
+    @Override
+    public void reverseY() {
+        pool.reverseY(slot);
+    }
+
+    public Circle getView()  { return view; }
+    public int getSlot()     { return slot; }
+}
@@ -0,0 +1,94 @@
+package pingpong.model;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Circle;
+import pingpong.engine.EntityPool;
+
+/**
+ * Pool der JavaFX-Knoten zum EntityPool: Platz i des Pools wird immer vom
+ * selben Circle gezeigt. Ein Knoten wird beim ersten Gebrauch seines Platzes
+ * einmal angelegt und in die Gruppe gehängt, danach nur noch ein- und
+ * ausgeblendet. Während des Matches ändert sich der Szenengraph also nicht
+ * (kein Hinzufügen/Entfernen, kein neues CSS-Styling ganzer Knoten).
+ */
+public class EntityNodes {
+    private final Group layer;
+    private final EntityPool pool;
+    // Spielfigur samt Knoten pro Platz (null = Platz noch nie benutzt)
+    private final Entity[] entities;
+    private int created, visible;
+
+    /**
+     * @param layer Gruppe im logischen Spielfeld, in die die Knoten kommen
+     * @param pool Pool, dessen Objekte gezeigt werden
+     */
+    public EntityNodes(Group layer, EntityPool pool) {
+        this.layer    = layer;
+        this.pool     = pool;
+        this.entities = new Entity[pool.getCapacity()];
+    }
+
+    /**
+     * Zeigt alle lebenden Objekte und blendet die übrigen Knoten aus.
+     * @param alpha Interpolationsfaktor (0 = vorheriger, 1 = aktueller Schritt)
+     */
+    public void render(double alpha) {
+        render(pool, alpha);
+    }
+
+    /**
+     * Zeigt die Objekte eines anderen Pools gleicher Größe mit denselben Knoten
+     * (z.B. Snapshot beim Zurückspulen).
+     */
+    public void render(EntityPool from, double alpha) {
+        visible = 0;
+        for (int slot = 0; slot < entities.length && slot < from.getCapacity(); slot++) {
+            Entity e = entities[slot];
+            if (from.isLive(slot)) {
+                if (e == null) {
+                    e = create(slot);
+                }
+                if (!e.getView().isVisible()) {
+                    e.getView().setVisible(true);
+                }
+                e.render(from, alpha);
+                visible++;
+            } else if (e != null && e.getView().isVisible()) {
+                e.getView().setVisible(false);
+            }
+        }
+    }
+
+    /**
+     * Legt die Knoten für alle Plätze schon vorab (ausgeblendet) an,
+     * damit auch der erste Gebrauch eines Platzes im Match nichts erzeugt.
+     */
+    public void prefill() {
+        for (int slot = 0; slot < entities.length; slot++) {
+            if (entities[slot] == null) {
+                create(slot).getView().setVisible(false);
+            }
+        }
+    }
+
+    private Entity create(int slot) {
+        Circle view = new Circle();
+        view.getStyleClass().add("entity");
+        view.setManaged(false);
+        layer.getChildren().add(view);
+        created++;
+        return entities[slot] = new Entity(view, pool, slot);
+    }
+
+    /**
+     * Spielfigur eines Platzes (null, solange er noch nie benutzt wurde).
+     */
+    public Entity get(int slot) {
+        return entities[slot];
+    }
+
+    // Angelegte Knoten, davon gerade sichtbar bzw. ausgeblendet im Pool
+    public int getNodeCount()    { return created; }
+    public int getVisibleCount() { return visible; }
+    public int getPooledCount()  { return created - visible; }
+}
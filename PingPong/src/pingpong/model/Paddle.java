@@ -2,25 +2,53 @@ package pingpong.model;
 
 import javafx.geometry.Bounds;
 import javafx.scene.shape.Rectangle;
-import pingpong.config.GameConfig;
+import pingpong.engine.MatchState;
 
 /**
  * Paddle repräsentiert ein sichtbares Paddle im Spiel, das sich hoch und runter bewegt.
+ * Position und Geschwindigkeit liegen im MatchState, das Rechteck zeigt sie nur an.
  */
 public class Paddle implements Moveable {
     // Rechteck aus der UI, das unser Paddle darstellt
     private final Rectangle view;
-    // Geschwindigkeit in Y-Richtung (positiv = nach unten)
-    private double vy;
-    // Basisgeschwindigkeit, anpassbar über GameConfig
-    private double speed = GameConfig.PADDLE_SPEED;
+    // Spielzustand und Seite (MatchState.LEFT oder MatchState.RIGHT)
+    private final MatchState state;
+    private final int side;
 
     /**
      * Konstruktor speichert die Ansicht (Rectangle) für das Paddle
      * param view JavaFX-Rectangle, das das Paddle im UI ist
+     * param state Spielzustand, aus dem das Paddle gelesen wird
+     * param side MatchState.LEFT oder MatchState.RIGHT
      */
-    public Paddle(Rectangle view) {
-        this.view = view;
+    public Paddle(Rectangle view, MatchState state, int side) {
+        this.view  = view;
+        this.state = state;
+        this.side  = side;
+    }
+
+    /**
+     * render überträgt die Paddle-Position aus dem MatchState auf das Rechteck.
+     */
+    public void render() {
+        render(1.0);
+    }
+
+    /**
+     * Zeichnet das Paddle zwischen vorletztem und letztem Physik-Schritt.
+     * param alpha Interpolationsfaktor (0 = vorheriger, 1 = aktueller Schritt)
+     */
+    public void render(double alpha) {
+        render(state, alpha);
+    }
+
+    /**
+     * Zeichnet das Paddle aus einem anderen Zustand (z.B. Snapshot beim Zurückspulen).
+     * param from Zustand, aus dem gelesen wird
+     * param alpha Interpolationsfaktor (0 = vorheriger, 1 = aktueller Schritt)
+     */
+    public void render(MatchState from, double alpha) {
+        view.setLayoutY(from.getPaddleY(side, alpha));
     }
 
     /**
@@ -28,7 +56,7 @@ public class Paddle implements Moveable {
      * @param speed Neue Geschwindigkeit in Einheiten pro Sekunde
      */
     public void setSpeed(double speed) {
-        this.speed = speed;
+        state.setPaddleSpeed(speed);
     }
 
     /**
@@ -39,28 +67,19 @@ public class Paddle implements Moveable {
      * param dir Die gewünschte Richtung aus der Direction-Enum
      */
     public void setDirection(Direction dir) {
-        switch (dir) {
-            case UP:    vy = -speed; break;
-            case DOWN:  vy =  speed; break;
-            default:    vy = 0;        
-        }
+        state.setPaddleDirection(side, dir);
     }
 
     /**
      * update wird jeden Frame aufgerufen und verschiebt das Paddle.
-     * Wir ändern dabei das LayoutY und stellen sicher, dass es im Spielbereich bleibt.
+     * Der MatchState hält es im Spielbereich, danach wird das LayoutY gesetzt.
      * param deltaTime Zeit in Sekunden seit dem letzten Frame
      */
     @Override
     public void update(double deltaTime) {
-        // Neue Y-Position berechnen
-        double newY = view.getLayoutY() + vy * deltaTime;
-        // Spielfeldgrenzen herausfinden
-        Bounds b = view.getParent().getLayoutBounds();
-        // Sicherstellen, dass Paddle nicht über den Rand hinausgeht
-        newY = Math.max(0, Math.min(newY, b.getHeight() - view.getHeight()));
-        // Position im UI setzen
-        view.setLayoutY(newY);
+        // Neue Y-Position im Zustand berechnen und im UI setzen
+        state.movePaddle(side, deltaTime);
+        render();
     }
 
     /**
@@ -71,7 +90,8 @@ public class Paddle implements Moveable {
     @Override
     public void reset(double centerX, double centerY) {
         // Paddle so setzen, dass es mittig an centerY ausgerichtet ist
-        view.setLayoutY(centerY - view.getHeight() / 2.0);
+        state.resetPaddle(side, centerY);
+        render();
     }
 
     /**
@@ -3,12 +3,24 @@ package pingpong.model;
 /**
  * ScoreEvent speichert den Punktestand beider Spieler, wenn ein Punkt erzielt wird
  * Dies ist nützlich, um z.B in einer Event-Liste die Entwicklung des Spiels zu protokollieren
+ * Zusätzlich: zu welchem Match und Tick der Punkt gehört, wann er fiel und wie lang
+ * der Ballwechsel davor war (wird im ScoreJournal dauerhaft gespeichert)
  */
 public class ScoreEvent {
     // Punktzahl des linken Spielers
     private final int leftScore;
     // Punktzahl des rechten Spielers
     private final int rightScore;
+    // Match-Kennung (Startzeit in ms), 0 wenn unbekannt
+    private final long matchId;
+    // Physik-Tick und Uhrzeit (ms seit 1970) des Punkts
+    private final long tick;
+    private final long timestamp;
+    // Seite, die gepunktet hat (MatchState.LEFT/RIGHT), -1 wenn unbekannt
+    private final int side;
+    // Länge des Ballwechsels: Paddle-Treffer und Dauer in Ticks
+    private final int rallyHits;
+    private final int rallyTicks;
 
     /**
      * Konstruktor legt die Punktzahlen fest, wenn ein Punkt erzielt wird
@@ -16,8 +28,30 @@ public class ScoreEvent {
      * param r Punkte des rechten Spielers
      */
     public ScoreEvent(int l, int r) {
+        this(0, 0, 0, -1, l, r, 0, 0);
+    }
+
+    /**
+     * Konstruktor mit allen Angaben für das Journal
+     * param matchId Kennung des Matches
+     * param tick Physik-Tick des Punkts
+     * param timestamp Uhrzeit in ms seit 1970
+     * param side Seite, die gepunktet hat
+     * param l Punkte des linken Spielers
+     * param r Punkte des rechten Spielers
+     * param rallyHits Paddle-Treffer im Ballwechsel
+     * param rallyTicks Dauer des Ballwechsels in Ticks
+     */
+    public ScoreEvent(long matchId, long tick, long timestamp, int side,
+                      int l, int r, int rallyHits, int rallyTicks) {
+        this.matchId    = matchId;
+        this.tick       = tick;
+        this.timestamp  = timestamp;
+        this.side       = side;
         this.leftScore  = l;
         this.rightScore = r;
+        this.rallyHits  = rallyHits;
+        this.rallyTicks = rallyTicks;
     }
 
     /**
@@ -35,4 +69,17 @@ public class ScoreEvent {
     public int getRightScore() {
         return rightScore;
     }
-}
\ No newline at end of file
+
+    public long getMatchId()    { return matchId; }
+    public long getTick()       { return tick; }
+    public long getTimestamp()  { return timestamp; }
+    public int getSide()        { return side; }
+    public int getRallyHits()   { return rallyHits; }
+    public int getRallyTicks()  { return rallyTicks; }
+
+    @Override
+    public String toString() {
+        return String.format("%d:%d (tick %d, rally %d hits / %d ticks)",
+                leftScore, rightScore, tick, rallyHits, rallyTicks);
+    }
+}
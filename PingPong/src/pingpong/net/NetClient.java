@@ -0,0 +1,367 @@
+package pingpong.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import pingpong.diag.LatencyHistogram;
+import pingpong.engine.MatchState;
+import pingpong.model.Direction;
+
+/**
+ * NetClient verbindet sich mit einem NetServer und liefert die Positionen zum Zeichnen.
+ *
+ * - Eigenes Paddle: wird lokal sofort bewegt (Vorhersage). Kommt ein Snapshot,
+ *   wird die Server-Position übernommen und alle Eingaben, die der Server noch
+ *   nicht verarbeitet hat, erneut angewendet (Abgleich).
+ * - Ball und gegnerisches Paddle: werden zwischen zwei Snapshots interpoliert,
+ *   etwas in der Vergangenheit (INTERP_SNAPSHOTS Snapshot-Abstände), damit
+ *   Jitter und einzelne verlorene Pakete nicht sichtbar werden.
+ *
+ * Hat der Server den Client vergessen (z.B. nach Zeitüberschreitung), antwortet
+ * er mit REJECT; der Client beginnt dann von vorn und meldet sich mit HELLO neu an.
+ *
+ * update() muss regelmäßig aus einem Thread aufgerufen werden (z.B. jedem Frame).
+ * Alle Koordinaten sind Server-Einheiten (siehe getFieldWidth/Height).
+ */
+public class NetClient implements Closeable {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int INPUTS = 1024;                 // Ringpuffer Eingaben (Zweierpotenz)
+    private static final long HELLO_INTERVAL = 200_000_000L;
+    private static final double INTERP_SNAPSHOTS = 2.0;
+    // Ball höchstens so lange über den letzten Snapshot hinaus fortschreiben
+    private static final double MAX_EXTRAPOLATION_S = 0.1;
+
+    private final PacketLink link;
+    private final InetSocketAddress server;
+    private final ByteBuffer in  = ByteBuffer.allocate(NetProtocol.MAX_PACKET);
+    private final ByteBuffer out = ByteBuffer.allocate(NetProtocol.MAX_PACKET);
+
+    // Aus WELCOME
+    private int side = -1;
+    private int tickRate, ticksPerSnapshot;
+    private double stepSeconds;
+    private long sendIntervalNanos;
+    // Nur für die Vorhersage des eigenen Paddles
+    private final MatchState predicted = new MatchState();
+
+    // Eingaben pro Tick (Direction.ordinal), Nummer des letzten und des bestätigten
+    private final byte[] inputs = new byte[INPUTS];
+    private int inputSeq;
+    private int ackedInput;
+    private Direction direction = Direction.NONE;
+    private boolean directionChanged;
+
+    // Empfangene Snapshots (dekodiert), nach Tick einsortiert
+    private final float[][] snaps = new float[NetProtocol.HISTORY][NetProtocol.FIELDS];
+    private final int[] snapTick = new int[NetProtocol.HISTORY];
+    private final long[] snapArrival = new long[NetProtocol.HISTORY];
+    private final float[] empty = new float[NetProtocol.FIELDS];
+    private int latestTick = -1;
+    private long latestArrival;
+    private long lastEcho;
+
+    // Zeitsteuerung
+    private long lastUpdate, lastHello, lastSend;
+    private long accumulator;
+
+    // Anzeigewerte nach sample()
+    private double viewBallX, viewBallY;
+    private final double[] viewPaddleY = new double[2];
+    private final int[] viewScore = new int[2];
+
+    // Messwerte
+    private final LatencyHistogram rtt = new LatencyHistogram("rtt");
+    private final LatencyHistogram correction = new LatencyHistogram("prediction error (milli-units)");
+    private long fullSnapshots, deltaSnapshots, staleSnapshots, missingBase, rejects;
+    private final long startNanos = System.nanoTime();
+
+    // Hilfsfelder für die Lauflängenkodierung
+    private final int[] runCount = new int[NetProtocol.MAX_RUNS];
+    private final byte[] runDir  = new byte[NetProtocol.MAX_RUNS];
+
+    /**
+     * @param server Adresse des Servers
+     * @param conditions künstliche Störungen für ausgehende Pakete
+     */
+    public NetClient(InetSocketAddress server, NetConditions conditions) throws IOException {
+        this.server = server;
+        this.link   = new PacketLink(new InetSocketAddress(0), conditions);
+        java.util.Arrays.fill(snapTick, -1);
+    }
+
+    /**
+     * Setzt die Richtung des eigenen Paddles (gilt ab dem nächsten Tick).
+     */
+    public void setDirection(Direction dir) {
+        if (dir != direction) {
+            direction = dir;
+            directionChanged = true;
+        }
+    }
+
+    /**
+     * Pakete lesen, fällige Ticks vorausberechnen, Eingaben senden.
+     * @param now aktuelle Zeit in ns (System.nanoTime)
+     */
+    public void update(long now) throws IOException {
+        receiveAll(now);
+        if (side < 0) {
+            if (now - lastHello >= HELLO_INTERVAL) {
+                lastHello = now;
+                out.clear();
+                out.put(NetProtocol.HELLO);
+                out.flip();
+                link.send(out, server);
+            }
+            link.flush();
+            return;
+        }
+        // Feste Ticks wie auf dem Server, je Tick eine Eingabe
+        accumulator += Math.min(now - lastUpdate, 250_000_000L);
+        lastUpdate = now;
+        long stepNanos = 1_000_000_000L / tickRate;
+        while (accumulator >= stepNanos) {
+            accumulator -= stepNanos;
+            inputSeq++;
+            inputs[inputSeq & (INPUTS - 1)] = (byte) direction.ordinal();
+            predicted.setPaddleDirection(side, direction);
+            predicted.movePaddle(side, stepSeconds);
+        }
+        // Bei Richtungswechsel früher senden (höchstens 4x Snapshot-Rate), sonst mit Snapshot-Rate
+        long sinceSend = now - lastSend;
+        if ((directionChanged && sinceSend >= sendIntervalNanos / 4) || sinceSend >= sendIntervalNanos) {
+            directionChanged = false;
+            lastSend = now;
+            sendInputs(now);
+        }
+        link.flush();
+    }
+
+    private void receiveAll(long now) throws IOException {
+        while (link.receive(in) != null) {
+            if (!in.hasRemaining()) continue;
+            byte type = in.get();
+            if (type == NetProtocol.WELCOME && side < 0) {
+                readWelcome(now);
+            } else if (type == NetProtocol.SNAPSHOT && side >= 0) {
+                readSnapshot(now);
+            } else if (type == NetProtocol.REJECT && side >= 0) {
+                disconnect();
+            }
+        }
+    }
+
+    // Zurück in den Zustand vor WELCOME; update() schickt dann wieder HELLO
+    private void disconnect() {
+        side = -1;
+        inputSeq = 0;
+        ackedInput = 0;
+        directionChanged = false;
+        accumulator = 0;
+        latestTick = -1;
+        lastEcho = 0;
+        java.util.Arrays.fill(snapTick, -1);
+        rejects++;
+    }
+
+    private void readWelcome(long now) {
+        side = in.get();
+        tickRate = in.getInt();
+        int snapshotRate = in.getInt();
+        ticksPerSnapshot  = Math.max(1, tickRate / snapshotRate);
+        stepSeconds       = 1.0 / tickRate;
+        sendIntervalNanos = 1_000_000_000L / snapshotRate;
+        predicted.setField(in.getDouble(), in.getDouble());
+        predicted.setBallRadius(in.getDouble());
+        predicted.setPaddleGeometry(in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble());
+        predicted.setPaddleSpeed(in.getDouble());
+        predicted.centerPositions();
+        lastUpdate = now;
+    }
+
+    private void readSnapshot(long now) {
+        int tick    = in.getInt();
+        int base    = in.getInt();
+        int ack     = in.getInt();
+        long echo   = in.getLong();
+        long holdUs = in.getInt();
+        if (tick <= latestTick) {
+            staleSnapshots++;       // überholt oder doppelt
+            return;
+        }
+        float[] baseFields = empty;
+        if (base >= 0) {
+            int baseSlot = slotOf(base);
+            if (snapTick[baseSlot] != base) {
+                missingBase++;
+                return;
+            }
+            baseFields = snaps[baseSlot];
+            deltaSnapshots++;
+        } else {
+            fullSnapshots++;
+        }
+        int slot = slotOf(tick);
+        NetProtocol.readFields(in, baseFields, snaps[slot]);
+        snapTick[slot]    = tick;
+        snapArrival[slot] = now;
+        latestTick    = tick;
+        latestArrival = now;
+
+        // Laufzeit: jetzt - Sendezeit - Wartezeit auf dem Server
+        if (echo > lastEcho) {
+            lastEcho = echo;
+            rtt.record(now - echo - holdUs * 1000);
+        }
+        reconcile(ack, snaps[slot][NetProtocol.PADDLE_Y + side]);
+    }
+
+    // Server-Position übernehmen und unbestätigte Eingaben erneut anwenden
+    private void reconcile(int ack, float serverY) {
+        if (ack > ackedInput) {
+            ackedInput = ack;
+        }
+        double before = predicted.getPaddleY(side);
+        predicted.setPaddleY(side, serverY);
+        int from = Math.max(ackedInput + 1, inputSeq - INPUTS + 1);
+        for (int seq = from; seq <= inputSeq; seq++) {
+            predicted.setPaddleDirection(side, DIRECTIONS[inputs[seq & (INPUTS - 1)]]);
+            predicted.movePaddle(side, stepSeconds);
+        }
+        predicted.setPaddleDirection(side, direction);
+        correction.record((long) (Math.abs(predicted.getPaddleY(side) - before) * 1000));
+    }
+
+    // Alle unbestätigten Eingaben als Läufe (gleiche Richtung) schicken, neueste zuerst gesammelt
+    private void sendInputs(long now) throws IOException {
+        int oldest = Math.max(ackedInput + 1, inputSeq - INPUTS + 1);
+        int runs = 0;
+        int seq = inputSeq;
+        while (seq >= oldest && runs < NetProtocol.MAX_RUNS) {
+            byte dir = inputs[seq & (INPUTS - 1)];
+            int count = 0;
+            while (seq >= oldest && inputs[seq & (INPUTS - 1)] == dir && count < 0xFFFF) {
+                count++;
+                seq--;
+            }
+            runCount[runs] = count;
+            runDir[runs]   = dir;
+            runs++;
+        }
+        out.clear();
+        out.put(NetProtocol.INPUT);
+        out.putLong(now);
+        out.putInt(latestTick);
+        out.putInt(seq + 1);                // erste enthaltene Eingabe
+        out.put((byte) runs);
+        for (int r = runs - 1; r >= 0; r--) {
+            out.putShort((short) runCount[r]);
+            out.put(runDir[r]);
+        }
+        out.flip();
+        link.send(out, server);
+    }
+
+    /**
+     * Berechnet die Anzeigewerte für den Zeitpunkt now (siehe getView...).
+     */
+    public void sample(long now) {
+        if (side < 0 || latestTick < 0) {
+            return;
+        }
+        // Geschätzter Server-Tick jetzt, dann etwas in die Vergangenheit
+        double serverTickNow = latestTick + (now - latestArrival) * 1e-9 * tickRate;
+        double t = serverTickNow - INTERP_SNAPSHOTS * ticksPerSnapshot;
+        int a = -1, b = -1;
+        for (int i = 0; i < NetProtocol.HISTORY; i++) {
+            int tick = snapTick[i];
+            if (tick < 0) continue;
+            if (tick <= t && (a < 0 || tick > snapTick[a])) a = i;
+            if (tick > t && (b < 0 || tick < snapTick[b])) b = i;
+        }
+        if (a >= 0 && b >= 0) {
+            float[] sa = snaps[a], sb = snaps[b];
+            double f = (t - snapTick[a]) / (snapTick[b] - snapTick[a]);
+            viewBallX = lerp(sa[NetProtocol.BALL_X], sb[NetProtocol.BALL_X], f);
+            viewBallY = lerp(sa[NetProtocol.BALL_Y], sb[NetProtocol.BALL_Y], f);
+            // Sprung (Aufschlag nach Punkt) nicht interpolieren
+            if (sa[NetProtocol.SCORE] != sb[NetProtocol.SCORE] || sa[NetProtocol.SCORE + 1] != sb[NetProtocol.SCORE + 1]) {
+                viewBallX = f < 1 ? sa[NetProtocol.BALL_X] : sb[NetProtocol.BALL_X];
+                viewBallY = f < 1 ? sa[NetProtocol.BALL_Y] : sb[NetProtocol.BALL_Y];
+            }
+            int other = 1 - side;
+            viewPaddleY[other] = lerp(sa[NetProtocol.PADDLE_Y + other], sb[NetProtocol.PADDLE_Y + other], f);
+        } else {
+            // Kein neuerer Snapshot: vom letzten aus kurz fortschreiben
+            int last = a >= 0 ? a : b;
+            float[] s = snaps[last];
+            double dt = Math.max(0, Math.min((t - snapTick[last]) / tickRate, MAX_EXTRAPOLATION_S));
+            viewBallX = s[NetProtocol.BALL_X] + s[NetProtocol.BALL_VX] * dt;
+            viewBallY = s[NetProtocol.BALL_Y] + s[NetProtocol.BALL_VY] * dt;
+            viewPaddleY[1 - side] = s[NetProtocol.PADDLE_Y + 1 - side];
+        }
+        viewPaddleY[side] = predicted.getPaddleY(side);
+        // Spielstand immer vom neuesten Snapshot
+        float[] latest = snaps[slotOf(latestTick)];
+        viewScore[0] = (int) latest[NetProtocol.SCORE];
+        viewScore[1] = (int) latest[NetProtocol.SCORE + 1];
+    }
+
+    private static double lerp(double a, double b, double f) {
+        return a + (b - a) * f;
+    }
+
+    private int slotOf(int tick) {
+        return (tick / ticksPerSnapshot) & (NetProtocol.HISTORY - 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        link.close();
+    }
+
+    public boolean isConnected()           { return side >= 0; }
+    public boolean hasSnapshot()           { return latestTick >= 0; }
+    public int getSide()                   { return side; }
+    public int getTickRate()               { return tickRate; }
+    public int getServerTick()             { return latestTick; }
+
+    // Spielfeld in Server-Einheiten
+    public double getFieldWidth()          { return predicted.getWidth(); }
+    public double getFieldHeight()         { return predicted.getHeight(); }
+    public double getPaddleHeight()        { return predicted.getPaddleHeight(); }
+
+    // Anzeigewerte (nach sample())
+    public double getViewBallX()           { return viewBallX; }
+    public double getViewBallY()           { return viewBallY; }
+    public double getViewPaddleY(int s)    { return viewPaddleY[s]; }
+    public int getViewScore(int s)         { return viewScore[s]; }
+
+    // Messwerte
+    public LatencyHistogram getRtt()        { return rtt; }
+    public LatencyHistogram getCorrection() { return correction; }
+    public long getFullSnapshots()          { return fullSnapshots; }
+    public long getDeltaSnapshots()         { return deltaSnapshots; }
+    public long getStaleSnapshots()         { return staleSnapshots; }
+    public long getMissingBase()            { return missingBase; }
+    public long getRejects()                { return rejects; }
+    public long getBytesSent()              { return link.getBytesSent(); }
+    public long getBytesReceived()          { return link.getBytesReceived(); }
+    public long getPacketsSent()            { return link.getPacketsSent(); }
+    public long getPacketsReceived()        { return link.getPacketsReceived(); }
+    public int getUnackedInputs()           { return inputSeq - ackedInput; }
+
+    /**
+     * Kurzer Text mit RTT und Bandbreite (für HUD und Konsole).
+     */
+    public String summary() {
+        double secs = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        return String.format("rtt p50 %.1f ms p99 %.1f ms | up %.2f KB/s down %.2f KB/s | "
+                        + "snapshots %d delta / %d full, %d stale, %d without base | correction p99 %.3f",
+                rtt.percentile(0.5) / 1e6, rtt.percentile(0.99) / 1e6,
+                getBytesSent() / secs / 1024, getBytesReceived() / secs / 1024,
+                deltaSnapshots, fullSnapshots, staleSnapshots, missingBase,
+                correction.percentile(0.99) / 1e3);
+    }
+}
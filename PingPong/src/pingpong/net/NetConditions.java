@@ -0,0 +1,43 @@
+package pingpong.net;
+
+/**
+ * Künstliche Netzbedingungen für Tests über Loopback: jedes ausgehende Paket
+ * wird um latency ± jitter verzögert oder mit Wahrscheinlichkeit loss verworfen.
+ * Durch Jitter können Pakete sich überholen, wie im echten Netz.
+ */
+public class NetConditions {
+    /** Keine Störung: Pakete gehen sofort raus. */
+    public static final NetConditions NONE = new NetConditions(0, 0, 0, 0);
+
+    private final double latencyMs;
+    private final double jitterMs;
+    private final double loss;
+    private final long seed;
+
+    /**
+     * @param latencyMs Verzögerung pro Richtung in ms
+     * @param jitterMs maximale zufällige Abweichung (±) in ms
+     * @param loss Verlustrate zwischen 0 und 1
+     * @param seed Startwert für Zufall (gleicher Seed → gleiche Verluste)
+     */
+    public NetConditions(double latencyMs, double jitterMs, double loss, long seed) {
+        this.latencyMs = latencyMs;
+        this.jitterMs  = jitterMs;
+        this.loss      = loss;
+        this.seed      = seed;
+    }
+
+    public double getLatencyMs() { return latencyMs; }
+    public double getJitterMs()  { return jitterMs; }
+    public double getLoss()      { return loss; }
+    public long getSeed()        { return seed; }
+
+    public boolean isNone() {
+        return latencyMs <= 0 && jitterMs <= 0 && loss <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("latency %.0f ms ± %.0f ms, loss %.1f %%", latencyMs, jitterMs, loss * 100);
+    }
+}
@@ -0,0 +1,75 @@
+package pingpong.net;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.locks.LockSupport;
+import pingpong.config.GameConfig;
+import pingpong.model.Direction;
+
+/**
+ * NetDemo startet Server und zwei computergesteuerte Clients über Loopback,
+ * mit künstlicher Latenz, Jitter und Paketverlust, und gibt danach RTT,
+ * Bandbreite, Snapshot-Statistik und Vorhersagefehler aus.
+ *
+ * Aufruf: java -cp PingPong.jar pingpong.net.NetDemo [latenzMs jitterMs verlust sekunden tickRate]
+ *   z.B.  ... NetDemo 40 10 0.05 20 1000
+ */
+public final class NetDemo {
+    private NetDemo() { }
+
+    public static void main(String[] args) throws Exception {
+        double latency = args.length > 0 ? Double.parseDouble(args[0]) : 30;
+        double jitter  = args.length > 1 ? Double.parseDouble(args[1]) : 10;
+        double loss    = args.length > 2 ? Double.parseDouble(args[2]) : 0.02;
+        double seconds = args.length > 3 ? Double.parseDouble(args[3]) : 10;
+        int tickRate   = args.length > 4 ? Integer.parseInt(args[4]) : GameConfig.TICK_RATE;
+
+        // Störungen in beide Richtungen: Server → Client und Client → Server
+        NetServer server = new NetServer(0, tickRate, 60, new NetConditions(latency, jitter, loss, 1));
+        server.start();
+        InetSocketAddress addr = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+        NetClient[] clients = {
+            new NetClient(addr, new NetConditions(latency, jitter, loss, 2)),
+            new NetClient(addr, new NetConditions(latency, jitter, loss, 3))
+        };
+        System.out.printf("Loopback-Test: %s, %d Hz, %.0f s%n",
+                new NetConditions(latency, jitter, loss, 0), tickRate, seconds);
+
+        long end = System.nanoTime() + (long) (seconds * 1e9);
+        while (System.nanoTime() < end) {
+            long now = System.nanoTime();
+            for (NetClient c : clients) {
+                c.update(now);
+                c.sample(now);
+                steer(c);
+            }
+            LockSupport.parkNanos(1_000_000L);
+        }
+
+        for (NetClient c : clients) {
+            System.out.printf("Client %s: %s%n", c.getSide() == 0 ? "links " : "rechts", c.summary());
+            System.out.printf("         Pakete %d raus / %d rein, unbestätigte Eingaben %d%n",
+                    c.getPacketsSent(), c.getPacketsReceived(), c.getUnackedInputs());
+        }
+        long snaps = server.getFullSnapshots() + server.getDeltaSnapshots();
+        System.out.printf("Server: %d Snapshots (%d delta), im Mittel %.1f Bytes/Snapshot (voll: %d Bytes), "
+                        + "%d Eingaben verworfen%n",
+                snaps, server.getDeltaSnapshots(), server.getBytesSent() / (double) Math.max(1, snaps),
+                FULL_SNAPSHOT_BYTES, server.getDroppedInputs());
+        System.out.printf("Spielstand %d : %d%n", clients[0].getViewScore(0), clients[0].getViewScore(1));
+        for (NetClient c : clients) c.close();
+        server.close();
+    }
+
+    // Typ + 3 int + long + int + Maske + 8 float + 2 short
+    private static final int FULL_SNAPSHOT_BYTES = 1 + 12 + 8 + 4 + 2 + 8 * 4 + 2 * 2;
+
+    // Einfacher Spieler: Paddle-Mitte zum (angezeigten) Ball hin
+    private static void steer(NetClient c) {
+        if (!c.hasSnapshot()) return;
+        double center = c.getViewPaddleY(c.getSide()) + c.getPaddleHeight() / 2;
+        double dy = c.getViewBallY() - center;
+        double dead = c.getPaddleHeight() / 4;
+        c.setDirection(dy > dead ? Direction.DOWN : dy < -dead ? Direction.UP : Direction.NONE);
+    }
+}
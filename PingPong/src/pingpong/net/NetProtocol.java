@@ -0,0 +1,101 @@
+package pingpong.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Paketformat des Netzwerkmodus (UDP, Big Endian). Jedes Paket beginnt mit
+ * einem Typ-Byte:
+ *
+ * HELLO    Client → Server   (nur Typ) bis WELCOME kommt
+ * WELCOME  Server → Client   byte Seite, int Tick-Rate, int Snapshot-Rate,
+ *                            double Breite, Höhe, Ballradius, linkes X, rechtes X,
+ *                            Paddle-Breite, Paddle-Höhe, Paddle-Geschwindigkeit
+ * INPUT    Client → Server   long Sendezeit (ns, Client-Uhr), int letzter Snapshot-Tick,
+ *                            int erste Eingabe-Nr., byte Anzahl Läufe,
+ *                            je Lauf: short Anzahl Ticks, byte Direction
+ * SNAPSHOT Server → Client   int Tick, int Basis-Tick (-1 = vollständig),
+ *                            int letzte verarbeitete Eingabe-Nr. dieses Clients,
+ *                            long zurückgeschickte Sendezeit, int Haltezeit (µs),
+ *                            short Maske, danach nur die geänderten Felder
+ * REJECT   Server → Client   (nur Typ) Antwort auf INPUT eines unbekannten Absenders,
+ *                            z.B. nach Zeitüberschreitung; der Client meldet sich neu an
+ *
+ * Eingaben: Der Client erzeugt pro Tick eine Eingabe (eine Direction) mit
+ * fortlaufender Nummer. Er schickt alle noch nicht bestätigten Eingaben
+ * lauflängenkodiert mit, so überstehen sie Paketverlust ohne Nachfrage.
+ * Der Server nimmt pro Seite höchstens eine Eingabe je vergangenem Server-Tick
+ * an (plus etwas Spielraum für Jitter und Verlust); was darüber hinausgeht,
+ * wird bestätigt, aber verworfen.
+ *
+ * Snapshots: Felder werden gegen den letzten Snapshot kodiert, den der
+ * Client bestätigt hat (INPUT enthält dessen Tick). Nur Felder, die sich
+ * geändert haben, stehen im Paket (Bit i der Maske = Feld i).
+ */
+final class NetProtocol {
+    static final byte HELLO    = 1;
+    static final byte WELCOME  = 2;
+    static final byte INPUT    = 3;
+    static final byte SNAPSHOT = 4;
+    static final byte REJECT   = 5;
+
+    // Felder eines Snapshots (als float, Spielstände als short)
+    static final int BALL_X      = 0;
+    static final int BALL_Y      = 1;
+    static final int BALL_VX     = 2;
+    static final int BALL_VY     = 3;
+    static final int PADDLE_Y    = 4;   // + Seite
+    static final int PADDLE_VY   = 6;   // + Seite
+    static final int SCORE       = 8;   // + Seite
+    static final int FIELDS      = 10;
+
+    static final int MAX_PACKET  = 512;
+    // Höchstens so viele Läufe pro INPUT-Paket (ältere Eingaben verfallen dann)
+    static final int MAX_RUNS    = 32;
+    // Anzahl gemerkter Snapshots für die Delta-Kodierung (Zweierpotenz)
+    static final int HISTORY     = 64;
+
+    private NetProtocol() { }
+
+    private static boolean isScore(int field) {
+        return field >= SCORE;
+    }
+
+    /**
+     * Schreibt die Felder von cur; mit base nur die abweichenden.
+     * @param base Basis-Snapshot oder null für einen vollständigen Snapshot
+     */
+    static void writeFields(ByteBuffer out, float[] cur, float[] base) {
+        int maskPos = out.position();
+        out.putShort((short) 0);
+        int mask = 0;
+        for (int f = 0; f < FIELDS; f++) {
+            if (base != null && Float.floatToIntBits(cur[f]) == Float.floatToIntBits(base[f])) {
+                continue;
+            }
+            mask |= 1 << f;
+            if (isScore(f)) {
+                out.putShort((short) cur[f]);
+            } else {
+                out.putFloat(cur[f]);
+            }
+        }
+        out.putShort(maskPos, (short) mask);
+    }
+
+    /**
+     * Liest die Felder eines Snapshots; fehlende Felder kommen aus base.
+     * @param base Basis-Snapshot (bei vollständigen Snapshots ignoriert)
+     */
+    static void readFields(ByteBuffer in, float[] base, float[] out) {
+        int mask = in.getShort() & 0xFFFF;
+        for (int f = 0; f < FIELDS; f++) {
+            if ((mask & (1 << f)) == 0) {
+                out[f] = base[f];
+            } else if (isScore(f)) {
+                out[f] = in.getShort();
+            } else {
+                out[f] = in.getFloat();
+            }
+        }
+    }
+}
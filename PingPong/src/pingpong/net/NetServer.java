@@ -0,0 +1,347 @@
+package pingpong.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.LockSupport;
+import pingpong.config.GameConfig;
+import pingpong.engine.MatchState;
+import pingpong.model.Direction;
+
+/**
+ * NetServer rechnet das Match autoritativ und verteilt Snapshots an zwei Clients.
+ * Ein eigener Thread liest den nicht blockierenden DatagramChannel, rechnet den
+ * Ball in festen Ticks und schickt mit der Snapshot-Rate delta-kodierte Zustände.
+ *
+ * Die Paddles bewegt der Server nicht selbst: jede Eingabe eines Clients steht
+ * für genau einen Tick Bewegung und wird beim Empfang ausgeführt. Dadurch kann
+ * der Client sein eigenes Paddle exakt vorausberechnen (siehe NetClient).
+ * Damit ein Client sein Paddle nicht schneller bewegt als die Server-Uhr läuft,
+ * bekommt jede Seite pro Tick ein Guthaben für eine Eingabe (höchstens
+ * INPUT_SLACK_SECONDS angespart); Eingaben ohne Guthaben werden verworfen.
+ * Das Match beginnt, sobald beide Seiten belegt sind.
+ *
+ * Start als eigener Prozess:
+ *   java -cp PingPong.jar pingpong.net.NetServer [port] [tickRate] [latenzMs jitterMs verlust]
+ */
+public class NetServer implements Closeable {
+    public static final int DEFAULT_PORT = 47800;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // Ohne Pakete so lange → Platz wird frei
+    private static final long TIMEOUT_NANOS = 5_000_000_000L;
+    // So viele Sekunden Eingaben darf ein Client auf einmal nachliefern (Jitter, Paketverlust)
+    private static final double INPUT_SLACK_SECONDS = 0.25;
+
+    private final PacketLink link;
+    private final MatchState state = new MatchState();
+    private final int tickRate;
+    private final int ticksPerSnapshot;
+    private final double stepSeconds;
+    private final long stepNanos;
+    private final int maxInputCredit;
+
+    // Pro Seite: Adresse, letzte Nachricht, letzte verarbeitete Eingabe,
+    // letzter bestätigter Snapshot, zuletzt erhaltene Sendezeit (für RTT)
+    private final SocketAddress[] clients = new SocketAddress[2];
+    private final long[] lastHeard   = new long[2];
+    private final int[] lastInput    = new int[2];
+    private final int[] inputCredit  = new int[2];
+    private final int[] ackedTick    = {-1, -1};
+    private final long[] echoNanos   = new long[2];
+    private final long[] echoArrival = new long[2];
+
+    // Zuletzt verschickte Snapshots (für die Delta-Kodierung)
+    private final float[][] history = new float[NetProtocol.HISTORY][NetProtocol.FIELDS];
+    private final int[] historyTick = new int[NetProtocol.HISTORY];
+
+    private final ByteBuffer in  = ByteBuffer.allocate(NetProtocol.MAX_PACKET);
+    private final ByteBuffer out = ByteBuffer.allocate(NetProtocol.MAX_PACKET);
+    private int serverTick;
+    private boolean playing;
+    private long fullSnapshots, deltaSnapshots, droppedInputs;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param port UDP-Port (0 = beliebig)
+     * @param tickRate Physik-Schritte pro Sekunde
+     * @param snapshotRate Snapshots pro Sekunde an jeden Client
+     * @param conditions künstliche Störungen für ausgehende Pakete
+     */
+    public NetServer(int port, int tickRate, int snapshotRate, NetConditions conditions) throws IOException {
+        this.link             = new PacketLink(new InetSocketAddress(port), conditions);
+        this.tickRate         = tickRate;
+        this.ticksPerSnapshot = Math.max(1, tickRate / snapshotRate);
+        this.stepSeconds      = 1.0 / tickRate;
+        this.stepNanos        = 1_000_000_000L / tickRate;
+        this.maxInputCredit   = Math.max(1, (int) Math.round(INPUT_SLACK_SECONDS * tickRate));
+        java.util.Arrays.fill(historyTick, -1);
+        state.setBallSpeed(GameConfig.BALL_SPEED);
+        state.setPaddleSpeed(GameConfig.PADDLE_SPEED);
+        state.centerPositions();
+    }
+
+    /**
+     * Startet den Server-Thread.
+     */
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "net-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getPort() throws IOException {
+        return link.getLocalAddress().getPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        link.close();
+    }
+
+    // Schleife: Pakete lesen, fällige Ticks rechnen, bis zum nächsten Tick schlafen
+    private void run() {
+        long next = System.nanoTime();
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                receiveAll(now);
+                int steps = 0;
+                while (now >= next && steps < 8) {
+                    tick(now);
+                    next += stepNanos;
+                    steps++;
+                }
+                if (now - next > 8 * stepNanos) {
+                    next = now;     // zu weit hinten: nicht endlos nachholen
+                }
+                link.flush();
+                // Höchstens 1 ms schlafen, damit verzögerte Pakete pünktlich rausgehen
+                LockSupport.parkNanos(Math.min(next - System.nanoTime(), 1_000_000L));
+            }
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Netzwerk-Server beendet: " + e.getMessage());
+            }
+        }
+    }
+
+    private void receiveAll(long now) throws IOException {
+        SocketAddress from;
+        while ((from = link.receive(in)) != null) {
+            if (!in.hasRemaining()) continue;
+            byte type = in.get();
+            int side = sideOf(from);
+            if (type == NetProtocol.HELLO) {
+                if (side < 0) {
+                    side = join(from, now);
+                }
+                if (side >= 0) {
+                    sendWelcome(side);
+                }
+            } else if (type == NetProtocol.INPUT && side >= 0 && in.remaining() >= 17) {
+                lastHeard[side] = now;
+                readInput(side, now);
+            } else if (type == NetProtocol.INPUT && side < 0) {
+                sendReject(from);   // z.B. nach Zeitüberschreitung: Client soll sich neu anmelden
+            }
+        }
+    }
+
+    private int sideOf(SocketAddress addr) {
+        for (int s = 0; s < 2; s++) {
+            if (addr.equals(clients[s])) return s;
+        }
+        return -1;
+    }
+
+    // Freie Seite vergeben (-1, wenn beide belegt)
+    private int join(SocketAddress addr, long now) {
+        for (int s = 0; s < 2; s++) {
+            if (clients[s] == null) {
+                clients[s]   = addr;
+                lastHeard[s] = now;
+                lastInput[s] = 0;
+                inputCredit[s] = 0;
+                ackedTick[s] = -1;
+                echoNanos[s] = 0;
+                state.setPaddleDirection(s, Direction.NONE);
+                state.resetPaddle(s, state.getHeight() / 2);
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    private void sendWelcome(int side) throws IOException {
+        out.clear();
+        out.put(NetProtocol.WELCOME);
+        out.put((byte) side);
+        out.putInt(tickRate);
+        out.putInt(tickRate / ticksPerSnapshot);
+        out.putDouble(state.getWidth());
+        out.putDouble(state.getHeight());
+        out.putDouble(state.getBallRadius());
+        out.putDouble(state.getPaddleX(MatchState.LEFT));
+        out.putDouble(state.getPaddleX(MatchState.RIGHT));
+        out.putDouble(state.getPaddleWidth());
+        out.putDouble(state.getPaddleHeight());
+        out.putDouble(state.getPaddleSpeed());
+        out.flip();
+        link.send(out, clients[side]);
+    }
+
+    private void sendReject(SocketAddress to) throws IOException {
+        out.clear();
+        out.put(NetProtocol.REJECT);
+        out.flip();
+        link.send(out, to);
+    }
+
+    // Neue Eingaben ausführen: jede Eingabe = ein Tick Paddle-Bewegung, soweit Guthaben da ist
+    private void readInput(int side, long now) {
+        long sent   = in.getLong();
+        int ack     = in.getInt();
+        int seq     = in.getInt();
+        int runs    = in.get() & 0xFF;
+        if (sent > echoNanos[side]) {
+            echoNanos[side]   = sent;
+            echoArrival[side] = now;
+        }
+        if (ack > ackedTick[side]) {
+            ackedTick[side] = ack;
+        }
+        for (int r = 0; r < runs && in.remaining() >= 3; r++) {
+            int count = in.getShort() & 0xFFFF;
+            int dir   = in.get();
+            if (dir < 0 || dir >= DIRECTIONS.length) return;
+            // Schon verarbeitete Eingaben überspringen; Lücken (verlorene Eingaben) auch
+            int skip = Math.max(0, Math.min(count, lastInput[side] - seq + 1));
+            if (skip < count) {
+                int accepted = Math.min(count - skip, inputCredit[side]);
+                inputCredit[side] -= accepted;
+                droppedInputs += count - skip - accepted;
+                state.setPaddleDirection(side, DIRECTIONS[dir]);
+                for (int k = 0; k < accepted; k++) {
+                    state.movePaddle(side, stepSeconds);
+                }
+                // Verworfene gelten als verarbeitet, der Client gleicht sein Paddle dann an
+                lastInput[side] = seq + count - 1;
+            }
+            seq += count;
+        }
+    }
+
+    private void tick(long now) throws IOException {
+        for (int s = 0; s < 2; s++) {
+            if (clients[s] != null && now - lastHeard[s] > TIMEOUT_NANOS) {
+                clients[s] = null;   // Client weg
+            }
+            if (clients[s] != null && inputCredit[s] < maxInputCredit) {
+                inputCredit[s]++;   // eine Eingabe pro Server-Tick
+            }
+        }
+        boolean full = clients[0] != null && clients[1] != null;
+        if (full && !playing) {
+            state.startMatch(System.nanoTime());
+        }
+        playing = full;
+        if (playing) {
+            // Ball rechnen; Paddles bewegen sich nur durch Eingaben
+            state.savePrevious();
+            state.advanceBall(stepSeconds);
+            state.endStep();
+        }
+        serverTick++;
+        if (serverTick % ticksPerSnapshot == 0) {
+            sendSnapshots(now);
+        }
+    }
+
+    private void sendSnapshots(long now) throws IOException {
+        int slot = (serverTick / ticksPerSnapshot) & (NetProtocol.HISTORY - 1);
+        float[] cur = history[slot];
+        cur[NetProtocol.BALL_X]  = (float) state.getBallX();
+        cur[NetProtocol.BALL_Y]  = (float) state.getBallY();
+        cur[NetProtocol.BALL_VX] = (float) state.getBallVx();
+        cur[NetProtocol.BALL_VY] = (float) state.getBallVy();
+        for (int s = 0; s < 2; s++) {
+            cur[NetProtocol.PADDLE_Y + s]  = (float) state.getPaddleY(s);
+            cur[NetProtocol.PADDLE_VY + s] = (float) state.getPaddleVy(s);
+            cur[NetProtocol.SCORE + s]     = state.getScore(s);
+        }
+        historyTick[slot] = serverTick;
+
+        for (int s = 0; s < 2; s++) {
+            if (clients[s] == null) continue;
+            // Basis: letzter vom Client bestätigter Snapshot, falls noch gemerkt
+            int base = ackedTick[s];
+            float[] baseFields = null;
+            if (base >= 0 && base < serverTick) {
+                int baseSlot = (base / ticksPerSnapshot) & (NetProtocol.HISTORY - 1);
+                if (historyTick[baseSlot] == base) {
+                    baseFields = history[baseSlot];
+                }
+            }
+            out.clear();
+            out.put(NetProtocol.SNAPSHOT);
+            out.putInt(serverTick);
+            out.putInt(baseFields != null ? base : -1);
+            out.putInt(lastInput[s]);
+            out.putLong(echoNanos[s]);
+            out.putInt((int) Math.min(Integer.MAX_VALUE, (now - echoArrival[s]) / 1000));
+            NetProtocol.writeFields(out, cur, baseFields);
+            out.flip();
+            link.send(out, clients[s]);
+            if (baseFields != null) deltaSnapshots++; else fullSnapshots++;
+        }
+    }
+
+    // Messwerte (vom Server-Thread geschrieben, grob aktuell)
+    public long getBytesSent()      { return link.getBytesSent(); }
+    public long getBytesReceived()  { return link.getBytesReceived(); }
+    public long getPacketsSent()    { return link.getPacketsSent(); }
+    public long getFullSnapshots()  { return fullSnapshots; }
+    public long getDeltaSnapshots() { return deltaSnapshots; }
+    // Eingaben über dem Guthaben (zu schnelle Client-Uhr oder manipulierter Client)
+    public long getDroppedInputs()  { return droppedInputs; }
+    public int getTickRate()        { return tickRate; }
+
+    /**
+     * Startet einen eigenständigen Server.
+     * @param args [port] [tickRate] [latenzMs jitterMs verlust]
+     */
+    public static void main(String[] args) throws Exception {
+        int port     = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int tickRate = args.length > 1 ? Integer.parseInt(args[1]) : GameConfig.TICK_RATE;
+        NetConditions cond = args.length > 4
+                ? new NetConditions(Double.parseDouble(args[2]), Double.parseDouble(args[3]),
+                                    Double.parseDouble(args[4]), System.nanoTime())
+                : NetConditions.NONE;
+        NetServer server = new NetServer(port, tickRate, 60, cond);
+        server.start();
+        System.out.printf("PingPong-Server auf UDP-Port %d, %d Hz, %s%n", server.getPort(), tickRate, cond);
+        long lastBytes = 0;
+        while (true) {
+            Thread.sleep(5000);
+            long bytes = server.getBytesSent();
+            System.out.printf("Snapshots: %d voll, %d delta, %.1f KB/s raus, %d Eingaben verworfen%n",
+                    server.getFullSnapshots(), server.getDeltaSnapshots(), (bytes - lastBytes) / 5.0 / 1024,
+                    server.getDroppedInputs());
+            lastBytes = bytes;
+        }
+    }
+}
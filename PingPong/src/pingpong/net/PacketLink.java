@@ -0,0 +1,125 @@
+package pingpong.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * PacketLink ist ein nicht blockierender DatagramChannel mit Zählern für
+ * Pakete und Bytes und optional künstlichen Netzbedingungen (NetConditions)
+ * für ausgehende Pakete. Verzögerte Pakete werden in flush() verschickt,
+ * sobald sie fällig sind. Nur von einem Thread benutzen.
+ */
+class PacketLink implements Closeable {
+    // Verzögertes Paket (Puffer werden wiederverwendet)
+    private static final class Pending implements Comparable<Pending> {
+        final ByteBuffer data = ByteBuffer.allocate(NetProtocol.MAX_PACKET);
+        SocketAddress target;
+        long due;
+        long order;
+
+        @Override
+        public int compareTo(Pending o) {
+            return due != o.due ? Long.compare(due, o.due) : Long.compare(order, o.order);
+        }
+    }
+
+    private final DatagramChannel channel;
+    private final NetConditions conditions;
+    private final Random random;
+    private final PriorityQueue<Pending> delayed = new PriorityQueue<>();
+    private final ArrayDeque<Pending> free = new ArrayDeque<>();
+    private long order;
+
+    private long packetsSent, packetsReceived, bytesSent, bytesReceived, packetsLost;
+
+    /**
+     * Öffnet einen UDP-Kanal.
+     * @param bind lokale Adresse (Port 0 = beliebig)
+     * @param conditions künstliche Störungen für ausgehende Pakete
+     */
+    PacketLink(InetSocketAddress bind, NetConditions conditions) throws IOException {
+        this.channel    = DatagramChannel.open();
+        this.conditions = conditions;
+        this.random     = new Random(conditions.getSeed());
+        channel.configureBlocking(false);
+        channel.bind(bind);
+    }
+
+    /**
+     * Verschickt den Inhalt von packet (position..limit), ggf. verzögert.
+     */
+    void send(ByteBuffer packet, SocketAddress target) throws IOException {
+        packetsSent++;
+        bytesSent += packet.remaining();
+        if (conditions.isNone()) {
+            channel.send(packet, target);
+            return;
+        }
+        if (random.nextDouble() < conditions.getLoss()) {
+            packetsLost++;
+            return;
+        }
+        double delayMs = conditions.getLatencyMs()
+                + (random.nextDouble() * 2 - 1) * conditions.getJitterMs();
+        Pending p = free.isEmpty() ? new Pending() : free.poll();
+        p.data.clear();
+        p.data.put(packet);
+        p.data.flip();
+        p.target = target;
+        p.due    = System.nanoTime() + (long) (Math.max(0, delayMs) * 1e6);
+        p.order  = order++;
+        delayed.add(p);
+        flush();
+    }
+
+    /**
+     * Verschickt alle fälligen verzögerten Pakete.
+     */
+    void flush() throws IOException {
+        long now = System.nanoTime();
+        while (!delayed.isEmpty() && delayed.peek().due <= now) {
+            Pending p = delayed.poll();
+            channel.send(p.data, p.target);
+            free.add(p);
+        }
+    }
+
+    /**
+     * Holt ein Paket ab, falls eins da ist.
+     * @param into Puffer, wird vorher geleert und danach zum Lesen umgedreht
+     * @return Absender oder null, wenn nichts da ist
+     */
+    SocketAddress receive(ByteBuffer into) throws IOException {
+        into.clear();
+        SocketAddress from = channel.receive(into);
+        into.flip();
+        if (from != null) {
+            packetsReceived++;
+            bytesReceived += into.remaining();
+        }
+        return from;
+    }
+
+    InetSocketAddress getLocalAddress() throws IOException {
+        return (InetSocketAddress) channel.getLocalAddress();
+    }
+
+    // Zähler (Bytes ohne UDP/IP-Kopf)
+    long getPacketsSent()     { return packetsSent; }
+    long getPacketsReceived() { return packetsReceived; }
+    long getBytesSent()       { return bytesSent; }
+    long getBytesReceived()   { return bytesReceived; }
+    long getPacketsLost()     { return packetsLost; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
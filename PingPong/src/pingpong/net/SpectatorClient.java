@@ -0,0 +1,140 @@
+package pingpong.net;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import pingpong.diag.LatencyHistogram;
+import pingpong.engine.MatchState;
+
+/**
+ * SpectatorClient empfängt die Frames eines SpectatorServer und schreibt den
+ * jeweils neuesten in einen Anzeige-Zustand (getView()), aus dem die
+ * normalen Views zeichnen. Es wird nichts simuliert.
+ *
+ * update() liest alles, was angekommen ist, ohne zu blockieren; von mehreren
+ * Frames wird nur der letzte dekodiert. update() muss regelmäßig aus einem
+ * Thread aufgerufen werden (z.B. jedem Frame).
+ */
+public class SpectatorClient implements Closeable {
+    private final SocketChannel channel;
+    // Empfangspuffer; nach dem Header auf bufferBytes vergrößert
+    private ByteBuffer in = ByteBuffer.allocate(1024);
+    private int bufferBytes;
+    private final MatchState view = new MatchState(0);
+    private boolean hasHeader;
+
+    // Zuletzt angezeigter Frame
+    private long tick = -1;
+    private int remainingSeconds;
+
+    // Messwerte
+    private final LatencyHistogram lag = new LatencyHistogram("spectator lag");
+    private long framesReceived, framesShown, bytesReceived;
+
+    /**
+     * Verbindet sich mit einem Host (blockierend), danach wird nicht blockierend gelesen.
+     * @param host Adresse des SpectatorServer
+     * @param receiveBuffer Empfangspuffer des Betriebssystems in Bytes (0 = Standard),
+     *                      klein z.B. für Lasttests mit langsamen Zuschauern
+     */
+    public SpectatorClient(InetSocketAddress host, int receiveBuffer) throws IOException {
+        channel = SocketChannel.open();
+        if (receiveBuffer > 0) {
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBuffer);
+        }
+        channel.connect(host);
+        channel.configureBlocking(false);
+    }
+
+    public SpectatorClient(InetSocketAddress host) throws IOException {
+        this(host, 0);
+    }
+
+    /**
+     * Liest angekommene Daten und zeigt den neuesten vollständigen Frame an.
+     * @return true, wenn ein neuer Frame angezeigt wird
+     * @throws EOFException wenn der Host die Verbindung beendet hat
+     */
+    public boolean update() throws IOException {
+        long shownBefore = framesShown;
+        int n;
+        while ((n = channel.read(in)) > 0) {
+            bytesReceived += n;
+            parse();
+        }
+        if (n < 0) {
+            throw new EOFException("Host hat die Übertragung beendet");
+        }
+        return framesShown != shownBefore;
+    }
+
+    // Vollständige Nachrichten durchgehen; vom letzten Frame nur die Stelle merken und nur ihn dekodieren
+    private void parse() throws IOException {
+        in.flip();
+        int frameAt = -1;
+        while (in.remaining() >= 4) {
+            int length = in.getInt(in.position());
+            if (length > Math.max(in.capacity(), bufferBytes) - 4) {
+                throw new IOException("Nachricht zu groß: " + length + " Bytes");
+            }
+            if (in.remaining() - 4 < length) {
+                break;
+            }
+            int end = in.position() + 4 + length;
+            in.getInt();
+            byte type = in.get();
+            if (type == SpectatorProtocol.HEADER) {
+                // Platz für mehrere Frames pro read()
+                bufferBytes = 4 * SpectatorProtocol.readHeader(in, view);
+                hasHeader = true;
+            } else if (type == SpectatorProtocol.FRAME && hasHeader) {
+                framesReceived++;
+                frameAt = in.position();
+            }
+            in.position(end);
+        }
+        if (frameAt >= 0) {
+            int end = in.position();
+            in.position(frameAt);
+            showFrame();
+            in.position(end);
+            framesShown++;
+        }
+        in.compact();
+        if (in.capacity() < bufferBytes) {
+            ByteBuffer bigger = ByteBuffer.allocate(bufferBytes);
+            in.flip();
+            bigger.put(in);
+            in = bigger;
+        }
+    }
+
+    private void showFrame() {
+        tick = in.getLong();
+        lag.record(System.nanoTime() - in.getLong());
+        remainingSeconds = in.getShort();
+        SpectatorProtocol.readState(in, view);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public boolean hasFrame()            { return tick >= 0; }
+    public boolean hasHeader()           { return hasHeader; }
+    // Zustand des neuesten Frames (Geometrie aus dem Header)
+    public MatchState getView()          { return view; }
+    public long getTick()                { return tick; }
+    public int getRemainingSeconds()     { return remainingSeconds; }
+
+    // Messwerte; die Verzögerung stimmt nur, wenn Host und Zuschauer dieselbe Uhr haben (Lasttest)
+    public LatencyHistogram getLag()     { return lag; }
+    public long getFramesReceived()      { return framesReceived; }
+    public long getFramesShown()         { return framesShown; }
+    public long getBytesReceived()       { return bytesReceived; }
+}
@@ -0,0 +1,164 @@
+package pingpong.net;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import pingpong.config.GameConfig;
+import pingpong.diag.LatencyHistogram;
+import pingpong.engine.MatchState;
+import pingpong.model.Direction;
+
+/**
+ * SpectatorDemo ist ein Lasttest für den Zuschauermodus über Loopback: ein
+ * Host-Thread rechnet ein Match (Computer gegen Computer) und veröffentlicht
+ * mit 60 Hz Frames, dazu kommen viele simulierte Zuschauer. Ein Teil davon ist
+ * absichtlich langsam (kleiner Empfangspuffer, liest nur zweimal pro Sekunde),
+ * um das Überspringen von Frames zu zeigen.
+ *
+ * Aufruf: java -cp PingPong.jar pingpong.net.SpectatorDemo [zuschauer sekunden anteilLangsam bälle]
+ *   z.B.  ... SpectatorDemo 500 20 0.1 200
+ */
+public final class SpectatorDemo {
+    private static final int FRAME_RATE = 60;
+    private static final long SLOW_READ_NANOS = 500_000_000L;
+    private static final int SLOW_RECEIVE_BUFFER = 4 * 1024;
+
+    private SpectatorDemo() { }
+
+    public static void main(String[] args) throws Exception {
+        int count      = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 10;
+        double slow    = args.length > 2 ? Double.parseDouble(args[2]) : 0.1;
+        int balls      = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+
+        SpectatorServer server = new SpectatorServer(0, GameConfig.ENTITY_POOL_SIZE, Math.max(balls, 1));
+        server.start();
+        LatencyHistogram publish = new LatencyHistogram("publish");
+        Host host = new Host(server, balls, publish);
+        host.start();
+
+        InetSocketAddress addr = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+        int slowCount = (int) Math.round(count * slow);
+        List<SpectatorClient> fast = new ArrayList<>();
+        List<SpectatorClient> slowClients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i < slowCount) {
+                slowClients.add(new SpectatorClient(addr, SLOW_RECEIVE_BUFFER));
+            } else {
+                fast.add(new SpectatorClient(addr));
+            }
+        }
+        System.out.printf("Loopback-Test: %d Zuschauer (%d langsam), %d Chaos-Bälle, %.0f s%n",
+                count, slowCount, balls, seconds);
+
+        int lostFast = 0, lostSlow = 0;
+        long end = System.nanoTime() + (long) (seconds * 1e9);
+        long nextSlow = System.nanoTime();
+        while (System.nanoTime() < end) {
+            lostFast += poll(fast);
+            if (System.nanoTime() >= nextSlow) {
+                nextSlow += SLOW_READ_NANOS;
+                lostSlow += poll(slowClients);
+            }
+            LockSupport.parkNanos(1_000_000L);
+        }
+        host.running = false;
+        host.join();
+
+        System.out.println("Server: " + server.summary());
+        System.out.printf("Host: publish p50 %.1f µs p99 %.1f µs (%d Frames)%n",
+                publish.percentile(0.5) / 1e3, publish.percentile(0.99) / 1e3, publish.getCount());
+        report("schnell ", fast, lostFast, server.getFramesPublished());
+        report("langsam ", slowClients, lostSlow, server.getFramesPublished());
+        for (SpectatorClient c : fast) c.close();
+        for (SpectatorClient c : slowClients) c.close();
+        server.close();
+    }
+
+    // Liest alle Zuschauer einer Gruppe; getrennte fallen raus
+    private static int poll(List<SpectatorClient> clients) {
+        int lost = 0;
+        for (int i = clients.size() - 1; i >= 0; i--) {
+            try {
+                clients.get(i).update();
+            } catch (IOException e) {
+                lost++;
+                try {
+                    clients.remove(i).close();
+                } catch (IOException ignored) {
+                    // schon zu
+                }
+            }
+        }
+        return lost;
+    }
+
+    private static void report(String name, List<SpectatorClient> clients, int lost, long published) {
+        if (clients.isEmpty() && lost == 0) {
+            return;
+        }
+        long received = 0, shown = 0;
+        double p50 = 0;
+        long p99 = 0;
+        for (SpectatorClient c : clients) {
+            received += c.getFramesReceived();
+            shown    += c.getFramesShown();
+            p50      += c.getLag().percentile(0.5);
+            p99       = Math.max(p99, c.getLag().percentile(0.99));
+        }
+        int n = Math.max(1, clients.size());
+        System.out.printf("Zuschauer %s %d verbunden, %d getrennt | empfangen %.0f%% der Frames, "
+                        + "angezeigt %d | Verzögerung p50 %.1f ms, schlechtestes p99 %.1f ms%n",
+                name, clients.size(), lost, 100.0 * received / n / Math.max(1, published),
+                shown / n, p50 / n / 1e6, p99 / 1e6);
+    }
+
+    // Rechnet das Match mit der Tick-Rate und veröffentlicht mit FRAME_RATE
+    private static final class Host extends Thread {
+        private final SpectatorServer server;
+        private final MatchState state = new MatchState(1);
+        private final LatencyHistogram publish;
+        volatile boolean running = true;
+
+        Host(SpectatorServer server, int balls, LatencyHistogram publish) {
+            super("spectator-host");
+            this.server  = server;
+            this.publish = publish;
+            state.setBallSpeed(GameConfig.BALL_SPEED);
+            state.setPaddleSpeed(GameConfig.PADDLE_SPEED);
+            state.startMatch(1);
+            state.setExtraBalls(balls);
+        }
+
+        @Override
+        public void run() {
+            double dt = 1.0 / GameConfig.TICK_RATE;
+            int ticksPerFrame = GameConfig.TICK_RATE / FRAME_RATE;
+            long frameNanos = 1_000_000_000L / FRAME_RATE;
+            long next = System.nanoTime();
+            while (running) {
+                for (int i = 0; i < ticksPerFrame; i++) {
+                    steer(MatchState.LEFT);
+                    steer(MatchState.RIGHT);
+                    state.step(dt);
+                }
+                long t0 = System.nanoTime();
+                server.publish(state, 1.0, 0);
+                publish.record(System.nanoTime() - t0);
+                next += frameNanos;
+                LockSupport.parkNanos(next - System.nanoTime());
+            }
+        }
+
+        // Einfacher Spieler: Paddle-Mitte zum Ball hin
+        private void steer(int side) {
+            double center = state.getPaddleY(side) + state.getPaddleHeight() / 2;
+            double dy = state.getBallY() - center;
+            double dead = state.getPaddleHeight() / 4;
+            state.setPaddleDirection(side, dy > dead ? Direction.DOWN : dy < -dead ? Direction.UP : Direction.NONE);
+        }
+    }
+}
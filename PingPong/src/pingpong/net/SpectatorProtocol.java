@@ -0,0 +1,147 @@
+package pingpong.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import pingpong.engine.EntityPool;
+import pingpong.engine.MatchState;
+import pingpong.engine.MultiBall;
+
+/**
+ * Datenstrom des Zuschauermodus (TCP, Big Endian). Jede Nachricht beginnt mit
+ * int Länge (ohne dieses Feld) und einem Typ-Byte:
+ *
+ * HEADER  einmal nach dem Verbinden: int MAGIC, byte VERSION, int maximale Frame-Länge,
+ *         double Breite, Höhe, Ballradius, linkes X, rechtes X,
+ *         Paddle-Breite, Paddle-Höhe, Radius der Chaos-Bälle
+ * FRAME   long Tick, long Sendezeit (ns, Uhr des Hosts), short Restzeit (s),
+ *         short Punkte links, rechts, float Ball X, Y, Paddle Y links, rechts,
+ *         short Anzahl Power-ups, je byte Art, float X, Y, Radius,
+ *         int Anzahl Chaos-Bälle, je float X, Y
+ *
+ * Jeder Frame ist vollständig (keine Deltas): wer Frames verpasst, zeigt
+ * einfach den nächsten an. Zuschauer senden nichts.
+ */
+final class SpectatorProtocol {
+    static final byte HEADER  = 1;
+    static final byte FRAME   = 2;
+
+    static final int MAGIC    = 0x50505356;    // "PPSV"
+    static final byte VERSION = 1;
+
+    // Länge, Typ, Magic, Version, maximale Frame-Länge, 8 double
+    static final int HEADER_BYTES = 4 + 1 + 4 + 1 + 4 + 8 * 8;
+
+    // Länge, Typ, Tick, Zeit, Restzeit, Punkte, 4 float, Anzahlen
+    private static final int FRAME_FIXED  = 4 + 1 + 8 + 8 + 2 + 2 * 2 + 4 * 4 + 2 + 4;
+    private static final int ENTITY_BYTES = 1 + 3 * 4;
+    private static final int BALL_BYTES   = 2 * 4;
+
+    private SpectatorProtocol() { }
+
+    /**
+     * Größte mögliche Frame-Länge in Bytes (inklusive Längenfeld).
+     */
+    static int frameBytes(int maxEntities, int maxBalls) {
+        return FRAME_FIXED + maxEntities * ENTITY_BYTES + maxBalls * BALL_BYTES;
+    }
+
+    static void writeHeader(ByteBuffer out, MatchState s, int maxFrameBytes) {
+        int start = out.position();
+        out.putInt(0);
+        out.put(HEADER);
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        out.putInt(maxFrameBytes);
+        out.putDouble(s.getWidth());
+        out.putDouble(s.getHeight());
+        out.putDouble(s.getBallRadius());
+        out.putDouble(s.getPaddleX(MatchState.LEFT));
+        out.putDouble(s.getPaddleX(MatchState.RIGHT));
+        out.putDouble(s.getPaddleWidth());
+        out.putDouble(s.getPaddleHeight());
+        out.putDouble(s.getExtraBalls().getRadius());
+        out.putInt(start, out.position() - start - 4);
+    }
+
+    /**
+     * Liest einen HEADER (ab MAGIC) und übernimmt die Geometrie in target.
+     * @return maximale Frame-Länge
+     */
+    static int readHeader(ByteBuffer in, MatchState target) throws IOException {
+        if (in.getInt() != MAGIC || in.get() != VERSION) {
+            throw new IOException("kein PingPong-Zuschauerstrom dieser Version");
+        }
+        int maxFrameBytes = in.getInt();
+        target.setField(in.getDouble(), in.getDouble());
+        target.setBallRadius(in.getDouble());
+        target.setPaddleGeometry(in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble());
+        target.getExtraBalls().setRadius(in.getDouble());
+        return maxFrameBytes;
+    }
+
+    /**
+     * Schreibt den Zustand als FRAME, Positionen interpoliert wie beim Zeichnen.
+     * Power-ups und Chaos-Bälle über maxEntities bzw. maxBalls werden weggelassen.
+     */
+    static void writeFrame(ByteBuffer out, MatchState s, double alpha, int remainingSeconds,
+                           long nanos, int maxEntities, int maxBalls) {
+        int start = out.position();
+        out.putInt(0);
+        out.put(FRAME);
+        out.putLong(s.getTick());
+        out.putLong(nanos);
+        out.putShort((short) remainingSeconds);
+        out.putShort((short) s.getScore(MatchState.LEFT));
+        out.putShort((short) s.getScore(MatchState.RIGHT));
+        out.putFloat((float) s.getBallX(alpha));
+        out.putFloat((float) s.getBallY(alpha));
+        out.putFloat((float) s.getPaddleY(MatchState.LEFT, alpha));
+        out.putFloat((float) s.getPaddleY(MatchState.RIGHT, alpha));
+
+        EntityPool entities = s.getEntities();
+        int ne = Math.min(entities.getLiveCount(), maxEntities);
+        out.putShort((short) ne);
+        for (int k = 0; k < ne; k++) {
+            int slot = entities.getLiveSlot(k);
+            out.put((byte) entities.getType(slot));
+            out.putFloat((float) entities.getX(slot, alpha));
+            out.putFloat((float) entities.getY(slot, alpha));
+            out.putFloat((float) entities.getRadius(slot));
+        }
+
+        MultiBall balls = s.getExtraBalls();
+        int nb = Math.min(balls.getCount(), maxBalls);
+        out.putInt(nb);
+        for (int i = 0; i < nb; i++) {
+            out.putFloat((float) balls.getX(i, alpha));
+            out.putFloat((float) balls.getY(i, alpha));
+        }
+        out.putInt(start, out.position() - start - 4);
+    }
+
+    /**
+     * Liest einen FRAME ab den Punkten (Tick, Zeit und Restzeit hat der Aufrufer
+     * schon gelesen) in einen Anzeige-Zustand; Geschwindigkeiten sind 0.
+     */
+    static void readState(ByteBuffer in, MatchState target) {
+        int left  = in.getShort();
+        int right = in.getShort();
+        target.setScore(left, right);
+        target.setBall(in.getFloat(), in.getFloat(), 0, 0);
+        target.setPaddleY(MatchState.LEFT, in.getFloat());
+        target.setPaddleY(MatchState.RIGHT, in.getFloat());
+
+        EntityPool entities = target.getEntities();
+        entities.clear();
+        for (int k = 0, n = in.getShort(); k < n; k++) {
+            int type = in.get();
+            entities.spawn(type, in.getFloat(), in.getFloat(), 0, 0, in.getFloat(), Long.MAX_VALUE);
+        }
+
+        MultiBall balls = target.getExtraBalls();
+        balls.clear();
+        for (int i = 0, n = in.getInt(); i < n; i++) {
+            balls.add(in.getFloat(), in.getFloat(), 0, 0, 0);
+        }
+    }
+}
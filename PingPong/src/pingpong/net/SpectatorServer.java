@@ -0,0 +1,371 @@
+package pingpong.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import pingpong.engine.MatchState;
+
+/**
+ * SpectatorServer überträgt ein laufendes Match an beliebig viele Zuschauer
+ * (SpectatorClient) über TCP. Die Zuschauer rechnen nichts, sie zeigen nur an.
+ *
+ * Der Host ruft publish() einmal pro gezeichnetem Frame auf; der Zustand wird
+ * dabei genau einmal kodiert (SpectatorProtocol). Ein eigener Thread verteilt
+ * den Frame mit einem einzigen Selector an alle Verbindungen: jede schreibt
+ * aus demselben Direct-ByteBuffer und merkt sich nur, wie weit sie ist, es gibt
+ * keine Kopie pro Zuschauer.
+ *
+ * Langsame Zuschauer puffern nicht: wer mit einem Frame fertig ist, bekommt
+ * gleich den neuesten, alle dazwischen werden übersprungen (getFramesSkipped()).
+ * Der Sendepuffer des Betriebssystems ist klein gehalten. Die letzten SLOTS
+ * Frames liegen in einem Ring; hängt eine Verbindung so lange an einem Frame,
+ * dass sein Platz neu belegt wird, kopiert sie den Rest in einen eigenen
+ * Puffer (einmal pro Verbindung angelegt). Pro Zuschauer wartet also höchstens
+ * ein Frame. Wer STALL_NANOS lang gar nichts annimmt, wird getrennt (getDropped()).
+ *
+ * Start mit dem Spiel: -Dpingpong.spectatorPort=47801 (siehe GameEngine),
+ * Lasttest mit vielen Zuschauern: SpectatorDemo.
+ */
+public class SpectatorServer implements Closeable {
+    public static final int DEFAULT_PORT = 47801;
+    // Frames im Ring (Zweierpotenz)
+    private static final int SLOTS = 8;
+    // Sendepuffer pro Verbindung im Betriebssystem
+    private static final int SEND_BUFFER = 16 * 1024;
+    // So lange ohne ein einziges angenommenes Byte → Verbindung trennen
+    private static final long STALL_NANOS = 10_000_000_000L;
+
+    // Eine Verbindung: welcher Frame gerade rausgeht und wie weit
+    private static final class Spectator {
+        final SocketChannel channel;
+        final SelectionKey key;
+        ByteBuffer frame;       // null = wartet auf den nächsten Frame
+        int offset, end;
+        ByteBuffer own;         // Rest eines Frames, dessen Platz im Ring neu belegt wurde
+        long lastProgress;      // Zeitpunkt des letzten geschriebenen Bytes
+        long seq;               // zuletzt begonnener Frame (0 = noch keiner)
+        boolean greeted;        // Header begonnen
+
+        Spectator(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key     = key;
+        }
+    }
+
+    private final ServerSocketChannel acceptor;
+    private final Selector selector;
+    private final int maxEntities, maxBalls;
+
+    // Vom Host-Thread kodiert (unter Sperre auf staging), vom Server-Thread übernommen
+    private final ByteBuffer staging;
+    private long stagedSeq;
+
+    // Nur Server-Thread: Header, Ring der letzten Frames, Verbindungen
+    private ByteBuffer header;
+    private final ByteBuffer[] frames = new ByteBuffer[SLOTS];
+    private long latestSeq;
+    private final List<Spectator> spectators = new ArrayList<>();
+    private final ByteBuffer discard = ByteBuffer.allocate(256);
+
+    // Messwerte (vom Server-Thread geschrieben, grob aktuell)
+    private volatile int spectatorCount;
+    private long framesPublished, framesSent, framesSkipped, rescued, dropped, bytesSent;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param port TCP-Port (0 = beliebig)
+     * @param maxEntities höchstens so viele Power-ups pro Frame
+     * @param maxBalls höchstens so viele Chaos-Bälle pro Frame
+     */
+    public SpectatorServer(int port, int maxEntities, int maxBalls) throws IOException {
+        this.maxEntities = maxEntities;
+        this.maxBalls    = maxBalls;
+        int frameBytes   = SpectatorProtocol.frameBytes(maxEntities, maxBalls);
+        this.staging     = ByteBuffer.allocateDirect(frameBytes);
+        for (int i = 0; i < SLOTS; i++) {
+            frames[i] = ByteBuffer.allocateDirect(frameBytes);
+        }
+        this.selector = Selector.open();
+        this.acceptor = ServerSocketChannel.open();
+        acceptor.bind(new InetSocketAddress(port));
+        acceptor.configureBlocking(false);
+        acceptor.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Startet den Server-Thread.
+     */
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "spectator-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) acceptor.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Kodiert den Zustand als neuen Frame (Host-Thread, erzeugt keine Objekte).
+     * Ohne Zuschauer passiert nichts. Ein Frame, den der Server-Thread noch
+     * nicht abgeholt hat, wird ersetzt.
+     * @param s Zustand, wie er gerade gezeichnet wird
+     * @param alpha Interpolationsfaktor (0 = vorheriger, 1 = aktueller Schritt)
+     * @param remainingSeconds angezeigte Restzeit
+     */
+    public void publish(MatchState s, double alpha, int remainingSeconds) {
+        if (spectatorCount == 0) {
+            return;
+        }
+        synchronized (staging) {
+            if (header == null) {
+                // Geometrie einmal festhalten (Server-Thread liest sie erst nach dem ersten Frame)
+                ByteBuffer h = ByteBuffer.allocateDirect(SpectatorProtocol.HEADER_BYTES);
+                SpectatorProtocol.writeHeader(h, s, staging.capacity());
+                h.flip();
+                header = h;
+            }
+            staging.clear();
+            SpectatorProtocol.writeFrame(staging, s, alpha, remainingSeconds, System.nanoTime(),
+                    maxEntities, maxBalls);
+            staging.flip();
+            stagedSeq++;
+        }
+        selector.wakeup();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        if (thread != null) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Spectator sp : spectators) {
+            sp.channel.close();
+        }
+        acceptor.close();
+        selector.close();
+    }
+
+    // Schleife: auf Verbindungen, Schreibbereitschaft oder einen neuen Frame warten
+    private void run() {
+        try {
+            while (running) {
+                selector.select(100);
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        acceptAll();
+                        continue;
+                    }
+                    Spectator sp = (Spectator) key.attachment();
+                    if (key.isReadable()) {
+                        readAndDiscard(sp);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(sp);
+                    }
+                }
+                if (takeFrame()) {
+                    dropStalled(System.nanoTime());
+                    for (int i = spectators.size() - 1; i >= 0; i--) {
+                        Spectator sp = spectators.get(i);
+                        if (sp.frame == null) {
+                            flush(sp);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Zuschauer-Server beendet: " + e.getMessage());
+            }
+        }
+    }
+
+    private void acceptAll() throws IOException {
+        SocketChannel ch;
+        while ((ch = acceptor.accept()) != null) {
+            ch.configureBlocking(false);
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            ch.setOption(StandardSocketOptions.SO_SNDBUF, SEND_BUFFER);
+            SelectionKey key = ch.register(selector, SelectionKey.OP_READ);
+            Spectator sp = new Spectator(ch, key);
+            sp.lastProgress = System.nanoTime();
+            key.attach(sp);
+            spectators.add(sp);
+            spectatorCount = spectators.size();
+            flush(sp);
+        }
+    }
+
+    // Zuschauer senden nichts; gelesen wird nur, um das Schließen zu bemerken
+    private void readAndDiscard(Spectator sp) {
+        try {
+            discard.clear();
+            if (sp.channel.read(discard) < 0) {
+                disconnect(sp);
+            }
+        } catch (IOException e) {
+            disconnect(sp);
+        }
+    }
+
+    // Neuen Frame vom Host in den Ring übernehmen. Wer noch am alten Inhalt
+    // dieses Platzes schreibt, rettet den Rest in seinen eigenen Puffer.
+    private boolean takeFrame() {
+        synchronized (staging) {
+            if (stagedSeq == latestSeq) {
+                return false;
+            }
+            ByteBuffer slot = frames[(int) (stagedSeq & (SLOTS - 1))];
+            for (int i = spectators.size() - 1; i >= 0; i--) {
+                Spectator sp = spectators.get(i);
+                if (sp.frame == slot) {
+                    rescue(sp);
+                }
+            }
+            slot.clear();
+            slot.put(staging);
+            slot.flip();
+            latestSeq = stagedSeq;
+            framesPublished++;
+            return true;
+        }
+    }
+
+    private void rescue(Spectator sp) {
+        if (sp.own == null) {
+            sp.own = ByteBuffer.allocateDirect(staging.capacity());
+        }
+        sp.frame.limit(sp.end).position(sp.offset);
+        sp.own.clear();
+        sp.own.put(sp.frame);
+        sp.own.flip();
+        sp.frame  = sp.own;
+        sp.offset = 0;
+        sp.end    = sp.own.limit();
+        rescued++;
+    }
+
+    // Verbindungen trennen, die seit STALL_NANOS nichts angenommen haben
+    private void dropStalled(long now) {
+        for (int i = spectators.size() - 1; i >= 0; i--) {
+            Spectator sp = spectators.get(i);
+            if (sp.frame != null && now - sp.lastProgress > STALL_NANOS) {
+                dropped++;
+                disconnect(sp);
+            }
+        }
+    }
+
+    // Schreibt, bis der Kanal voll ist oder nichts Neues mehr da ist. Der gemeinsame
+    // Puffer bekommt dafür jeweils position/limit dieser Verbindung.
+    private void flush(Spectator sp) {
+        try {
+            while (true) {
+                if (sp.frame == null && !begin(sp)) {
+                    sp.key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+                ByteBuffer buf = sp.frame;
+                buf.limit(sp.end).position(sp.offset);
+                int n = sp.channel.write(buf);
+                if (n > 0) {
+                    sp.lastProgress = System.nanoTime();
+                }
+                bytesSent += n;
+                sp.offset += n;
+                if (sp.offset < sp.end) {
+                    sp.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                if (buf != header) {
+                    framesSent++;
+                }
+                sp.frame = null;
+            }
+        } catch (IOException e) {
+            disconnect(sp);
+        }
+    }
+
+    // Nächsten Frame beginnen: zuerst der Header, dann immer der neueste
+    private boolean begin(Spectator sp) {
+        // Header und Ring sind erst nach dem ersten takeFrame() gefüllt
+        if (latestSeq == 0) {
+            return false;
+        }
+        sp.lastProgress = System.nanoTime();
+        if (!sp.greeted) {
+            sp.greeted = true;
+            sp.frame   = header;
+            sp.offset  = 0;
+            sp.end     = header.limit();
+            return true;
+        }
+        if (sp.seq >= latestSeq) {
+            return false;
+        }
+        if (sp.seq > 0) {
+            framesSkipped += latestSeq - sp.seq - 1;
+        }
+        ByteBuffer slot = frames[(int) (latestSeq & (SLOTS - 1))];
+        sp.seq    = latestSeq;
+        sp.frame  = slot;
+        sp.offset = 0;
+        sp.end    = slot.limit();
+        return true;
+    }
+
+    private void disconnect(Spectator sp) {
+        sp.key.cancel();
+        try {
+            sp.channel.close();
+        } catch (IOException ignored) {
+            // Verbindung ist ohnehin weg
+        }
+        sp.frame = null;
+        spectators.remove(sp);
+        spectatorCount = spectators.size();
+    }
+
+    // Messwerte
+    public int getSpectatorCount()    { return spectatorCount; }
+    public long getFramesPublished()  { return framesPublished; }
+    public long getFramesSent()       { return framesSent; }
+    public long getFramesSkipped()    { return framesSkipped; }
+    public long getRescued()          { return rescued; }
+    public long getDropped()          { return dropped; }
+    public long getBytesSent()        { return bytesSent; }
+
+    /**
+     * Kurzer Text mit Zuschauern und Durchsatz (für HUD und Konsole).
+     */
+    public String summary() {
+        return String.format("spectators %d | frames %d published, %d sent, %d skipped, %d rescued | "
+                        + "%d dropped | %.1f MB sent",
+                spectatorCount, framesPublished, framesSent, framesSkipped, rescued, dropped,
+                bytesSent / 1048576.0);
+    }
+}
@@ -0,0 +1,120 @@
+package pingpong.render;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import pingpong.config.GameConfig;
+import pingpong.engine.EntityPool;
+import pingpong.engine.MatchState;
+import pingpong.engine.MultiBall;
+
+/**
+ * CanvasRenderer zeichnet Spielfeld, Mittellinie, Paddles, Ball und Punkte
+ * jeden Pulse direkt auf ein einziges Canvas (Immediate Mode). Anders als bei
+ * den Szenengraph-Knoten ändern sich dabei keine Properties, es gibt also
+ * keine CSS- oder Layout-Durchläufe für die Spielfiguren; pro Frame wird nur
+ * eine Befehlsliste an die Render-Pipeline gegeben.
+ * Gezeichnet wird im logischen Spielfeld, umgerechnet mit derselben
+ * ViewTransform wie der Szenengraph. Farben wie in style.css.
+ */
+public class CanvasRenderer implements FrameRenderer {
+    private static final Color BACKGROUND = Color.web("#111");
+    private static final Color MIDLINE    = Color.web("#EEE");
+    private static final Color PADDLE     = Color.web("#4CAF50");
+    private static final Color BALL       = Color.web("#FF5722");
+    private static final Color SCORE      = Color.WHITE;
+    private static final Color POWER_FAST = Color.web("#FFEB3B");
+    private static final Color POWER_SLOW = Color.web("#03A9F4");
+    private static final double MARGIN    = 10;
+
+    private final Canvas canvas;
+    private final ViewTransform view;
+    private final GraphicsContext g;
+    private final Font scoreFont = Font.font(null, FontWeight.BOLD, 24);
+
+    // Punkte-Texte nur bei Änderung neu bauen
+    private final int[] shownScore = {-1, -1};
+    private final String[] scoreText = new String[2];
+
+    /**
+     * @param canvas Zeichenfläche, die das ganze Fenster abdeckt
+     * @param view Abbildung logisches Spielfeld → Fenster
+     */
+    public CanvasRenderer(Canvas canvas, ViewTransform view) {
+        this.canvas = canvas;
+        this.view   = view;
+        this.g = canvas.getGraphicsContext2D();
+        g.setFont(scoreFont);
+        g.setTextBaseline(VPos.TOP);
+        g.setLineWidth(2);
+        g.setLineDashes(15, 10);
+    }
+
+    @Override
+    public void render(MatchState s, double alpha) {
+        double w = canvas.getWidth();
+        double h = canvas.getHeight();
+
+        // clearRect über das ganze Canvas verwirft die Befehle des vorigen Frames,
+        // sonst würde die Befehlsliste wachsen, falls ein Pulse ausfällt
+        g.clearRect(0, 0, w, h);
+        // Hintergrund (auch der Rand neben dem Spielfeld)
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, w, h);
+
+        // Spielfiguren im logischen Spielfeld
+        g.save();
+        g.translate(view.getOffsetX(), view.getOffsetY());
+        g.scale(view.getScale(), view.getScale());
+        g.setStroke(MIDLINE);
+        g.strokeLine(GameConfig.BASE_WIDTH / 2, 0, GameConfig.BASE_WIDTH / 2, GameConfig.BASE_HEIGHT);
+        g.setFill(PADDLE);
+        double pw = s.getPaddleWidth(), ph = s.getPaddleHeight();
+        g.fillRect(s.getPaddleX(MatchState.LEFT),  s.getPaddleY(MatchState.LEFT, alpha),  pw, ph);
+        g.fillRect(s.getPaddleX(MatchState.RIGHT), s.getPaddleY(MatchState.RIGHT, alpha), pw, ph);
+        double r = s.getBallRadius();
+        g.setFill(BALL);
+        g.fillOval(s.getBallX(alpha) - r, s.getBallY(alpha) - r, 2 * r, 2 * r);
+        // Power-ups aus dem EntityPool
+        EntityPool entities = s.getEntities();
+        for (int k = 0; k < entities.getLiveCount(); k++) {
+            int slot = entities.getLiveSlot(k);
+            double er = entities.getRadius(slot);
+            g.setFill(entities.getType(slot) == EntityPool.POWER_FAST ? POWER_FAST : POWER_SLOW);
+            g.fillOval(entities.getX(slot, alpha) - er, entities.getY(slot, alpha) - er, 2 * er, 2 * er);
+        }
+        // Chaos-Modus: zusätzliche Bälle in derselben Farbe wie der Ball
+        g.setFill(BALL);
+        MultiBall balls = s.getExtraBalls();
+        double br = balls.getRadius();
+        for (int i = 0; i < balls.getCount(); i++) {
+            g.fillOval(balls.getX(i, alpha) - br, balls.getY(i, alpha) - br, 2 * br, 2 * br);
+        }
+        g.restore();
+
+        // Punkte oben links und oben rechts im Fenster (Schrift wird nicht skaliert)
+        g.setFill(SCORE);
+        g.setTextAlign(TextAlignment.LEFT);
+        g.fillText(scoreText(s, MatchState.LEFT), MARGIN, MARGIN);
+        g.setTextAlign(TextAlignment.RIGHT);
+        g.fillText(scoreText(s, MatchState.RIGHT), w - MARGIN, MARGIN);
+    }
+
+    private String scoreText(MatchState s, int side) {
+        int score = s.getScore(side);
+        if (shownScore[side] != score) {
+            shownScore[side] = score;
+            scoreText[side]  = String.valueOf(score);
+        }
+        return scoreText[side];
+    }
+
+    @Override
+    public String getName() {
+        return "canvas";
+    }
+}
@@ -0,0 +1,22 @@
+package pingpong.render;
+
+import pingpong.engine.MatchState;
+
+/**
+ * Zeichnet einen Frame aus dem Spielzustand. Die GameEngine ruft render()
+ * einmal pro Pulse auf; ohne FrameRenderer werden die Szenengraph-Knoten
+ * (Circle/Rectangle) verschoben.
+ */
+public interface FrameRenderer {
+
+    /**
+     * @param state Spielzustand
+     * @param alpha Interpolation zwischen vorherigem (0) und aktuellem (1) Tick
+     */
+    void render(MatchState state, double alpha);
+
+    /**
+     * Kurzer Name für HUD und Statistik-Export.
+     */
+    String getName();
+}
@@ -0,0 +1,34 @@
+package pingpong.render;
+
+import pingpong.config.GameConfig;
+
+/**
+ * Abbildung vom logischen Spielfeld (GameConfig.BASE_WIDTH x BASE_HEIGHT,
+ * darin rechnet die Physik) auf das Fenster: einheitliche Skalierung, damit
+ * der Ball rund bleibt, und Zentrierung (Rand oben/unten bzw. links/rechts).
+ * Wird nur bei Größenänderung neu berechnet; Szenengraph und Canvas nutzen
+ * dieselbe Abbildung.
+ */
+public class ViewTransform {
+    private double scale = 1;
+    private double offsetX, offsetY;
+
+    /**
+     * Berechnet die Abbildung für eine neue Fenstergröße.
+     * @param width Breite des Fensters in Pixeln
+     * @param height Höhe des Fensters in Pixeln
+     */
+    public void update(double width, double height) {
+        scale   = Math.max(1e-6, Math.min(width / GameConfig.BASE_WIDTH, height / GameConfig.BASE_HEIGHT));
+        offsetX = (width  - GameConfig.BASE_WIDTH  * scale) / 2;
+        offsetY = (height - GameConfig.BASE_HEIGHT * scale) / 2;
+    }
+
+    public double getScale()   { return scale; }
+    public double getOffsetX() { return offsetX; }
+    public double getOffsetY() { return offsetY; }
+
+    // Logische Koordinaten → Pixel
+    public double toScreenX(double x) { return offsetX + x * scale; }
+    public double toScreenY(double y) { return offsetY + y * scale; }
+}
@@ -0,0 +1,45 @@
+package pingpong.replay;
+
+/**
+ * Aufbau einer Replay-Datei (.ppr):
+ *
+ * Kopf (HEADER_SIZE Bytes, Big Endian):
+ *   int    MAGIC "PPRP"      short VERSION        short reserviert
+ *   long   seed              long  Startzeit (ms seit 1970)
+ *   int    Tick-Rate
+ *   double Breite, Höhe, Ballradius, linkes X, rechtes X, Paddle-Breite, Paddle-Höhe
+ *   double Ballgeschwindigkeit, Paddle-Geschwindigkeit
+ *
+ * Danach Einträge: Tick-Abstand zum vorherigen Eintrag als Varint (7 Bit pro Byte),
+ * dann ein Typ-Byte und ggf. Daten:
+ *   0x00..0x0B  Richtungswechsel: (Seite << 2) | Direction.ordinal()
+ *   0x20..0x2B  Richtungswechsel mitten im Tick: 0x20 | (Seite << 2) | Direction.ordinal(),
+ *               dann 1 Byte Zeitpunkt in 1/256 Tick (MatchState.setPaddleDirectionAt, ab Version 2)
+ *   GEOMETRY    7 double wie im Kopf (Fenstergröße geändert)
+ *   SPEED       2 double (Ball-, Paddle-Geschwindigkeit)
+ *   CENTER      Ball und Paddles in die Mitte gesetzt
+ *   SERVE_DELAY 1 int: Pause vor dem Aufschlag in Ticks (ab Version 2, fehlt = 0)
+ *   BALLS       1 int: zusätzliche Bälle des Chaos-Modus (MatchState.setExtraBalls, ab Version 3)
+ *   POWER_UPS   2 int: Abstand und Lebensdauer der Power-ups in Ticks (MatchState.setPowerUps, ab Version 4)
+ *   END         Ende der Aufnahme (Tick = letzter Tick)
+ *
+ * Ein Tastendruck kostet so meist 2 Bytes, ein 3-Minuten-Match bleibt bei wenigen KB.
+ */
+final class ReplayFormat {
+    static final int   MAGIC       = 0x50505250;   // "PPRP"
+    static final short VERSION     = 4;
+    static final int   HEADER_SIZE = 4 + 2 + 2 + 8 + 8 + 4 + 7 * 8 + 2 * 8;
+
+    static final int INPUT_MAX = 0x0B;
+    static final int INPUT_AT     = 0x20;
+    static final int INPUT_AT_MAX = 0x2B;
+    static final int GEOMETRY  = 0x10;
+    static final int SPEED     = 0x11;
+    static final int CENTER    = 0x12;
+    static final int SERVE_DELAY = 0x13;
+    static final int BALLS       = 0x14;
+    static final int POWER_UPS   = 0x15;
+    static final int END       = 0x7F;
+
+    private ReplayFormat() { }
+}
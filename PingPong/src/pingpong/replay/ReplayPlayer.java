@@ -0,0 +1,236 @@
+package pingpong.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import pingpong.engine.MatchState;
+import pingpong.model.Direction;
+
+/**
+ * ReplayPlayer spielt eine Replay-Datei ohne Grafik und ohne Wartezeiten nach:
+ * gleicher Seed + gleiche Eingaben zum gleichen Tick ergeben exakt dasselbe Match.
+ * Vorspulen rechnet einfach so schnell wie möglich Tick für Tick; zurückspulen
+ * beginnt wieder beim ersten Tick.
+ *
+ * Beispiel (Kommandozeile):
+ *   java -cp PingPong.jar pingpong.replay.ReplayPlayer match.ppr [tick]
+ */
+public class ReplayPlayer {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Komplette Datei (ein Match ist nur wenige KB groß)
+    private final ByteBuffer data;
+    private final long seed;
+    private final long startMillis;
+    private final int tickRate;
+    private final double stepSeconds;
+    private final double[] geometry = new double[7];
+    private final double ballSpeed, paddleSpeed;
+    private final long endTick;
+
+    private final MatchState state;
+    // Lesezeiger auf den nächsten Eintrag und dessen Tick
+    private int cursor;
+    private long nextTick;
+    private boolean ended;
+
+    /**
+     * Liest eine Replay-Datei ein.
+     * @param file Replay-Datei
+     * @throws IOException wenn die Datei fehlt oder kein gültiges Replay ist
+     */
+    public ReplayPlayer(Path file) throws IOException {
+        this(ByteBuffer.wrap(Files.readAllBytes(file)));
+    }
+
+    /**
+     * Liest ein Replay aus dem Speicher.
+     * @param data Inhalt einer Replay-Datei
+     */
+    public ReplayPlayer(ByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.remaining() < ReplayFormat.HEADER_SIZE || data.getInt(0) != ReplayFormat.MAGIC) {
+            throw new IOException("Keine Replay-Datei");
+        }
+        if (data.getShort(4) < 1 || data.getShort(4) > ReplayFormat.VERSION) {
+            throw new IOException("Unbekannte Replay-Version " + data.getShort(4));
+        }
+        data.position(8);
+        seed        = data.getLong();
+        startMillis = data.getLong();
+        tickRate    = data.getInt();
+        for (int i = 0; i < geometry.length; i++) {
+            geometry[i] = data.getDouble();
+        }
+        ballSpeed   = data.getDouble();
+        paddleSpeed = data.getDouble();
+        stepSeconds = 1.0 / tickRate;
+        state = new MatchState(seed);
+        endTick = scanEndTick();
+        rewind();
+    }
+
+    /**
+     * Setzt das Match auf Tick 0 zurück (Zustand direkt nach dem Aufschlag).
+     */
+    public void rewind() {
+        state.setField(geometry[0], geometry[1]);
+        state.setBallRadius(geometry[2]);
+        state.setPaddleGeometry(geometry[3], geometry[4], geometry[5], geometry[6]);
+        state.setBallSpeed(ballSpeed);
+        state.setPaddleSpeed(paddleSpeed);
+        state.setPaddleDirection(MatchState.LEFT, Direction.NONE);
+        state.setPaddleDirection(MatchState.RIGHT, Direction.NONE);
+        state.setServeDelayTicks(0);
+        state.startMatch(seed);
+        cursor   = ReplayFormat.HEADER_SIZE;
+        nextTick = 0;
+        ended    = false;
+        readNextTick();
+    }
+
+    /**
+     * Spult zu einem Tick vor (oder zurück) und rechnet dabei alle Schritte nach.
+     * @param tick Ziel-Tick, wird auf das Ende der Aufnahme begrenzt
+     * @return erreichter Tick
+     */
+    public long seek(long tick) {
+        long target = Math.min(Math.max(tick, 0), endTick);
+        if (target < state.getTick()) {
+            rewind();
+        }
+        while (state.getTick() < target) {
+            applyRecordsAt(state.getTick());
+            state.step(stepSeconds);
+        }
+        applyRecordsAt(state.getTick());
+        return state.getTick();
+    }
+
+    /**
+     * Spult bis zum Ende der Aufnahme.
+     */
+    public long seekEnd() {
+        return seek(endTick);
+    }
+
+    // Wendet alle Einträge an, die zu diesem Tick gehören
+    private void applyRecordsAt(long tick) {
+        while (!ended && nextTick == tick) {
+            int type = data.get(cursor++) & 0xFF;
+            if (type <= ReplayFormat.INPUT_MAX) {
+                state.setPaddleDirection(type >> 2, DIRECTIONS[type & 3]);
+            } else if (type >= ReplayFormat.INPUT_AT && type <= ReplayFormat.INPUT_AT_MAX) {
+                state.setPaddleDirectionAt((type >> 2) & 1, DIRECTIONS[type & 3], data.get(cursor++) & 0xFF);
+            } else if (type == ReplayFormat.GEOMETRY) {
+                state.setField(data.getDouble(cursor), data.getDouble(cursor + 8));
+                state.setBallRadius(data.getDouble(cursor + 16));
+                state.setPaddleGeometry(data.getDouble(cursor + 24), data.getDouble(cursor + 32),
+                                        data.getDouble(cursor + 40), data.getDouble(cursor + 48));
+                cursor += 7 * 8;
+            } else if (type == ReplayFormat.SPEED) {
+                state.setBallSpeed(data.getDouble(cursor));
+                state.setPaddleSpeed(data.getDouble(cursor + 8));
+                cursor += 2 * 8;
+            } else if (type == ReplayFormat.CENTER) {
+                state.centerPositions();
+            } else if (type == ReplayFormat.SERVE_DELAY) {
+                state.setServeDelayTicks(data.getInt(cursor));
+                cursor += 4;
+            } else if (type == ReplayFormat.BALLS) {
+                state.setExtraBalls(data.getInt(cursor));
+                cursor += 4;
+            } else if (type == ReplayFormat.POWER_UPS) {
+                state.setPowerUps(data.getInt(cursor), data.getInt(cursor + 4));
+                cursor += 2 * 4;
+            } else {
+                ended = true;       // END oder unbekannter Typ
+                return;
+            }
+            readNextTick();
+        }
+    }
+
+    // Liest den Tick-Abstand des nächsten Eintrags; Dateiende ohne END gilt als Ende
+    private void readNextTick() {
+        if (cursor >= data.limit()) {
+            ended = true;
+            return;
+        }
+        long delta = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = data.get(cursor++) & 0xFF;
+            delta |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0 && cursor < data.limit());
+        nextTick += delta;
+    }
+
+    // Geht einmal über alle Einträge und liefert den letzten Tick
+    // (abgebrochene Aufnahmen ohne END-Eintrag enden beim letzten Eintrag)
+    private long scanEndTick() throws IOException {
+        cursor   = ReplayFormat.HEADER_SIZE;
+        nextTick = 0;
+        ended    = false;
+        long last = 0;
+        readNextTick();
+        while (!ended) {
+            last = nextTick;
+            int type = data.get(cursor++) & 0xFF;
+            if (type == ReplayFormat.GEOMETRY) {
+                cursor += 7 * 8;
+            } else if (type >= ReplayFormat.INPUT_AT && type <= ReplayFormat.INPUT_AT_MAX) {
+                cursor += 1;
+            } else if (type == ReplayFormat.SERVE_DELAY || type == ReplayFormat.BALLS) {
+                cursor += 4;
+            } else if (type == ReplayFormat.POWER_UPS) {
+                cursor += 2 * 4;
+            } else if (type == ReplayFormat.SPEED) {
+                cursor += 2 * 8;
+            } else if (type == ReplayFormat.END) {
+                break;
+            } else if (type > ReplayFormat.INPUT_MAX && type != ReplayFormat.CENTER) {
+                throw new IOException("Unbekannter Replay-Eintrag " + type + " bei Byte " + (cursor - 1));
+            }
+            if (cursor > data.limit()) {
+                break;
+            }
+            readNextTick();
+        }
+        return last;
+    }
+
+    public MatchState getState()  { return state; }
+    public long getSeed()         { return seed; }
+    public long getStartMillis()  { return startMillis; }
+    public int getTickRate()      { return tickRate; }
+    public long getEndTick()      { return endTick; }
+    public long getTick()         { return state.getTick(); }
+
+    /**
+     * Spielt ein Replay nach und gibt Spielstand und Rechenzeit aus.
+     * @param args Replay-Datei, optional Ziel-Tick (sonst bis zum Ende)
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Aufruf: ReplayPlayer <datei.ppr> [tick]");
+            return;
+        }
+        ReplayPlayer player = new ReplayPlayer(Paths.get(args[0]));
+        long target = args.length > 1 ? Long.parseLong(args[1]) : player.getEndTick();
+        long t0 = System.nanoTime();
+        long reached = player.seek(target);
+        double ms = (System.nanoTime() - t0) / 1e6;
+        MatchState s = player.getState();
+        System.out.printf("seed=%d tickRate=%d ticks=%d/%d (%.1f s Spielzeit)%n",
+                player.getSeed(), player.getTickRate(), reached, player.getEndTick(),
+                reached / (double) player.getTickRate());
+        System.out.printf("Spielstand %d : %d, Ball bei (%.1f, %.1f)%n",
+                s.getScore(MatchState.LEFT), s.getScore(MatchState.RIGHT), s.getBallX(), s.getBallY());
+        System.out.printf("Nachgerechnet in %.2f ms%n", ms);
+    }
+}
@@ -0,0 +1,163 @@
+package pingpong.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import pingpong.engine.MatchState;
+import pingpong.model.Direction;
+
+/**
+ * ReplayWriter schreibt ein Match während des Spielens in eine Replay-Datei.
+ * Die Einträge landen zuerst in einem Puffer und werden nur geschrieben,
+ * wenn er fast voll ist oder beim Schließen; die Spielschleife wartet also
+ * fast nie auf die Festplatte. Aufbau der Datei: siehe ReplayFormat.
+ */
+public class ReplayWriter implements Closeable {
+    private static final int BUFFER_SIZE = 4096;
+    // Größter Eintrag: Varint (max. 10 Byte) + Typ + 7 double
+    private static final int MAX_RECORD  = 10 + 1 + 7 * 8;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long lastTick;
+    private boolean closed;
+
+    /**
+     * Legt die Datei an und schreibt den Kopf aus dem aktuellen Spielzustand.
+     * Muss direkt nach MatchState.startMatch() aufgerufen werden.
+     * @param file Zieldatei (wird überschrieben)
+     * @param state gerade gestartetes Match
+     * @param tickRate Physik-Schritte pro Sekunde
+     */
+    public ReplayWriter(Path file, MatchState state, int tickRate) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(ReplayFormat.MAGIC);
+        buffer.putShort(ReplayFormat.VERSION);
+        buffer.putShort((short) 0);
+        buffer.putLong(state.getSeed());
+        buffer.putLong(System.currentTimeMillis());
+        buffer.putInt(tickRate);
+        putGeometry(state);
+        buffer.putDouble(state.getBallSpeed());
+        buffer.putDouble(state.getPaddleSpeed());
+        lastTick = state.getTick();
+        // Gehaltene Tasten zählen als Eingabe im ersten Tick
+        recordInput(lastTick, MatchState.LEFT, directionOf(state, MatchState.LEFT));
+        recordInput(lastTick, MatchState.RIGHT, directionOf(state, MatchState.RIGHT));
+        if (state.getServeDelayTicks() != 0) {
+            begin(lastTick, ReplayFormat.SERVE_DELAY);
+            buffer.putInt(state.getServeDelayTicks());
+        }
+        if (state.getExtraBalls().getCount() != 0) {
+            begin(lastTick, ReplayFormat.BALLS);
+            buffer.putInt(state.getExtraBalls().getCount());
+        }
+        if (state.getPowerUpInterval() != 0) {
+            begin(lastTick, ReplayFormat.POWER_UPS);
+            buffer.putInt(state.getPowerUpInterval());
+            buffer.putInt(state.getPowerUpLifetime());
+        }
+    }
+
+    private static Direction directionOf(MatchState s, int side) {
+        double vy = s.getPaddleVy(side);
+        return vy < 0 ? Direction.UP : vy > 0 ? Direction.DOWN : Direction.NONE;
+    }
+
+    /**
+     * Richtungswechsel eines Paddles, gültig ab Tick tick.
+     */
+    public void recordInput(long tick, int side, Direction dir) throws IOException {
+        begin(tick, (side << 2) | dir.ordinal());
+    }
+
+    /**
+     * Richtungswechsel mitten im Tick tick (MatchState.setPaddleDirectionAt).
+     * @param at Zeitpunkt im Tick in 1/MatchState.SUB_TICK_STEPS
+     */
+    public void recordInput(long tick, int side, Direction dir, int at) throws IOException {
+        begin(tick, ReplayFormat.INPUT_AT | (side << 2) | dir.ordinal());
+        buffer.put((byte) Math.max(0, Math.min(at, MatchState.SUB_TICK_STEPS - 1)));
+    }
+
+    /**
+     * Neue Spielfeld-/Figurengröße (z.B. nach Fenster-Resize).
+     */
+    public void recordGeometry(long tick, MatchState state) throws IOException {
+        begin(tick, ReplayFormat.GEOMETRY);
+        putGeometry(state);
+    }
+
+    /**
+     * Neue Ball- und Paddle-Geschwindigkeit.
+     */
+    public void recordSpeed(long tick, MatchState state) throws IOException {
+        begin(tick, ReplayFormat.SPEED);
+        buffer.putDouble(state.getBallSpeed());
+        buffer.putDouble(state.getPaddleSpeed());
+    }
+
+    /**
+     * Ball und Paddles wurden in die Mitte gesetzt (MatchState.centerPositions()).
+     */
+    public void recordCenter(long tick) throws IOException {
+        begin(tick, ReplayFormat.CENTER);
+    }
+
+    /**
+     * Schreibt das Ende-Kennzeichen mit dem letzten Tick und schließt die Datei.
+     */
+    public void close(long finalTick) throws IOException {
+        if (closed) return;
+        begin(finalTick, ReplayFormat.END);
+        close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Schreibt Tick-Abstand und Typ, leert vorher den Puffer falls nötig
+    private void begin(long tick, int type) throws IOException {
+        if (buffer.remaining() < MAX_RECORD) {
+            flush();
+        }
+        long delta = Math.max(0, tick - lastTick);
+        lastTick = Math.max(lastTick, tick);
+        while ((delta & ~0x7FL) != 0) {
+            buffer.put((byte) ((delta & 0x7F) | 0x80));
+            delta >>>= 7;
+        }
+        buffer.put((byte) delta);
+        buffer.put((byte) type);
+    }
+
+    private void putGeometry(MatchState s) {
+        buffer.putDouble(s.getWidth());
+        buffer.putDouble(s.getHeight());
+        buffer.putDouble(s.getBallRadius());
+        buffer.putDouble(s.getPaddleX(MatchState.LEFT));
+        buffer.putDouble(s.getPaddleX(MatchState.RIGHT));
+        buffer.putDouble(s.getPaddleWidth());
+        buffer.putDouble(s.getPaddleHeight());
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,75 @@
+package pingpong.tournament;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.function.LongFunction;
+import pingpong.ai.AiController;
+import pingpong.ai.AiDifficulty;
+import pingpong.ai.PaddleController;
+import pingpong.ai.ReplayController;
+import pingpong.ai.TrackingController;
+import pingpong.engine.MatchState;
+import pingpong.replay.ReplayPlayer;
+
+/**
+ * Ein Teilnehmer eines Turniers: Name und eine Fabrik, die pro Match einen
+ * frischen PaddleController erzeugt (Controller haben Zustand und dürfen
+ * nicht von zwei Matches gleichzeitig benutzt werden).
+ */
+public final class Contestant {
+    private final String name;
+    private final LongFunction<PaddleController> factory;
+
+    /**
+     * @param name Anzeigename (eindeutig im Turnier)
+     * @param factory erzeugt einen Controller aus einem Seed
+     */
+    public Contestant(String name, LongFunction<PaddleController> factory) {
+        this.name    = name;
+        this.factory = factory;
+    }
+
+    /**
+     * Neuer Controller für ein Match.
+     * @param seed Startwert für den Zufall des Controllers
+     */
+    public PaddleController create(long seed) {
+        return factory.apply(seed);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Liest eine Teilnehmer-Angabe von der Kommandozeile:
+     * tracker, easy, medium, hard, perfect oder replay:datei.ppr[:left|right]
+     * @throws IOException wenn ein Replay nicht gelesen werden kann
+     */
+    public static Contestant parse(String spec) throws IOException {
+        String s = spec.trim();
+        if (s.equalsIgnoreCase("tracker")) {
+            return new Contestant("tracker", seed -> new TrackingController());
+        }
+        if (s.regionMatches(true, 0, "replay:", 0, 7)) {
+            String rest = s.substring(7);
+            int side = MatchState.LEFT;
+            if (rest.endsWith(":right") || rest.endsWith(":left")) {
+                side = rest.endsWith(":right") ? MatchState.RIGHT : MatchState.LEFT;
+                rest = rest.substring(0, rest.lastIndexOf(':'));
+            }
+            ReplayPlayer player = new ReplayPlayer(Paths.get(rest));
+            byte[] dirs = ReplayController.readDirections(player, side);
+            int rate = player.getTickRate();
+            String name = "replay:" + Paths.get(rest).getFileName() + (side == MatchState.RIGHT ? ":right" : "");
+            return new Contestant(name, seed -> new ReplayController(dirs, rate));
+        }
+        try {
+            AiDifficulty level = AiDifficulty.valueOf(s.toUpperCase());
+            return new Contestant(level.name().toLowerCase(), seed -> new AiController(level, seed));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unbekannter Bot: " + spec
+                    + " (tracker, easy, medium, hard, perfect, replay:datei.ppr[:left|right])");
+        }
+    }
+}
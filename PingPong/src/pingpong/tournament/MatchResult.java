@@ -0,0 +1,66 @@
+package pingpong.tournament;
+
+/**
+ * Ergebnis eines Turnier-Matches (unveränderlich).
+ * Ballwechsel-Statistik zählt für beide Seiten: jeder Punkt beendet einen Ballwechsel.
+ */
+public final class MatchResult {
+    private final int index;
+    private final int left, right;
+    private final int scoreLeft, scoreRight;
+    private final long ticks;
+    private final int rallies, rallyHits, maxRallyHits;
+    private final long rallyTicks;
+    private final long nanos;
+
+    /**
+     * @param index Nummer des Matches im Spielplan
+     * @param left Teilnehmer links (Index)
+     * @param right Teilnehmer rechts (Index)
+     * @param ticks gespielte Ticks
+     * @param rallies beendete Ballwechsel (= Punkte)
+     * @param rallyHits Paddle-Treffer in allen Ballwechseln
+     * @param maxRallyHits längster Ballwechsel in Treffern
+     * @param rallyTicks Dauer aller Ballwechsel in Ticks
+     * @param nanos Rechenzeit des Matches
+     */
+    MatchResult(int index, int left, int right, int scoreLeft, int scoreRight, long ticks,
+                int rallies, int rallyHits, int maxRallyHits, long rallyTicks, long nanos) {
+        this.index        = index;
+        this.left         = left;
+        this.right        = right;
+        this.scoreLeft    = scoreLeft;
+        this.scoreRight   = scoreRight;
+        this.ticks        = ticks;
+        this.rallies      = rallies;
+        this.rallyHits    = rallyHits;
+        this.maxRallyHits = maxRallyHits;
+        this.rallyTicks   = rallyTicks;
+        this.nanos        = nanos;
+    }
+
+    /**
+     * Ergebnis aus Sicht von links: 1 = Sieg, 0.5 = Unentschieden, 0 = Niederlage.
+     */
+    public double leftOutcome() {
+        return scoreLeft > scoreRight ? 1 : scoreLeft < scoreRight ? 0 : 0.5;
+    }
+
+    // Gleiches Match, gleiches Ergebnis (Rechenzeit zählt nicht)
+    boolean sameOutcome(MatchResult o) {
+        return left == o.left && right == o.right && scoreLeft == o.scoreLeft && scoreRight == o.scoreRight
+                && ticks == o.ticks && rallyHits == o.rallyHits;
+    }
+
+    public int getIndex()        { return index; }
+    public int getLeft()         { return left; }
+    public int getRight()        { return right; }
+    public int getScoreLeft()    { return scoreLeft; }
+    public int getScoreRight()   { return scoreRight; }
+    public long getTicks()       { return ticks; }
+    public int getRallies()      { return rallies; }
+    public int getRallyHits()    { return rallyHits; }
+    public int getMaxRallyHits() { return maxRallyHits; }
+    public long getRallyTicks()  { return rallyTicks; }
+    public long getNanos()       { return nanos; }
+}
@@ -0,0 +1,61 @@
+package pingpong.tournament;
+
+/**
+ * Tabellenzeile eines Teilnehmers: Elo-Wertung, Bilanz und Ballwechsel-Statistik.
+ * Wird von TournamentRunner nach dem Turnier in Spielplan-Reihenfolge gefüllt,
+ * damit die Wertung nicht davon abhängt, welches Match zuerst fertig war.
+ */
+public final class Standing {
+    // Startwert und Änderungsfaktor der Elo-Wertung
+    public static final double INITIAL_ELO = 1500;
+    public static final double K_FACTOR    = 24;
+
+    private final Contestant contestant;
+    private double elo = INITIAL_ELO;
+    private int played, wins, draws, losses;
+    private int pointsFor, pointsAgainst;
+    private int rallies, rallyHits, maxRallyHits;
+    private long rallyTicks;
+
+    Standing(Contestant contestant) {
+        this.contestant = contestant;
+    }
+
+    /**
+     * Erwartetes Ergebnis von a gegen b (0..1) nach Elo.
+     */
+    static double expected(double a, double b) {
+        return 1 / (1 + Math.pow(10, (b - a) / 400));
+    }
+
+    // Ein Match eintragen; outcome 1/0.5/0 aus eigener Sicht, delta = Elo-Änderung
+    void record(int own, int other, double outcome, double delta, MatchResult r) {
+        elo += delta;
+        played++;
+        if (outcome == 1) wins++;
+        else if (outcome == 0) losses++;
+        else draws++;
+        pointsFor     += own;
+        pointsAgainst += other;
+        rallies       += r.getRallies();
+        rallyHits     += r.getRallyHits();
+        rallyTicks    += r.getRallyTicks();
+        maxRallyHits   = Math.max(maxRallyHits, r.getMaxRallyHits());
+    }
+
+    public Contestant getContestant() { return contestant; }
+    public String getName()           { return contestant.getName(); }
+    public double getElo()            { return elo; }
+    public int getPlayed()            { return played; }
+    public int getWins()              { return wins; }
+    public int getDraws()             { return draws; }
+    public int getLosses()            { return losses; }
+    public int getPointsFor()         { return pointsFor; }
+    public int getPointsAgainst()     { return pointsAgainst; }
+    public int getRallies()           { return rallies; }
+    public int getMaxRallyHits()      { return maxRallyHits; }
+    // Anteil Siege (Unentschieden halb)
+    public double getWinRate()        { return played == 0 ? 0 : (wins + 0.5 * draws) / played; }
+    public double getAverageRallyHits() { return rallies == 0 ? 0 : (double) rallyHits / rallies; }
+    public double getAverageRallyTicks() { return rallies == 0 ? 0 : (double) rallyTicks / rallies; }
+}
@@ -0,0 +1,357 @@
+package pingpong.tournament;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import pingpong.ai.PaddleController;
+import pingpong.config.GameConfig;
+import pingpong.engine.MatchListener;
+import pingpong.engine.MatchState;
+
+/**
+ * TournamentRunner spielt ein Rundenturnier zwischen Bots ohne Grafik: jedes
+ * Paar trifft gamesPerPairing-mal aufeinander, die Seiten wechseln jedes Spiel.
+ * Ein Match endet bei pointsToWin Punkten oder nach maxSeconds Spielzeit
+ * (dann zählt der Spielstand, gleich = Unentschieden).
+ *
+ * Jedes Match ist eine eigene Aufgabe mit eigenem MatchState, eigenen
+ * Controllern und einem Seed, der nur vom Turnier-Seed und der Nummer im
+ * Spielplan abhängt. Die Bots steuern wie die Tastatur: eine Direction pro Tick.
+ * Gleicher Seed → gleiche Ergebnisse, egal auf wie vielen Threads.
+ *
+ * Ausgeführt wird auf virtuellen Threads (ein Thread pro Match), wenn die
+ * Laufzeit sie anbietet (ab Java 21), sonst auf einem festen Pool. Wie viele
+ * Matches gleichzeitig rechnen, begrenzt eine Semaphore; damit misst die
+ * Skalierung dieselbe Arbeit mit 1, 2, 4 ... Kernen.
+ *
+ * Aufruf: java -cp PingPong.jar pingpong.tournament.TournamentRunner
+ *             [bots] [spiele pro Paarung] [punkte] [sekunden] [seed] [ergebnis.csv]
+ *   z.B.  ... TournamentRunner tracker,easy,medium,hard,replay:match.ppr 10 11 180 1 tabelle.csv
+ */
+public class TournamentRunner {
+    private final List<Contestant> contestants;
+    private int gamesPerPairing = 4;
+    private int pointsToWin = 11;
+    private double maxSeconds = GameConfig.MATCH_SECONDS;
+    private int tickRate = GameConfig.TICK_RATE;
+    private long seed = 1;
+
+    // Spielplan: Teilnehmer links und rechts pro Match
+    private int[] scheduleLeft, scheduleRight;
+
+    // Messwerte des letzten run()
+    private long lastRunNanos;
+    private int lastConcurrency;
+
+    /**
+     * @param contestants Teilnehmer (mindestens zwei)
+     */
+    public TournamentRunner(List<Contestant> contestants) {
+        if (contestants.size() < 2) {
+            throw new IllegalArgumentException("Ein Turnier braucht mindestens zwei Bots");
+        }
+        this.contestants = new ArrayList<>(contestants);
+        buildSchedule();
+    }
+
+    public void setGamesPerPairing(int games) { this.gamesPerPairing = Math.max(1, games); buildSchedule(); }
+    public void setPointsToWin(int points)    { this.pointsToWin = Math.max(1, points); }
+    public void setMaxSeconds(double seconds) { this.maxSeconds = seconds; }
+    public void setTickRate(int tickRate)     { this.tickRate = tickRate; }
+    public void setSeed(long seed)            { this.seed = seed; }
+
+    // Jedes Paar (i, j) gamesPerPairing-mal, gerade Spiele i links, ungerade j links
+    private void buildSchedule() {
+        int n = contestants.size();
+        int count = n * (n - 1) / 2 * gamesPerPairing;
+        scheduleLeft  = new int[count];
+        scheduleRight = new int[count];
+        int m = 0;
+        for (int g = 0; g < gamesPerPairing; g++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    scheduleLeft[m]  = g % 2 == 0 ? i : j;
+                    scheduleRight[m] = g % 2 == 0 ? j : i;
+                    m++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Neuer Executor mit einem virtuellen Thread pro Aufgabe, falls vorhanden
+     * (per Reflection, damit der Code mit Java 8 baut), sonst ein fester Pool.
+     * @param threads Größe des Ersatz-Pools
+     */
+    public static ExecutorService newExecutor(int threads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+
+    public static boolean hasVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Spielt alle Matches des Spielplans.
+     * @param concurrency höchstens so viele Matches gleichzeitig
+     * @return Ergebnisse in Spielplan-Reihenfolge
+     */
+    public MatchResult[] run(int concurrency) throws InterruptedException {
+        return run(concurrency, getMatchCount());
+    }
+
+    // Die ersten count Matches des Spielplans (weniger z.B. zum Aufwärmen)
+    private MatchResult[] run(int concurrency, int count) throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        ExecutorService executor = newExecutor(concurrency);
+        List<Future<MatchResult>> futures = new ArrayList<>(count);
+        long t0 = System.nanoTime();
+        try {
+            for (int i = 0; i < count; i++) {
+                final int index = i;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return play(index);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            MatchResult[] results = new MatchResult[count];
+            for (int i = 0; i < count; i++) {
+                try {
+                    results[i] = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Match " + i + " fehlgeschlagen", e.getCause());
+                }
+            }
+            lastRunNanos    = System.nanoTime() - t0;
+            lastConcurrency = concurrency;
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Spielt ein Match des Spielplans (auf dem aufrufenden Thread).
+     * @param index Nummer im Spielplan
+     */
+    public MatchResult play(int index) {
+        long t0 = System.nanoTime();
+        int left  = scheduleLeft[index];
+        int right = scheduleRight[index];
+        long matchSeed = mix(seed + (index + 1) * 0x9E3779B97F4A7C15L);
+
+        MatchState s = new MatchState(matchSeed);
+        s.setBallSpeed(GameConfig.BALL_SPEED);
+        s.setPaddleSpeed(GameConfig.PADDLE_SPEED);
+        s.setServeDelayTicks((int) Math.round(GameConfig.SERVE_DELAY_SECONDS * tickRate));
+        RallyStats stats = new RallyStats(s);
+        s.setListener(stats);
+        s.startMatch(matchSeed);
+
+        PaddleController a = contestants.get(left).create(mix(matchSeed ^ 1));
+        PaddleController b = contestants.get(right).create(mix(matchSeed ^ 2));
+        a.reset();
+        b.reset();
+        double dt = 1.0 / tickRate;
+        long maxTicks = (long) (maxSeconds * tickRate);
+        while (s.getTick() < maxTicks
+                && s.getScore(MatchState.LEFT) < pointsToWin && s.getScore(MatchState.RIGHT) < pointsToWin) {
+            s.setPaddleDirection(MatchState.LEFT, a.decide(s, MatchState.LEFT, dt));
+            s.setPaddleDirection(MatchState.RIGHT, b.decide(s, MatchState.RIGHT, dt));
+            s.step(dt);
+        }
+        return new MatchResult(index, left, right, s.getScore(MatchState.LEFT), s.getScore(MatchState.RIGHT),
+                s.getTick(), stats.rallies, stats.hits, stats.maxHits, stats.ticks, System.nanoTime() - t0);
+    }
+
+    // Zählt die Ballwechsel eines Matches (MatchState meldet sie beim Punkt)
+    private static final class RallyStats implements MatchListener {
+        private final MatchState state;
+        int rallies, hits, maxHits;
+        long ticks;
+
+        RallyStats(MatchState state) {
+            this.state = state;
+        }
+
+        @Override
+        public void onScore(int side) {
+            rallies++;
+            hits   += state.getLastRallyHits();
+            ticks  += state.getLastRallyTicks();
+            maxHits = Math.max(maxHits, state.getLastRallyHits());
+        }
+    }
+
+    // SplitMix64-Mischfunktion für unabhängige Seeds
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Tabelle aus den Ergebnissen: Elo in Spielplan-Reihenfolge, sortiert nach Elo.
+     */
+    public List<Standing> standings(MatchResult[] results) {
+        List<Standing> table = new ArrayList<>();
+        for (Contestant c : contestants) {
+            table.add(new Standing(c));
+        }
+        for (MatchResult r : results) {
+            Standing a = table.get(r.getLeft());
+            Standing b = table.get(r.getRight());
+            double outcome = r.leftOutcome();
+            double delta = Standing.K_FACTOR * (outcome - Standing.expected(a.getElo(), b.getElo()));
+            a.record(r.getScoreLeft(), r.getScoreRight(), outcome, delta, r);
+            b.record(r.getScoreRight(), r.getScoreLeft(), 1 - outcome, -delta, r);
+        }
+        Collections.sort(table, Comparator.comparingDouble(Standing::getElo).reversed());
+        return table;
+    }
+
+    /**
+     * Gibt die Tabelle ausgerichtet aus.
+     */
+    public void printTable(PrintStream out, List<Standing> table) {
+        out.printf("%-4s %-22s %6s %4s %4s %4s %4s %6s %9s %7s %8s %5s %8s%n",
+                "Rang", "Bot", "Elo", "Sp", "S", "U", "N", "Sieg%", "Punkte", "Bällw.", "Ø Treff.", "Max", "Ø Dauer");
+        int rank = 1;
+        for (Standing st : table) {
+            out.printf("%-4d %-22s %6.0f %4d %4d %4d %4d %5.1f%% %4d:%-4d %7d %8.1f %5d %6.2f s%n",
+                    rank++, st.getName(), st.getElo(), st.getPlayed(), st.getWins(), st.getDraws(),
+                    st.getLosses(), 100 * st.getWinRate(), st.getPointsFor(), st.getPointsAgainst(),
+                    st.getRallies(), st.getAverageRallyHits(), st.getMaxRallyHits(),
+                    st.getAverageRallyTicks() / tickRate);
+        }
+    }
+
+    /**
+     * Schreibt die Tabelle als CSV (Punkt als Dezimaltrenner, unabhängig von der Sprache).
+     */
+    public void writeCsv(Path file, List<Standing> table) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("rank,bot,elo,played,wins,draws,losses,win_rate,points_for,points_against,"
+                    + "rallies,avg_rally_hits,max_rally_hits,avg_rally_seconds");
+            int rank = 1;
+            for (Standing st : table) {
+                out.println(String.format(Locale.ROOT, "%d,%s,%.1f,%d,%d,%d,%d,%.4f,%d,%d,%d,%.3f,%d,%.3f",
+                        rank++, st.getName(), st.getElo(), st.getPlayed(), st.getWins(), st.getDraws(),
+                        st.getLosses(), st.getWinRate(), st.getPointsFor(), st.getPointsAgainst(),
+                        st.getRallies(), st.getAverageRallyHits(), st.getMaxRallyHits(),
+                        st.getAverageRallyTicks() / tickRate));
+            }
+        }
+    }
+
+    public int getMatchCount()      { return scheduleLeft.length; }
+    public long getLastRunNanos()   { return lastRunNanos; }
+    public int getLastConcurrency() { return lastConcurrency; }
+
+    // Durchsatz des letzten run()
+    public double getMatchesPerMinute(int matches) {
+        return lastRunNanos == 0 ? 0 : matches * 60e9 / lastRunNanos;
+    }
+
+    /**
+     * Kommandozeile, siehe Klassenbeschreibung. Gibt Tabelle, Durchsatz und
+     * die Skalierung über 1, 2, 4 ... Kerne aus.
+     */
+    public static void main(String[] args) throws Exception {
+        String bots     = args.length > 0 ? args[0] : "tracker,easy,medium,hard,perfect";
+        int games       = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int points      = args.length > 2 ? Integer.parseInt(args[2]) : 11;
+        double seconds  = args.length > 3 ? Double.parseDouble(args[3]) : GameConfig.MATCH_SECONDS;
+        long seed       = args.length > 4 ? Long.parseLong(args[4]) : 1;
+        Path csv        = args.length > 5 ? Paths.get(args[5]) : null;
+
+        List<Contestant> contestants = new ArrayList<>();
+        for (String spec : bots.split(",")) {
+            contestants.add(Contestant.parse(spec));
+        }
+        TournamentRunner runner = new TournamentRunner(contestants);
+        runner.setGamesPerPairing(games);
+        runner.setPointsToWin(points);
+        runner.setMaxSeconds(seconds);
+        runner.setSeed(seed);
+        int cores = Runtime.getRuntime().availableProcessors();
+        int matches = runner.getMatchCount();
+        System.out.printf("Turnier: %d Bots, %d Spiele pro Paarung = %d Matches, bis %d Punkte oder %.0f s, Seed %d%n",
+                contestants.size(), games, matches, points, seconds, seed);
+        System.out.printf("Ausführung: %s, %d Kerne%n",
+                hasVirtualThreads() ? "ein virtueller Thread pro Match" : "fester Thread-Pool (keine virtuellen Threads)",
+                cores);
+
+        // Aufwärmen (JIT), dann das eigentliche Turnier auf allen Kernen
+        runner.run(cores, Math.min(matches, 4 * cores));
+        MatchResult[] results = runner.run(cores);
+        long wall = runner.getLastRunNanos();
+        List<Standing> table = runner.standings(results);
+        System.out.println();
+        runner.printTable(System.out, table);
+        if (csv != null) {
+            runner.writeCsv(csv, table);
+            System.out.println("Tabelle geschrieben: " + csv);
+        }
+
+        long ticks = 0, cpu = 0;
+        for (MatchResult r : results) {
+            ticks += r.getTicks();
+            cpu   += r.getNanos();
+        }
+        System.out.printf("%nDurchsatz: %d Matches in %.2f s = %.0f Matches/min, %.1f Mio. Ticks/s, "
+                        + "Spielzeit %.0fx Echtzeit, Ø %.1f ms Rechenzeit pro Match%n",
+                matches, wall / 1e9, runner.getMatchesPerMinute(matches), ticks * 1e3 / wall,
+                (double) ticks / runner.tickRate / (wall / 1e9), cpu / 1e6 / matches);
+
+        // Skalierung: dieselben Matches mit 1, 2, 4 ... gleichzeitig
+        if (cores == 1) {
+            System.out.println("Skalierung: nur 1 Kern verfügbar");
+            return;
+        }
+        System.out.printf("%nSkalierung%n%7s %12s %8s %10s%n", "Threads", "Matches/min", "Speedup", "Effizienz");
+        double base = 0;
+        boolean same = true;
+        for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            MatchResult[] again = runner.run(threads);
+            double perMinute = runner.getMatchesPerMinute(matches);
+            if (threads == 1) base = perMinute;
+            System.out.printf("%7d %12.0f %7.2fx %9.0f%%%n",
+                    threads, perMinute, perMinute / base, 100 * perMinute / base / threads);
+            for (int i = 0; i < matches; i++) {
+                same &= again[i].sameOutcome(results[i]);
+            }
+            if (threads == cores) break;
+        }
+        System.out.println("Ergebnisse bei allen Thread-Zahlen identisch: " + (same ? "ja" : "NEIN"));
+    }
+}